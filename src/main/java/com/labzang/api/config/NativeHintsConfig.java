@@ -0,0 +1,74 @@
+package com.labzang.api.config;
+
+import com.labzang.api.services.gatewayservice.route.GatewayRouteProperties;
+import com.labzang.api.services.oauthservice.google.dto.GoogleTokenResponse;
+import com.labzang.api.services.oauthservice.google.dto.GoogleUserInfo;
+import com.labzang.api.services.oauthservice.kakao.dto.KakaoTokenResponse;
+import com.labzang.api.services.oauthservice.kakao.dto.KakaoUserInfo;
+import com.labzang.api.services.oauthservice.naver.dto.NaverTokenResponse;
+import com.labzang.api.services.oauthservice.naver.dto.NaverUserInfo;
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Spring AOT / GraalVM 네이티브 이미지용 런타임 힌트
+ *
+ * 빠른 시작 빌드(./gradlew bootJar -PfastStart, ./gradlew nativeCompile -Pnative)에서만 사용되며,
+ * 일반 JVM 실행에는 영향이 없습니다.
+ * Lettuce, Jackson, Netty 등은 GraalVM reachability metadata 저장소의 메타데이터를 사용하고,
+ * 여기서는 저장소에 없는 항목만 등록합니다.
+ * - jjwt: Jwts가 구현 클래스(jjwt-impl)를 이름으로 찾아 리플렉션으로 생성
+ * - 제공자 API 응답 DTO: RestTemplate이 Jackson으로 역직렬화
+ * - 동적 라우트 정의: Redis에 JSON으로 저장
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.Hints.class)
+public class NativeHintsConfig {
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        private static final String[] JJWT_IMPL_CLASSES = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+                "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyOperations",
+                "io.jsonwebtoken.impl.security.StandardCurves",
+                "io.jsonwebtoken.impl.security.KeysBridge",
+                "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+                "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+                "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+                "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+                "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+                "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer",
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String className : JJWT_IMPL_CLASSES) {
+                hints.reflection().registerTypeIfPresent(classLoader, className,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+
+            BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+            bindings.registerReflectionHints(hints.reflection(),
+                    KakaoTokenResponse.class, KakaoUserInfo.class,
+                    NaverTokenResponse.class, NaverUserInfo.class,
+                    GoogleTokenResponse.class, GoogleUserInfo.class,
+                    OAuthUserProfile.class, GatewayRouteProperties.RouteDefinition.class);
+        }
+    }
+}
@@ -1,27 +1,51 @@
 package com.labzang.api.config;
 
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration.LettuceClientConfigurationBuilder;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.LinkedHashSet;
 
 /**
  * Redis 설정
  * Upstash Redis 연결 및 RedisTemplate 설정
  * 
  * Upstash Redis는 TLS/SSL 연결이 필수입니다.
+ * redis.topology.mode로 Replica / Sentinel / Cluster 구성을 선택할 수 있으며,
+ * 읽기 전용 조회는 replicaReadRedisTemplate(ReadFrom.REPLICA_PREFERRED)을 사용합니다.
  */
 @Configuration
 public class RedisConfig {
 
+    private final RedisTopologyProperties topology;
+
+    public RedisConfig(RedisTopologyProperties topology) {
+        this.topology = topology;
+    }
+
     @Value("${UPSTASH_REDIS_HOST:localhost}")
     private String host;
 
@@ -37,49 +61,130 @@ public class RedisConfig {
     @Value("${spring.data.redis.timeout:2000ms}")
     private String timeout;
 
+    // 연결 풀 설정 (commons-pool2)
+    @Value("${spring.data.redis.lettuce.pool.enabled:true}")
+    private boolean poolEnabled;
+
+    @Value("${spring.data.redis.lettuce.pool.max-active:8}")
+    private int poolMaxActive;
+
+    @Value("${spring.data.redis.lettuce.pool.max-idle:8}")
+    private int poolMaxIdle;
+
+    @Value("${spring.data.redis.lettuce.pool.min-idle:0}")
+    private int poolMinIdle;
+
+    @Value("${spring.data.redis.lettuce.pool.max-wait:-1ms}")
+    private String poolMaxWait;
+
+    // 시작 시 연결 테스트 (빠른 시작 빌드의 AOT/CDS 학습 실행에서는 false)
+    @Value("${redis.verify-on-startup:true}")
+    private boolean verifyOnStartup;
+
     /**
      * RedisConnectionFactory 빈 생성
      * Upstash Redis는 TLS/SSL 연결을 사용합니다.
+     * 쓰기와 읽은 직후 쓰는 흐름(Authorization Code 검증 등)은 모두 primary로 보냅니다.
      */
     @Bean
+    @Primary
     public RedisConnectionFactory redisConnectionFactory() {
-        RedisStandaloneConfiguration redisConfig = new RedisStandaloneConfiguration();
-        redisConfig.setHostName(host);
-        redisConfig.setPort(port);
-        redisConfig.setPassword(password);
-
-        LettuceClientConfiguration clientConfig;
-        if (sslEnabled) {
-            clientConfig = LettuceClientConfiguration.builder()
-                    .useSsl()
-                    .and()
-                    .commandTimeout(Duration.ofMillis(parseDuration(timeout)))
-                    .build();
-        } else {
-            clientConfig = LettuceClientConfiguration.builder()
-                    .commandTimeout(Duration.ofMillis(parseDuration(timeout)))
-                    .build();
-        }
-
-        LettuceConnectionFactory factory = new LettuceConnectionFactory(redisConfig, clientConfig);
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(connectionConfiguration(),
+                clientConfiguration(null));
         factory.afterPropertiesSet();
 
         // 연결 정보 로깅
         if (sslEnabled) {
-            System.out.println("✅ Upstash Redis SSL 연결 설정: " + host + ":" + port);
+            System.out.println("✅ Redis SSL 연결 설정 (" + topology.getMode() + "): " + host + ":" + port);
         } else {
-            System.out.println("⚠️ Upstash Redis 일반 연결 설정: " + host + ":" + port);
+            System.out.println("⚠️ Redis 일반 연결 설정 (" + topology.getMode() + "): " + host + ":" + port);
+        }
+        if (poolEnabled) {
+            System.out.println("Redis 연결 풀: max-active=" + poolMaxActive + ", max-idle=" + poolMaxIdle
+                    + ", min-idle=" + poolMinIdle);
         }
 
         return factory;
     }
 
+    /**
+     * 읽기 전용 RedisConnectionFactory 빈 생성
+     * Replica / Sentinel / Cluster 모드에서는 replica에서 우선 읽고, replica가 없으면 primary에서 읽습니다.
+     * STANDALONE 모드에서는 같은 노드에 연결합니다.
+     */
+    @Bean
+    public RedisConnectionFactory replicaReadConnectionFactory() {
+        ReadFrom readFrom = topology.getMode() == RedisTopologyProperties.Mode.STANDALONE
+                ? null
+                : ReadFrom.REPLICA_PREFERRED;
+        return new LettuceConnectionFactory(connectionConfiguration(), clientConfiguration(readFrom));
+    }
+
     /**
      * RedisTemplate 빈 생성
      * Key는 String으로, Value는 JSON으로 직렬화합니다.
      */
     @Bean
+    @Primary
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, Object> template = createTemplate(connectionFactory);
+
+        // 연결 테스트
+        if (!verifyOnStartup) {
+            return template;
+        }
+        try {
+            template.opsForValue().set("connection:test", "ok", 10, java.util.concurrent.TimeUnit.SECONDS);
+            System.out.println("✅ Redis 연결 성공 및 RedisTemplate 초기화 완료");
+        } catch (Exception e) {
+            System.err.println("❌ Redis 연결 실패: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return template;
+    }
+
+    /**
+     * 읽기 전용 RedisTemplate 빈 생성 (replica 우선 읽기)
+     * 복제 지연이 있으므로 방금 쓴 값을 바로 읽어야 하는 곳에서는 사용하지 마세요.
+     */
+    @Bean
+    public RedisTemplate<String, Object> replicaReadRedisTemplate(
+            @Qualifier("replicaReadConnectionFactory") RedisConnectionFactory connectionFactory) {
+        return createTemplate(connectionFactory);
+    }
+
+    /**
+     * 비동기 토큰 조회/저장용 ReactiveRedisTemplate 빈 생성
+     * 공유 Lettuce 연결 하나에 여러 요청의 명령이 동시에 실려 전송됩니다(파이프라이닝).
+     * 직렬화 방식은 redisTemplate과 같아 서로 저장한 값을 읽을 수 있습니다.
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, Object> reactiveTokenRedisTemplate(
+            @Qualifier("redisConnectionFactory") RedisConnectionFactory connectionFactory) {
+        return createReactiveTemplate(connectionFactory);
+    }
+
+    /**
+     * 읽기 전용 ReactiveRedisTemplate 빈 생성 (replica 우선 읽기)
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, Object> replicaReadReactiveRedisTemplate(
+            @Qualifier("replicaReadConnectionFactory") RedisConnectionFactory connectionFactory) {
+        return createReactiveTemplate(connectionFactory);
+    }
+
+    private ReactiveRedisTemplate<String, Object> createReactiveTemplate(RedisConnectionFactory connectionFactory) {
+        RedisSerializationContext<String, Object> context = RedisSerializationContext
+                .<String, Object>newSerializationContext(new StringRedisSerializer())
+                .value(new GenericJackson2JsonRedisSerializer())
+                .hashKey(new StringRedisSerializer())
+                .hashValue(new GenericJackson2JsonRedisSerializer())
+                .build();
+        return new ReactiveRedisTemplate<>((ReactiveRedisConnectionFactory) connectionFactory, context);
+    }
+
+    private RedisTemplate<String, Object> createTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
@@ -92,17 +197,93 @@ public class RedisConfig {
         template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
 
         template.afterPropertiesSet();
+        return template;
+    }
 
-        // 연결 테스트
-        try {
-            template.opsForValue().set("connection:test", "ok", 10, java.util.concurrent.TimeUnit.SECONDS);
-            System.out.println("✅ Redis 연결 성공 및 RedisTemplate 초기화 완료");
-        } catch (Exception e) {
-            System.err.println("❌ Redis 연결 실패: " + e.getMessage());
-            e.printStackTrace();
+    /**
+     * 토폴로지별 연결 구성
+     */
+    private RedisConfiguration connectionConfiguration() {
+        switch (topology.getMode()) {
+            case REPLICA -> {
+                RedisStaticMasterReplicaConfiguration config = new RedisStaticMasterReplicaConfiguration(host, port);
+                for (String node : topology.getReplicas()) {
+                    config.node(hostOf(node), portOf(node));
+                }
+                config.setPassword(password);
+                return config;
+            }
+            case SENTINEL -> {
+                RedisSentinelConfiguration config = new RedisSentinelConfiguration(
+                        topology.getSentinel().getMaster(), new LinkedHashSet<>(topology.getSentinel().getNodes()));
+                config.setPassword(password);
+                if (topology.getSentinel().getPassword() != null && !topology.getSentinel().getPassword().isEmpty()) {
+                    config.setSentinelPassword(topology.getSentinel().getPassword());
+                }
+                return config;
+            }
+            case CLUSTER -> {
+                RedisClusterConfiguration config = new RedisClusterConfiguration(topology.getCluster().getNodes());
+                config.setMaxRedirects(topology.getCluster().getMaxRedirects());
+                config.setPassword(password);
+                return config;
+            }
+            default -> {
+                RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
+                config.setHostName(host);
+                config.setPort(port);
+                config.setPassword(password);
+                return config;
+            }
         }
+    }
 
-        return template;
+    /**
+     * Lettuce 클라이언트 구성 (SSL, 타임아웃, 연결 풀, 읽기 노드 선택)
+     * 
+     * @param readFrom 읽기 노드 선택 (null이면 primary)
+     */
+    private LettuceClientConfiguration clientConfiguration(ReadFrom readFrom) {
+        LettuceClientConfigurationBuilder builder = poolEnabled
+                ? LettucePoolingClientConfiguration.builder().poolConfig(poolConfig())
+                : LettuceClientConfiguration.builder();
+        if (sslEnabled) {
+            builder.useSsl();
+        }
+        builder.commandTimeout(Duration.ofMillis(parseDuration(timeout)));
+        if (readFrom != null) {
+            builder.readFrom(readFrom);
+        }
+        if (topology.getMode() == RedisTopologyProperties.Mode.CLUSTER) {
+            // 슬롯 이동/페일오버 시 토폴로지 자동 갱신
+            builder.clientOptions(ClusterClientOptions.builder()
+                    .topologyRefreshOptions(ClusterTopologyRefreshOptions.builder()
+                            .enableAllAdaptiveRefreshTriggers()
+                            .enablePeriodicRefresh(Duration.ofSeconds(60))
+                            .build())
+                    .build());
+        }
+        return builder.build();
+    }
+
+    private GenericObjectPoolConfig<?> poolConfig() {
+        GenericObjectPoolConfig<?> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(poolMaxActive);
+        config.setMaxIdle(poolMaxIdle);
+        config.setMinIdle(poolMinIdle);
+        long maxWait = parseDuration(poolMaxWait);
+        if (maxWait >= 0) {
+            config.setMaxWait(Duration.ofMillis(maxWait));
+        }
+        return config;
+    }
+
+    private String hostOf(String node) {
+        return node.substring(0, node.lastIndexOf(':'));
+    }
+
+    private int portOf(String node) {
+        return Integer.parseInt(node.substring(node.lastIndexOf(':') + 1));
     }
 
     /**
@@ -0,0 +1,63 @@
+package com.labzang.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis 토폴로지 설정 프로퍼티
+ * 
+ * 기본 노드(host/port/password)는 기존과 같이 UPSTASH_REDIS_* 환경 변수를 사용합니다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "redis.topology")
+public class RedisTopologyProperties {
+
+    public enum Mode {
+        // 단일 노드 (Upstash 등)
+        STANDALONE,
+        // 고정 primary + replica 목록 (관리형 Redis의 읽기 엔드포인트 등)
+        REPLICA,
+        // Sentinel 페일오버
+        SENTINEL,
+        // Redis Cluster
+        CLUSTER
+    }
+
+    private Mode mode = Mode.STANDALONE;
+
+    // REPLICA 모드의 replica 노드 (host:port)
+    private List<String> replicas = new ArrayList<>();
+
+    private Sentinel sentinel = new Sentinel();
+
+    private Cluster cluster = new Cluster();
+
+    @Data
+    public static class Sentinel {
+
+        // 감시 대상 master 이름
+        private String master = "mymaster";
+
+        // Sentinel 노드 (host:port)
+        private List<String> nodes = new ArrayList<>();
+
+        // Sentinel 인증 비밀번호 (없으면 생략)
+        private String password;
+    }
+
+    @Data
+    public static class Cluster {
+
+        // 초기 접속 노드 (host:port)
+        private List<String> nodes = new ArrayList<>();
+
+        // MOVED/ASK 리다이렉트 최대 횟수
+        private int maxRedirects = 3;
+    }
+}
@@ -4,16 +4,34 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import com.labzang.api.services.oauthservice.google.GoogleOAuthService;
+import com.labzang.api.services.oauthservice.client.ClientCredentialsException;
+import com.labzang.api.services.oauthservice.client.ClientCredentialsService;
 import com.labzang.api.services.oauthservice.jwt.JwtTokenProvider;
-import com.labzang.api.services.oauthservice.token.TokenService;
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
+import com.labzang.api.services.oauthservice.profile.ProviderProfileCache;
+import com.labzang.api.services.oauthservice.provider.OAuthLoginPipeline;
+import com.labzang.api.services.oauthservice.provider.OAuthLoginResult;
+import com.labzang.api.services.oauthservice.token.AccessTokenVerifier;
+import com.labzang.api.services.oauthservice.token.IntrospectionProperties;
+import com.labzang.api.services.oauthservice.token.ReferenceTokenService;
+import com.labzang.api.services.oauthservice.token.SessionIndexService;
+import com.labzang.api.services.oauthservice.token.TokenIntrospectionService;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -23,13 +41,31 @@ import java.util.UUID;
 public class AuthController {
 
     @Autowired(required = false)
-    private GoogleOAuthService googleOAuthService;
+    private OAuthLoginPipeline loginPipeline;
 
     @Autowired(required = false)
-    private TokenService tokenService;
+    private JwtTokenProvider jwtTokenProvider;
 
     @Autowired(required = false)
-    private JwtTokenProvider jwtTokenProvider;
+    private ReferenceTokenService referenceTokenService;
+
+    @Autowired(required = false)
+    private ProviderProfileCache profileCache;
+
+    @Autowired(required = false)
+    private TokenIntrospectionService introspectionService;
+
+    @Autowired(required = false)
+    private IntrospectionProperties introspectionProperties;
+
+    @Autowired(required = false)
+    private ClientCredentialsService clientCredentialsService;
+
+    @Autowired(required = false)
+    private SessionIndexService sessionIndexService;
+
+    @Autowired(required = false)
+    private AccessTokenVerifier accessTokenVerifier;
 
     /**
      * 구글 로그인 인증 URL 생성
@@ -138,34 +174,20 @@ public class AuthController {
         }
 
         try {
-            if (googleOAuthService == null || tokenService == null || jwtTokenProvider == null) {
+            if (loginPipeline == null) {
                 System.err.println("필수 서비스가 주입되지 않았습니다.");
                 return ResponseEntity.status(500).body(Map.of(
                         "success", false,
                         "error", "서비스 초기화 오류"));
             }
 
-            // 1. Authorization Code를 Access Token으로 교환
-            Map<String, Object> tokenResponse = googleOAuthService.getAccessToken(code);
-            String googleAccessToken = (String) tokenResponse.get("access_token");
-            String googleRefreshToken = (String) tokenResponse.get("refresh_token");
-
-            if (googleAccessToken == null) {
-                throw new RuntimeException("구글 Access Token을 받을 수 없습니다.");
-            }
-
-            // 2. Access Token으로 사용자 정보 조회
-            Map<String, Object> userInfo = googleOAuthService.getUserInfo(googleAccessToken);
-            Map<String, Object> extractedUserInfo = googleOAuthService.extractUserInfo(userInfo);
-
-            // 3. 사용자 ID 추출
-            String userId = (String) extractedUserInfo.get("google_id");
-
-            // 4. JWT 토큰 생성
-            String jwtAccessToken = jwtTokenProvider.generateAccessToken(userId, "google", extractedUserInfo);
-            String jwtRefreshToken = jwtTokenProvider.generateRefreshToken(userId, "google");
+            // 1. 토큰 교환 → 사용자 정보 조회 → 토큰 저장 → JWT 발급 (공통 파이프라인)
+            OAuthLoginResult result = loginPipeline.login("google", code, state);
+            String userId = result.userId();
+            String jwtAccessToken = result.accessToken();
+            String jwtRefreshToken = result.refreshToken();
 
-            // 5. 토큰 정보 출력
+            // 2. 토큰 정보 출력
             System.out.println("=== 토큰 정보 ===");
             System.out.println("Access Token: " + (jwtAccessToken != null
                     ? jwtAccessToken.substring(0, Math.min(jwtAccessToken.length(), 50)) + "..."
@@ -173,12 +195,6 @@ public class AuthController {
             System.out.println("Refresh Token: " + (jwtRefreshToken != null
                     ? jwtRefreshToken.substring(0, Math.min(jwtRefreshToken.length(), 50)) + "..."
                     : "null"));
-            System.out.println("Google Access Token: " + (googleAccessToken != null
-                    ? googleAccessToken.substring(0, Math.min(googleAccessToken.length(), 50)) + "..."
-                    : "null"));
-            System.out.println("Google Refresh Token: " + (googleRefreshToken != null
-                    ? googleRefreshToken.substring(0, Math.min(googleRefreshToken.length(), 50)) + "..."
-                    : "null"));
             System.out.println("User ID: " + userId);
             System.out.println("==========================");
 
@@ -197,4 +213,443 @@ public class AuthController {
                     "error", "콜백 처리에 실패했습니다: " + e.getMessage()));
         }
     }
+
+    /**
+     * 로그인 사용자 프로필 조회
+     * GET /api/auth/profile
+     * 
+     * Access Token에는 audience별 최소 클레임만 들어가므로,
+     * 전체 프로필(닉네임, 이메일, 프로필 이미지)은 이 엔드포인트에서 조회합니다.
+     * 프로필 캐시에 없으면 토큰에 포함된 클레임만 반환합니다.
+     * 
+     * @param authHeader Authorization 헤더 (Bearer 토큰)
+     * @return 사용자 프로필
+     */
+    @GetMapping("/profile")
+    @Operation(summary = "사용자 프로필 조회", description = "Access Token의 사용자 프로필 전체를 반환합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "프로필 조회 성공"),
+            @ApiResponse(responseCode = "401", description = "유효하지 않은 토큰"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    public ResponseEntity<Map<String, Object>> getProfile(
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.status(401).body(Map.of(
+                    "success", false,
+                    "error", "인증 토큰이 필요합니다."));
+        }
+
+        if (accessTokenVerifier == null) {
+            System.err.println("필수 서비스가 주입되지 않았습니다.");
+            return ResponseEntity.status(500).body(Map.of(
+                    "success", false,
+                    "error", "서비스 초기화 오류"));
+        }
+
+        try {
+            Map<String, Object> claims = accessTokenVerifier.verify(authHeader.substring(7));
+            if (claims == null) {
+                return ResponseEntity.status(401).body(Map.of(
+                        "success", false,
+                        "error", "유효하지 않은 토큰입니다."));
+            }
+
+            String provider = String.valueOf(claims.get("provider"));
+            String userId = String.valueOf(claims.get("sub"));
+
+            // 프로필 캐시 우선, 없으면 토큰 클레임으로 구성
+            Map<String, Object> profile = new LinkedHashMap<>();
+            OAuthUserProfile cached = profileCache != null ? profileCache.getIfPresent(provider, userId) : null;
+            if (cached != null) {
+                profile.putAll(cached.toClaims());
+            } else {
+                for (String name : new String[] { "nickname", "email", "email_verified", "profile_image" }) {
+                    if (claims.containsKey(name)) {
+                        profile.put(name, claims.get(name));
+                    }
+                }
+            }
+            profile.put("user_id", userId);
+            profile.put("provider", provider);
+
+            // 프로필은 자주 바뀌지 않으므로 브라우저에서 짧게 캐시
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePrivate())
+                    .body(Map.of(
+                            "success", true,
+                            "user", profile));
+
+        } catch (Exception e) {
+            System.err.println("프로필 조회 중 오류 발생: " + e.getMessage());
+            e.printStackTrace();
+
+            return ResponseEntity.status(500).body(Map.of(
+                    "success", false,
+                    "error", "프로필 조회에 실패했습니다."));
+        }
+    }
+
+    /**
+     * 로그인 세션(기기) 목록 조회
+     * GET /api/auth/sessions
+     * 
+     * @param authHeader Authorization 헤더 (Bearer 토큰)
+     * @return 활성 세션 목록 (현재 요청의 세션은 current=true)
+     */
+    @GetMapping("/sessions")
+    @Operation(summary = "세션 목록 조회", description = "사용자가 로그인한 기기별 세션 목록을 반환합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "401", description = "유효하지 않은 토큰")
+    })
+    public ResponseEntity<Map<String, Object>> listSessions(
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        Map<String, Object> claims = sessionClaims(authHeader);
+        if (claims == null) {
+            return ResponseEntity.status(401).body(Map.of(
+                    "success", false,
+                    "error", "유효하지 않은 토큰입니다."));
+        }
+
+        Object currentSessionId = claims.get("sid");
+        List<Map<String, Object>> sessions = sessionIndexService
+                .listSessions(String.valueOf(claims.get("provider")), String.valueOf(claims.get("sub")))
+                .stream()
+                .map(session -> {
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    item.put("session_id", session.sessionId());
+                    item.put("created_at", session.createdAt() / 1000);
+                    item.put("expires_at", session.expiresAt() / 1000);
+                    item.put("client", session.client());
+                    item.put("current", session.sessionId().equals(currentSessionId));
+                    return item;
+                })
+                .toList();
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(Map.of(
+                        "success", true,
+                        "sessions", sessions));
+    }
+
+    /**
+     * 세션 하나 로그아웃
+     * DELETE /api/auth/sessions/{sessionId}
+     * 
+     * @param sessionId  로그아웃할 세션 ID
+     * @param authHeader Authorization 헤더 (Bearer 토큰)
+     */
+    @DeleteMapping("/sessions/{sessionId}")
+    @Operation(summary = "세션 로그아웃", description = "지정한 기기의 세션을 로그아웃합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "로그아웃 성공"),
+            @ApiResponse(responseCode = "401", description = "유효하지 않은 토큰"),
+            @ApiResponse(responseCode = "404", description = "세션 없음"),
+            @ApiResponse(responseCode = "503", description = "세션 저장소 장애")
+    })
+    public ResponseEntity<Map<String, Object>> revokeSession(
+            @PathVariable String sessionId,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        Map<String, Object> claims = sessionClaims(authHeader);
+        if (claims == null) {
+            return ResponseEntity.status(401).body(Map.of(
+                    "success", false,
+                    "error", "유효하지 않은 토큰입니다."));
+        }
+
+        try {
+            boolean revoked = sessionIndexService.revoke(String.valueOf(claims.get("provider")),
+                    String.valueOf(claims.get("sub")), sessionId);
+            if (sessionId.equals(claims.get("sid"))) {
+                // 현재 세션이면 제시된 참조 토큰도 바로 폐기 (저장된 토큰이 없는 경우 대비)
+                revokeReferenceToken(authHeader);
+            }
+            if (!revoked) {
+                return ResponseEntity.status(404).body(Map.of(
+                        "success", false,
+                        "error", "세션을 찾을 수 없습니다."));
+            }
+            return ResponseEntity.ok(Map.of("success", true));
+        } catch (IllegalStateException e) {
+            System.err.println("세션 로그아웃 실패: " + e.getMessage());
+            return ResponseEntity.status(503).body(Map.of(
+                    "success", false,
+                    "error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 모든 기기에서 로그아웃
+     * POST /api/auth/logout-all
+     * 
+     * @param authHeader Authorization 헤더 (Bearer 토큰)
+     * @return 로그아웃된 세션 수
+     */
+    @PostMapping("/logout-all")
+    @Operation(summary = "전체 로그아웃", description = "사용자의 모든 세션과 저장된 토큰을 삭제합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "로그아웃 성공"),
+            @ApiResponse(responseCode = "401", description = "유효하지 않은 토큰"),
+            @ApiResponse(responseCode = "503", description = "세션 저장소 장애")
+    })
+    public ResponseEntity<Map<String, Object>> logoutAll(
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        Map<String, Object> claims = sessionClaims(authHeader);
+        if (claims == null) {
+            return ResponseEntity.status(401).body(Map.of(
+                    "success", false,
+                    "error", "유효하지 않은 토큰입니다."));
+        }
+
+        try {
+            long count = sessionIndexService.logoutAll(String.valueOf(claims.get("provider")),
+                    String.valueOf(claims.get("sub")));
+            revokeReferenceToken(authHeader);
+            System.out.println("✅ 전체 로그아웃: " + claims.get("provider") + ":" + claims.get("sub")
+                    + " (" + count + "개 세션)");
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "sessions_revoked", count));
+        } catch (IllegalStateException e) {
+            System.err.println("전체 로그아웃 실패: " + e.getMessage());
+            return ResponseEntity.status(503).body(Map.of(
+                    "success", false,
+                    "error", e.getMessage()));
+        }
+    }
+
+    private void revokeReferenceToken(String authHeader) {
+        String token = authHeader.substring(7);
+        if (referenceTokenService != null && referenceTokenService.isReferenceToken(token)) {
+            referenceTokenService.revoke(token);
+        }
+    }
+
+    /**
+     * Bearer 토큰 검증 (세션 API용, 로그아웃된 세션의 토큰은 거부)
+     * 
+     * @return 토큰 클레임, 유효하지 않으면 null
+     */
+    private Map<String, Object> sessionClaims(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")
+                || accessTokenVerifier == null || sessionIndexService == null) {
+            return null;
+        }
+        return accessTokenVerifier.verify(authHeader.substring(7));
+    }
+
+    /**
+     * 토큰 introspection (RFC 7662)
+     * POST /api/auth/introspect
+     * 
+     * 게이트웨이 뒤의 서비스가 토큰 활성 여부와 클레임을 확인합니다.
+     * 호출 서비스는 oauth.introspection.required-scope를 가진 머신 토큰(Bearer)으로 인증해야 합니다.
+     * 응답은 토큰 exp까지(최대 oauth.introspection.max-cache-age) 캐시할 수 있습니다.
+     * 
+     * @param token         검사할 토큰
+     * @param tokenTypeHint access_token 또는 refresh_token (참고용)
+     * @param authorization 호출 서비스의 머신 토큰 (Bearer)
+     * @return active와 클레임
+     */
+    @PostMapping(value = "/introspect", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    @Operation(summary = "토큰 introspection", description = "RFC 7662 형식으로 토큰 활성 여부와 클레임을 반환합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "검사 완료 (active 필드 확인)"),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+            @ApiResponse(responseCode = "401", description = "호출 서비스 인증 실패"),
+            @ApiResponse(responseCode = "403", description = "introspection scope 없음"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    public ResponseEntity<Map<String, Object>> introspect(
+            @RequestParam(required = false) String token,
+            @RequestParam(name = "token_type_hint", required = false) String tokenTypeHint,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+
+        ResponseEntity<Map<String, Object>> denied = authorizeIntrospection(authorization);
+        if (denied != null) {
+            return denied;
+        }
+        if (token == null || token.isEmpty()) {
+            return ResponseEntity.status(400).body(Map.of(
+                    "error", "invalid_request",
+                    "error_description", "token 파라미터가 필요합니다."));
+        }
+        if (introspectionService == null) {
+            System.err.println("필수 서비스가 주입되지 않았습니다.");
+            return ResponseEntity.status(500).body(Map.of("error", "server_error"));
+        }
+
+        Map<String, Object> result = introspectionService.introspect(token);
+        return ResponseEntity.ok()
+                .cacheControl(introspectionCacheControl(List.of(result)))
+                .header(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION)
+                .body(result);
+    }
+
+    /**
+     * 토큰 일괄 introspection
+     * POST /api/auth/introspect/batch
+     * 
+     * 요청: {"tokens": ["...", "..."]}
+     * 응답: {"results": [{"active": true, ...}, {"active": false}]} (요청 순서와 동일)
+     * 
+     * @param request       토큰 목록
+     * @param authorization 호출 서비스의 머신 토큰 (Bearer, introspect와 같은 scope 필요)
+     * @return 토큰별 introspection 결과
+     */
+    @PostMapping("/introspect/batch")
+    @Operation(summary = "토큰 일괄 introspection", description = "여러 토큰을 한 번에 검사합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "검사 완료"),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+            @ApiResponse(responseCode = "401", description = "호출 서비스 인증 실패"),
+            @ApiResponse(responseCode = "403", description = "introspection scope 없음"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    public ResponseEntity<Map<String, Object>> introspectBatch(@RequestBody Map<String, List<String>> request,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        ResponseEntity<Map<String, Object>> denied = authorizeIntrospection(authorization);
+        if (denied != null) {
+            return denied;
+        }
+        List<String> tokens = request.get("tokens");
+        if (tokens == null || tokens.isEmpty()) {
+            return ResponseEntity.status(400).body(Map.of(
+                    "error", "invalid_request",
+                    "error_description", "tokens 목록이 필요합니다."));
+        }
+        if (introspectionService == null || introspectionProperties == null) {
+            System.err.println("필수 서비스가 주입되지 않았습니다.");
+            return ResponseEntity.status(500).body(Map.of("error", "server_error"));
+        }
+        if (tokens.size() > introspectionProperties.getMaxBatchSize()) {
+            return ResponseEntity.status(400).body(Map.of(
+                    "error", "invalid_request",
+                    "error_description", "한 번에 최대 " + introspectionProperties.getMaxBatchSize()
+                            + "개의 토큰만 검사할 수 있습니다."));
+        }
+
+        List<Map<String, Object>> results = introspectionService.introspectAll(tokens);
+        return ResponseEntity.ok()
+                .cacheControl(introspectionCacheControl(results))
+                .header(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION)
+                .body(Map.of("results", results));
+    }
+
+    /**
+     * introspection 호출 권한 확인 (oauth.introspection.required-scope를 가진 머신 토큰)
+     * 사용자 토큰이나 scope가 없는 머신 토큰으로는 다른 사용자의 토큰 상태와 클레임을 조회할 수 없습니다.
+     *
+     * @return 거절 응답, 허용이면 null
+     */
+    private ResponseEntity<Map<String, Object>> authorizeIntrospection(String authorization) {
+        if (jwtTokenProvider == null || introspectionProperties == null) {
+            System.err.println("필수 서비스가 주입되지 않았습니다.");
+            return ResponseEntity.status(500).body(Map.of("error", "server_error"));
+        }
+        Map<String, Object> claims = authorization != null && authorization.startsWith("Bearer ")
+                ? jwtTokenProvider.getValidClaims(authorization.substring(7))
+                : null;
+        if (claims == null) {
+            return ResponseEntity.status(401)
+                    .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"")
+                    .cacheControl(CacheControl.noStore())
+                    .body(Map.of("error", "invalid_token"));
+        }
+        String requiredScope = introspectionProperties.getRequiredScope();
+        Object scope = claims.get("scope");
+        if (!"client".equals(claims.get("type")) || scope == null
+                || !Arrays.asList(String.valueOf(scope).split(" ")).contains(requiredScope)) {
+            System.err.println("introspection 거절: " + requiredScope + " scope 없음 (sub=" + claims.get("sub") + ")");
+            return ResponseEntity.status(403)
+                    .header(HttpHeaders.WWW_AUTHENTICATE,
+                            "Bearer error=\"insufficient_scope\", scope=\"" + requiredScope + "\"")
+                    .cacheControl(CacheControl.noStore())
+                    .body(Map.of(
+                            "error", "insufficient_scope",
+                            "error_description", requiredScope + " scope가 필요합니다."));
+        }
+        return null;
+    }
+
+    private CacheControl introspectionCacheControl(List<Map<String, Object>> results) {
+        long seconds = introspectionService.cacheSeconds(results);
+        return seconds > 0
+                ? CacheControl.maxAge(Duration.ofSeconds(seconds)).cachePrivate()
+                : CacheControl.noStore();
+    }
+
+    /**
+     * 서비스 간 호출용 머신 토큰 발급 (client_credentials)
+     * POST /api/auth/token
+     * 
+     * 클라이언트 인증은 HTTP Basic 또는 client_id/client_secret 폼 파라미터로 합니다.
+     * 호출 서비스는 ClientCredentialsInterceptor로 토큰을 캐시하여 사용합니다.
+     * 
+     * @param grantType     client_credentials
+     * @param scope         요청 scope (공백 구분, 선택)
+     * @param clientId      클라이언트 ID (Basic 인증을 쓰지 않는 경우)
+     * @param clientSecret  클라이언트 시크릿 (Basic 인증을 쓰지 않는 경우)
+     * @param authorization Authorization 헤더 (Basic)
+     * @return access_token, token_type, expires_in, scope
+     */
+    @PostMapping(value = "/token", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    @Operation(summary = "머신 토큰 발급", description = "등록된 서비스 클라이언트에 client_credentials 토큰을 발급합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "발급 성공"),
+            @ApiResponse(responseCode = "400", description = "지원하지 않는 grant_type 또는 scope"),
+            @ApiResponse(responseCode = "401", description = "클라이언트 인증 실패")
+    })
+    public ResponseEntity<Map<String, Object>> issueClientToken(
+            @RequestParam(name = "grant_type", required = false) String grantType,
+            @RequestParam(required = false) String scope,
+            @RequestParam(name = "client_id", required = false) String clientId,
+            @RequestParam(name = "client_secret", required = false) String clientSecret,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+
+        if (!"client_credentials".equals(grantType)) {
+            return ResponseEntity.status(400).cacheControl(CacheControl.noStore()).body(Map.of(
+                    "error", "unsupported_grant_type"));
+        }
+        if (clientCredentialsService == null) {
+            System.err.println("필수 서비스가 주입되지 않았습니다.");
+            return ResponseEntity.status(500).body(Map.of("error", "server_error"));
+        }
+
+        // HTTP Basic 인증 우선
+        if (authorization != null && authorization.startsWith("Basic ")) {
+            try {
+                String decoded = new String(Base64.getDecoder().decode(authorization.substring(6)),
+                        StandardCharsets.UTF_8);
+                int colon = decoded.indexOf(':');
+                if (colon > 0) {
+                    clientId = URLDecoder.decode(decoded.substring(0, colon), StandardCharsets.UTF_8);
+                    clientSecret = URLDecoder.decode(decoded.substring(colon + 1), StandardCharsets.UTF_8);
+                }
+            } catch (IllegalArgumentException e) {
+                clientId = null;
+            }
+        }
+
+        try {
+            ClientCredentialsService.ClientToken token = clientCredentialsService.issue(clientId, clientSecret, scope);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(Map.of(
+                            "access_token", token.accessToken(),
+                            "token_type", "Bearer",
+                            "expires_in", token.expiresIn(),
+                            "scope", token.scope()));
+        } catch (ClientCredentialsException e) {
+            System.err.println("머신 토큰 발급 거절: " + e.getError() + " - " + e.getMessage());
+            return ResponseEntity.status("invalid_client".equals(e.getError()) ? 401 : 400)
+                    .cacheControl(CacheControl.noStore())
+                    .body(Map.of(
+                            "error", e.getError(),
+                            "error_description", e.getMessage()));
+        }
+    }
 }
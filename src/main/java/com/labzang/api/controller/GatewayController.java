@@ -1,23 +1,58 @@
 package com.labzang.api.controller;
 
+import com.labzang.api.services.gatewayservice.route.GatewayRoute;
+import com.labzang.api.services.gatewayservice.route.GatewayRouteLocator;
+import com.labzang.api.services.gatewayservice.route.GatewayRouteProperties;
+import com.labzang.api.services.gatewayservice.route.GatewayRouteRegistry;
+import com.labzang.api.services.gatewayservice.route.GatewayRouteRegistryProperties;
+import com.labzang.api.services.gatewayservice.route.RouteTable;
+import com.labzang.api.services.oauthservice.jwt.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.net.URI;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/gateway")
 @Tag(name = "Gateway", description = "API Gateway 관리 엔드포인트")
 public class GatewayController {
 
+    @Autowired
+    private GatewayRouteLocator routeLocator;
+
+    @Autowired
+    private GatewayRouteRegistry routeRegistry;
+
+    @Autowired
+    private GatewayRouteRegistryProperties registryProperties;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
     @Operation(
         summary = "Gateway 상태 확인",
         description = "API Gateway의 현재 상태와 정보를 반환합니다."
@@ -39,60 +74,164 @@ public class GatewayController {
 
     @Operation(
         summary = "사용 가능한 서비스 목록",
-        description = "Gateway를 통해 접근 가능한 마이크로서비스 목록을 반환합니다."
+        description = "Gateway를 통해 접근 가능한 마이크로서비스 목록을 현재 라우트 표에서 반환합니다."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "성공적으로 서비스 목록을 반환")
     })
     @GetMapping("/services")
     public ResponseEntity<Map<String, Object>> getAvailableServices() {
-        Map<String, Object> services = new HashMap<>();
-        
-        Map<String, Object> transformerService = new HashMap<>();
-        transformerService.put("name", "TransformerService");
-        transformerService.put("description", "KoELECTRA 기반 한국어 감성분석");
-        transformerService.put("path", "/api/transformer/**");
-        transformerService.put("port", "9020");
-        String transformerServiceUrl = System.getenv("TRANSFORMER_SERVICE_URL");
-        if (transformerServiceUrl == null || transformerServiceUrl.isEmpty()) {
-            transformerServiceUrl = "http://localhost:9020";
+        Map<String, Object> services = new LinkedHashMap<>();
+        List<GatewayRoute> routes = routeLocator.getRoutes();
+        for (GatewayRoute route : routes) {
+            URI uri = route.instances().get(0);
+            Map<String, Object> service = new LinkedHashMap<>();
+            service.put("name", route.id());
+            service.put("description", route.metadata().getOrDefault("description", ""));
+            service.put("path", route.pathPrefixes().get(0) + "/**");
+            service.put("port", String.valueOf(uri.getPort() != -1 ? uri.getPort() : "https".equals(uri.getScheme()) ? 443 : 80));
+            if (route.metadata().containsKey("docs")) {
+                service.put("docs", route.metadata().get("docs"));
+            }
+            services.put(route.id(), service);
         }
-        transformerService.put("docs", transformerServiceUrl + "/docs");
-        
-        Map<String, Object> mlService = new HashMap<>();
-        mlService.put("name", "MLService");
-        mlService.put("description", "머신러닝 및 NLP 서비스");
-        mlService.put("path", "/api/ml/**");
-        mlService.put("port", "9010");
-        
-        services.put("transformer", transformerService);
-        services.put("ml", mlService);
-        services.put("total_services", 2);
-        
+        services.put("total_services", routes.size());
+
         return ResponseEntity.ok(services);
     }
 
     @Operation(
         summary = "Gateway 라우팅 정보",
-        description = "현재 설정된 라우팅 규칙 정보를 반환합니다."
+        description = "현재 적용된 라우트 표(설정 + 동적 라우트)를 반환합니다."
     )
     @GetMapping("/routes")
     public ResponseEntity<Map<String, Object>> getRoutes() {
-        Map<String, Object> routes = new HashMap<>();
-        
-        Map<String, String> transformerRoute = new HashMap<>();
-        transformerRoute.put("path", "/api/transformer/**");
-        transformerRoute.put("target", "http://transformerservice:9020");
-        transformerRoute.put("description", "KoELECTRA 감성분석 서비스");
-        
-        Map<String, String> mlRoute = new HashMap<>();
-        mlRoute.put("path", "/api/ml/**");
-        mlRoute.put("target", "http://mlservice:9010");
-        mlRoute.put("description", "머신러닝 서비스");
-        
-        routes.put("transformer_route", transformerRoute);
-        routes.put("ml_route", mlRoute);
-        
-        return ResponseEntity.ok(routes);
+        RouteTable table = routeLocator.getTable();
+        return ResponseEntity.ok(Map.of(
+                "version", table.getVersion(),
+                "routes", table.getRoutes().stream().map(route -> toRouteInfo(table, route)).toList()));
+    }
+
+    /**
+     * 동적 라우트 추가/변경
+     * PUT /api/gateway/routes/{id}
+     *
+     * 변경 후 전체 라우트 표를 검증해 통과한 경우에만 Redis에 저장하고 모든 인스턴스에 적용합니다.
+     *
+     * @param id         라우트 ID
+     * @param definition 라우트 정의 (uri, predicates, filters, metadata)
+     * @param authHeader Authorization 헤더 (gateway:routes scope의 머신 토큰)
+     */
+    @PutMapping("/routes/{id}")
+    @Operation(summary = "동적 라우트 추가/변경", description = "재시작 없이 라우트를 추가하거나 변경합니다.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "적용 성공"),
+        @ApiResponse(responseCode = "400", description = "유효하지 않은 라우트 (적용하지 않음)"),
+        @ApiResponse(responseCode = "401", description = "유효하지 않은 토큰"),
+        @ApiResponse(responseCode = "403", description = "권한 없음")
+    })
+    public ResponseEntity<Map<String, Object>> putRoute(
+            @PathVariable String id,
+            @RequestBody GatewayRouteProperties.RouteDefinition definition,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        definition.setId(id);
+        return changeRoutes(authHeader, () -> routeRegistry.upsert(definition));
+    }
+
+    /**
+     * 동적 라우트 삭제
+     * DELETE /api/gateway/routes/{id}
+     *
+     * @param id         라우트 ID
+     * @param authHeader Authorization 헤더 (gateway:routes scope의 머신 토큰)
+     */
+    @DeleteMapping("/routes/{id}")
+    @Operation(summary = "동적 라우트 삭제", description = "Redis에 저장한 라우트를 삭제합니다. 같은 ID의 설정 라우트가 있으면 설정값으로 돌아갑니다.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "삭제 성공"),
+        @ApiResponse(responseCode = "404", description = "동적 라우트 없음")
+    })
+    public ResponseEntity<Map<String, Object>> deleteRoute(
+            @PathVariable String id,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        return changeRoutes(authHeader, () -> routeRegistry.delete(id));
+    }
+
+    /**
+     * 직전 라우트 표로 롤백
+     * POST /api/gateway/routes/rollback
+     *
+     * @param authHeader Authorization 헤더 (gateway:routes scope의 머신 토큰)
+     */
+    @PostMapping("/routes/rollback")
+    @Operation(summary = "라우트 롤백", description = "직전 라우트 표로 되돌립니다.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "롤백 성공"),
+        @ApiResponse(responseCode = "409", description = "되돌릴 이전 라우트 없음")
+    })
+    public ResponseEntity<Map<String, Object>> rollbackRoutes(
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        return changeRoutes(authHeader, routeRegistry::rollback);
+    }
+
+    private ResponseEntity<Map<String, Object>> changeRoutes(String authHeader, Supplier<RouteTable> change) {
+        ResponseEntity<Map<String, Object>> denied = authorize(authHeader);
+        if (denied != null) {
+            return denied;
+        }
+        try {
+            RouteTable table = change.get();
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "version", table.getVersion(),
+                    "routes", table.getRoutes().stream().map(route -> toRouteInfo(table, route)).toList()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "error", e.getMessage()));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("success", false, "error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("success", false, "error", e.getMessage()));
+        } catch (DataAccessException e) {
+            System.err.println("❌ 동적 라우트 저장 실패: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("success", false, "error", "라우트 저장소에 연결할 수 없습니다."));
+        }
+    }
+
+    /**
+     * 관리 API 권한 확인 (gateway.routes.admin-scope를 가진 머신 토큰)
+     *
+     * @return 거절 응답, 허용이면 null
+     */
+    private ResponseEntity<Map<String, Object>> authorize(String authHeader) {
+        Claims claims = authHeader != null && authHeader.startsWith("Bearer ")
+                ? jwtTokenProvider.getValidClaims(authHeader.substring(7))
+                : null;
+        if (claims == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("success", false, "error", "유효하지 않은 토큰입니다."));
+        }
+        Object scope = claims.get("scope");
+        if (!"client".equals(claims.get("type")) || scope == null
+                || !Arrays.asList(String.valueOf(scope).split(" ")).contains(registryProperties.getAdminScope())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("success", false, "error", registryProperties.getAdminScope() + " scope가 필요합니다."));
+        }
+        return null;
+    }
+
+    private Map<String, Object> toRouteInfo(RouteTable table, GatewayRoute route) {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("id", route.id());
+        info.put("paths", route.pathPrefixes().stream().map(prefix -> prefix + "/**").toList());
+        info.put("target", route.instances().get(0).toString());
+        info.put("instances", route.instances().stream().map(URI::toString).toList());
+        info.put("strip_prefix", route.stripPrefix());
+        info.put("source", table.getSource(route.id()));
+        info.put("description", route.metadata().getOrDefault("description", ""));
+        if (route.mirror() != null) {
+            info.put("mirror", Map.of("uri", route.mirror().uri().toString(), "percent", route.mirror().percent()));
+        }
+        return info;
     }
 }
@@ -0,0 +1,428 @@
+package com.labzang.api.services.gatewayservice.compression;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 응답 본문을 압축하는 응답 래퍼
+ *
+ * 첫 쓰기 시점에 상태 코드/Content-Type/Content-Encoding/Content-Length를 보고 압축 여부를 정합니다.
+ * - 이미 Content-Encoding이 있는 응답(업스트림이 압축한 응답 등)은 그대로 전달
+ * - 길이를 알 수 없는 응답은 min-response-size만큼 모일 때까지 기다렸다가 결정
+ * - 캐시 대상 URL은 본문 전체를 모아 PrecompressedCache의 압축 결과를 사용
+ * - 그 외에는 쓰는 즉시 스트리밍 압축 (프록시 응답을 메모리에 모으지 않음)
+ * 마지막에 finish()를 호출해야 남은 데이터와 압축 종료 블록이 전송됩니다.
+ */
+final class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+    private enum Mode {
+        UNDECIDED, IDENTITY, COMPRESS, CACHE
+    }
+
+    private final ContentCoding coding;
+    private final CompressionProperties properties;
+    private final List<MimeType> mimeTypes;
+    private final PrecompressedCache cache;
+    private final String cacheKey;
+    private final boolean headRequest;
+    private final MeterRegistry meterRegistry;
+
+    private Mode mode = Mode.UNDECIDED;
+    private long contentLength = -1;
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private ServletOutputStream raw;
+    private CountingOutputStream compressedCounter;
+    private OutputStream compressor;
+    private long originalBytes;
+    private CompressingOutputStream outputStream;
+    private PrintWriter writer;
+    private boolean finished;
+
+    CompressingResponseWrapper(HttpServletResponse response, ContentCoding coding, CompressionProperties properties,
+            List<MimeType> mimeTypes, PrecompressedCache cache, String cacheKey, boolean headRequest,
+            MeterRegistry meterRegistry) {
+        super(response);
+        this.coding = coding;
+        this.properties = properties;
+        this.mimeTypes = mimeTypes;
+        this.cache = cache;
+        this.cacheKey = cacheKey;
+        this.headRequest = headRequest;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter()가 이미 호출되었습니다.");
+        }
+        return stream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream()이 이미 호출되었습니다.");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(stream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (mode == Mode.IDENTITY) {
+            super.setContentLengthLong(len);
+        } else if (mode == Mode.UNDECIDED) {
+            contentLength = len;
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (!interceptContentLength(name, value)) {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (!interceptContentLength(name, value)) {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (!interceptContentLength(name, String.valueOf(value))) {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (!interceptContentLength(name, String.valueOf(value))) {
+            super.addIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        // 결정 전에는 헤더를 확정하지 않음 (Content-Encoding을 아직 붙일 수 있어야 함)
+        if (mode == Mode.IDENTITY || mode == Mode.COMPRESS) {
+            if (outputStream != null) {
+                outputStream.flush();
+            }
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (mode == Mode.UNDECIDED || mode == Mode.CACHE) {
+            buffer.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        if (mode == Mode.UNDECIDED || mode == Mode.CACHE) {
+            buffer.reset();
+            contentLength = -1;
+            mode = Mode.UNDECIDED;
+        }
+        super.reset();
+    }
+
+    /**
+     * 남은 데이터 전송 (압축 종료 블록 포함)
+     */
+    void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (writer != null) {
+            writer.flush();
+        }
+        switch (mode) {
+            case UNDECIDED -> {
+                // min-response-size보다 작은 본문
+                boolean compressible = isCompressible();
+                mode = Mode.IDENTITY;
+                if (compressible) {
+                    addVary();
+                }
+                if (contentLength >= 0) {
+                    super.setContentLengthLong(contentLength);
+                } else if (buffer.size() > 0 && !isCommitted()) {
+                    super.setContentLengthLong(buffer.size());
+                }
+                if (buffer.size() > 0) {
+                    raw().write(buffer.toByteArray());
+                }
+                buffer = null;
+            }
+            case CACHE -> {
+                byte[] body = buffer.toByteArray();
+                buffer = null;
+                if (body.length < properties.getMinResponseSize()) {
+                    mode = Mode.IDENTITY;
+                    addVary();
+                    super.setContentLengthLong(body.length);
+                    raw().write(body);
+                    return;
+                }
+                byte[] compressed = cache.variant(cacheKey, body, coding);
+                mode = Mode.IDENTITY;
+                addVary();
+                super.setHeader("Content-Encoding", coding.token());
+                super.setContentLengthLong(compressed.length);
+                raw().write(compressed);
+                recordBytes(body.length, compressed.length);
+            }
+            case COMPRESS -> {
+                compressor.close();
+                recordBytes(originalBytes, compressedCounter.count);
+            }
+            case IDENTITY -> {
+            }
+        }
+    }
+
+    private CompressingOutputStream stream() {
+        if (outputStream == null) {
+            outputStream = new CompressingOutputStream();
+        }
+        return outputStream;
+    }
+
+    private ServletOutputStream raw() throws IOException {
+        if (raw == null) {
+            raw = super.getOutputStream();
+        }
+        return raw;
+    }
+
+    private boolean interceptContentLength(String name, String value) {
+        if (!"Content-Length".equalsIgnoreCase(name) || value == null) {
+            return false;
+        }
+        try {
+            setContentLengthLong(Long.parseLong(value.trim()));
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void write(byte[] bytes, int offset, int length) throws IOException {
+        switch (mode) {
+            case IDENTITY -> raw().write(bytes, offset, length);
+            case COMPRESS -> {
+                originalBytes += length;
+                compressor.write(bytes, offset, length);
+            }
+            case CACHE -> {
+                buffer.write(bytes, offset, length);
+                if (buffer.size() > properties.getCache().getMaxEntryBytes()) {
+                    startCompress();
+                }
+            }
+            case UNDECIDED -> {
+                buffer.write(bytes, offset, length);
+                decide();
+            }
+        }
+    }
+
+    private void decide() throws IOException {
+        if (!isCompressible()) {
+            startIdentity();
+            return;
+        }
+        if (cacheKey != null && isCacheable()) {
+            mode = Mode.CACHE;
+            if (buffer.size() > properties.getCache().getMaxEntryBytes()) {
+                startCompress();
+            }
+            return;
+        }
+        if (contentLength >= 0) {
+            if (contentLength < properties.getMinResponseSize()) {
+                addVary();
+                startIdentity();
+            } else {
+                startCompress();
+            }
+            return;
+        }
+        if (buffer.size() >= properties.getMinResponseSize()) {
+            startCompress();
+        }
+    }
+
+    private void startIdentity() throws IOException {
+        mode = Mode.IDENTITY;
+        if (contentLength >= 0) {
+            super.setContentLengthLong(contentLength);
+        }
+        if (buffer.size() > 0) {
+            raw().write(buffer.toByteArray());
+        }
+        buffer = null;
+    }
+
+    private void startCompress() throws IOException {
+        mode = Mode.COMPRESS;
+        addVary();
+        super.setHeader("Content-Encoding", coding.token());
+        compressedCounter = new CountingOutputStream(raw());
+        compressor = coding.wrap(compressedCounter,
+                coding == ContentCoding.ZSTD ? properties.getZstdLevel() : properties.getGzipLevel());
+        originalBytes = buffer.size();
+        buffer.writeTo(compressor);
+        buffer = null;
+    }
+
+    private boolean isCompressible() {
+        int status = getStatus();
+        if (headRequest || status < 200 || status == 204 || status == 206 || status == 304) {
+            return false;
+        }
+        if (getHeader("Content-Encoding") != null) {
+            return false;
+        }
+        String contentType = getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MimeType mimeType = MimeTypeUtils.parseMimeType(contentType);
+            for (MimeType candidate : mimeTypes) {
+                if (candidate.equalsTypeAndSubtype(mimeType)) {
+                    return true;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return false;
+    }
+
+    private boolean isCacheable() {
+        if (getStatus() != 200 || getHeader("Set-Cookie") != null) {
+            return false;
+        }
+        String cacheControl = getHeader("Cache-Control");
+        if (cacheControl == null) {
+            return true;
+        }
+        String lower = cacheControl.toLowerCase(Locale.ROOT);
+        return !lower.contains("no-store") && !lower.contains("private");
+    }
+
+    private void addVary() {
+        String vary = getHeader("Vary");
+        if (vary == null) {
+            super.setHeader("Vary", "Accept-Encoding");
+        } else if (!vary.toLowerCase(Locale.ROOT).contains("accept-encoding") && !vary.contains("*")) {
+            super.setHeader("Vary", vary + ", Accept-Encoding");
+        }
+    }
+
+    private void recordBytes(long original, long compressed) {
+        meterRegistry.counter("gateway.compression.bytes", "coding", coding.token(), "stage", "original")
+                .increment(original);
+        meterRegistry.counter("gateway.compression.bytes", "coding", coding.token(), "stage", "compressed")
+                .increment(compressed);
+    }
+
+    private final class CompressingOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            CompressingResponseWrapper.this.write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len > 0) {
+                CompressingResponseWrapper.this.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // 결정 전/캐시 수집 중에는 모아 둠 (압축 여부가 정해져야 헤더를 보낼 수 있음)
+            if (mode == Mode.COMPRESS) {
+                compressor.flush();
+            } else if (mode == Mode.IDENTITY) {
+                raw().flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("압축 응답은 비동기 쓰기를 지원하지 않습니다.");
+        }
+    }
+
+    /**
+     * 압축 결과 크기 측정 (close는 아래 스트림에 전달하지 않음)
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
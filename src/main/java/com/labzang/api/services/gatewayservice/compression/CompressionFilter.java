@@ -0,0 +1,106 @@
+package com.labzang.api.services.gatewayservice.compression;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 응답 압축 필터
+ *
+ * Accept-Encoding으로 압축 방식(zstd, gzip)을 협상하고 CompressingResponseWrapper로 응답을 감쌉니다.
+ * 게이트웨이 프록시는 클라이언트의 Accept-Encoding을 업스트림에 그대로 전달하므로,
+ * 업스트림이 이미 압축한 응답(br 포함)은 클라이언트가 받을 수 있는 방식이며 다시 압축하지 않고 전달합니다.
+ * 비동기 응답(StreamingResponseBody 등)은 ShallowEtagHeaderFilter와 같이 마지막 비동기 디스패치에서 마무리합니다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private final CompressionProperties properties;
+    private final PrecompressedCache cache;
+    private final MeterRegistry meterRegistry;
+    private final List<MimeType> mimeTypes;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public CompressionFilter(CompressionProperties properties, PrecompressedCache cache, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = cache;
+        this.meterRegistry = meterRegistry;
+        this.mimeTypes = properties.getMimeTypes().stream().map(MimeTypeUtils::parseMimeType).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // WebSocket 업그레이드는 응답 본문 없이 연결이 넘어가므로 감싸지 않음
+        return "websocket".equalsIgnoreCase(request.getHeader("Upgrade"));
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CompressingResponseWrapper existing = WebUtils.getNativeResponse(response, CompressingResponseWrapper.class);
+        if (existing != null) {
+            // 비동기 디스패치: 처음 디스패치에서 만든 래퍼를 그대로 사용
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                if (!isAsyncStarted(request)) {
+                    existing.finish();
+                }
+            }
+            return;
+        }
+
+        ContentCoding coding = properties.isEnabled()
+                ? ContentCoding.negotiate(request.getHeader("Accept-Encoding"), properties.getEncodings())
+                : null;
+        if (coding == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        CompressingResponseWrapper wrapper = new CompressingResponseWrapper(response, coding, properties, mimeTypes,
+                cache, cacheKey(request), "HEAD".equals(request.getMethod()), meterRegistry);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                wrapper.finish();
+            }
+        }
+    }
+
+    /**
+     * 미리 압축 캐시 키 (캐시 대상 경로의 GET 요청만)
+     */
+    private String cacheKey(HttpServletRequest request) {
+        if (!properties.getCache().isEnabled() || !"GET".equals(request.getMethod())) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : properties.getCache().getPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return request.getQueryString() != null ? path + "?" + request.getQueryString() : path;
+            }
+        }
+        return null;
+    }
+}
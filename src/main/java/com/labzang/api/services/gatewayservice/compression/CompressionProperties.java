@@ -0,0 +1,61 @@
+package com.labzang.api.services.gatewayservice.compression;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 응답 압축 설정 프로퍼티
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.compression")
+public class CompressionProperties {
+
+    private boolean enabled = true;
+
+    // 서버 선호 순서 (클라이언트 q 값이 같을 때 앞쪽 우선)
+    private List<ContentCoding> encodings = new ArrayList<>(List.of(ContentCoding.ZSTD, ContentCoding.GZIP));
+
+    // 이보다 작은 응답은 압축하지 않음 (바이트)
+    private int minResponseSize = 1024;
+
+    // 압축 대상 Content-Type (text/event-stream 등 실시간 스트림은 제외)
+    private List<String> mimeTypes = new ArrayList<>(List.of(
+            "application/json", "application/problem+json", "application/javascript", "application/xml",
+            "text/html", "text/plain", "text/css", "text/csv", "text/javascript", "text/xml", "image/svg+xml"));
+
+    // 요청마다 압축할 때의 레벨 (CPU 대비 압축률)
+    private int gzipLevel = 5;
+    private int zstdLevel = 3;
+
+    private Cache cache = new Cache();
+
+    /**
+     * 미리 압축한 응답 캐시
+     *
+     * 대상 경로의 GET 응답은 본문 전체를 모은 뒤, 본문 다이제스트가 같으면 캐시된 압축 결과를 그대로 보냅니다.
+     * 한 번만 압축하므로 높은 레벨을 사용합니다.
+     */
+    @Data
+    public static class Cache {
+
+        private boolean enabled = true;
+
+        // 캐시 대상 경로 (Ant 패턴)
+        private List<String> paths = new ArrayList<>(List.of("/v3/api-docs/**", "/v3/api-docs", "/swagger-ui/**"));
+
+        // 최대 항목 수 (URL 기준)
+        private int maxEntries = 256;
+
+        // 이보다 큰 본문은 캐시하지 않고 스트리밍 압축 (바이트)
+        private int maxEntryBytes = 2 * 1024 * 1024;
+
+        private int gzipLevel = 9;
+        private int zstdLevel = 19;
+    }
+}
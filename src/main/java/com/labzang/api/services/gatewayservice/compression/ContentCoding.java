@@ -0,0 +1,138 @@
+package com.labzang.api.services.gatewayservice.compression;
+
+import com.github.luben.zstd.ZstdOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 응답 압축 방식 (Content-Encoding)
+ *
+ * zstd는 zstd-jni 네이티브 라이브러리를 사용하며, 현재 플랫폼에서 로드할 수 없으면 협상 대상에서 빠집니다.
+ * br(brotli)은 인코더가 없어 직접 압축하지 않고, 업스트림이 이미 br로 압축한 응답만 그대로 전달합니다.
+ */
+public enum ContentCoding {
+
+    ZSTD("zstd"),
+    GZIP("gzip");
+
+    private static final boolean ZSTD_AVAILABLE = loadZstd();
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Content-Encoding 헤더 값
+     */
+    public String token() {
+        return token;
+    }
+
+    /**
+     * 현재 플랫폼에서 사용할 수 있는지 확인
+     */
+    public boolean isAvailable() {
+        return this != ZSTD || ZSTD_AVAILABLE;
+    }
+
+    /**
+     * 압축 스트림 생성 (flush 시 지금까지 쓴 데이터를 클라이언트가 풀 수 있도록 내보냄)
+     *
+     * @param out   압축 결과를 쓸 스트림
+     * @param level 압축 레벨 (gzip 1-9, zstd 1-19)
+     */
+    public OutputStream wrap(OutputStream out, int level) throws IOException {
+        if (this == ZSTD) {
+            ZstdOutputStream zstd = new ZstdOutputStream(out, level);
+            zstd.setCloseFrameOnFlush(false);
+            return zstd;
+        }
+        return new GZIPOutputStream(out, 8192, true) {
+            {
+                def.setLevel(level);
+            }
+        };
+    }
+
+    /**
+     * 전체 본문 압축
+     */
+    public byte[] compress(byte[] body, int level) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (OutputStream out = wrap(buffer, level)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Accept-Encoding 협상
+     *
+     * q 값이 가장 높은 방식을 고르고, 같으면 preference 순서를 따릅니다. q=0은 거부로 처리합니다.
+     *
+     * @param acceptEncoding Accept-Encoding 헤더 (없으면 null)
+     * @param preference     서버 선호 순서
+     * @return 사용할 방식, 없으면 null (압축하지 않음)
+     */
+    public static ContentCoding negotiate(String acceptEncoding, List<ContentCoding> preference) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        Map<String, Double> qualities = new HashMap<>();
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String name = tokens[0].trim().toLowerCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                continue;
+            }
+            double quality = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                String parameter = tokens[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            qualities.put(name, quality);
+        }
+
+        ContentCoding best = null;
+        double bestQuality = 0;
+        for (ContentCoding coding : preference) {
+            if (!coding.isAvailable()) {
+                continue;
+            }
+            Double quality = qualities.getOrDefault(coding.token, qualities.get("*"));
+            if (quality != null && quality > bestQuality) {
+                best = coding;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    private static boolean loadZstd() {
+        try {
+            com.github.luben.zstd.util.Native.load();
+            return true;
+        } catch (Throwable e) {
+            System.err.println("⚠️ zstd 네이티브 라이브러리를 로드할 수 없어 gzip만 사용합니다: " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.labzang.api.services.gatewayservice.compression;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 미리 압축한 응답 캐시
+ *
+ * URL별로 원본 본문의 SHA-256과 압축 방식별 결과를 보관합니다.
+ * 응답 본문이 바뀌면(다이제스트 불일치) 항목을 새로 만들므로 오래된 압축 결과를 보내지 않습니다.
+ * 항목 수가 max-entries를 넘으면 가장 오래 사용하지 않은 URL부터 제거합니다.
+ */
+@Component
+public class PrecompressedCache {
+
+    private final CompressionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Entry> entries;
+
+    private record Entry(byte[] digest, Map<ContentCoding, byte[]> variants) {
+    }
+
+    public PrecompressedCache(CompressionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        int maxEntries = properties.getCache().getMaxEntries();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 압축 결과 조회 (없거나 본문이 바뀌었으면 압축 후 저장)
+     *
+     * @param key    캐시 키 (경로 + 쿼리)
+     * @param body   원본 본문
+     * @param coding 압축 방식
+     * @return 압축된 본문
+     */
+    public byte[] variant(String key, byte[] body, ContentCoding coding) {
+        byte[] digest = sha256(body);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || !Arrays.equals(entry.digest(), digest)) {
+                entry = new Entry(digest, new ConcurrentHashMap<>());
+                entries.put(key, entry);
+            }
+        }
+
+        byte[] cached = entry.variants().get(coding);
+        if (cached != null) {
+            meterRegistry.counter("gateway.compression.cache", "result", "hit").increment();
+            return cached;
+        }
+        meterRegistry.counter("gateway.compression.cache", "result", "miss").increment();
+        int level = coding == ContentCoding.ZSTD
+                ? properties.getCache().getZstdLevel()
+                : properties.getCache().getGzipLevel();
+        return entry.variants().computeIfAbsent(coding, c -> c.compress(body, level));
+    }
+
+    private static byte[] sha256(byte[] body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
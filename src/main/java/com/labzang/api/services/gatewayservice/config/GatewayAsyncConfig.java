@@ -0,0 +1,32 @@
+package com.labzang.api.services.gatewayservice.config;
+
+import com.labzang.api.services.gatewayservice.proxy.GatewayProxyProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 비동기 응답 설정 (롱 폴링, 스트리밍 프록시 응답)
+ *
+ * 프록시 응답 본문(StreamingResponseBody)은 업스트림이 데이터를 보낼 때까지 복사 스레드가 대기하므로,
+ * 롱 폴링/스트리밍 응답이 많아도 풀이 고갈되지 않게 가상 스레드에서 복사합니다.
+ * 비동기 요청 시간 한도는 롱 폴링 라우트의 read-timeout보다 길어야 합니다.
+ */
+@Configuration
+public class GatewayAsyncConfig implements WebMvcConfigurer {
+
+    private final GatewayProxyProperties properties;
+
+    public GatewayAsyncConfig(GatewayProxyProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("gateway-stream-");
+        executor.setVirtualThreads(true);
+        configurer.setTaskExecutor(executor);
+        configurer.setDefaultTimeout(properties.getAsyncTimeout().toMillis());
+    }
+}
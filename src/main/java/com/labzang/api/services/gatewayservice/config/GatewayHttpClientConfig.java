@@ -0,0 +1,26 @@
+package com.labzang.api.services.gatewayservice.config;
+
+import com.labzang.api.services.gatewayservice.proxy.GatewayProxyProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+
+/**
+ * 게이트웨이 업스트림 호출용 HttpClient 설정
+ *
+ * 소셜 로그인 제공자용 oauthHttpClient와 연결 풀을 분리해 업스트림 장애가 로그인에 영향을 주지 않게 합니다.
+ * 이 클라이언트는 HTTP/1.1 연결 풀이며, h2c를 지원하는 업스트림은 UpstreamClient가 HTTP/2 연결로 보냅니다.
+ */
+@Configuration
+public class GatewayHttpClientConfig {
+
+    @Bean
+    public HttpClient gatewayHttpClient(GatewayProxyProperties properties) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.labzang.api.services.gatewayservice.http2;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * HTTP/2 설정 프로퍼티
+ *
+ * 클라이언트 쪽 HTTP/2(h2, h2c 업그레이드)는 server.http2.enabled로 켜고, 여기서는 스트림 수와 흐름 제어 값만 조정합니다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.http2")
+public class Http2Properties {
+
+    private Server server = new Server();
+
+    private Upstream upstream = new Upstream();
+
+    /**
+     * 클라이언트 → 게이트웨이 (Tomcat Http2Protocol)
+     */
+    @Data
+    public static class Server {
+
+        // 연결당 동시 스트림 수
+        private long maxConcurrentStreams = 200;
+
+        // 연결당 동시에 처리(서블릿 스레드 할당)할 스트림 수
+        private int maxConcurrentStreamExecution = 50;
+
+        // 스트림 초기 윈도우 크기 (클라이언트가 응답 확인 없이 보낼 수 있는 요청 본문 크기)
+        private int initialWindowSize = 1024 * 1024;
+    }
+
+    /**
+     * 게이트웨이 → 업스트림 (JDK HttpClient)
+     *
+     * 업스트림마다 h2c 업그레이드를 시도하고, 업그레이드를 받아들인 업스트림은 연결 하나에 요청을 다중화합니다.
+     * 거절한 업스트림은 이후 HTTP/1.1 연결 풀로만 보냅니다.
+     */
+    @Data
+    public static class Upstream {
+
+        private boolean enabled = true;
+
+        // 업스트림당 HTTP/2 연결 수
+        private int connectionsPerUpstream = 2;
+
+        // HTTP/2 연결당 동시 스트림 수 (모든 연결이 가득 차면 HTTP/1.1 연결로 보냄)
+        private int maxConcurrentStreams = 100;
+
+        // 스트림 수신 윈도우 (jdk.httpclient.windowsize)
+        private int streamWindowSize = 4 * 1024 * 1024;
+
+        // 연결 수신 윈도우 (jdk.httpclient.connectionWindowSize, 스트림 윈도우 이상)
+        private int connectionWindowSize = 32 * 1024 * 1024;
+    }
+}
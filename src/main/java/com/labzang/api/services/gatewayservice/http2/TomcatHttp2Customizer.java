@@ -0,0 +1,37 @@
+package com.labzang.api.services.gatewayservice.http2;
+
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tomcat HTTP/2 스트림/흐름 제어 설정
+ *
+ * server.http2.enabled=true이면 Spring Boot가 커넥터에 Http2Protocol을 추가합니다
+ * (TLS에서는 ALPN h2, 평문에서는 h2c 업그레이드). 여기서는 그 값만 조정합니다.
+ */
+@Component
+public class TomcatHttp2Customizer implements WebServerFactoryCustomizer<TomcatServletWebServerFactory> {
+
+    private final Http2Properties properties;
+
+    public TomcatHttp2Customizer(Http2Properties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void customize(TomcatServletWebServerFactory factory) {
+        Http2Properties.Server server = properties.getServer();
+        factory.addConnectorCustomizers(connector -> {
+            for (UpgradeProtocol protocol : connector.findUpgradeProtocols()) {
+                if (protocol instanceof Http2Protocol http2) {
+                    http2.setMaxConcurrentStreams(server.getMaxConcurrentStreams());
+                    http2.setMaxConcurrentStreamExecution(server.getMaxConcurrentStreamExecution());
+                    http2.setInitialWindowSize(server.getInitialWindowSize());
+                }
+            }
+        });
+    }
+}
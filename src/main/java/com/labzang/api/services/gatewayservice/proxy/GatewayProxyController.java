@@ -0,0 +1,184 @@
+package com.labzang.api.services.gatewayservice.proxy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labzang.api.services.gatewayservice.route.GatewayRoute;
+import com.labzang.api.services.gatewayservice.route.GatewayRouteLocator;
+import com.labzang.api.services.oauthservice.token.AccessTokenVerifier;
+import com.labzang.api.services.oauthservice.token.ReferenceTokenService;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 게이트웨이 프록시 엔드포인트
+ *
+ * 다른 컨트롤러에 매핑되지 않은 /api/** 요청을 spring.cloud.gateway.routes에 따라 업스트림으로 전달합니다.
+ * (/api/auth, /api/gateway 등 이 애플리케이션의 엔드포인트가 항상 우선)
+ * 이 게이트웨이가 발급한 Access Token은 전달 전에 세션이 살아 있는지 확인하여, 로그아웃된 세션이나
+ * 폐기된 참조 토큰의 요청은 업스트림으로 보내지 않고 401로 거절합니다. 그 밖의 토큰은 업스트림이 판단합니다.
+ * 참조 토큰은 업스트림이 검증할 수 있도록 짧은 수명의 내부 JWT로 바꿔 Authorization 헤더로 전달합니다.
+ * 요청 본문은 헤지/미러링 시 다시 보낼 수 있도록 메모리에 담되 max-body-size를 넘으면 413으로 거절하고,
+ * 응답 본문은 메모리에 모으지 않고 업스트림 스트림을 그대로 클라이언트로 복사합니다.
+ */
+@Hidden
+@RestController
+@RequiredArgsConstructor
+public class GatewayProxyController {
+
+    // 클라이언트로 전달하지 않는 응답 헤더 (hop-by-hop)
+    private static final Set<String> EXCLUDED_RESPONSE_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "te", "trailer",
+            "transfer-encoding", "upgrade");
+
+    private final GatewayRouteLocator routeLocator;
+    private final GatewayProxyService proxyService;
+    private final AccessTokenVerifier accessTokenVerifier;
+    private final ReferenceTokenService referenceTokenService;
+    private final GatewayProxyProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @RequestMapping("/api/**")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> proxy(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        GatewayRoute route = routeLocator.find(path);
+        if (route == null) {
+            return CompletableFuture.completedFuture(error(HttpStatus.NOT_FOUND, "라우트를 찾을 수 없습니다: " + path));
+        }
+        byte[] body;
+        try {
+            body = readBody(request);
+        } catch (IOException e) {
+            return CompletableFuture.completedFuture(error(HttpStatus.BAD_REQUEST, "요청 본문을 읽을 수 없습니다."));
+        }
+        if (body == null) {
+            return CompletableFuture.completedFuture(error(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "요청 본문이 너무 큽니다 (최대 " + properties.getMaxBodySize().toBytes() + " bytes)"));
+        }
+        String token = bearerToken(request);
+        String upstreamAuthorization = null;
+        if (token != null) {
+            Map<String, Object> claims = accessTokenVerifier.parse(token);
+            boolean reference = referenceTokenService.isReferenceToken(token);
+            // 이 게이트웨이가 발급했지만 더 이상 쓸 수 없는 토큰 (없거나 만료된 참조 토큰, 로그아웃된 세션)
+            if (claims == null ? reference : !accessTokenVerifier.isSessionActive(claims)) {
+                return CompletableFuture.completedFuture(unauthorized());
+            }
+            if (reference) {
+                upstreamAuthorization = "Bearer " + referenceTokenService.toInternalJwt(claims);
+            }
+        }
+
+        GatewayProxyService.ProxyRequest proxyRequest = new GatewayProxyService.ProxyRequest(
+                request.getMethod(), path, request.getQueryString(),
+                forwardedHeaders(request, upstreamAuthorization), body);
+        return proxyService.forward(route, proxyRequest)
+                .thenApply(this::toResponse)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof HttpTimeoutException) {
+                        return error(HttpStatus.GATEWAY_TIMEOUT, "업스트림 응답 시간 초과: " + route.id());
+                    }
+                    System.err.println("❌ 게이트웨이 업스트림 호출 실패 (" + route.id() + "): " + cause.getMessage());
+                    return error(HttpStatus.BAD_GATEWAY, "업스트림 호출 실패: " + route.id());
+                });
+    }
+
+    /**
+     * 요청 본문 읽기 (max-body-size + 1바이트까지만 읽어 한도 초과 여부 판단)
+     *
+     * @return 본문 (없으면 빈 배열), 한도를 넘으면 null
+     */
+    private byte[] readBody(HttpServletRequest request) throws IOException {
+        long limit = properties.getMaxBodySize().toBytes();
+        if (request.getContentLengthLong() > limit) {
+            return null;
+        }
+        // 폼 요청은 이미 파라미터로 읽혔을 수 있으므로 @RequestBody와 같이 ServletServerHttpRequest로 읽음
+        try (InputStream in = new ServletServerHttpRequest(request).getBody()) {
+            byte[] body = in.readNBytes((int) Math.min(limit + 1, Integer.MAX_VALUE - 8));
+            return body.length > limit ? null : body;
+        }
+    }
+
+    private String bearerToken(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        return authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+    }
+
+    /**
+     * 업스트림으로 전달할 헤더
+     *
+     * @param authorization Authorization 헤더를 바꿀 값 (참조 토큰을 변환한 내부 JWT, 그대로 전달하면 null)
+     */
+    private Map<String, List<String>> forwardedHeaders(HttpServletRequest request, String authorization) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : Collections.list(request.getHeaderNames())) {
+            headers.put(name, Collections.list(request.getHeaders(name)));
+        }
+        if (authorization != null) {
+            headers.keySet().removeIf(HttpHeaders.AUTHORIZATION::equalsIgnoreCase);
+            headers.put(HttpHeaders.AUTHORIZATION, List.of(authorization));
+        }
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        headers.put("X-Forwarded-For", List.of(forwardedFor != null
+                ? forwardedFor + ", " + request.getRemoteAddr()
+                : request.getRemoteAddr()));
+        headers.putIfAbsent("X-Forwarded-Proto", List.of(request.getScheme()));
+        if (request.getHeader("Host") != null) {
+            headers.putIfAbsent("X-Forwarded-Host", List.of(request.getHeader("Host")));
+        }
+        return headers;
+    }
+
+    private ResponseEntity<StreamingResponseBody> toResponse(HttpResponse<InputStream> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":") && !EXCLUDED_RESPONSE_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, new ArrayList<>(values));
+            }
+        });
+        StreamingResponseBody body = out -> {
+            try (InputStream in = response.body()) {
+                in.transferTo(out);
+            }
+        };
+        return ResponseEntity.status(response.statusCode()).headers(headers).body(body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> unauthorized() {
+        Map<String, Object> error = Map.of("success", false, "error", "유효하지 않은 토큰입니다.");
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, error));
+    }
+
+    private ResponseEntity<StreamingResponseBody> error(HttpStatus status, String message) {
+        Map<String, Object> error = Map.of("success", false, "error", message);
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, error));
+    }
+}
@@ -0,0 +1,62 @@
+package com.labzang.api.services.gatewayservice.proxy;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 게이트웨이 프록시 설정 프로퍼티
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.proxy")
+public class GatewayProxyProperties {
+
+    // 업스트림 연결 타임아웃
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    // 업스트림 응답 헤더 대기 시간 (초과 시 504, 라우트 metadata.read-timeout으로 라우트별 지정 가능)
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    // 비동기 요청 전체 시간 한도 (롱 폴링 라우트의 read-timeout보다 길게)
+    private Duration asyncTimeout = Duration.ofMinutes(2);
+
+    // 요청 본문 최대 크기 (헤지/미러링에 재사용하도록 메모리에 담으므로 제한, 초과 시 413)
+    private DataSize maxBodySize = DataSize.ofMegabytes(10);
+
+    private Hedging hedging = new Hedging();
+
+    /**
+     * 헤지 요청 설정 (멱등 요청만 대상)
+     *
+     * 첫 시도가 라우트의 p95 응답 시간 안에 응답하지 않으면 다른 인스턴스로 두 번째 시도를 보내고
+     * 먼저 온 응답을 사용합니다. 두 번째 시도는 라우트별 예산 안에서만 보냅니다.
+     * 인스턴스가 하나뿐인 라우트는 같은 업스트림에 부하만 더하므로 헤지하지 않습니다.
+     */
+    @Data
+    public static class Hedging {
+
+        private boolean enabled = true;
+
+        // 헤지 대상 라우트 ID
+        private List<String> routes = new ArrayList<>();
+
+        // 추가 부하 한도 (요청 수 대비 헤지 비율, 0.05 = 최대 5%)
+        private double budgetRatio = 0.05;
+
+        // 한 번에 몰아서 쓸 수 있는 헤지 수 (예산 적립 상한)
+        private int maxBurst = 10;
+
+        // p95를 신뢰하기 위한 최소 응답 수 (이보다 적으면 헤지하지 않음)
+        private int minSamples = 50;
+
+        // 헤지 지연 하한 (p95가 매우 짧을 때 불필요한 중복 요청 방지)
+        private Duration minDelay = Duration.ofMillis(20);
+    }
+}
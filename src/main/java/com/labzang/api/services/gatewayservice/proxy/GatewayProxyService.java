@@ -0,0 +1,208 @@
+package com.labzang.api.services.gatewayservice.proxy;
+
+import com.labzang.api.services.gatewayservice.route.GatewayRoute;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 게이트웨이 업스트림 호출
+ *
+ * 요청을 라우트의 업스트림 인스턴스로 전달하고 응답 헤더가 도착하면 본문 스트림과 함께 반환합니다.
+ * 헤지 대상 요청(HedgingPolicy)은 첫 시도가 p95 안에 응답하지 않으면 다음 인스턴스로 두 번째 시도를 보내고,
+ * 먼저 성공한 응답을 사용합니다. 진 쪽은 요청을 취소하거나 이미 받은 본문을 닫아 연결을 정리합니다.
+ * 미러링 대상 라우트는 TrafficMirror가 섀도 업스트림으로 요청을 복제합니다 (운영 응답과 무관).
+ */
+@Service
+public class GatewayProxyService {
+
+    // 업스트림으로 전달하지 않는 헤더 (hop-by-hop 및 HttpClient가 직접 설정하는 헤더)
+    private static final Set<String> EXCLUDED_REQUEST_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "te", "trailer",
+            "transfer-encoding", "upgrade", "host", "content-length", "expect", "date", "from", "via", "warning");
+
+    private final UpstreamClient upstreamClient;
+    private final GatewayProxyProperties properties;
+    private final HedgingPolicy hedgingPolicy;
+    private final TrafficMirror trafficMirror;
+    private final MeterRegistry meterRegistry;
+
+    public GatewayProxyService(UpstreamClient upstreamClient, GatewayProxyProperties properties,
+            HedgingPolicy hedgingPolicy, TrafficMirror trafficMirror, MeterRegistry meterRegistry) {
+        this.upstreamClient = upstreamClient;
+        this.properties = properties;
+        this.hedgingPolicy = hedgingPolicy;
+        this.trafficMirror = trafficMirror;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 전달할 요청
+     *
+     * @param method  HTTP 메서드
+     * @param path    요청 경로 (게이트웨이 기준)
+     * @param query   쿼리 문자열 (없으면 null)
+     * @param headers 요청 헤더
+     * @param body    요청 본문 (없으면 null)
+     */
+    public record ProxyRequest(String method, String path, String query, Map<String, List<String>> headers,
+            byte[] body) {
+    }
+
+    /**
+     * 업스트림 호출
+     *
+     * @param route   라우트
+     * @param request 전달할 요청
+     * @return 업스트림 응답 (본문은 호출 측에서 닫아야 함)
+     */
+    public CompletableFuture<HttpResponse<InputStream>> forward(GatewayRoute route, ProxyRequest request) {
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<InputStream>> response = forwardToUpstream(route, request);
+        if (route.mirror() != null) {
+            trafficMirror.mirror(route, request.method(),
+                    () -> buildRequest(route.mirror().uri(), route, request), response, start);
+        }
+        return response;
+    }
+
+    private CompletableFuture<HttpResponse<InputStream>> forwardToUpstream(GatewayRoute route, ProxyRequest request) {
+        int first = ThreadLocalRandom.current().nextInt(route.instances().size());
+        if (!hedgingPolicy.isHedgeable(route, request.method())) {
+            return send(route, request, first);
+        }
+
+        Duration delay = hedgingPolicy.onRequest(route);
+        if (delay == null) {
+            return send(route, request, first);
+        }
+
+        HedgedCall call = new HedgedCall(route);
+        call.add(send(route, request, first), "primary");
+        CompletableFuture.runAsync(() -> {
+            if (call.result.isDone()) {
+                return;
+            }
+            if (!hedgingPolicy.tryAcquire(route)) {
+                meterRegistry.counter("gateway.hedge", "route", route.id(), "outcome", "no_budget").increment();
+                return;
+            }
+            meterRegistry.counter("gateway.hedge", "route", route.id(), "outcome", "sent").increment();
+            call.add(send(route, request, first + 1), "hedge");
+        }, CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS));
+        return call.result;
+    }
+
+    private CompletableFuture<HttpResponse<InputStream>> send(GatewayRoute route, ProxyRequest request, int instance) {
+        HttpRequest upstreamRequest = buildRequest(route.instance(instance), route, request);
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<InputStream>> response = upstreamClient.send(upstreamRequest);
+        response.whenComplete((result, e) -> {
+            if (e == null) {
+                hedgingPolicy.recordLatency(route, System.nanoTime() - start);
+            }
+        });
+        // 취소가 전송 중인 요청까지 전달되도록 whenComplete의 결과가 아닌 원래 future를 반환
+        return response;
+    }
+
+    private HttpRequest buildRequest(URI instance, GatewayRoute route, ProxyRequest request) {
+        String base = instance.toString();
+        if (base.endsWith("/")) {
+            base = base.substring(0, base.length() - 1);
+        }
+        String target = base + route.upstreamPath(request.path())
+                + (request.query() != null ? "?" + request.query() : "");
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(target))
+                .timeout(readTimeout(route))
+                .method(request.method(), request.body() != null && request.body().length > 0
+                        ? HttpRequest.BodyPublishers.ofByteArray(request.body())
+                        : HttpRequest.BodyPublishers.noBody());
+        request.headers().forEach((name, values) -> {
+            if (!EXCLUDED_REQUEST_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+        return builder.build();
+    }
+
+    /**
+     * 라우트별 응답 대기 시간 (metadata.read-timeout, 롱 폴링 라우트용)
+     */
+    private Duration readTimeout(GatewayRoute route) {
+        String value = route.metadata().get("read-timeout");
+        if (value == null || value.isBlank()) {
+            return properties.getReadTimeout();
+        }
+        // 형식은 GatewayRoute.compile에서 검증됨
+        return DurationStyle.detectAndParse(value.trim());
+    }
+
+    /**
+     * 헤지 요청 묶음 (먼저 성공한 시도가 결과, 모든 시도가 실패하면 마지막 오류)
+     */
+    private final class HedgedCall {
+
+        private final GatewayRoute route;
+        private final CompletableFuture<HttpResponse<InputStream>> result = new CompletableFuture<>();
+        private final List<CompletableFuture<HttpResponse<InputStream>>> attempts = new CopyOnWriteArrayList<>();
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private HedgedCall(GatewayRoute route) {
+            this.route = route;
+        }
+
+        private void add(CompletableFuture<HttpResponse<InputStream>> attempt, String kind) {
+            pending.incrementAndGet();
+            attempts.add(attempt);
+            attempt.whenComplete((response, e) -> {
+                int remaining = pending.decrementAndGet();
+                if (e == null) {
+                    if (result.complete(response)) {
+                        if ("hedge".equals(kind)) {
+                            meterRegistry.counter("gateway.hedge", "route", route.id(), "outcome", "won").increment();
+                        }
+                        cancelOthers(attempt);
+                    } else {
+                        closeQuietly(response);
+                    }
+                } else if (remaining == 0) {
+                    result.completeExceptionally(e);
+                }
+            });
+        }
+
+        private void cancelOthers(CompletableFuture<HttpResponse<InputStream>> winner) {
+            for (CompletableFuture<HttpResponse<InputStream>> attempt : attempts) {
+                if (attempt != winner) {
+                    attempt.cancel(true);
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(HttpResponse<InputStream> response) {
+        try {
+            response.body().close();
+        } catch (IOException ignored) {
+            // 진 쪽 응답 정리 실패는 무시
+        }
+    }
+}
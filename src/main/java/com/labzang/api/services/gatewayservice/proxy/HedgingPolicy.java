@@ -0,0 +1,131 @@
+package com.labzang.api.services.gatewayservice.proxy;
+
+import com.labzang.api.services.gatewayservice.route.GatewayRoute;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 헤지 요청 정책
+ *
+ * - 지연: 라우트별 업스트림 응답 시간(gateway.upstream 타이머)의 최근 p95, 1초마다 다시 계산
+ * - 예산: 헤지 대상 요청마다 budget-ratio만큼 적립하고 헤지 1회에 1만큼 사용 (최대 max-burst)
+ *   적립된 만큼만 헤지하므로 장기적으로 추가 부하는 요청 수의 budget-ratio를 넘지 않습니다.
+ *   업스트림 전체가 느려져 모든 요청이 p95를 넘는 상황에서도 부하가 두 배가 되지 않습니다.
+ */
+@Component
+public class HedgingPolicy {
+
+    // 예산 단위 (헤지 1회 = 1000)
+    private static final long UNIT = 1000;
+    private static final long P95_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final GatewayProxyProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> budgets = new ConcurrentHashMap<>();
+    private final Map<String, CachedDelay> delays = new ConcurrentHashMap<>();
+    private final Set<String> routes;
+
+    private record CachedDelay(Duration delay, long computedAt) {
+    }
+
+    public HedgingPolicy(GatewayProxyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.routes = Set.copyOf(properties.getHedging().getRoutes());
+    }
+
+    /**
+     * 헤지 대상 요청인지 확인 (인스턴스가 둘 이상인 헤지 대상 라우트의 GET/HEAD/OPTIONS)
+     */
+    public boolean isHedgeable(GatewayRoute route, String method) {
+        return properties.getHedging().isEnabled()
+                && routes.contains(route.id())
+                && route.instances().size() >= 2
+                && ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    /**
+     * 헤지 대상 요청 1건에 대한 예산 적립 후 헤지 지연 계산
+     *
+     * @return 두 번째 시도까지 기다릴 시간, p95를 아직 알 수 없으면 null (헤지하지 않음)
+     */
+    public Duration onRequest(GatewayRoute route) {
+        GatewayProxyProperties.Hedging hedging = properties.getHedging();
+        long deposit = Math.round(hedging.getBudgetRatio() * UNIT);
+        long cap = hedging.getMaxBurst() * UNIT;
+        budgets.computeIfAbsent(route.id(), id -> new AtomicLong())
+                .accumulateAndGet(deposit, (balance, add) -> Math.min(cap, balance + add));
+        return delay(route.id());
+    }
+
+    /**
+     * 헤지 1회분 예산 사용
+     *
+     * @return 예산이 남아 있으면 true
+     */
+    public boolean tryAcquire(GatewayRoute route) {
+        AtomicLong budget = budgets.get(route.id());
+        if (budget == null) {
+            return false;
+        }
+        while (true) {
+            long balance = budget.get();
+            if (balance < UNIT) {
+                return false;
+            }
+            if (budget.compareAndSet(balance, balance - UNIT)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 업스트림 응답 시간 기록 (응답 헤더 수신까지)
+     */
+    public void recordLatency(GatewayRoute route, long nanos) {
+        timer(route.id()).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Duration delay(String routeId) {
+        long now = System.nanoTime();
+        CachedDelay cached = delays.get(routeId);
+        if (cached != null && now - cached.computedAt() < P95_REFRESH_NANOS) {
+            return cached.delay();
+        }
+        Duration delay = computeDelay(timer(routeId));
+        delays.put(routeId, new CachedDelay(delay, now));
+        return delay;
+    }
+
+    private Duration computeDelay(Timer timer) {
+        if (timer.count() < properties.getHedging().getMinSamples()) {
+            return null;
+        }
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.95) {
+                Duration p95 = Duration.ofNanos((long) percentile.value(TimeUnit.NANOSECONDS));
+                Duration min = properties.getHedging().getMinDelay();
+                return p95.compareTo(min) < 0 ? min : p95;
+            }
+        }
+        return null;
+    }
+
+    private Timer timer(String routeId) {
+        return timers.computeIfAbsent(routeId, id -> Timer.builder("gateway.upstream")
+                .tag("route", id)
+                .publishPercentiles(0.95)
+                .register(meterRegistry));
+    }
+}
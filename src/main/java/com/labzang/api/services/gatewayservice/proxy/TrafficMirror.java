@@ -0,0 +1,205 @@
+package com.labzang.api.services.gatewayservice.proxy;
+
+import com.labzang.api.services.gatewayservice.route.GatewayRoute;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 트래픽 미러링 (섀도 업스트림으로 요청 복제)
+ *
+ * 라우트 metadata.mirror-uri가 있으면 mirror-percent 비율의 요청을 섀도 업스트림에 같은 경로로 한 번 더 보내고,
+ * 응답은 버린 채 운영 응답과의 지연/상태 코드 차이만 메트릭으로 남깁니다.
+ * 요청 스레드에서는 샘플링과 작업 등록만 하고, 요청 생성/전송/기록은 별도의 제한된 스레드 풀에서 처리합니다.
+ * 동시 미러 요청 수나 대기열이 가득 차면 기다리지 않고 버리므로 운영 요청에 지연이나 역압이 생기지 않습니다.
+ */
+@Component
+public class TrafficMirror {
+
+    // 섀도 업스트림이 미러 요청을 구분할 수 있도록 붙이는 헤더
+    static final String MIRROR_HEADER = "X-Gateway-Mirror";
+
+    private final TrafficMirrorProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final HttpClient mirrorClient;
+    private final Semaphore inFlight;
+
+    public TrafficMirror(TrafficMirrorProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()), r -> {
+                    Thread thread = new Thread(r, "gateway-mirror-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // 운영 요청과 연결 풀을 공유하지 않도록 별도 클라이언트 사용
+        this.mirrorClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.inFlight = new Semaphore(properties.getMaxInFlight());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 요청 복제
+     *
+     * @param route         라우트 (mirror가 없으면 아무것도 하지 않음)
+     * @param method        HTTP 메서드
+     * @param shadowRequest 섀도 업스트림으로 보낼 요청 (미러 스레드에서 생성)
+     * @param primary       운영 업스트림 응답
+     * @param primaryStart  운영 요청 시작 시각 (System.nanoTime)
+     */
+    public void mirror(GatewayRoute route, String method, Supplier<HttpRequest> shadowRequest,
+            CompletableFuture<HttpResponse<InputStream>> primary, long primaryStart) {
+        GatewayRoute.Mirror mirror = route.mirror();
+        if (mirror == null || !properties.isEnabled() || !properties.getMethods().contains(method)) {
+            return;
+        }
+        if (mirror.percent() < 100 && ThreadLocalRandom.current().nextDouble(100) >= mirror.percent()) {
+            return;
+        }
+        if (!inFlight.tryAcquire()) {
+            meterRegistry.counter("gateway.mirror.dropped", "route", route.id(), "reason", "in_flight").increment();
+            return;
+        }
+
+        Comparison comparison = new Comparison(route);
+        try {
+            executor.execute(() -> send(comparison, shadowRequest));
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            meterRegistry.counter("gateway.mirror.dropped", "route", route.id(), "reason", "queue_full").increment();
+            return;
+        }
+        // 운영 응답 스레드에서는 값만 기록 (비교와 메트릭 기록은 미러 스레드에서)
+        primary.whenComplete((response, e) -> comparison.primaryDone(System.nanoTime() - primaryStart,
+                response != null ? response.statusCode() : 0));
+    }
+
+    private void send(Comparison comparison, Supplier<HttpRequest> shadowRequest) {
+        long start = System.nanoTime();
+        AtomicLong headersAt = new AtomicLong();
+        CompletableFuture<HttpResponse<Void>> response;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(shadowRequest.get(), (name, value) -> true)
+                    .header(MIRROR_HEADER, "1")
+                    .timeout(properties.getTimeout())
+                    .build();
+            response = mirrorClient.sendAsync(request, info -> {
+                headersAt.set(System.nanoTime());
+                return HttpResponse.BodySubscribers.discarding();
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            comparison.shadowDone(0, 0, "error");
+            return;
+        }
+
+        response.whenComplete((result, e) -> {
+            inFlight.release();
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                comparison.shadowDone(0, 0, cause instanceof HttpTimeoutException ? "timeout" : "error");
+            } else {
+                comparison.shadowDone(headersAt.get() - start, result.statusCode(), "ok");
+            }
+        });
+    }
+
+    private static String statusClass(int status) {
+        return status == 0 ? "error" : (status / 100) + "xx";
+    }
+
+    /**
+     * 운영/섀도 응답 비교 (둘 다 끝나면 기록)
+     */
+    private final class Comparison {
+
+        private final GatewayRoute route;
+        private final AtomicInteger remaining = new AtomicInteger(2);
+
+        private volatile long primaryNanos;
+        private volatile int primaryStatus;
+        private volatile long shadowNanos;
+        private volatile int shadowStatus;
+        private volatile String shadowOutcome;
+
+        private Comparison(GatewayRoute route) {
+            this.route = route;
+        }
+
+        private void primaryDone(long nanos, int status) {
+            primaryNanos = nanos;
+            primaryStatus = status;
+            arrive();
+        }
+
+        private void shadowDone(long nanos, int status, String outcome) {
+            shadowNanos = nanos;
+            shadowStatus = status;
+            shadowOutcome = outcome;
+            arrive();
+        }
+
+        private void arrive() {
+            if (remaining.decrementAndGet() != 0) {
+                return;
+            }
+            try {
+                executor.execute(this::record);
+            } catch (RejectedExecutionException e) {
+                // 기록을 못 해도 운영 요청에는 영향 없음
+            }
+        }
+
+        private void record() {
+            String id = route.id();
+            meterRegistry.counter("gateway.mirror.requests", "route", id, "outcome", shadowOutcome).increment();
+            meterRegistry.counter("gateway.mirror.status", "route", id,
+                    "primary", statusClass(primaryStatus), "shadow", statusClass(shadowStatus),
+                    "match", String.valueOf(primaryStatus == shadowStatus)).increment();
+            if (primaryStatus == 0 || shadowStatus == 0) {
+                return;
+            }
+
+            meterRegistry.timer("gateway.mirror.latency", "route", id, "upstream", "primary")
+                    .record(primaryNanos, TimeUnit.NANOSECONDS);
+            meterRegistry.timer("gateway.mirror.latency", "route", id, "upstream", "shadow")
+                    .record(shadowNanos, TimeUnit.NANOSECONDS);
+            // 섀도가 운영보다 느린/빠른 정도 (ms)
+            long delta = shadowNanos - primaryNanos;
+            DistributionSummary.builder("gateway.mirror.latency.delta")
+                    .baseUnit("milliseconds")
+                    .tags("route", id, "direction", delta > 0 ? "slower" : "faster")
+                    .register(meterRegistry)
+                    .record(Math.abs(delta) / 1_000_000.0);
+        }
+    }
+}
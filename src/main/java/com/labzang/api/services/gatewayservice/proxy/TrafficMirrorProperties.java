@@ -0,0 +1,42 @@
+package com.labzang.api.services.gatewayservice.proxy;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 트래픽 미러링 설정 프로퍼티
+ *
+ * 미러링 대상과 비율은 라우트 metadata(mirror-uri, mirror-percent)로 지정하고,
+ * 여기서는 미러 요청 전체에 적용되는 한도만 설정합니다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.mirror")
+public class TrafficMirrorProperties {
+
+    private boolean enabled = true;
+
+    // 복제할 HTTP 메서드 (섀도 업스트림이 운영 데이터를 바꾸지 않도록 기본은 멱등 요청만)
+    private List<String> methods = new ArrayList<>(List.of("GET", "HEAD", "OPTIONS"));
+
+    // 동시에 진행할 수 있는 미러 요청 수 (초과분은 버림)
+    private int maxInFlight = 200;
+
+    // 미러 요청 처리 스레드 수
+    private int threads = 2;
+
+    // 미러 작업 대기열 크기 (가득 차면 버림)
+    private int queueCapacity = 1000;
+
+    // 섀도 업스트림 연결 타임아웃
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    // 섀도 업스트림 응답 대기 시간
+    private Duration timeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,155 @@
+package com.labzang.api.services.gatewayservice.proxy;
+
+import com.labzang.api.services.gatewayservice.http2.Http2Properties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 업스트림 연결 선택
+ *
+ * HTTP/2 연결(레인) 여러 개를 두고 업스트림마다 h2c 업그레이드를 시도합니다.
+ * - 업그레이드를 받아들인 업스트림: 레인별 연결 하나에 요청을 다중화, 연결당 동시 스트림은 max-concurrent-streams까지
+ *   (스트림은 응답 본문을 닫을 때 반환, 모든 레인이 가득 차면 HTTP/1.1 연결로 보냄)
+ * - 거절한 업스트림(응답이 HTTP/1.1): 이후 요청은 HTTP/1.1 연결 풀로만 보냄
+ * JDK HttpClient는 인스턴스마다 호스트당 HTTP/2 연결을 하나만 유지하므로 레인 수가 곧 업스트림당 연결 수입니다.
+ */
+@Component
+public class UpstreamClient {
+
+    private final HttpClient http1Client;
+    private final Http2Properties.Upstream settings;
+    private final MeterRegistry meterRegistry;
+
+    private final List<HttpClient> lanes = new ArrayList<>();
+    // 레인|authority → 남은 스트림 수
+    private final Map<String, Semaphore> streams = new ConcurrentHashMap<>();
+    // h2c 업그레이드를 거절한 authority
+    private final Map<String, Boolean> http1Only = new ConcurrentHashMap<>();
+
+    public UpstreamClient(@Qualifier("gatewayHttpClient") HttpClient http1Client, Http2Properties properties,
+            GatewayProxyProperties proxyProperties, MeterRegistry meterRegistry) {
+        this.http1Client = http1Client;
+        this.settings = properties.getUpstream();
+        this.meterRegistry = meterRegistry;
+
+        if (settings.isEnabled()) {
+            // JDK HttpClient는 HTTP/2 연결을 만들 때 시스템 프로퍼티로 흐름 제어 값을 읽음 (JAVA_OPTS로 지정한 값이 우선)
+            setIfAbsent("jdk.httpclient.windowsize", settings.getStreamWindowSize());
+            setIfAbsent("jdk.httpclient.connectionWindowSize",
+                    Math.max(settings.getConnectionWindowSize(), settings.getStreamWindowSize()));
+            for (int i = 0; i < settings.getConnectionsPerUpstream(); i++) {
+                lanes.add(HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_2)
+                        .connectTimeout(proxyProperties.getConnectTimeout())
+                        .followRedirects(HttpClient.Redirect.NEVER)
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * 업스트림 요청 전송
+     *
+     * @param request 업스트림 요청
+     * @return 응답 (헤더 수신 시 완료, 본문은 호출 측에서 닫아야 함). 취소하면 요청도 취소됨
+     */
+    public CompletableFuture<HttpResponse<InputStream>> send(HttpRequest request) {
+        String authority = request.uri().getAuthority();
+        if (lanes.isEmpty() || http1Only.containsKey(authority)) {
+            return http1Client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+        }
+
+        int lane = -1;
+        Semaphore permits = null;
+        int mostAvailable = 0;
+        for (int i = 0; i < lanes.size(); i++) {
+            Semaphore candidate = streams.computeIfAbsent(i + "|" + authority,
+                    key -> new Semaphore(settings.getMaxConcurrentStreams()));
+            if (candidate.availablePermits() > mostAvailable) {
+                lane = i;
+                permits = candidate;
+                mostAvailable = candidate.availablePermits();
+            }
+        }
+        if (permits == null || !permits.tryAcquire()) {
+            meterRegistry.counter("gateway.upstream.h2.saturated", "upstream", authority).increment();
+            return http1Client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+        }
+
+        StreamPermit permit = new StreamPermit(permits);
+        CompletableFuture<HttpResponse<InputStream>> response = lanes.get(lane).sendAsync(request,
+                info -> HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(),
+                        body -> new PermitReleasingInputStream(body, permit)));
+        response.whenComplete((result, e) -> {
+            if (e != null) {
+                permit.release();
+            } else if (result.version() == HttpClient.Version.HTTP_1_1
+                    && http1Only.putIfAbsent(authority, Boolean.TRUE) == null) {
+                System.out.println("⚠️ 업스트림이 h2c를 지원하지 않아 HTTP/1.1로 연결합니다: " + authority);
+            }
+        });
+        return response;
+    }
+
+    private static void setIfAbsent(String name, int value) {
+        if (System.getProperty(name) == null) {
+            System.setProperty(name, String.valueOf(value));
+        }
+    }
+
+    /**
+     * 스트림 1개 (한 번만 반환)
+     */
+    private static final class StreamPermit {
+
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private StreamPermit(Semaphore permits) {
+            this.permits = permits;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * 본문을 닫을 때 스트림 반환
+     */
+    private static final class PermitReleasingInputStream extends FilterInputStream {
+
+        private final StreamPermit permit;
+
+        private PermitReleasingInputStream(InputStream in, StreamPermit permit) {
+            super(in);
+            this.permit = permit;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                permit.release();
+            }
+        }
+    }
+}
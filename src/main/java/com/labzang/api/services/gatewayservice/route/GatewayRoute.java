@@ -0,0 +1,179 @@
+package com.labzang.api.services.gatewayservice.route;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 요청 처리용으로 변환된 게이트웨이 라우트 (불변)
+ *
+ * @param id           라우트 ID
+ * @param pathPrefixes 매칭할 경로 접두사 (Path=/api/erp/order/** → /api/erp/order)
+ * @param stripPrefix  업스트림으로 보낼 때 제거할 앞쪽 경로 세그먼트 수
+ * @param instances    업스트림 인스턴스 URI (첫 번째가 uri, 이후 metadata.instances)
+ * @param metadata     추가 정보
+ * @param mirror       트래픽 미러링 대상 (metadata.mirror-uri, mirror-percent), 없으면 null
+ */
+public record GatewayRoute(
+        String id,
+        List<String> pathPrefixes,
+        int stripPrefix,
+        List<URI> instances,
+        Map<String, String> metadata,
+        Mirror mirror) {
+
+    public GatewayRoute {
+        pathPrefixes = List.copyOf(pathPrefixes);
+        instances = List.copyOf(instances);
+        metadata = Map.copyOf(metadata);
+    }
+
+    /**
+     * 트래픽 미러링 대상
+     *
+     * @param uri     섀도 업스트림 URI (같은 경로로 요청 복제)
+     * @param percent 복제할 요청 비율 (0~100)
+     */
+    public record Mirror(URI uri, double percent) {
+    }
+
+    /**
+     * 설정 정의를 라우트로 변환
+     *
+     * @param definition 라우트 설정
+     * @return 라우트
+     * @throws IllegalArgumentException id/uri/Path 조건이 없거나 형식이 잘못된 경우
+     */
+    public static GatewayRoute compile(GatewayRouteProperties.RouteDefinition definition) {
+        if (definition.getId() == null || definition.getId().isBlank()) {
+            throw new IllegalArgumentException("라우트 id가 없습니다.");
+        }
+        String id = definition.getId();
+
+        List<String> prefixes = new ArrayList<>();
+        for (String predicate : definition.getPredicates()) {
+            if (predicate.startsWith("Path=")) {
+                for (String pattern : predicate.substring("Path=".length()).split(",")) {
+                    prefixes.add(toPrefix(id, pattern.trim()));
+                }
+            }
+        }
+        if (prefixes.isEmpty()) {
+            throw new IllegalArgumentException("라우트 " + id + "에 Path 조건이 없습니다.");
+        }
+
+        int stripPrefix = 0;
+        for (String filter : definition.getFilters()) {
+            if (filter.startsWith("StripPrefix=")) {
+                try {
+                    stripPrefix = Integer.parseInt(filter.substring("StripPrefix=".length()).trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("라우트 " + id + "의 StripPrefix 값이 잘못되었습니다: " + filter);
+                }
+            }
+        }
+
+        List<URI> instances = new ArrayList<>();
+        instances.add(toUri(id, definition.getUri()));
+        String extra = definition.getMetadata().get("instances");
+        if (extra != null && !extra.isBlank()) {
+            for (String uri : extra.split(",")) {
+                if (!uri.isBlank()) {
+                    instances.add(toUri(id, uri.trim()));
+                }
+            }
+        }
+
+        String readTimeout = definition.getMetadata().get("read-timeout");
+        if (readTimeout != null && !readTimeout.isBlank()) {
+            try {
+                DurationStyle.detectAndParse(readTimeout.trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("라우트 " + id + "의 read-timeout 값이 잘못되었습니다: " + readTimeout);
+            }
+        }
+
+        Mirror mirror = null;
+        String mirrorUri = definition.getMetadata().get("mirror-uri");
+        if (mirrorUri != null && !mirrorUri.isBlank()) {
+            String percent = definition.getMetadata().getOrDefault("mirror-percent", "100");
+            double mirrorPercent;
+            try {
+                mirrorPercent = Double.parseDouble(percent.trim());
+            } catch (NumberFormatException e) {
+                mirrorPercent = -1;
+            }
+            if (mirrorPercent < 0 || mirrorPercent > 100) {
+                throw new IllegalArgumentException("라우트 " + id + "의 mirror-percent는 0~100이어야 합니다: " + percent);
+            }
+            mirror = new Mirror(toUri(id, mirrorUri.trim()), mirrorPercent);
+        }
+
+        return new GatewayRoute(id, prefixes, stripPrefix, instances, definition.getMetadata(), mirror);
+    }
+
+    /**
+     * 경로가 이 라우트에 해당하는지 확인
+     *
+     * @return 일치한 접두사 길이, 일치하지 않으면 -1
+     */
+    public int match(String path) {
+        int best = -1;
+        for (String prefix : pathPrefixes) {
+            if ((path.equals(prefix) || path.startsWith(prefix + "/")) && prefix.length() > best) {
+                best = prefix.length();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 업스트림 경로 계산 (StripPrefix 적용)
+     *
+     * @param path 요청 경로 (예: /api/erp/order/list)
+     * @return 업스트림 경로 (StripPrefix=2이면 /order/list)
+     */
+    public String upstreamPath(String path) {
+        String rest = path;
+        for (int i = 0; i < stripPrefix && !rest.isEmpty(); i++) {
+            int next = rest.indexOf('/', 1);
+            rest = next < 0 ? "" : rest.substring(next);
+        }
+        return rest.isEmpty() ? "/" : rest;
+    }
+
+    /**
+     * 인스턴스 선택 (시도 순서대로 순환)
+     */
+    public URI instance(int index) {
+        return instances.get(Math.floorMod(index, instances.size()));
+    }
+
+    private static String toPrefix(String id, String pattern) {
+        if (!pattern.startsWith("/")) {
+            throw new IllegalArgumentException("라우트 " + id + "의 Path 조건이 잘못되었습니다: " + pattern);
+        }
+        String prefix = pattern;
+        if (prefix.endsWith("/**")) {
+            prefix = prefix.substring(0, prefix.length() - 3);
+        }
+        if (prefix.contains("*") || prefix.contains("{")) {
+            throw new IllegalArgumentException("라우트 " + id + "는 /** 접두사 형식만 지원합니다: " + pattern);
+        }
+        return prefix.endsWith("/") ? prefix.substring(0, prefix.length() - 1) : prefix;
+    }
+
+    private static URI toUri(String id, String uri) {
+        if (uri == null || uri.isBlank()) {
+            throw new IllegalArgumentException("라우트 " + id + "에 uri가 없습니다.");
+        }
+        URI parsed = URI.create(uri);
+        if (!"http".equals(parsed.getScheme()) && !"https".equals(parsed.getScheme())) {
+            throw new IllegalArgumentException("라우트 " + id + "의 uri는 http/https만 지원합니다: " + uri);
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,59 @@
+package com.labzang.api.services.gatewayservice.route;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 게이트웨이 라우트 조회
+ *
+ * 현재 라우트 표(RouteTable)를 AtomicReference로 들고 있고, 요청마다 그 표에서 가장 긴 접두사의 라우트를 찾습니다.
+ * 시작 시에는 spring.cloud.gateway.routes만으로 표를 만들고(잘못된 라우트는 경고 후 제외),
+ * 이후 변경은 GatewayRouteRegistry가 새 표로 교체합니다. 요청 경로에는 잠금이 없습니다.
+ */
+@Component
+public class GatewayRouteLocator {
+
+    private final AtomicReference<RouteTable> table;
+
+    public GatewayRouteLocator(GatewayRouteProperties properties, GatewayRouteRegistryProperties registryProperties) {
+        this.table = new AtomicReference<>(RouteTable.compile(0, properties.getRoutes(), Map.of(),
+                registryProperties.getReservedPrefixes(), false));
+        System.out.println("✅ 게이트웨이 라우트 " + table.get().getRoutes().size() + "개 로드");
+    }
+
+    /**
+     * 요청 경로에 해당하는 라우트 조회
+     *
+     * @param path 요청 경로
+     * @return 라우트, 없으면 null
+     */
+    public GatewayRoute find(String path) {
+        return table.get().find(path);
+    }
+
+    /**
+     * 전체 라우트
+     */
+    public List<GatewayRoute> getRoutes() {
+        return table.get().getRoutes();
+    }
+
+    /**
+     * 현재 라우트 표
+     */
+    public RouteTable getTable() {
+        return table.get();
+    }
+
+    /**
+     * 라우트 표 교체 (GatewayRouteRegistry 전용)
+     *
+     * @return 교체 전 표
+     */
+    RouteTable swap(RouteTable next) {
+        return table.getAndSet(next);
+    }
+}
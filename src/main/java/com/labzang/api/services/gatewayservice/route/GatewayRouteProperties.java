@@ -0,0 +1,45 @@
+package com.labzang.api.services.gatewayservice.route;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 게이트웨이 라우트 설정 프로퍼티
+ *
+ * 기존 Spring Cloud Gateway 형식(spring.cloud.gateway.routes)을 그대로 읽습니다.
+ * 지원하는 항목은 Path 조건과 StripPrefix 필터이며, 그 외 조건/필터는 무시합니다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "spring.cloud.gateway")
+public class GatewayRouteProperties {
+
+    private List<RouteDefinition> routes = new ArrayList<>();
+
+    @Data
+    public static class RouteDefinition {
+
+        // 라우트 ID (예: chatbot-service)
+        private String id;
+
+        // 업스트림 기본 URI (예: http://chatbotservice:9003)
+        private String uri;
+
+        // 예: Path=/api/ai/chatbot/**
+        private List<String> predicates = new ArrayList<>();
+
+        // 예: StripPrefix=2
+        private List<String> filters = new ArrayList<>();
+
+        // 추가 정보 (instances: 같은 서비스의 다른 인스턴스 URI, 콤마로 구분 / read-timeout / websocket /
+        // mirror-uri, mirror-percent: 트래픽 미러링 대상과 비율)
+        private Map<String, String> metadata = new LinkedHashMap<>();
+    }
+}
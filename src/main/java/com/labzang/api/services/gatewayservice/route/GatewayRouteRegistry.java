@@ -0,0 +1,299 @@
+package com.labzang.api.services.gatewayservice.route;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동적 라우트 관리
+ *
+ * 설정 라우트 + Redis 라우트로 새 RouteTable을 만들어 GatewayRouteLocator의 표를 통째로 교체합니다.
+ * - 변경(upsert/delete): Redis 최신 상태에 변경을 적용한 전체 표를 먼저 검증하고, 통과한 경우에만 Redis에 쓰고 교체
+ * - 롤백: 직전 표의 Redis 라우트로 Redis를 되돌리고 교체
+ * - 다른 인스턴스의 변경: 버전 키를 주기적으로 확인해 바뀌었으면 다시 읽어 교체
+ * Redis 쓰기는 버전 키를 비교 후 증가시키는 Lua 스크립트 하나로 처리하므로, 읽은 뒤 다른 인스턴스가 먼저
+ * 변경했으면 쓰지 않고 거절합니다(409). 롤백의 해시 교체(DEL + HSET)도 같은 스크립트 안에서 원자적으로 일어납니다.
+ * 요청 처리(GatewayRouteLocator.find)는 잠금 없이 현재 표를 읽습니다.
+ * 임베디드 토큰 저장소(oauth.token.store=embedded)로 Redis 없이 실행하면 설정 라우트만 사용합니다.
+ */
+@Service
+public class GatewayRouteRegistry {
+
+    // KEYS: 라우트 해시, 버전 / ARGV: 기대 버전, 작업(put | delete | replace), 라우트 ID(와 JSON) 목록
+    // 버전이 기대 값과 다르면 -1, 아니면 변경 후 증가한 버전
+    private static final RedisScript<Long> WRITE_SCRIPT = RedisScript.of("""
+            if tonumber(redis.call('GET', KEYS[2]) or '0') ~= tonumber(ARGV[1]) then
+              return -1
+            end
+            if ARGV[2] == 'delete' then
+              redis.call('HDEL', KEYS[1], ARGV[3])
+            else
+              if ARGV[2] == 'replace' then
+                redis.call('DEL', KEYS[1])
+              end
+              for i = 3, #ARGV, 2 do
+                redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+              end
+            end
+            return redis.call('INCR', KEYS[2])
+            """, Long.class);
+
+    private final GatewayRouteLocator locator;
+    private final GatewayRouteProperties routeProperties;
+    private final GatewayRouteRegistryProperties properties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // redis | embedded (embedded이면 Redis 동적 라우트를 사용하지 않음)
+    @Value("${oauth.token.store:redis}")
+    private String tokenStore = "redis";
+
+    // 이전 라우트 표 (최근 것이 앞)
+    private final Deque<RouteTable> history = new ArrayDeque<>();
+    private ScheduledExecutorService scheduler;
+
+    public GatewayRouteRegistry(GatewayRouteLocator locator, GatewayRouteProperties routeProperties,
+            GatewayRouteRegistryProperties properties, StringRedisTemplate stringRedisTemplate,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.locator = locator;
+        this.routeProperties = routeProperties;
+        this.properties = properties;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (properties.isDynamicEnabled() && !isDynamicEnabled()) {
+            System.out.println("⚠️ 임베디드 토큰 저장소(oauth.token.store=embedded)에서는 Redis 동적 라우트를 사용할 수 없어 "
+                    + "설정 라우트만 사용합니다.");
+        }
+        if (!isDynamicEnabled()) {
+            return;
+        }
+        // 설정 라우트로 바로 시작하고 Redis 라우트는 백그라운드에서 읽음 (실패하면 다음 주기에 다시 시도)
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "gateway-route-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getRefreshInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Redis 버전이 바뀌었으면 라우트를 다시 읽어 교체
+     */
+    public synchronized void refresh() {
+        long version = readVersion();
+        if (version == locator.getTable().getVersion()) {
+            return;
+        }
+        // 다른 인스턴스가 검증 후 저장한 라우트이므로, 읽을 수 없는 항목만 경고 후 제외
+        apply(RouteTable.compile(version, routeProperties.getRoutes(), readDynamic(),
+                properties.getReservedPrefixes(), false), "refresh", true);
+    }
+
+    /**
+     * 라우트 추가/변경 (같은 ID의 설정 라우트가 있으면 덮어씀)
+     *
+     * @param definition 라우트 정의
+     * @return 교체된 라우트 표
+     * @throws IllegalArgumentException 변경 후 라우트 표가 유효하지 않은 경우 (아무것도 바뀌지 않음)
+     * @throws IllegalStateException    읽은 뒤 다른 인스턴스가 라우트를 먼저 변경한 경우 (아무것도 바뀌지 않음)
+     */
+    public synchronized RouteTable upsert(GatewayRouteProperties.RouteDefinition definition) {
+        requireDynamic();
+        if (definition.getId() == null || definition.getId().isBlank()) {
+            throw new IllegalArgumentException("라우트 id가 없습니다.");
+        }
+        // 요청 본문에서 생략된 항목은 빈 값으로
+        if (definition.getPredicates() == null) {
+            definition.setPredicates(new ArrayList<>());
+        }
+        if (definition.getFilters() == null) {
+            definition.setFilters(new ArrayList<>());
+        }
+        if (definition.getMetadata() == null) {
+            definition.setMetadata(new LinkedHashMap<>());
+        }
+        // 버전을 먼저 읽어 두면 이후 변경은 모두 쓰기 시점의 비교에서 걸러짐
+        long expectedVersion = readVersion();
+        Map<String, GatewayRouteProperties.RouteDefinition> dynamic = readDynamic();
+        dynamic.put(definition.getId(), definition);
+        RouteTable candidate = validate(dynamic);
+
+        long version = write(expectedVersion, "put", List.of(definition.getId(), toJson(definition)));
+        return apply(candidate.withVersion(version), "upsert", true);
+    }
+
+    /**
+     * Redis 라우트 삭제 (같은 ID의 설정 라우트가 있으면 설정 라우트로 돌아감)
+     *
+     * @param id 라우트 ID
+     * @return 교체된 라우트 표
+     * @throws NoSuchElementException Redis에 해당 라우트가 없는 경우
+     * @throws IllegalStateException  읽은 뒤 다른 인스턴스가 라우트를 먼저 변경한 경우
+     */
+    public synchronized RouteTable delete(String id) {
+        requireDynamic();
+        long expectedVersion = readVersion();
+        Map<String, GatewayRouteProperties.RouteDefinition> dynamic = readDynamic();
+        if (dynamic.remove(id) == null) {
+            throw new NoSuchElementException("동적 라우트를 찾을 수 없습니다: " + id);
+        }
+        RouteTable candidate = validate(dynamic);
+
+        long version = write(expectedVersion, "delete", List.of(id));
+        return apply(candidate.withVersion(version), "delete", true);
+    }
+
+    /**
+     * 직전 라우트 표로 되돌림 (Redis 라우트도 그 상태로 되돌려 다른 인스턴스에 전파)
+     *
+     * @return 교체된 라우트 표
+     * @throws IllegalStateException 되돌릴 이전 표가 없거나, 현재 표 이후 다른 인스턴스가 라우트를 변경한 경우
+     */
+    public synchronized RouteTable rollback() {
+        requireDynamic();
+        RouteTable previous = history.peekFirst();
+        if (previous == null) {
+            throw new IllegalStateException("되돌릴 이전 라우트가 없습니다.");
+        }
+        // 설정이나 예약 경로가 바뀌었을 수 있으므로 다시 검증
+        RouteTable candidate = validate(previous.getDynamicDefinitions());
+
+        List<String> entries = new ArrayList<>();
+        previous.getDynamicDefinitions().forEach((id, definition) -> {
+            entries.add(id);
+            entries.add(toJson(definition));
+        });
+        // 이 인스턴스의 현재 표 이후에 다른 인스턴스가 바꾼 라우트는 덮어쓰지 않음
+        long version = write(locator.getTable().getVersion(), "replace", entries);
+        history.removeFirst();
+        return apply(candidate.withVersion(version), "rollback", false);
+    }
+
+    private RouteTable validate(Map<String, GatewayRouteProperties.RouteDefinition> dynamic) {
+        try {
+            return RouteTable.compile(0, routeProperties.getRoutes(), dynamic, properties.getReservedPrefixes(), true);
+        } catch (IllegalArgumentException e) {
+            meterRegistry.counter("gateway.routes.rejected").increment();
+            throw e;
+        }
+    }
+
+    private RouteTable apply(RouteTable next, String trigger, boolean keepHistory) {
+        RouteTable previous = locator.swap(next);
+        if (keepHistory) {
+            history.addFirst(previous);
+            while (history.size() > properties.getHistorySize()) {
+                history.removeLast();
+            }
+        }
+        meterRegistry.counter("gateway.routes.swap", "trigger", trigger).increment();
+        System.out.println("✅ 게이트웨이 라우트 교체 (" + trigger + ", 버전 " + next.getVersion() + ", "
+                + next.getRoutes().size() + "개)");
+        return next;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            System.err.println("⚠️ 동적 라우트 확인 실패: " + e.getMessage());
+        }
+    }
+
+    private void requireDynamic() {
+        if (!isDynamicEnabled()) {
+            throw new IllegalStateException("동적 라우트가 비활성화되어 있습니다.");
+        }
+    }
+
+    private boolean isDynamicEnabled() {
+        return properties.isDynamicEnabled() && !"embedded".equals(tokenStore);
+    }
+
+    private long readVersion() {
+        String value = stringRedisTemplate.opsForValue().get(versionKey());
+        return value != null ? Long.parseLong(value) : 0;
+    }
+
+    /**
+     * 버전이 expectedVersion일 때만 라우트 해시를 변경하고 버전 증가
+     *
+     * @param operation put(추가/변경), delete(삭제), replace(해시 전체 교체)
+     * @param entries   delete는 라우트 ID, 그 밖에는 라우트 ID와 JSON을 번갈아
+     * @return 증가한 버전
+     * @throws IllegalStateException 버전이 바뀐 경우 (다른 인스턴스가 먼저 변경)
+     */
+    private long write(long expectedVersion, String operation, List<String> entries) {
+        List<String> args = new ArrayList<>(entries.size() + 2);
+        args.add(Long.toString(expectedVersion));
+        args.add(operation);
+        args.addAll(entries);
+        Long version = stringRedisTemplate.execute(WRITE_SCRIPT, List.of(properties.getRedisKey(), versionKey()),
+                args.toArray());
+        if (version == null || version < 0) {
+            meterRegistry.counter("gateway.routes.conflict").increment();
+            throw new IllegalStateException("다른 인스턴스가 라우트를 먼저 변경했습니다. 최신 라우트를 확인한 뒤 다시 시도하세요.");
+        }
+        return version;
+    }
+
+    private Map<String, GatewayRouteProperties.RouteDefinition> readDynamic() {
+        Map<String, GatewayRouteProperties.RouteDefinition> dynamic = new LinkedHashMap<>();
+        stringRedisTemplate.<String, String>opsForHash().entries(properties.getRedisKey()).forEach((id, json) -> {
+            try {
+                dynamic.put(id, objectMapper.readValue(json, GatewayRouteProperties.RouteDefinition.class));
+            } catch (JsonProcessingException e) {
+                System.err.println("⚠️ 동적 라우트 읽기 실패 (" + id + "): " + e.getOriginalMessage());
+            }
+        });
+        return dynamic;
+    }
+
+    private String toJson(GatewayRouteProperties.RouteDefinition definition) {
+        try {
+            return objectMapper.writeValueAsString(definition);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("라우트 정의를 저장할 수 없습니다: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * 버전 키 (클러스터에서도 한 스크립트로 함께 변경하도록 라우트 해시와 같은 슬롯에 둠)
+     * 해시 태그가 없는 키는 키 전체가 슬롯을 정하므로, 키 전체를 해시 태그로 감싸면 같은 슬롯이 됩니다.
+     */
+    private String versionKey() {
+        String key = properties.getRedisKey();
+        return (key.contains("{") ? key : "{" + key + "}") + ":version";
+    }
+}
@@ -0,0 +1,40 @@
+package com.labzang.api.services.gatewayservice.route;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 동적 라우트 설정 프로퍼티
+ *
+ * spring.cloud.gateway.routes(설정) 위에 Redis에 저장한 라우트를 더해 재시작 없이 라우트를 추가/변경합니다.
+ * 관리 API로 바꾼 내용은 Redis 버전 키를 올리고, 모든 인스턴스가 주기적으로 버전을 확인해 다시 읽습니다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.routes")
+public class GatewayRouteRegistryProperties {
+
+    // Redis 라우트 사용 여부 (false면 설정 라우트만 사용)
+    private boolean dynamicEnabled = true;
+
+    // 라우트 정의를 저장할 Redis 해시 키 (버전 키는 {키}:version, 키에 해시 태그가 있으면 키:version)
+    private String redisKey = "gateway:routes";
+
+    // Redis 버전 확인 주기
+    private Duration refreshInterval = Duration.ofSeconds(5);
+
+    // 롤백용으로 보관할 이전 라우트 표 수
+    private int historySize = 10;
+
+    // 라우트로 쓸 수 없는 경로 접두사 (게이트웨이 관리 API)
+    private List<String> reservedPrefixes = new ArrayList<>(List.of("/api/gateway"));
+
+    // 관리 API 호출에 필요한 머신 토큰 scope
+    private String adminScope = "gateway:routes";
+}
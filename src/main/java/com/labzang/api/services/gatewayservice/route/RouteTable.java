@@ -0,0 +1,167 @@
+package com.labzang.api.services.gatewayservice.route;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 요청 처리용 라우트 표 (불변)
+ *
+ * 경로 접두사 → 라우트 해시 맵을 두고, 요청 경로를 뒤에서부터 세그먼트 단위로 줄여 가며
+ * 처음 일치하는 접두사(가장 긴 접두사)를 찾습니다. 조회 비용은 라우트 수가 아니라 경로 깊이에 비례합니다.
+ * 변경은 새 표를 만들어 통째로 교체하므로 요청 경로에는 잠금이 없습니다.
+ */
+public final class RouteTable {
+
+    // 라우트 출처
+    public static final String SOURCE_CONFIG = "config";
+    public static final String SOURCE_REDIS = "redis";
+
+    private final long version;
+    private final List<GatewayRoute> routes;
+    private final Map<String, GatewayRoute> byPrefix;
+    private final Map<String, String> sources;
+    // Redis에서 읽은 라우트 정의 (롤백 시 이 상태로 되돌림)
+    private final Map<String, GatewayRouteProperties.RouteDefinition> dynamicDefinitions;
+
+    private RouteTable(long version, List<GatewayRoute> routes, Map<String, GatewayRoute> byPrefix,
+            Map<String, String> sources, Map<String, GatewayRouteProperties.RouteDefinition> dynamicDefinitions) {
+        this.version = version;
+        this.routes = routes;
+        this.byPrefix = byPrefix;
+        this.sources = sources;
+        this.dynamicDefinitions = dynamicDefinitions;
+    }
+
+    /**
+     * 설정 라우트와 Redis 라우트를 합쳐 표 생성 (같은 ID는 Redis 라우트가 우선)
+     *
+     * @param version            표 버전 (Redis 버전 키 값, 설정만 읽었으면 0)
+     * @param configDefinitions  spring.cloud.gateway.routes
+     * @param dynamicDefinitions Redis 라우트 (ID → 정의)
+     * @param reservedPrefixes   라우트로 쓸 수 없는 경로 접두사 (이 애플리케이션의 엔드포인트)
+     * @param strict             true면 잘못된 라우트가 하나라도 있을 때 예외, false면 경고 후 제외
+     * @return 라우트 표
+     * @throws IllegalArgumentException strict이고 잘못된 라우트가 있는 경우 (모든 오류를 함께 전달)
+     */
+    public static RouteTable compile(long version, List<GatewayRouteProperties.RouteDefinition> configDefinitions,
+            Map<String, GatewayRouteProperties.RouteDefinition> dynamicDefinitions, List<String> reservedPrefixes,
+            boolean strict) {
+        Map<String, GatewayRouteProperties.RouteDefinition> merged = new LinkedHashMap<>();
+        Map<String, String> sources = new HashMap<>();
+        List<String> errors = new ArrayList<>();
+        for (GatewayRouteProperties.RouteDefinition definition : configDefinitions) {
+            if (definition.getId() != null && merged.containsKey(definition.getId())) {
+                errors.add("라우트 id가 중복되었습니다: " + definition.getId());
+                continue;
+            }
+            merged.put(definition.getId(), definition);
+            sources.put(definition.getId(), SOURCE_CONFIG);
+        }
+        dynamicDefinitions.forEach((id, definition) -> {
+            merged.put(id, definition);
+            sources.put(id, SOURCE_REDIS);
+        });
+
+        List<GatewayRoute> routes = new ArrayList<>();
+        Map<String, GatewayRoute> byPrefix = new HashMap<>();
+        for (GatewayRouteProperties.RouteDefinition definition : merged.values()) {
+            GatewayRoute route;
+            try {
+                route = GatewayRoute.compile(definition);
+            } catch (IllegalArgumentException e) {
+                errors.add(e.getMessage());
+                continue;
+            }
+            String conflict = conflict(route, byPrefix, reservedPrefixes);
+            if (conflict != null) {
+                errors.add(conflict);
+                continue;
+            }
+            routes.add(route);
+            for (String prefix : route.pathPrefixes()) {
+                byPrefix.put(prefix, route);
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            if (strict) {
+                throw new IllegalArgumentException(String.join("; ", errors));
+            }
+            errors.forEach(error -> System.err.println("⚠️ 게이트웨이 라우트 제외: " + error));
+        }
+
+        Map<String, String> routeSources = new HashMap<>();
+        routes.forEach(route -> routeSources.put(route.id(), sources.get(route.id())));
+        return new RouteTable(version, List.copyOf(routes), Map.copyOf(byPrefix), Map.copyOf(routeSources),
+                Collections.unmodifiableMap(new LinkedHashMap<>(dynamicDefinitions)));
+    }
+
+    private static String conflict(GatewayRoute route, Map<String, GatewayRoute> byPrefix,
+            List<String> reservedPrefixes) {
+        for (String prefix : route.pathPrefixes()) {
+            for (String reserved : reservedPrefixes) {
+                if (prefix.equals(reserved) || prefix.startsWith(reserved + "/")) {
+                    return "라우트 " + route.id() + "의 경로가 게이트웨이 엔드포인트와 겹칩니다: " + prefix;
+                }
+            }
+            GatewayRoute existing = byPrefix.get(prefix);
+            if (existing != null) {
+                return "라우트 " + route.id() + "의 경로가 " + existing.id() + "와 겹칩니다: " + prefix;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 같은 라우트에 버전만 바꾼 표
+     */
+    public RouteTable withVersion(long newVersion) {
+        return new RouteTable(newVersion, routes, byPrefix, sources, dynamicDefinitions);
+    }
+
+    /**
+     * 요청 경로에 해당하는 라우트 조회 (가장 긴 접두사)
+     *
+     * @param path 요청 경로
+     * @return 라우트, 없으면 null
+     */
+    public GatewayRoute find(String path) {
+        String candidate = path;
+        while (!candidate.isEmpty()) {
+            GatewayRoute route = byPrefix.get(candidate);
+            if (route != null) {
+                return route;
+            }
+            int slash = candidate.lastIndexOf('/');
+            if (slash < 0) {
+                break;
+            }
+            candidate = candidate.substring(0, slash);
+        }
+        // Path=/** 라우트
+        return byPrefix.get("");
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<GatewayRoute> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * 라우트 출처 (config 또는 redis)
+     */
+    public String getSource(String routeId) {
+        return sources.get(routeId);
+    }
+
+    public Map<String, GatewayRouteProperties.RouteDefinition> getDynamicDefinitions() {
+        return dynamicDefinitions;
+    }
+}
@@ -0,0 +1,92 @@
+package com.labzang.api.services.gatewayservice.websocket;
+
+import com.labzang.api.services.oauthservice.token.AccessTokenVerifier;
+import com.labzang.api.services.oauthservice.token.ReferenceTokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+/**
+ * WebSocket 핸드셰이크 JWT 인증
+ *
+ * Authorization: Bearer 헤더를 우선 사용하고, 헤더를 지정할 수 없는 브라우저를 위해 access_token 쿼리 파라미터도 받습니다.
+ * 다른 사용자 경로와 같이 AccessTokenVerifier로 검증하므로 Refresh/머신 토큰과 로그아웃된 세션의 토큰은 거부합니다.
+ * 참조 토큰은 업스트림 연결 시 전달할 수 있도록 짧은 수명의 내부 JWT로 바꿔 둡니다.
+ * 토큰이 없거나 유효하지 않으면 401, 사용자 연결 수가 한도에 도달했으면 429로 업그레이드를 거절합니다.
+ */
+@Component
+public class JwtHandshakeInterceptor implements HandshakeInterceptor {
+
+    // 세션 속성: 인증된 사용자 ID
+    public static final String USER_ID = "gateway.websocket.userId";
+
+    // 세션 속성: 업스트림으로 전달할 Authorization 헤더 값
+    public static final String AUTHORIZATION = "gateway.websocket.authorization";
+
+    static final String TOKEN_PARAM = "access_token";
+
+    private final AccessTokenVerifier accessTokenVerifier;
+    private final ReferenceTokenService referenceTokenService;
+    private final WebSocketConnectionLimiter connectionLimiter;
+    private final MeterRegistry meterRegistry;
+
+    public JwtHandshakeInterceptor(AccessTokenVerifier accessTokenVerifier, ReferenceTokenService referenceTokenService,
+            WebSocketConnectionLimiter connectionLimiter, MeterRegistry meterRegistry) {
+        this.accessTokenVerifier = accessTokenVerifier;
+        this.referenceTokenService = referenceTokenService;
+        this.connectionLimiter = connectionLimiter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+            WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String token = extractToken(request);
+        Map<String, Object> claims = accessTokenVerifier.verify(token);
+        if (claims == null) {
+            return reject(response, HttpStatus.UNAUTHORIZED, "unauthorized");
+        }
+
+        String userId = claims.get("sub") != null ? claims.get("sub").toString() : null;
+        if (userId == null) {
+            return reject(response, HttpStatus.UNAUTHORIZED, "unauthorized");
+        }
+        if (connectionLimiter.isFull(userId)) {
+            return reject(response, HttpStatus.TOO_MANY_REQUESTS, "user_limit");
+        }
+
+        attributes.put(USER_ID, userId);
+        // 업스트림 연결은 핸드셰이크 직후이므로 내부 JWT 수명(internal-token-ttl) 안에 사용됨
+        attributes.put(AUTHORIZATION, "Bearer " + (referenceTokenService.isReferenceToken(token)
+                ? referenceTokenService.toInternalJwt(claims)
+                : token));
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+            WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    private String extractToken(ServerHttpRequest request) {
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        return UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst(TOKEN_PARAM);
+    }
+
+    private boolean reject(ServerHttpResponse response, HttpStatus status, String reason) {
+        meterRegistry.counter("gateway.websocket.rejected", "reason", reason).increment();
+        response.setStatusCode(status);
+        return false;
+    }
+}
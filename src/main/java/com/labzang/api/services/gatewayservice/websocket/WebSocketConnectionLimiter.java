@@ -0,0 +1,64 @@
+package com.labzang.api.services.gatewayservice.websocket;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 사용자별 WebSocket 연결 수 제한
+ *
+ * 핸드셰이크 단계에서는 현재 수만 보고 빠르게 거절하고(429),
+ * 실제 자리는 연결이 열린 뒤 acquire로 확보합니다 (동시에 들어온 핸드셰이크가 한도를 넘지 않도록).
+ */
+@Component
+public class WebSocketConnectionLimiter {
+
+    private final WebSocketProxyProperties properties;
+    private final Map<String, AtomicInteger> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger total = new AtomicInteger();
+
+    public WebSocketConnectionLimiter(WebSocketProxyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        meterRegistry.gauge("gateway.websocket.connections", total);
+    }
+
+    /**
+     * 한도에 도달했는지 확인 (핸드셰이크용, 자리를 확보하지 않음)
+     */
+    public boolean isFull(String userId) {
+        AtomicInteger count = connections.get(userId);
+        return count != null && count.get() >= properties.getMaxConnectionsPerUser();
+    }
+
+    /**
+     * 연결 자리 확보
+     *
+     * @return 확보하면 true, 한도 초과면 false
+     */
+    public boolean acquire(String userId) {
+        boolean[] acquired = new boolean[1];
+        connections.compute(userId, (key, count) -> {
+            AtomicInteger current = count != null ? count : new AtomicInteger();
+            if (current.get() < properties.getMaxConnectionsPerUser()) {
+                current.incrementAndGet();
+                acquired[0] = true;
+            }
+            return current;
+        });
+        if (acquired[0]) {
+            total.incrementAndGet();
+        }
+        return acquired[0];
+    }
+
+    /**
+     * 연결 자리 반환
+     */
+    public void release(String userId) {
+        connections.computeIfPresent(userId, (key, count) -> count.decrementAndGet() <= 0 ? null : count);
+        total.decrementAndGet();
+    }
+}
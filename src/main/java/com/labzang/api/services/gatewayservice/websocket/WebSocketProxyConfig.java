@@ -0,0 +1,77 @@
+package com.labzang.api.services.gatewayservice.websocket;
+
+import com.labzang.api.services.gatewayservice.route.GatewayRoute;
+import com.labzang.api.services.gatewayservice.route.GatewayRouteLocator;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+import org.springframework.web.socket.server.support.OriginHandshakeInterceptor;
+import org.springframework.web.socket.server.support.WebSocketHandlerMapping;
+import org.springframework.web.socket.server.support.WebSocketHttpRequestHandler;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WebSocket 프록시 설정
+ *
+ * gateway.websocket.routes에 지정한 라우트(또는 metadata.websocket=true인 라우트)로 가는 WebSocket 업그레이드 요청만
+ * WebSocketProxyHandler로 보냅니다. 같은 경로의 일반 HTTP 요청은 GatewayProxyController가 처리하도록
+ * 업그레이드 요청이 아니면 매칭하지 않습니다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "gateway.websocket", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WebSocketProxyConfig {
+
+    @Bean
+    public WebSocketHandlerMapping gatewayWebSocketHandlerMapping(WebSocketProxyProperties properties,
+            GatewayRouteLocator routeLocator, WebSocketProxyHandler handler,
+            JwtHandshakeInterceptor jwtHandshakeInterceptor) {
+        OriginHandshakeInterceptor originInterceptor = new OriginHandshakeInterceptor();
+        originInterceptor.setAllowedOriginPatterns(properties.getAllowedOriginPatterns());
+
+        WebSocketHttpRequestHandler requestHandler = new WebSocketHttpRequestHandler(handler,
+                new DefaultHandshakeHandler());
+        requestHandler.setHandshakeInterceptors(List.of(originInterceptor, jwtHandshakeInterceptor));
+
+        // 라우트는 실행 중에 바뀔 수 있으므로 경로 대신 요청마다 현재 라우트로 판단
+        UpgradeOnlyHandlerMapping mapping = new UpgradeOnlyHandlerMapping(routeLocator, properties);
+        mapping.setUrlMap(Map.of("/api/**", requestHandler));
+        // /api/** 프록시 컨트롤러(RequestMappingHandlerMapping)보다 먼저 확인
+        mapping.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        System.out.println("✅ WebSocket 프록시 라우트: " + properties.getRoutes());
+        return mapping;
+    }
+
+    /**
+     * WebSocket 라우트로 가는 업그레이드 요청만 매칭하는 핸들러 매핑
+     * (gateway.websocket.routes에 있거나 라우트 metadata.websocket=true)
+     */
+    static class UpgradeOnlyHandlerMapping extends WebSocketHandlerMapping {
+
+        private final GatewayRouteLocator routeLocator;
+        private final WebSocketProxyProperties properties;
+
+        UpgradeOnlyHandlerMapping(GatewayRouteLocator routeLocator, WebSocketProxyProperties properties) {
+            this.routeLocator = routeLocator;
+            this.properties = properties;
+        }
+
+        @Override
+        protected Object getHandlerInternal(HttpServletRequest request) throws Exception {
+            if (!"websocket".equalsIgnoreCase(request.getHeader(HttpHeaders.UPGRADE))) {
+                return null;
+            }
+            GatewayRoute route = routeLocator.find(request.getRequestURI().substring(request.getContextPath().length()));
+            if (route == null || !(properties.getRoutes().contains(route.id())
+                    || "true".equals(route.metadata().get("websocket")))) {
+                return null;
+            }
+            return super.getHandlerInternal(request);
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package com.labzang.api.services.gatewayservice.websocket;
+
+import com.labzang.api.services.gatewayservice.route.GatewayRoute;
+import com.labzang.api.services.gatewayservice.route.GatewayRouteLocator;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * WebSocket 프록시
+ *
+ * 클라이언트 세션마다 업스트림 WebSocket(JDK HttpClient)을 하나 열고 프레임을 양방향으로 중계합니다.
+ * - 클라이언트 → 업스트림: Tomcat이 프레임을 받은 스레드에서 전송 체인에 이어 붙이고 바로 반환 (대기 없음)
+ * - 업스트림 → 클라이언트: 가상 스레드에서 전달, 느린 클라이언트는 ConcurrentWebSocketSessionDecorator 버퍼로 흡수
+ * 유휴 연결은 스레드를 점유하지 않으므로 동시 연결 수는 Tomcat 스레드 수와 무관합니다.
+ * 부분 메시지를 그대로 중계하므로 큰 메시지도 통째로 모으지 않습니다.
+ */
+@Component
+public class WebSocketProxyHandler implements WebSocketHandler {
+
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final GatewayRouteLocator routeLocator;
+    private final WebSocketConnectionLimiter connectionLimiter;
+    private final WebSocketProxyProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService relayExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient upstreamClient;
+    // 클라이언트 세션 ID → 중계
+    private final Map<String, Relay> relays = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public WebSocketProxyHandler(GatewayRouteLocator routeLocator, WebSocketConnectionLimiter connectionLimiter,
+            WebSocketProxyProperties properties, MeterRegistry meterRegistry) {
+        this.routeLocator = routeLocator;
+        this.connectionLimiter = connectionLimiter;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.upstreamClient = HttpClient.newBuilder()
+                .executor(relayExecutor)
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+    }
+
+    @PostConstruct
+    public void start() {
+        long interval = properties.getPingInterval().toMillis();
+        if (interval <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "websocket-keepalive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        for (Relay relay : relays.values()) {
+            relay.close(CloseStatus.SERVICE_RESTARTED);
+        }
+        relayExecutor.shutdown();
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        String userId = (String) session.getAttributes().get(JwtHandshakeInterceptor.USER_ID);
+        String path = session.getUri() != null ? session.getUri().getPath() : "";
+        GatewayRoute route = routeLocator.find(path);
+        if (userId == null || route == null) {
+            session.close(CloseStatus.POLICY_VIOLATION);
+            return;
+        }
+        URI target = upstreamUri(route, session.getUri());
+        if (!connectionLimiter.acquire(userId)) {
+            meterRegistry.counter("gateway.websocket.rejected", "reason", "user_limit").increment();
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("사용자 연결 수 초과"));
+            return;
+        }
+
+        session.setTextMessageSizeLimit(properties.getMessageBufferSize());
+        session.setBinaryMessageSizeLimit(properties.getMessageBufferSize());
+        Relay relay = new Relay(session, userId, route);
+        relays.put(session.getId(), relay);
+        relay.connect(target);
+    }
+
+    @Override
+    public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) {
+        Relay relay = relays.get(session.getId());
+        if (relay != null) {
+            relay.toUpstream(message);
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        Relay relay = relays.get(session.getId());
+        if (relay != null) {
+            relay.close(CloseStatus.SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) {
+        Relay relay = relays.get(session.getId());
+        if (relay != null) {
+            relay.close(closeStatus);
+        }
+    }
+
+    @Override
+    public boolean supportsPartialMessages() {
+        return true;
+    }
+
+    /**
+     * 업스트림 WebSocket 주소 (http → ws, https → wss, StripPrefix 적용, access_token 파라미터 제거)
+     */
+    private URI upstreamUri(GatewayRoute route, URI requestUri) {
+        URI instance = route.instance(ThreadLocalRandom.current().nextInt(route.instances().size()));
+        String base = instance.toString();
+        if (base.endsWith("/")) {
+            base = base.substring(0, base.length() - 1);
+        }
+        base = ("https".equals(instance.getScheme()) ? "wss" : "ws") + base.substring(instance.getScheme().length());
+
+        List<String> params = new ArrayList<>();
+        if (requestUri.getRawQuery() != null) {
+            for (String param : requestUri.getRawQuery().split("&")) {
+                if (!param.isEmpty() && !param.startsWith(JwtHandshakeInterceptor.TOKEN_PARAM + "=")) {
+                    params.add(param);
+                }
+            }
+        }
+        return URI.create(base + route.upstreamPath(requestUri.getPath())
+                + (params.isEmpty() ? "" : "?" + String.join("&", params)));
+    }
+
+    private void checkQuietly() {
+        long now = System.nanoTime();
+        for (Relay relay : relays.values()) {
+            try {
+                relay.check(now);
+            } catch (Exception e) {
+                System.err.println("⚠️ WebSocket 연결 점검 실패: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 클라이언트 세션 하나와 업스트림 WebSocket 하나의 중계
+     */
+    private final class Relay implements WebSocket.Listener {
+
+        private final WebSocketSession client;
+        private final String userId;
+        private final GatewayRoute route;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // 업스트림으로 전송 대기 중인 바이트 수
+        private final AtomicLong pendingBytes = new AtomicLong();
+
+        // 업스트림 연결 (연결 전에 받은 프레임은 연결 후 순서대로 전송)
+        private final CompletableFuture<WebSocket> upstream = new CompletableFuture<>();
+        // 업스트림 전송 체인 (JDK WebSocket은 이전 전송이 끝나야 다음 전송 가능)
+        private CompletableFuture<WebSocket> tail = upstream;
+
+        private volatile long lastData = System.nanoTime();
+        private volatile long lastClientPong = lastData;
+        private volatile long lastUpstreamPong = lastData;
+
+        private Relay(WebSocketSession session, String userId, GatewayRoute route) {
+            this.client = new ConcurrentWebSocketSessionDecorator(session,
+                    (int) properties.getSendTimeLimit().toMillis(), properties.getBufferSizeLimit());
+            this.userId = userId;
+            this.route = route;
+        }
+
+        private void connect(URI target) {
+            WebSocket.Builder builder = upstreamClient.newWebSocketBuilder()
+                    .connectTimeout(properties.getConnectTimeout())
+                    .header("Authorization", (String) client.getAttributes().get(JwtHandshakeInterceptor.AUTHORIZATION))
+                    .header("X-User-Id", userId);
+            InetSocketAddress remote = client.getRemoteAddress();
+            if (remote != null) {
+                builder.header("X-Forwarded-For", remote.getAddress() != null
+                        ? remote.getAddress().getHostAddress()
+                        : remote.getHostString());
+            }
+            upstream.whenComplete((ws, e) -> {
+                if (e != null) {
+                    System.err.println("❌ 업스트림 WebSocket 연결 실패 (" + route.id() + "): " + e.getMessage());
+                    closeWithReason(CloseStatus.SERVER_ERROR, "upstream_error");
+                }
+            });
+            try {
+                builder.buildAsync(target, this).whenComplete((ws, e) -> {
+                    if (e != null) {
+                        upstream.completeExceptionally(e);
+                    } else {
+                        upstream.complete(ws);
+                    }
+                });
+            } catch (IllegalArgumentException e) {
+                upstream.completeExceptionally(e);
+            }
+        }
+
+        private void toUpstream(WebSocketMessage<?> message) {
+            if (message instanceof PongMessage) {
+                lastClientPong = System.nanoTime();
+                return;
+            }
+            lastData = System.nanoTime();
+            int size = message.getPayloadLength();
+            if (pendingBytes.addAndGet(size) > properties.getBufferSizeLimit()) {
+                closeWithReason(CloseStatus.SERVICE_OVERLOAD, "overload");
+                return;
+            }
+
+            Function<WebSocket, CompletableFuture<WebSocket>> send;
+            if (message instanceof TextMessage text) {
+                String payload = text.getPayload();
+                boolean last = text.isLast();
+                send = ws -> ws.sendText(payload, last);
+            } else if (message instanceof BinaryMessage binary) {
+                // Tomcat은 반환 후 버퍼를 재사용하므로 복사
+                ByteBuffer payload = ByteBuffer.allocate(binary.getPayloadLength()).put(binary.getPayload()).flip();
+                boolean last = binary.isLast();
+                send = ws -> ws.sendBinary(payload, last);
+            } else {
+                pendingBytes.addAndGet(-size);
+                return;
+            }
+            enqueue(send).whenComplete((ws, e) -> {
+                pendingBytes.addAndGet(-size);
+                if (e != null) {
+                    closeWithReason(CloseStatus.SERVER_ERROR, "upstream_error");
+                }
+            });
+        }
+
+        private synchronized CompletableFuture<WebSocket> enqueue(Function<WebSocket, CompletableFuture<WebSocket>> send) {
+            tail = tail.thenCompose(send);
+            return tail;
+        }
+
+        /**
+         * 유휴/끊긴 연결 정리 후 양쪽에 ping
+         */
+        private void check(long now) {
+            long pingNanos = properties.getPingInterval().toNanos();
+            if (now - lastData > properties.getIdleTimeout().toNanos()) {
+                closeWithReason(CloseStatus.GOING_AWAY.withReason("유휴 시간 초과"), "idle");
+                return;
+            }
+            if (now - lastClientPong > 2 * pingNanos || now - lastUpstreamPong > 2 * pingNanos) {
+                closeWithReason(CloseStatus.SESSION_NOT_RELIABLE, "no_pong");
+                return;
+            }
+            relayExecutor.execute(() -> {
+                try {
+                    client.sendMessage(new PingMessage());
+                } catch (Exception e) {
+                    closeWithReason(CloseStatus.SESSION_NOT_RELIABLE, "slow_client");
+                }
+            });
+            if (upstream.isDone() && !upstream.isCompletedExceptionally()) {
+                enqueue(ws -> ws.sendPing(EMPTY));
+            }
+        }
+
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            webSocket.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            lastData = System.nanoTime();
+            toClient(new TextMessage(data.toString(), last));
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onBinary(WebSocket webSocket, ByteBuffer data, boolean last) {
+            lastData = System.nanoTime();
+            // 반환 후 data는 재사용되므로 복사
+            toClient(new BinaryMessage(ByteBuffer.allocate(data.remaining()).put(data).flip(), last));
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onPing(WebSocket webSocket, ByteBuffer message) {
+            // pong 응답은 HttpClient가 자동으로 보냄
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onPong(WebSocket webSocket, ByteBuffer message) {
+            lastUpstreamPong = System.nanoTime();
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            // 1005(상태 없음) 등 전송할 수 없는 코드는 정상 종료로 전달
+            CloseStatus status = statusCode >= 1000 && statusCode <= 4999 && statusCode != 1005 && statusCode != 1006
+                    && statusCode != 1015
+                    ? new CloseStatus(statusCode, reason == null || reason.isEmpty() ? null : reason)
+                    : CloseStatus.NORMAL;
+            close(status);
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            System.err.println("❌ 업스트림 WebSocket 오류 (" + route.id() + "): " + error.getMessage());
+            closeWithReason(CloseStatus.SERVER_ERROR, "upstream_error");
+        }
+
+        /**
+         * 업스트림 메시지를 클라이언트로 전달 (전송 시간/버퍼 한도를 넘는 느린 클라이언트는 닫음)
+         */
+        private void toClient(WebSocketMessage<?> message) {
+            try {
+                client.sendMessage(message);
+            } catch (Exception e) {
+                closeWithReason(CloseStatus.SESSION_NOT_RELIABLE, "slow_client");
+            }
+        }
+
+        private void closeWithReason(CloseStatus status, String reason) {
+            if (!closed.get()) {
+                meterRegistry.counter("gateway.websocket.closed", "reason", reason).increment();
+            }
+            close(status);
+        }
+
+        /**
+         * 양쪽 연결 닫기 (한 번만)
+         */
+        private void close(CloseStatus status) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            relays.remove(client.getId());
+            connectionLimiter.release(userId);
+
+            // JDK WebSocket은 1000, 3000~4999만 보낼 수 있음
+            int code = status.getCode() == 1000 || (status.getCode() >= 3000 && status.getCode() <= 4999)
+                    ? status.getCode()
+                    : WebSocket.NORMAL_CLOSURE;
+            upstream.thenAccept(ws -> {
+                if (ws.isOutputClosed()) {
+                    ws.abort();
+                    return;
+                }
+                ws.sendClose(code, "").whenComplete((result, e) -> ws.abort());
+            });
+
+            if (client.isOpen()) {
+                try {
+                    client.close(status);
+                } catch (IOException e) {
+                    // 이미 끊긴 클라이언트는 무시
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.labzang.api.services.gatewayservice.websocket;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WebSocket 프록시 설정 프로퍼티
+ *
+ * 지정한 라우트의 WebSocket 업그레이드 요청을 업스트림 WebSocket으로 연결합니다.
+ * 일반 HTTP 요청(롱 폴링 포함)은 그대로 GatewayProxyController가 처리합니다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.websocket")
+public class WebSocketProxyProperties {
+
+    private boolean enabled = true;
+
+    // WebSocket을 중계할 라우트 ID (spring.cloud.gateway.routes의 Path 조건을 그대로 사용)
+    private List<String> routes = new ArrayList<>(List.of("chatbot-service"));
+
+    // 핸드셰이크를 허용할 Origin 패턴
+    private List<String> allowedOriginPatterns = new ArrayList<>();
+
+    // 사용자당 동시 연결 수
+    private int maxConnectionsPerUser = 5;
+
+    // 양쪽 모두 데이터 프레임이 없으면 연결을 닫는 시간
+    private Duration idleTimeout = Duration.ofMinutes(5);
+
+    // ping 주기 (이 주기의 두 배 동안 pong이 없으면 끊긴 연결로 보고 닫음)
+    private Duration pingInterval = Duration.ofSeconds(30);
+
+    // 업스트림 WebSocket 연결 타임아웃
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    // 클라이언트로 보내는 메시지 하나의 전송 시간 한도 (초과 시 느린 클라이언트로 보고 닫음)
+    private Duration sendTimeLimit = Duration.ofSeconds(10);
+
+    // 방향별로 전송 대기 중인 메시지의 최대 크기 (초과 시 닫음)
+    private int bufferSizeLimit = 512 * 1024;
+
+    // 클라이언트 프레임 수신 버퍼 크기 (큰 메시지는 이 크기 단위로 나누어 중계)
+    private int messageBufferSize = 64 * 1024;
+}
@@ -0,0 +1,18 @@
+package com.labzang.api.services.oauthservice.client;
+
+import lombok.Getter;
+
+/**
+ * client_credentials 요청 거절 (RFC 6749 5.2 오류 코드 포함)
+ */
+@Getter
+public class ClientCredentialsException extends RuntimeException {
+
+    // invalid_client, invalid_scope 등
+    private final String error;
+
+    public ClientCredentialsException(String error, String message) {
+        super(message);
+        this.error = error;
+    }
+}
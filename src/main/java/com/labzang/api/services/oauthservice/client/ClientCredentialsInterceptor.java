@@ -0,0 +1,163 @@
+package com.labzang.api.services.oauthservice.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 서비스 간 호출용 머신 토큰 인터셉터 (client_credentials 클라이언트)
+ * 
+ * 게이트웨이(/api/auth/token)에서 받은 머신 토큰을 캐시해 두고 모든 요청에 Bearer로 붙입니다.
+ * 수명의 80% 시점에서 지터를 뺀 시각부터 한 스레드만 갱신하고, 나머지 요청은 기존 토큰을 계속 사용합니다.
+ * 지터는 여러 인스턴스가 같은 시각에 갱신 요청을 몰아 보내지 않도록 합니다.
+ * 401 응답을 받으면 캐시를 비우고 새 토큰으로 한 번만 재시도합니다.
+ * 
+ * 사용 예:
+ * RestTemplate erpClient = new RestTemplate();
+ * erpClient.getInterceptors().add(new ClientCredentialsInterceptor(
+ *         new RestTemplate(), "http://gateway:8080/api/auth/token", "erp-service", secret, "read"));
+ */
+public class ClientCredentialsInterceptor implements ClientHttpRequestInterceptor {
+
+    // 수명 중 이 비율이 지나면 갱신 시작
+    private static final double REFRESH_RATIO = 0.8;
+    // 갱신 시각을 앞당기는 최대 지터 (수명 대비 비율)
+    private static final double JITTER_RATIO = 0.1;
+
+    private final RestTemplate tokenClient;
+    private final String tokenUri;
+    private final String clientId;
+    private final String clientSecret;
+    private final String scope;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile CachedToken current;
+
+    /**
+     * 캐시된 머신 토큰
+     * 
+     * @param value     토큰
+     * @param refreshAt 갱신 시작 시각 (epoch ms)
+     * @param expiresAt 만료 시각 (epoch ms)
+     */
+    private record CachedToken(String value, long refreshAt, long expiresAt) {
+    }
+
+    /**
+     * @param tokenClient  토큰 요청용 RestTemplate (이 인터셉터가 등록되지 않은 것)
+     * @param tokenUri     게이트웨이 토큰 엔드포인트
+     * @param clientId     클라이언트 ID
+     * @param clientSecret 클라이언트 시크릿
+     * @param scope        요청 scope (공백 구분, null이면 허용된 전체)
+     */
+    public ClientCredentialsInterceptor(RestTemplate tokenClient, String tokenUri, String clientId,
+            String clientSecret, String scope) {
+        this.tokenClient = tokenClient;
+        this.tokenUri = tokenUri;
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.scope = scope;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String token = token();
+        request.getHeaders().setBearerAuth(token);
+        ClientHttpResponse response = execution.execute(request, body);
+
+        if (response.getStatusCode() == HttpStatus.UNAUTHORIZED) {
+            // 키 교체 등으로 거절된 토큰은 버리고 한 번만 재시도
+            invalidate(token);
+            response.close();
+            request.getHeaders().setBearerAuth(token());
+            return execution.execute(request, body);
+        }
+        return response;
+    }
+
+    /**
+     * 사용할 토큰 조회 (필요하면 갱신)
+     */
+    private String token() {
+        long now = System.currentTimeMillis();
+        CachedToken cached = current;
+        if (cached != null && now < cached.refreshAt()) {
+            return cached.value();
+        }
+
+        if (cached != null && now < cached.expiresAt()) {
+            // 갱신 구간: 한 스레드만 갱신하고, 실패해도 만료 전까지는 기존 토큰 사용
+            if (refreshLock.tryLock()) {
+                try {
+                    if (current == cached) {
+                        current = fetch();
+                    }
+                } catch (RuntimeException e) {
+                    System.err.println("머신 토큰 사전 갱신 실패 (기존 토큰 사용): " + e.getMessage());
+                } finally {
+                    refreshLock.unlock();
+                }
+            }
+            CachedToken latest = current;
+            return latest != null ? latest.value() : cached.value();
+        }
+
+        // 토큰이 없거나 만료됨: 갱신이 끝날 때까지 대기
+        refreshLock.lock();
+        try {
+            cached = current;
+            if (cached == null || System.currentTimeMillis() >= cached.expiresAt()) {
+                cached = fetch();
+                current = cached;
+            }
+            return cached.value();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void invalidate(String token) {
+        CachedToken cached = current;
+        if (cached != null && cached.value().equals(token)) {
+            current = null;
+        }
+    }
+
+    private CachedToken fetch() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        headers.setBasicAuth(clientId, clientSecret);
+
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("grant_type", "client_credentials");
+        if (scope != null && !scope.isBlank()) {
+            form.add("scope", scope);
+        }
+
+        long requestedAt = System.currentTimeMillis();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> response = tokenClient.postForObject(tokenUri, new HttpEntity<>(form, headers), Map.class);
+        if (response == null || !(response.get("access_token") instanceof String accessToken)) {
+            throw new IllegalStateException("머신 토큰 응답에 access_token이 없습니다.");
+        }
+        long lifetimeMillis = ((Number) response.getOrDefault("expires_in", 300)).longValue() * 1000;
+        long jitter = (long) (ThreadLocalRandom.current().nextDouble() * lifetimeMillis * JITTER_RATIO);
+        return new CachedToken(accessToken,
+                requestedAt + (long) (lifetimeMillis * REFRESH_RATIO) - jitter,
+                requestedAt + lifetimeMillis);
+    }
+}
@@ -0,0 +1,83 @@
+package com.labzang.api.services.oauthservice.client;
+
+import com.labzang.api.services.oauthservice.jwt.JwtTokenProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 서비스 간 호출용 client_credentials 발급 서비스
+ * 
+ * 등록된 서비스 클라이언트(oauth.clients.registrations)의 시크릿을 확인하고,
+ * 요청 scope 중 허용된 것만 담은 짧은 수명의 머신 토큰(type=client)을 발급합니다.
+ * 호출 측은 ClientCredentialsInterceptor로 토큰을 캐시하여 만료 전에만 다시 요청합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ClientCredentialsService {
+
+    // 등록되지 않은 client_id 요청에도 같은 해시 비용을 쓰기 위한 값
+    private static final String DUMMY_HASH = ClientSecretHasher.hash("dummy-secret");
+
+    private final ServiceClientProperties properties;
+    private final JwtTokenProvider jwtTokenProvider;
+
+    /**
+     * 발급 결과
+     * 
+     * @param accessToken 머신 토큰
+     * @param expiresIn   만료 시간 (초)
+     * @param scope       부여된 scope (공백 구분)
+     */
+    public record ClientToken(String accessToken, long expiresIn, String scope) {
+    }
+
+    /**
+     * 머신 토큰 발급
+     * 
+     * @param clientId     클라이언트 ID
+     * @param clientSecret 클라이언트 시크릿
+     * @param scope        요청 scope (공백 구분, 없으면 허용된 scope 전체)
+     * @return 발급된 토큰
+     * @throws ClientCredentialsException 인증 실패 또는 허용되지 않은 scope
+     */
+    public ClientToken issue(String clientId, String clientSecret, String scope) {
+        ServiceClientProperties.Registration registration = clientId != null
+                ? properties.getRegistrations().get(clientId)
+                : null;
+        if (registration == null) {
+            // 응답 시간으로 client_id 존재 여부가 드러나지 않게 함
+            ClientSecretHasher.matches(clientSecret == null ? "" : clientSecret, DUMMY_HASH);
+            throw new ClientCredentialsException("invalid_client", "클라이언트 인증에 실패했습니다.");
+        }
+        if (!ClientSecretHasher.matches(clientSecret, registration.getSecretHash())) {
+            throw new ClientCredentialsException("invalid_client", "클라이언트 인증에 실패했습니다.");
+        }
+
+        List<String> granted = grantScopes(registration.getScopes(), scope);
+        String grantedScope = String.join(" ", granted);
+        long ttl = properties.getTokenTtl().toSeconds();
+        String token = jwtTokenProvider.generateClientToken(clientId, grantedScope, ttl);
+        System.out.println("머신 토큰 발급 - Client: " + clientId + ", Scope: " + grantedScope);
+        return new ClientToken(token, ttl, grantedScope);
+    }
+
+    private List<String> grantScopes(List<String> allowed, String requested) {
+        if (requested == null || requested.isBlank()) {
+            return allowed;
+        }
+        List<String> granted = new ArrayList<>();
+        for (String scope : Arrays.asList(requested.trim().split("\\s+"))) {
+            if (!allowed.contains(scope)) {
+                throw new ClientCredentialsException("invalid_scope", "허용되지 않은 scope입니다: " + scope);
+            }
+            if (!granted.contains(scope)) {
+                granted.add(scope);
+            }
+        }
+        return granted;
+    }
+}
@@ -0,0 +1,100 @@
+package com.labzang.api.services.oauthservice.client;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * 서비스 클라이언트 시크릿 해시 유틸리티
+ * 
+ * 시크릿은 PBKDF2-HMAC-SHA256으로 해시하여 pbkdf2-sha256$반복횟수$salt$hash 형식으로 저장합니다.
+ * 
+ * 사용 방법:
+ * 1. 이 클래스의 main 메서드를 실행 (인수로 client_id 전달)
+ * 2. 출력된 시크릿은 호출하는 서비스에, 해시는 oauth.clients.registrations에 설정
+ */
+public class ClientSecretHasher {
+
+    private static final String PREFIX = "pbkdf2-sha256";
+    private static final int ITERATIONS = 210_000;
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * 시크릿 해시 생성
+     * 
+     * @param secret 평문 시크릿
+     * @return pbkdf2-sha256$반복횟수$salt$hash
+     */
+    public static String hash(String secret) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        byte[] hash = pbkdf2(secret, salt, ITERATIONS);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + ITERATIONS + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    /**
+     * 시크릿 검증 (상수 시간 비교)
+     * 
+     * @param secret  평문 시크릿
+     * @param encoded 저장된 해시
+     * @return 일치 여부
+     */
+    public static boolean matches(String secret, String encoded) {
+        if (secret == null || encoded == null) {
+            return false;
+        }
+        String[] parts = encoded.split("\\$");
+        if (parts.length != 4 || !PREFIX.equals(parts[0])) {
+            return false;
+        }
+        try {
+            int iterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(pbkdf2(secret, salt, iterations), expected);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static byte[] pbkdf2(String secret, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(secret.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2WithHmacSHA256을 사용할 수 없습니다.", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    /**
+     * 새 클라이언트 시크릿과 해시를 생성하여 출력합니다.
+     * 
+     * @param args [0] client_id (선택)
+     */
+    public static void main(String[] args) {
+        String clientId = args.length > 0 ? args[0] : "my-service";
+        byte[] random = new byte[32];
+        RANDOM.nextBytes(random);
+        String secret = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+
+        System.out.println("=== Service Client Secret Generator ===\n");
+        System.out.println("Client Secret (호출 서비스에만 설정):");
+        System.out.println(secret);
+        System.out.println();
+        System.out.println("# application.yaml에 추가:");
+        System.out.println("oauth:");
+        System.out.println("  clients:");
+        System.out.println("    registrations:");
+        System.out.println("      " + clientId + ":");
+        System.out.println("        secret-hash: \"" + hash(secret) + "\"");
+        System.out.println("        scopes: [read]");
+    }
+}
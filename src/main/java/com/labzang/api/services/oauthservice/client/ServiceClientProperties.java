@@ -0,0 +1,37 @@
+package com.labzang.api.services.oauthservice.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 서비스 클라이언트 (client_credentials) 설정 프로퍼티
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "oauth.clients")
+public class ServiceClientProperties {
+
+    // 머신 토큰 만료 시간
+    private Duration tokenTtl = Duration.ofMinutes(5);
+
+    // client_id → 등록 정보
+    private Map<String, Registration> registrations = new LinkedHashMap<>();
+
+    @Data
+    public static class Registration {
+
+        // ClientSecretHasher로 만든 시크릿 해시 (평문 시크릿은 저장하지 않음)
+        private String secretHash;
+
+        // 이 클라이언트에 허용된 scope
+        private List<String> scopes = new ArrayList<>();
+    }
+}
@@ -1,19 +1,37 @@
 package com.labzang.api.services.oauthservice.config;
 
+import com.labzang.api.services.oauthservice.provider.OAuthPipelineProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+
 /**
  * WebMVC용 RestTemplate 설정
  * WebFlux WebClient 대신 RestTemplate 사용
+ * 
+ * JDK HttpClient 기반으로 연결을 재사용(keep-alive 풀)하며,
+ * 모든 소셜 로그인 제공자가 이 RestTemplate 하나를 공유합니다.
  */
 @Configuration
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public HttpClient oauthHttpClient(OAuthPipelineProperties properties) {
+        return HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
     }
-}
 
+    @Bean
+    public RestTemplate restTemplate(@Qualifier("oauthHttpClient") HttpClient oauthHttpClient,
+            OAuthPipelineProperties properties) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(oauthHttpClient);
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+        return new RestTemplate(requestFactory);
+    }
+}
@@ -4,9 +4,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.view.RedirectView;
+import com.labzang.api.services.oauthservice.provider.OAuthLoginPipeline;
+import com.labzang.api.services.oauthservice.provider.OAuthLoginResult;
 import com.labzang.api.services.oauthservice.token.TokenService;
 import com.labzang.api.services.oauthservice.jwt.JwtUtil;
-import com.labzang.api.services.oauthservice.jwt.JwtTokenProvider;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -21,15 +22,15 @@ public class GoogleController {
 
     private final TokenService tokenService;
     private final GoogleOAuthService googleOAuthService;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final OAuthLoginPipeline loginPipeline;
 
     public GoogleController(
             TokenService tokenService,
             GoogleOAuthService googleOAuthService,
-            JwtTokenProvider jwtTokenProvider) {
+            OAuthLoginPipeline loginPipeline) {
         this.tokenService = tokenService;
         this.googleOAuthService = googleOAuthService;
-        this.jwtTokenProvider = jwtTokenProvider;
+        this.loginPipeline = loginPipeline;
     }
 
     /**
@@ -38,16 +39,8 @@ public class GoogleController {
      */
     @GetMapping("/auth-url")
     public ResponseEntity<Map<String, Object>> getGoogleAuthUrl() {
-        // 환경 변수에서 가져오기
-        String clientId = System.getenv("GOOGLE_CLIENT_ID");
-        String redirectUri = System.getenv("GOOGLE_REDIRECT_URI");
         String state = UUID.randomUUID().toString(); // CSRF 방지용 state
-
-        String authUrl = String.format(
-                "https://accounts.google.com/o/oauth2/v2/auth?response_type=code&client_id=%s&redirect_uri=%s&scope=openid%%20profile%%20email&state=%s",
-                clientId,
-                URLEncoder.encode(redirectUri, StandardCharsets.UTF_8),
-                state);
+        String authUrl = googleOAuthService.authorizationUrl(null, state);
 
         return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -80,41 +73,12 @@ public class GoogleController {
 
         if (code != null) {
             try {
-                // 1. Authorization Code를 Access Token으로 교환
-                Map<String, Object> tokenResponse = googleOAuthService.getAccessToken(code);
-                String googleAccessToken = (String) tokenResponse.get("access_token");
-                String googleRefreshToken = (String) tokenResponse.get("refresh_token");
-                Object expiresIn = tokenResponse.get("expires_in"); // 초 단위
-
-                if (googleAccessToken == null) {
-                    throw new RuntimeException("구글 Access Token을 받을 수 없습니다.");
-                }
-
-                // 2. Access Token으로 사용자 정보 조회
-                Map<String, Object> userInfo = googleOAuthService.getUserInfo(googleAccessToken);
-                Map<String, Object> extractedUserInfo = googleOAuthService.extractUserInfo(userInfo);
-
-                // 3. 사용자 ID 추출
-                String userId = (String) extractedUserInfo.get("google_id");
-
-                // 4. 구글 OAuth 원본 토큰을 Redis에 저장
-                long googleTokenExpireTime = expiresIn != null ? Long.parseLong(expiresIn.toString()) : 3600;
-                tokenService.saveOAuthAccessToken("google", userId, googleAccessToken, googleTokenExpireTime);
-
-                if (googleRefreshToken != null) {
-                    // Refresh Token은 30일 유효 (구글 기본값)
-                    tokenService.saveOAuthRefreshToken("google", userId, googleRefreshToken, 2592000);
-                }
-
-                // 5. JWT 토큰 생성 (자체 JWT)
-                String jwtAccessToken = jwtTokenProvider.generateAccessToken(userId, "google", extractedUserInfo);
-                String jwtRefreshToken = jwtTokenProvider.generateRefreshToken(userId, "google");
-
-                // 6. JWT 토큰을 Redis에 저장
-                tokenService.saveAccessToken("google", userId, jwtAccessToken, 3600);
-                tokenService.saveRefreshToken("google", userId, jwtRefreshToken, 2592000);
+                // 1. 토큰 교환 → 사용자 정보 조회 → 토큰 저장 → JWT 발급 (공통 파이프라인)
+                OAuthLoginResult result = loginPipeline.login("google", code, state);
+                String jwtAccessToken = result.accessToken();
+                String jwtRefreshToken = result.refreshToken();
 
-                // 5. 프론트엔드로 리다이렉트 (JWT 토큰 포함)
+                // 2. 프론트엔드로 리다이렉트 (JWT 토큰 포함)
                 String redirectUrl = frontendUrl + "?token="
                         + URLEncoder.encode(jwtAccessToken, StandardCharsets.UTF_8);
                 if (jwtRefreshToken != null) {
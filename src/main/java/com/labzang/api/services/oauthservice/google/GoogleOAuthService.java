@@ -1,5 +1,9 @@
 package com.labzang.api.services.oauthservice.google;
 
+import com.labzang.api.services.oauthservice.google.dto.GoogleTokenResponse;
+import com.labzang.api.services.oauthservice.google.dto.GoogleUserInfo;
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
+import com.labzang.api.services.oauthservice.provider.OAuthProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -7,14 +11,15 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Map;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 
 /**
  * 구글 OAuth2 인증 서비스
  * 구글 API와 통신하여 토큰 교환 및 사용자 정보 조회
  */
 @Service
-public class GoogleOAuthService {
+public class GoogleOAuthService implements OAuthProvider {
     
     @Value("${google.client-id}")
     private String clientId;
@@ -30,9 +35,34 @@ public class GoogleOAuthService {
     // 구글 API 엔드포인트
     private static final String GOOGLE_TOKEN_URL = "https://oauth2.googleapis.com/token";
     private static final String GOOGLE_USER_INFO_URL = "https://www.googleapis.com/oauth2/v2/userinfo";
+    private static final String GOOGLE_AUTH_URL = "https://accounts.google.com/o/oauth2/v2/auth";
     
-    public GoogleOAuthService() {
-        this.restTemplate = new RestTemplate();
+    public GoogleOAuthService(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+    
+    @Override
+    public String id() {
+        return "google";
+    }
+    
+    @Override
+    public String authorizationUrl(String redirectUri, String state) {
+        String uri = redirectUri != null && !redirectUri.isEmpty() ? redirectUri : this.redirectUri;
+        return GOOGLE_AUTH_URL + "?response_type=code&client_id=" + clientId
+                + "&redirect_uri=" + URLEncoder.encode(uri, StandardCharsets.UTF_8)
+                + "&scope=openid%20profile%20email"
+                + "&state=" + URLEncoder.encode(state, StandardCharsets.UTF_8);
+    }
+    
+    @Override
+    public GoogleTokenResponse exchangeCode(String code, String state) {
+        return getAccessToken(code);
+    }
+    
+    @Override
+    public OAuthUserProfile fetchProfile(String accessToken) {
+        return extractUserInfo(getUserInfo(accessToken));
     }
     
     /**
@@ -40,7 +70,7 @@ public class GoogleOAuthService {
      * @param code Authorization Code
      * @return 구글 토큰 응답 (access_token, refresh_token, expires_in 등)
      */
-    public Map<String, Object> getAccessToken(String code) {
+    public GoogleTokenResponse getAccessToken(String code) {
         System.out.println("=== 구글 Access Token 요청 ===");
         System.out.println("Authorization Code: " + code);
         
@@ -59,20 +89,17 @@ public class GoogleOAuthService {
         HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(params, headers);
         
         try {
-            // 구글 토큰 API 호출
-            @SuppressWarnings("rawtypes")
-            ResponseEntity<Map> response = restTemplate.postForEntity(
+            // 구글 토큰 API 호출 (응답 스트림을 레코드로 바로 역직렬화)
+            ResponseEntity<GoogleTokenResponse> response = restTemplate.postForEntity(
                 GOOGLE_TOKEN_URL,
                 request,
-                Map.class
+                GoogleTokenResponse.class
             );
             
             System.out.println("구글 토큰 응답: " + response.getBody());
             System.out.println("================================");
             
-            @SuppressWarnings("unchecked")
-            Map<String, Object> body = response.getBody();
-            return body;
+            return response.getBody();
         } catch (Exception e) {
             System.err.println("구글 토큰 요청 실패: " + e.getMessage());
             e.printStackTrace();
@@ -85,7 +112,7 @@ public class GoogleOAuthService {
      * @param accessToken 구글 Access Token
      * @return 사용자 정보 (id, name, email 등)
      */
-    public Map<String, Object> getUserInfo(String accessToken) {
+    public GoogleUserInfo getUserInfo(String accessToken) {
         System.out.println("=== 구글 사용자 정보 요청 ===");
         System.out.println("Access Token: " + accessToken.substring(0, Math.min(accessToken.length(), 20)) + "...");
         
@@ -98,20 +125,17 @@ public class GoogleOAuthService {
         
         try {
             // 구글 사용자 정보 API 호출
-            @SuppressWarnings("rawtypes")
-            ResponseEntity<Map> response = restTemplate.exchange(
+            ResponseEntity<GoogleUserInfo> response = restTemplate.exchange(
                 GOOGLE_USER_INFO_URL,
                 HttpMethod.GET,
                 request,
-                Map.class
+                GoogleUserInfo.class
             );
             
             System.out.println("구글 사용자 정보 응답: " + response.getBody());
             System.out.println("================================");
             
-            @SuppressWarnings("unchecked")
-            Map<String, Object> body = response.getBody();
-            return body;
+            return response.getBody();
         } catch (Exception e) {
             System.err.println("구글 사용자 정보 요청 실패: " + e.getMessage());
             e.printStackTrace();
@@ -124,29 +148,7 @@ public class GoogleOAuthService {
      * @param userInfo 구글 API 응답
      * @return 추출된 사용자 정보
      */
-    @SuppressWarnings("unchecked")
-    public Map<String, Object> extractUserInfo(Map<String, Object> userInfo) {
-        // 구글 사용자 ID
-        String googleId = (String) userInfo.get("id");
-        
-        // 이름
-        String name = (String) userInfo.get("name");
-        
-        // 이메일
-        String email = (String) userInfo.get("email");
-        
-        // 프로필 이미지
-        String picture = (String) userInfo.get("picture");
-        
-        // 이메일 인증 여부
-        Boolean emailVerified = (Boolean) userInfo.getOrDefault("verified_email", false);
-        
-        return Map.of(
-            "google_id", googleId != null ? googleId : "",
-            "nickname", name != null ? name : "구글 사용자",
-            "email", email != null ? email : "",
-            "email_verified", emailVerified != null ? emailVerified : false,
-            "profile_image", picture != null ? picture : ""
-        );
+    public OAuthUserProfile extractUserInfo(GoogleUserInfo userInfo) {
+        return userInfo.toProfile();
     }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.labzang.api.services.oauthservice.google.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.labzang.api.services.oauthservice.profile.OAuthTokenResponse;
+
+/**
+ * 구글 토큰 응답 DTO
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GoogleTokenResponse(
+        @JsonProperty("access_token") String accessToken,
+        @JsonProperty("token_type") String tokenType,
+        @JsonProperty("refresh_token") String refreshToken,
+        @JsonProperty("expires_in") Long expiresIn,
+        @JsonProperty("scope") String scope,
+        @JsonProperty("id_token") String idToken) implements OAuthTokenResponse {
+}
@@ -0,0 +1,29 @@
+package com.labzang.api.services.oauthservice.google.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
+import com.labzang.api.services.oauthservice.profile.ProviderUserInfo;
+
+/**
+ * 구글 사용자 정보 DTO (oauth2/v2/userinfo 응답)
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GoogleUserInfo(
+        @JsonProperty("id") String id,
+        @JsonProperty("name") String name,
+        @JsonProperty("email") String email,
+        @JsonProperty("verified_email") Boolean verifiedEmail,
+        @JsonProperty("picture") String picture) implements ProviderUserInfo {
+
+    @Override
+    public OAuthUserProfile toProfile() {
+        return new OAuthUserProfile(
+                "google",
+                id,
+                name != null ? name : "구글 사용자",
+                email,
+                Boolean.TRUE.equals(verifiedEmail),
+                picture);
+    }
+}
@@ -0,0 +1,88 @@
+package com.labzang.api.services.oauthservice.jwt;
+
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access Token 클레임 투영
+ * 
+ * audience별로 토큰에 넣을 최소 프로필 클레임만 고르고, 필요하면 짧은 별칭으로 바꿉니다.
+ * 토큰에서 빠진 프로필 정보는 /api/auth/profile (프로필 캐시)에서 제공합니다.
+ * 발급된 토큰이 max-token-bytes를 넘으면 발급 시점에 바로 실패합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClaimProjection {
+
+    private final ClaimProjectionProperties properties;
+
+    /**
+     * 토큰에 포함할 프로필 클레임 선택
+     * 
+     * @param profile  사용자 프로필
+     * @param audience 클레임 세트 이름 (null이면 기본값)
+     * @return 토큰에 기록할 클레임 (별칭 적용됨)
+     */
+    public Map<String, Object> project(OAuthUserProfile profile, String audience) {
+        Map<String, Object> all = profile.toClaims();
+        List<String> selected = properties.getAudiences()
+                .get(audience != null ? audience : properties.getDefaultAudience());
+
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> claim : all.entrySet()) {
+            String name = claim.getKey();
+            if (selected != null && !selected.contains(name)) {
+                continue;
+            }
+            // 빈 값은 기록하지 않음
+            if (claim.getValue() instanceof String value && value.isEmpty()) {
+                continue;
+            }
+            projected.put(alias(name), claim.getValue());
+        }
+        return projected;
+    }
+
+    /**
+     * 별칭으로 기록된 클레임을 원래 이름으로 복원
+     * 
+     * @param claims 토큰 클레임
+     * @return 원래 이름의 클레임
+     */
+    public Map<String, Object> expand(Map<String, Object> claims) {
+        if (!properties.isAliasesEnabled()) {
+            return claims;
+        }
+        Map<String, String> reverse = new HashMap<>();
+        properties.getAliases().forEach((name, alias) -> reverse.put(alias, name));
+
+        Map<String, Object> expanded = new LinkedHashMap<>();
+        claims.forEach((name, value) -> expanded.put(reverse.getOrDefault(name, name), value));
+        return expanded;
+    }
+
+    /**
+     * 토큰 크기 제한 확인
+     * 
+     * @param token 발급된 토큰
+     * @throws IllegalStateException 제한을 넘은 경우
+     */
+    public void checkBudget(String token) {
+        int max = properties.getMaxTokenBytes();
+        if (max > 0 && token.length() > max) {
+            throw new IllegalStateException(String.format(
+                    "Access Token 크기(%d bytes)가 제한(%d bytes)을 초과했습니다. jwt.claims.audiences 설정을 확인하세요.",
+                    token.length(), max));
+        }
+    }
+
+    private String alias(String name) {
+        return properties.isAliasesEnabled() ? properties.getAliases().getOrDefault(name, name) : name;
+    }
+}
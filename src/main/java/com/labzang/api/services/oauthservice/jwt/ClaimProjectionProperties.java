@@ -0,0 +1,42 @@
+package com.labzang.api.services.oauthservice.jwt;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access Token 클레임 투영 설정 프로퍼티
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jwt.claims")
+public class ClaimProjectionProperties {
+
+    // 로그인 요청에 audience가 없을 때 사용할 클레임 세트
+    private String defaultAudience = "web";
+
+    /**
+     * audience별로 토큰에 포함할 프로필 클레임
+     * (설정되지 않은 audience는 전체 프로필 클레임을 포함)
+     * 사용 가능한 클레임: {provider}_id, nickname, email, email_verified, profile_image
+     */
+    private Map<String, List<String>> audiences = new LinkedHashMap<>();
+
+    // true이면 프로필 클레임 이름을 짧은 별칭으로 기록
+    private boolean aliasesEnabled = false;
+
+    // 클레임 이름 → 별칭
+    private Map<String, String> aliases = new LinkedHashMap<>(Map.of(
+            "nickname", "nn",
+            "email", "em",
+            "email_verified", "ev",
+            "profile_image", "pi"));
+
+    // Access Token 최대 크기 (bytes, 0이면 제한 없음)
+    private int maxTokenBytes = 0;
+}
@@ -0,0 +1,764 @@
+package com.labzang.api.services.oauthservice.jwt;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * 자체 발급 토큰 전용 HS256 코덱
+ *
+ * 게이트웨이가 발급하는 Access/Refresh Token은 헤더가 항상 {"alg":"HS256"}이고
+ * 클레임도 문자열/불리언/숫자로만 구성되므로, jjwt의 빌더·클레임 맵·Jackson 트리를 거치지 않고
+ * 재사용 버퍼에 직접 JSON과 base64url을 기록합니다.
+ *
+ * - Mac과 작업 버퍼는 플랫폼 스레드마다 ThreadLocal로 재사용하고,
+ *   가상 스레드에서는 작은 공유 풀에서 빌려 씁니다 (가상 스레드는 재사용되지 않으므로)
+ * - 헤더 세그먼트는 상수로 캐시합니다
+ * - 검증 시 sub/provider/type/exp/nbf만 평면 스캔으로 읽습니다
+ *   (요청 인증 경로는 클레임 맵을 넘겨 최상위 스칼라 클레임 전체를 같은 스캔에서 채웁니다)
+ *
+ * 결과는 표준 JWT와 동일하여 jjwt로 그대로 검증할 수 있습니다.
+ * 다른 헤더, 중첩 객체/배열 등 지원하지 않는 형태는 UNSUPPORTED를 돌려주며
+ * 호출 측(JwtTokenProvider)은 이 경우 jjwt로 처리합니다.
+ */
+public final class Hs256TokenCodec {
+
+    /** {"alg":"HS256"} */
+    static final String HEADER = "eyJhbGciOiJIUzI1NiJ9";
+
+    private static final byte[] HEADER_BYTES = HEADER.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BASE64URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final int[] BASE64URL_INDEX = new int[128];
+    private static final int SIGNATURE_LENGTH = 32;
+    private static final int POOL_SIZE = 64;
+
+    static {
+        Arrays.fill(BASE64URL_INDEX, -1);
+        for (int i = 0; i < BASE64URL.length; i++) {
+            BASE64URL_INDEX[BASE64URL[i]] = i;
+        }
+    }
+
+    /**
+     * 검증 결과
+     *
+     * @param status    검증 상태
+     * @param subject   sub 클레임
+     * @param provider  provider 클레임
+     * @param type      type 클레임 (access, refresh, internal)
+     * @param expiresAt exp 클레임 (epoch 초, 없으면 -1)
+     * @param notBefore nbf 클레임 (epoch 초, 없으면 -1)
+     */
+    public record Decoded(Status status, String subject, String provider, String type, long expiresAt,
+            long notBefore) {
+
+        static final Decoded UNSUPPORTED = new Decoded(Status.UNSUPPORTED, null, null, null, -1, -1);
+        static final Decoded BAD_SIGNATURE = new Decoded(Status.BAD_SIGNATURE, null, null, null, -1, -1);
+
+        /**
+         * 서명이 유효하고 유효 기간 안인지 확인
+         */
+        public boolean isValidAt(long nowMillis) {
+            return status == Status.VERIFIED && isWithinValidity(nowMillis);
+        }
+
+        /**
+         * exp/nbf 기준 유효 기간 안인지 확인 (서명 여부와 무관)
+         * (jjwt와 동일하게 exp 시각까지, nbf 시각부터 유효)
+         */
+        public boolean isWithinValidity(long nowMillis) {
+            return (expiresAt < 0 || nowMillis <= expiresAt * 1000)
+                    && (notBefore < 0 || nowMillis >= notBefore * 1000);
+        }
+    }
+
+    public enum Status {
+        /** 서명 검증 성공 */
+        VERIFIED,
+        /** 서명을 확인하지 않고 페이로드만 읽음 (peek) */
+        UNVERIFIED,
+        /** 이 키로 서명되지 않음 */
+        BAD_SIGNATURE,
+        /** 코덱이 처리하지 않는 형태 (jjwt로 처리) */
+        UNSUPPORTED
+    }
+
+    private final SecretKey key;
+    private final ThreadLocal<Scratch> platformScratch;
+    private final ArrayBlockingQueue<Scratch> sharedScratch = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    public Hs256TokenCodec(SecretKey key) {
+        this.key = key;
+        this.platformScratch = ThreadLocal.withInitial(() -> new Scratch(newMac(key)));
+        // 생성 시점에 키/알고리즘 오류를 드러냄
+        newMac(key);
+    }
+
+    /**
+     * 토큰 서명
+     *
+     * @param subject   sub 클레임
+     * @param provider  provider 클레임
+     * @param type      type 클레임
+     * @param claims    추가 클레임 (문자열, 불리언, 숫자만 지원, null 가능)
+     * @param issuedAt  iat (epoch 초)
+     * @param expiresAt exp (epoch 초)
+     * @return 서명된 JWT, 지원하지 않는 클레임 값이 있으면 null
+     */
+    public String sign(String subject, String provider, String type, Map<String, Object> claims,
+            long issuedAt, long expiresAt) {
+        Scratch scratch = borrow();
+        try {
+            ByteSink payload = scratch.payload;
+            payload.reset();
+            payload.write('{');
+            writeStringField(payload, "sub", subject, true);
+            writeStringField(payload, "provider", provider, false);
+            writeStringField(payload, "type", type, false);
+            if (claims != null) {
+                for (Map.Entry<String, Object> claim : claims.entrySet()) {
+                    if (!writeField(payload, claim.getKey(), claim.getValue())) {
+                        return null;
+                    }
+                }
+            }
+            writeNumberField(payload, "iat", issuedAt);
+            writeNumberField(payload, "exp", expiresAt);
+            payload.write('}');
+
+            ByteSink out = scratch.token;
+            out.reset();
+            out.write(HEADER_BYTES, 0, HEADER_BYTES.length);
+            out.write('.');
+            encodeBase64Url(payload.buf, payload.len, out);
+
+            Mac mac = scratch.mac;
+            mac.update(out.buf, 0, out.len);
+            mac.doFinal(scratch.signature, 0);
+
+            out.write('.');
+            encodeBase64Url(scratch.signature, SIGNATURE_LENGTH, out);
+            return new String(out.buf, 0, out.len, StandardCharsets.US_ASCII);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HS256 서명에 실패했습니다.", e);
+        } finally {
+            release(scratch);
+        }
+    }
+
+    /**
+     * 토큰 검증 및 고정 클레임 추출
+     *
+     * @param token JWT
+     * @return 검증 결과 (UNSUPPORTED이면 jjwt로 다시 처리해야 함)
+     */
+    public Decoded verify(String token) {
+        return verify(token, null);
+    }
+
+    /**
+     * 토큰 검증 및 전체 클레임 추출
+     * 숫자는 jjwt(Jackson)와 같이 int 범위면 Integer, 그 밖에는 Long으로 채웁니다.
+     *
+     * @param token  JWT
+     * @param claims 최상위 클레임을 채울 맵 (VERIFIED일 때만 유효, null이면 고정 클레임만 읽음)
+     * @return 검증 결과 (음수/소수/null 값 등 지원하지 않는 클레임이 있으면 UNSUPPORTED)
+     */
+    public Decoded verify(String token, Map<String, Object> claims) {
+        if (token == null || !token.startsWith(HEADER) || token.length() <= HEADER.length()
+                || token.charAt(HEADER.length()) != '.') {
+            return Decoded.UNSUPPORTED;
+        }
+        int signatureDot = token.lastIndexOf('.');
+        if (signatureDot <= HEADER.length()) {
+            return Decoded.UNSUPPORTED;
+        }
+
+        Scratch scratch = borrow();
+        try {
+            // 서명 대상 (header.payload)을 ASCII 바이트로 복사
+            ByteSink signed = scratch.token;
+            signed.reset();
+            signed.ensure(signatureDot);
+            for (int i = 0; i < signatureDot; i++) {
+                char c = token.charAt(i);
+                if (c >= 128) {
+                    return Decoded.UNSUPPORTED;
+                }
+                signed.buf[i] = (byte) c;
+            }
+            signed.len = signatureDot;
+
+            // 서명 세그먼트 디코딩
+            byte[] expected = scratch.signatureToVerify;
+            if (decodeBase64Url(token, signatureDot + 1, token.length(), expected) != SIGNATURE_LENGTH) {
+                return Decoded.UNSUPPORTED;
+            }
+
+            Mac mac = scratch.mac;
+            mac.update(signed.buf, 0, signed.len);
+            mac.doFinal(scratch.signature, 0);
+            if (!constantTimeEquals(scratch.signature, expected)) {
+                return Decoded.BAD_SIGNATURE;
+            }
+
+            // 페이로드 디코딩 및 평면 스캔
+            ByteSink payload = scratch.payload;
+            payload.reset();
+            int payloadStart = HEADER.length() + 1;
+            payload.ensure((signatureDot - payloadStart) * 3 / 4 + 3);
+            int payloadLength = decodeBase64Url(token, payloadStart, signatureDot, payload.buf);
+            if (payloadLength < 0) {
+                return Decoded.UNSUPPORTED;
+            }
+            payload.len = payloadLength;
+            return new FlatScanner(payload.buf, payload.len, claims).scan(Status.VERIFIED);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HS256 검증에 실패했습니다.", e);
+        } finally {
+            release(scratch);
+        }
+    }
+
+    /**
+     * 서명 확인 없이 페이로드의 고정 클레임만 읽기
+     * 사전 검증(TokenPrecheck)에서 만료 토큰을 HMAC 전에 걸러내는 데 사용합니다.
+     *
+     * @param token 세그먼트가 3개인 JWT
+     * @return UNVERIFIED 상태의 결과, 읽을 수 없는 형태면 UNSUPPORTED
+     */
+    public static Decoded peek(String token) {
+        int payloadStart = token.indexOf('.') + 1;
+        int signatureDot = token.lastIndexOf('.');
+        if (payloadStart <= 0 || signatureDot < payloadStart) {
+            return Decoded.UNSUPPORTED;
+        }
+        byte[] payload = new byte[(signatureDot - payloadStart) * 3 / 4 + 3];
+        int payloadLength = decodeBase64Url(token, payloadStart, signatureDot, payload);
+        if (payloadLength < 0) {
+            return Decoded.UNSUPPORTED;
+        }
+        return new FlatScanner(payload, payloadLength, null).scan(Status.UNVERIFIED);
+    }
+
+    private Scratch borrow() {
+        if (!Thread.currentThread().isVirtual()) {
+            return platformScratch.get();
+        }
+        Scratch scratch = sharedScratch.poll();
+        return scratch != null ? scratch : new Scratch(newMac(key));
+    }
+
+    private void release(Scratch scratch) {
+        if (Thread.currentThread().isVirtual()) {
+            sharedScratch.offer(scratch);
+        }
+    }
+
+    private static Mac newMac(SecretKey key) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256을 초기화할 수 없습니다.", e);
+        }
+    }
+
+    // ===== JSON 쓰기 =====
+
+    private static boolean writeField(ByteSink out, String name, Object value) {
+        if (value instanceof String s) {
+            writeStringField(out, name, s, false);
+        } else if (value instanceof Boolean b) {
+            writeName(out, name, false);
+            out.writeAscii(b ? "true" : "false");
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            writeNumberField(out, name, ((Number) value).longValue());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static void writeStringField(ByteSink out, String name, String value, boolean first) {
+        if (value == null) {
+            return;
+        }
+        writeName(out, name, first);
+        writeString(out, value);
+    }
+
+    private static void writeNumberField(ByteSink out, String name, long value) {
+        writeName(out, name, false);
+        out.writeAscii(Long.toString(value));
+    }
+
+    private static void writeName(ByteSink out, String name, boolean first) {
+        if (!first && out.len > 1) {
+            out.write(',');
+        }
+        writeString(out, name);
+        out.write(':');
+    }
+
+    private static void writeString(ByteSink out, String value) {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.write('\\');
+                out.write(c);
+            } else if (c < 0x20) {
+                out.writeAscii(String.format("\\u%04x", (int) c));
+            } else if (c < 0x80) {
+                out.write(c);
+            } else if (c < 0x800) {
+                out.write(0xC0 | (c >> 6));
+                out.write(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                out.write(0xF0 | (cp >> 18));
+                out.write(0x80 | ((cp >> 12) & 0x3F));
+                out.write(0x80 | ((cp >> 6) & 0x3F));
+                out.write(0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // 짝이 없는 서로게이트는 Jackson과 같이 치환 문자로 기록
+                out.write(0xEF);
+                out.write(0xBF);
+                out.write(0xBD);
+            } else {
+                out.write(0xE0 | (c >> 12));
+                out.write(0x80 | ((c >> 6) & 0x3F));
+                out.write(0x80 | (c & 0x3F));
+            }
+        }
+        out.write('"');
+    }
+
+    // ===== base64url =====
+
+    private static void encodeBase64Url(byte[] src, int length, ByteSink out) {
+        out.ensure(out.len + (length + 2) / 3 * 4);
+        byte[] dst = out.buf;
+        int d = out.len;
+        int i = 0;
+        for (; i + 3 <= length; i += 3) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+            dst[d++] = BASE64URL[(bits >>> 18) & 0x3F];
+            dst[d++] = BASE64URL[(bits >>> 12) & 0x3F];
+            dst[d++] = BASE64URL[(bits >>> 6) & 0x3F];
+            dst[d++] = BASE64URL[bits & 0x3F];
+        }
+        int remaining = length - i;
+        if (remaining == 1) {
+            int bits = (src[i] & 0xFF) << 16;
+            dst[d++] = BASE64URL[(bits >>> 18) & 0x3F];
+            dst[d++] = BASE64URL[(bits >>> 12) & 0x3F];
+        } else if (remaining == 2) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8;
+            dst[d++] = BASE64URL[(bits >>> 18) & 0x3F];
+            dst[d++] = BASE64URL[(bits >>> 12) & 0x3F];
+            dst[d++] = BASE64URL[(bits >>> 6) & 0x3F];
+        }
+        out.len = d;
+    }
+
+    /**
+     * base64url(패딩 없음) 디코딩
+     *
+     * @return 디코딩된 바이트 수, 형식 오류 또는 버퍼 부족이면 -1
+     */
+    private static int decodeBase64Url(String src, int from, int to, byte[] dst) {
+        int length = to - from;
+        if (length % 4 == 1) {
+            return -1;
+        }
+        int d = 0;
+        int bits = 0;
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            char c = src.charAt(i);
+            int v = c < 128 ? BASE64URL_INDEX[c] : -1;
+            if (v < 0) {
+                return -1;
+            }
+            bits = bits << 6 | v;
+            if (++count == 4) {
+                if (d + 3 > dst.length) {
+                    return -1;
+                }
+                dst[d++] = (byte) (bits >> 16);
+                dst[d++] = (byte) (bits >> 8);
+                dst[d++] = (byte) bits;
+                bits = 0;
+                count = 0;
+            }
+        }
+        if (count == 2) {
+            if (d + 1 > dst.length) {
+                return -1;
+            }
+            dst[d++] = (byte) (bits >> 4);
+        } else if (count == 3) {
+            if (d + 2 > dst.length) {
+                return -1;
+            }
+            dst[d++] = (byte) (bits >> 10);
+            dst[d++] = (byte) (bits >> 2);
+        }
+        return d;
+    }
+
+    private static boolean constantTimeEquals(byte[] a, byte[] b) {
+        int diff = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            diff |= a[i] ^ b[i];
+        }
+        return diff == 0;
+    }
+
+    // ===== JSON 평면 스캔 =====
+
+    /**
+     * 최상위 객체의 sub/provider/type/exp/nbf를 읽는 스캐너 (claims가 있으면 모든 스칼라 클레임도 수집)
+     * 중첩 값이 있으면 UNSUPPORTED
+     */
+    private static final class FlatScanner {
+
+        private final byte[] buf;
+        private final int end;
+        private final Map<String, Object> claims;
+        private int pos;
+
+        FlatScanner(byte[] buf, int end, Map<String, Object> claims) {
+            this.buf = buf;
+            this.end = end;
+            this.claims = claims;
+        }
+
+        Decoded scan(Status status) {
+            String subject = null;
+            String provider = null;
+            String type = null;
+            long expiresAt = -1;
+            long notBefore = -1;
+
+            skipWhitespace();
+            if (!consume('{')) {
+                return Decoded.UNSUPPORTED;
+            }
+            skipWhitespace();
+            if (consume('}')) {
+                return trailingOnly() ? new Decoded(status, null, null, null, -1, -1) : Decoded.UNSUPPORTED;
+            }
+            while (true) {
+                skipWhitespace();
+                String name = readString();
+                if (name == null) {
+                    return Decoded.UNSUPPORTED;
+                }
+                skipWhitespace();
+                if (!consume(':')) {
+                    return Decoded.UNSUPPORTED;
+                }
+                skipWhitespace();
+                if (pos >= end) {
+                    return Decoded.UNSUPPORTED;
+                }
+                switch (name) {
+                    case "sub", "provider", "type" -> {
+                        String value = readString();
+                        if (value == null) {
+                            return Decoded.UNSUPPORTED;
+                        }
+                        if (name.equals("sub")) {
+                            subject = value;
+                        } else if (name.equals("provider")) {
+                            provider = value;
+                        } else {
+                            type = value;
+                        }
+                        collect(name, value);
+                    }
+                    case "exp" -> {
+                        expiresAt = readLong();
+                        if (expiresAt < 0) {
+                            return Decoded.UNSUPPORTED;
+                        }
+                        collect(name, toNumber(expiresAt));
+                    }
+                    case "nbf" -> {
+                        notBefore = readLong();
+                        if (notBefore < 0) {
+                            return Decoded.UNSUPPORTED;
+                        }
+                        collect(name, toNumber(notBefore));
+                    }
+                    default -> {
+                        if (claims == null) {
+                            if (!skipValue()) {
+                                return Decoded.UNSUPPORTED;
+                            }
+                        } else {
+                            Object value = readScalar();
+                            if (value == null) {
+                                return Decoded.UNSUPPORTED;
+                            }
+                            claims.put(name, value);
+                        }
+                    }
+                }
+                skipWhitespace();
+                if (consume(',')) {
+                    continue;
+                }
+                if (consume('}')) {
+                    break;
+                }
+                return Decoded.UNSUPPORTED;
+            }
+            if (!trailingOnly()) {
+                return Decoded.UNSUPPORTED;
+            }
+            return new Decoded(status, subject, provider, type, expiresAt, notBefore);
+        }
+
+        private void collect(String name, Object value) {
+            if (claims != null) {
+                claims.put(name, value);
+            }
+        }
+
+        private static Number toNumber(long value) {
+            return value <= Integer.MAX_VALUE ? Integer.valueOf((int) value) : Long.valueOf(value);
+        }
+
+        /**
+         * 문자열/불리언/음이 아닌 정수 값 읽기
+         *
+         * @return 값, 그 밖의 형태(null, 음수, 소수, 객체/배열)면 null
+         */
+        private Object readScalar() {
+            byte b = buf[pos];
+            if (b == '"') {
+                return readString();
+            }
+            if (b >= '0' && b <= '9') {
+                long value = readLong();
+                return value >= 0 ? toNumber(value) : null;
+            }
+            if (consumeLiteral("true")) {
+                return Boolean.TRUE;
+            }
+            if (consumeLiteral("false")) {
+                return Boolean.FALSE;
+            }
+            return null;
+        }
+
+        private boolean consumeLiteral(String literal) {
+            if (end - pos < literal.length()) {
+                return false;
+            }
+            for (int i = 0; i < literal.length(); i++) {
+                if (buf[pos + i] != literal.charAt(i)) {
+                    return false;
+                }
+            }
+            pos += literal.length();
+            return true;
+        }
+
+        private boolean trailingOnly() {
+            skipWhitespace();
+            return pos == end;
+        }
+
+        private void skipWhitespace() {
+            while (pos < end && (buf[pos] == ' ' || buf[pos] == '\t' || buf[pos] == '\n' || buf[pos] == '\r')) {
+                pos++;
+            }
+        }
+
+        private boolean consume(char c) {
+            if (pos < end && buf[pos] == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * 문자열 읽기 (이스케이프가 있으면 디코딩)
+         *
+         * @return 문자열, 형식 오류면 null
+         */
+        private String readString() {
+            if (!consume('"')) {
+                return null;
+            }
+            int start = pos;
+            while (pos < end && buf[pos] != '"' && buf[pos] != '\\') {
+                pos++;
+            }
+            if (pos < end && buf[pos] == '"') {
+                String value = new String(buf, start, pos - start, StandardCharsets.UTF_8);
+                pos++;
+                return value;
+            }
+            // 이스케이프가 있는 드문 경우
+            StringBuilder sb = new StringBuilder(new String(buf, start, pos - start, StandardCharsets.UTF_8));
+            int chunk = pos;
+            while (pos < end) {
+                byte b = buf[pos];
+                if (b == '"') {
+                    sb.append(new String(buf, chunk, pos - chunk, StandardCharsets.UTF_8));
+                    pos++;
+                    return sb.toString();
+                }
+                if (b != '\\') {
+                    pos++;
+                    continue;
+                }
+                sb.append(new String(buf, chunk, pos - chunk, StandardCharsets.UTF_8));
+                if (pos + 1 >= end) {
+                    return null;
+                }
+                byte escaped = buf[pos + 1];
+                pos += 2;
+                switch (escaped) {
+                    case '"' -> sb.append('"');
+                    case '\\' -> sb.append('\\');
+                    case '/' -> sb.append('/');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        if (pos + 4 > end) {
+                            return null;
+                        }
+                        int cp = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(buf[pos + i], 16);
+                            if (digit < 0) {
+                                return null;
+                            }
+                            cp = cp << 4 | digit;
+                        }
+                        sb.append((char) cp);
+                        pos += 4;
+                    }
+                    default -> {
+                        return null;
+                    }
+                }
+                chunk = pos;
+            }
+            return null;
+        }
+
+        /**
+         * 음이 아닌 정수 읽기
+         *
+         * @return 정수, 소수/지수/음수 등 지원하지 않는 형태면 -1
+         */
+        private long readLong() {
+            int start = pos;
+            long value = 0;
+            while (pos < end && buf[pos] >= '0' && buf[pos] <= '9') {
+                if (pos - start >= 18) {
+                    return -1;
+                }
+                value = value * 10 + (buf[pos] - '0');
+                pos++;
+            }
+            if (pos == start || (pos < end && (buf[pos] == '.' || buf[pos] == 'e' || buf[pos] == 'E'))) {
+                return -1;
+            }
+            return value;
+        }
+
+        /**
+         * 관심 없는 스칼라 값 건너뛰기
+         *
+         * @return 객체/배열 또는 형식 오류면 false
+         */
+        private boolean skipValue() {
+            byte b = buf[pos];
+            if (b == '"') {
+                return readString() != null;
+            }
+            if (b == '{' || b == '[') {
+                return false;
+            }
+            int start = pos;
+            while (pos < end && buf[pos] != ',' && buf[pos] != '}' && buf[pos] != ' '
+                    && buf[pos] != '\t' && buf[pos] != '\n' && buf[pos] != '\r') {
+                pos++;
+            }
+            return pos > start;
+        }
+    }
+
+    // ===== 재사용 버퍼 =====
+
+    private static final class Scratch {
+
+        final Mac mac;
+        final ByteSink payload = new ByteSink(512);
+        final ByteSink token = new ByteSink(1024);
+        final byte[] signature = new byte[SIGNATURE_LENGTH];
+        final byte[] signatureToVerify = new byte[SIGNATURE_LENGTH + 2];
+
+        Scratch(Mac mac) {
+            this.mac = mac;
+        }
+    }
+
+    private static final class ByteSink {
+
+        byte[] buf;
+        int len;
+
+        ByteSink(int capacity) {
+            this.buf = new byte[capacity];
+        }
+
+        void reset() {
+            len = 0;
+        }
+
+        void ensure(int capacity) {
+            if (capacity > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(capacity, buf.length * 2));
+            }
+        }
+
+        void write(int b) {
+            ensure(len + 1);
+            buf[len++] = (byte) b;
+        }
+
+        void write(byte[] src, int off, int length) {
+            ensure(len + length);
+            System.arraycopy(src, off, buf, len, length);
+            len += length;
+        }
+
+        void writeAscii(String s) {
+            ensure(len + s.length());
+            for (int i = 0; i < s.length(); i++) {
+                buf[len++] = (byte) s.charAt(i);
+            }
+        }
+    }
+}
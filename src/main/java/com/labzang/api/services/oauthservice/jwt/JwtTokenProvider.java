@@ -1,7 +1,10 @@
 package com.labzang.api.services.oauthservice.jwt;
 
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.io.Decoders;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,6 +14,7 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -18,12 +22,19 @@ import java.util.Map;
  * 
  * BASE64로 인코딩된 256비트 이상의 HMAC-SHA256 키를 사용합니다.
  * 키 생성은 JwtKeyGenerator 유틸리티를 사용하세요.
+ * 자체 발급 토큰의 서명/검증은 Hs256TokenCodec이 처리하고, 그 외 토큰은 jjwt로 처리합니다.
  */
 @Component
 public class JwtTokenProvider {
 
     private final SecretKey signingKey;
     private final SecretKey refreshSigningKey;
+    private final ClaimProjection claimProjection;
+    private final Hs256TokenCodec accessCodec;
+    private final Hs256TokenCodec refreshCodec;
+    private final JwtParser accessParser;
+    private final JwtParser refreshParser;
+    private final TokenPrecheck tokenPrecheck;
 
     @Value("${jwt.access-token-expiration:3600000}") // 기본 1시간
     private long accessTokenExpiration;
@@ -31,16 +42,25 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-token-expiration:2592000000}") // 기본 30일
     private long refreshTokenExpiration;
 
+    @Value("${jwt.fast-codec:true}") // 자체 발급 토큰은 전용 HS256 코덱 사용
+    private boolean fastCodecEnabled = true;
+
     /**
      * JwtTokenProvider 생성자
      * BASE64로 인코딩된 시크릿 키를 디코딩하여 SecretKey로 변환합니다.
      * 
      * @param jwtSecret        BASE64로 인코딩된 JWT 시크릿 키 (최소 256비트)
      * @param jwtRefreshSecret BASE64로 인코딩된 JWT 리프레시 시크릿 키 (선택적, 없으면 jwtSecret 사용)
+     * @param claimProjection  Access Token 클레임 투영
+     * @param tokenPrecheck    서명 검증 전 사전 검증
      */
     public JwtTokenProvider(
             @Value("${jwt.secret}") String jwtSecret,
-            @Value("${jwt.refresh-secret:${jwt.secret}}") String jwtRefreshSecret) {
+            @Value("${jwt.refresh-secret:${jwt.secret}}") String jwtRefreshSecret,
+            ClaimProjection claimProjection,
+            TokenPrecheck tokenPrecheck) {
+        this.claimProjection = claimProjection;
+        this.tokenPrecheck = tokenPrecheck;
 
         if (jwtSecret == null || jwtSecret.trim().isEmpty()) {
             throw new IllegalStateException(
@@ -61,6 +81,13 @@ public class JwtTokenProvider {
                 this.refreshSigningKey = this.signingKey;
             }
 
+            this.accessCodec = new Hs256TokenCodec(signingKey);
+            this.refreshCodec = refreshSigningKey == signingKey ? accessCodec : new Hs256TokenCodec(refreshSigningKey);
+            this.accessParser = Jwts.parser().verifyWith(signingKey).build();
+            this.refreshParser = refreshSigningKey == signingKey
+                    ? accessParser
+                    : Jwts.parser().verifyWith(refreshSigningKey).build();
+
         } catch (io.jsonwebtoken.security.WeakKeyException e) {
             throw new IllegalStateException(
                     "JWT Secret 키가 너무 짧습니다. 최소 256비트(32바이트)가 필요합니다. " +
@@ -147,6 +174,64 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * Access Token 생성 (공통 사용자 프로필 사용)
+     * 기본 audience의 클레임 세트를 사용합니다.
+     * 
+     * @param profile 소셜 로그인 사용자 프로필
+     * @return JWT Access Token
+     */
+    public String generateAccessToken(OAuthUserProfile profile) {
+        return generateAccessToken(profile, null);
+    }
+
+    /**
+     * Access Token 생성 (audience별 클레임 투영 적용)
+     * 토큰이 jwt.claims.max-token-bytes를 넘으면 발급하지 않고 예외를 던집니다.
+     * 
+     * @param profile  소셜 로그인 사용자 프로필
+     * @param audience 클레임 세트 이름 (null이면 기본값)
+     * @return JWT Access Token
+     */
+    public String generateAccessToken(OAuthUserProfile profile, String audience) {
+        return generateAccessToken(profile, audience, null);
+    }
+
+    /**
+     * Access Token 생성 (audience별 클레임 투영 + 세션 ID)
+     * 
+     * @param profile   소셜 로그인 사용자 프로필
+     * @param audience  클레임 세트 이름 (null이면 기본값)
+     * @param sessionId 세션 ID (sid 클레임, null이면 생략)
+     * @return JWT Access Token
+     */
+    public String generateAccessToken(OAuthUserProfile profile, String audience, String sessionId) {
+        Map<String, Object> claims = claimProjection.project(profile, audience);
+        if (sessionId != null) {
+            claims = new LinkedHashMap<>(claims);
+            claims.put("sid", sessionId);
+        }
+        long now = System.currentTimeMillis();
+
+        String token = fastCodecEnabled
+                ? accessCodec.sign(profile.providerId(), profile.provider(), "access", claims,
+                        now / 1000, (now + accessTokenExpiration) / 1000)
+                : null;
+        if (token == null) {
+            token = Jwts.builder()
+                    .subject(profile.providerId())
+                    .claim("provider", profile.provider())
+                    .claim("type", "access")
+                    .claims(claims)
+                    .issuedAt(new Date(now))
+                    .expiration(new Date(now + accessTokenExpiration))
+                    .signWith(signingKey, Jwts.SIG.HS256)
+                    .compact();
+        }
+        claimProjection.checkBudget(token);
+        return token;
+    }
+
     /**
      * Refresh Token 생성
      * 
@@ -155,6 +240,28 @@ public class JwtTokenProvider {
      * @return JWT Refresh Token
      */
     public String generateRefreshToken(String userId, String provider) {
+        return generateRefreshToken(userId, provider, null);
+    }
+
+    /**
+     * Refresh Token 생성 (세션 ID 포함)
+     * 
+     * @param userId    사용자 ID
+     * @param provider  OAuth2 제공자
+     * @param sessionId 세션 ID (sid 클레임, null이면 생략)
+     * @return JWT Refresh Token
+     */
+    public String generateRefreshToken(String userId, String provider, String sessionId) {
+        Map<String, Object> claims = sessionId != null ? Map.of("sid", sessionId) : Map.of();
+        if (fastCodecEnabled) {
+            long now = System.currentTimeMillis();
+            String token = refreshCodec.sign(userId, provider, "refresh", claims,
+                    now / 1000, (now + refreshTokenExpiration) / 1000);
+            if (token != null) {
+                return token;
+            }
+        }
+
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + refreshTokenExpiration);
 
@@ -162,12 +269,82 @@ public class JwtTokenProvider {
                 .subject(userId)
                 .claim("provider", provider)
                 .claim("type", "refresh")
+                .claims(claims)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(refreshSigningKey, Jwts.SIG.HS256)
                 .compact();
     }
 
+    /**
+     * 내부 JWT 생성 (게이트웨이 → 업스트림 서비스 전달용)
+     * 참조 토큰에서 조회한 클레임을 짧은 수명의 서명된 JWT로 변환합니다.
+     * 
+     * @param claims     사용자 클레임 (sub 포함)
+     * @param ttlSeconds 만료 시간 (초)
+     * @return 내부 JWT
+     */
+    public String generateInternalToken(Map<String, Object> claims, long ttlSeconds) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + ttlSeconds * 1000);
+
+        var builder = Jwts.builder();
+        claims.forEach((name, value) -> {
+            // 시간 클레임은 내부 토큰 기준으로 다시 설정
+            if (!"iat".equals(name) && !"exp".equals(name)) {
+                builder.claim(name, value);
+            }
+        });
+        return builder
+                .claim("type", "internal")
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(signingKey, Jwts.SIG.HS256)
+                .compact();
+    }
+
+    /**
+     * 서비스 간 호출용 머신 토큰 생성 (client_credentials)
+     * 
+     * @param clientId   서비스 클라이언트 ID (sub)
+     * @param scope      공백으로 구분된 scope
+     * @param ttlSeconds 만료 시간 (초)
+     * @return 머신 토큰 (type=client)
+     */
+    public String generateClientToken(String clientId, String scope, long ttlSeconds) {
+        long now = System.currentTimeMillis();
+        Map<String, Object> claims = Map.of("scope", scope);
+
+        if (fastCodecEnabled) {
+            String token = accessCodec.sign(clientId, null, "client", claims, now / 1000, now / 1000 + ttlSeconds);
+            if (token != null) {
+                return token;
+            }
+        }
+        return Jwts.builder()
+                .subject(clientId)
+                .claim("type", "client")
+                .claims(claims)
+                .issuedAt(new Date(now))
+                .expiration(new Date((now / 1000 + ttlSeconds) * 1000))
+                .signWith(signingKey, Jwts.SIG.HS256)
+                .compact();
+    }
+
+    /**
+     * Access Token 만료 시간 (초)
+     */
+    public long getAccessTokenExpirationSeconds() {
+        return accessTokenExpiration / 1000;
+    }
+
+    /**
+     * Refresh Token 만료 시간 (초)
+     */
+    public long getRefreshTokenExpirationSeconds() {
+        return refreshTokenExpiration / 1000;
+    }
+
     /**
      * JWT 토큰에서 사용자 ID 추출
      * 
@@ -175,11 +352,15 @@ public class JwtTokenProvider {
      * @return 사용자 ID
      */
     public String getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(signingKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        if (fastCodecEnabled) {
+            Hs256TokenCodec.Decoded decoded = accessCodec.verify(token);
+            if (decoded.isValidAt(System.currentTimeMillis())) {
+                return decoded.subject();
+            }
+            // 만료/서명 오류는 jjwt가 기존과 같은 예외를 던지도록 위임
+        }
+
+        Claims claims = accessParser.parseSignedClaims(token).getPayload();
 
         return claims.getSubject();
     }
@@ -192,46 +373,98 @@ public class JwtTokenProvider {
      * @return 클레임 정보
      */
     public Claims getAllClaimsFromToken(String token) {
-        // Access Token인지 Refresh Token인지 확인하여 적절한 키 사용
+        return parseClaims(token);
+    }
+
+    /**
+     * 유효한 토큰의 클레임 조회
+     * validateToken + getAllClaimsFromToken을 한 번의 검증으로 처리합니다.
+     * 자체 발급 형태의 토큰은 전용 코덱으로 검증하고, 코덱이 처리하지 않는 토큰만 jjwt로 파싱합니다.
+     * 
+     * @param token JWT 토큰
+     * @return 클레임 정보, 유효하지 않으면 null
+     */
+    public Claims getValidClaims(String token) {
+        if (!tokenPrecheck.passes(token)) {
+            return null;
+        }
+        if (fastCodecEnabled) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            Hs256TokenCodec.Decoded decoded = accessCodec.verify(token, values);
+            if (decoded.status() == Hs256TokenCodec.Status.BAD_SIGNATURE && refreshCodec != accessCodec) {
+                decoded = refreshCodec.verify(token, values);
+            }
+            switch (decoded.status()) {
+                case VERIFIED -> {
+                    return decoded.isValidAt(System.currentTimeMillis()) ? Jwts.claims().add(values).build() : null;
+                }
+                case BAD_SIGNATURE -> {
+                    tokenPrecheck.reject(TokenPrecheck.Stage.SIGNATURE);
+                    return null;
+                }
+                default -> {
+                    // UNSUPPORTED: jjwt로 처리
+                }
+            }
+        }
         try {
-            return Jwts.parser()
-                    .verifyWith(signingKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parseClaims(token);
+        } catch (SignatureException e) {
+            tokenPrecheck.reject(TokenPrecheck.Stage.SIGNATURE);
+            return null;
         } catch (Exception e) {
-            // Access Token 검증 실패 시 Refresh Token 키로 시도
-            return Jwts.parser()
-                    .verifyWith(refreshSigningKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return null;
+        }
+    }
+
+    /**
+     * 유효한 Access Token의 클레임 조회
+     * 같은 서명 키로 발급되는 Refresh Token과 머신 토큰(client/internal)은 거부합니다.
+     * 사용자 요청을 인증하는 경로는 이 메서드를 사용해야 합니다.
+     *
+     * @param token JWT 토큰
+     * @return 클레임 정보, 유효한 Access Token이 아니면 null
+     */
+    public Claims getValidAccessClaims(String token) {
+        Claims claims = getValidClaims(token);
+        if (claims == null || !"access".equals(claims.get("type"))) {
+            return null;
         }
+        return claims;
     }
 
     /**
      * JWT 토큰 유효성 검증
+     * 사전 검증(크기/형식/헤더/만료)을 통과한 토큰만 서명을 검증합니다.
      * 
      * @param token JWT 토큰
      * @return 유효 여부
      */
     public boolean validateToken(String token) {
-        try {
-            // Access Token 검증 시도
-            try {
-                Jwts.parser()
-                        .verifyWith(signingKey)
-                        .build()
-                        .parseSignedClaims(token);
-                return true;
-            } catch (Exception e) {
-                // Access Token 검증 실패 시 Refresh Token 검증 시도
-                Jwts.parser()
-                        .verifyWith(refreshSigningKey)
-                        .build()
-                        .parseSignedClaims(token);
+        if (!tokenPrecheck.passes(token)) {
+            return false;
+        }
+
+        Hs256TokenCodec.Decoded decoded = decodeFast(token);
+        if (decoded != null) {
+            if (decoded.isValidAt(System.currentTimeMillis())) {
                 return true;
             }
+            if (decoded.status() == Hs256TokenCodec.Status.BAD_SIGNATURE) {
+                tokenPrecheck.reject(TokenPrecheck.Stage.SIGNATURE);
+            }
+            System.err.println("JWT 토큰 검증 실패: "
+                    + (decoded.status() == Hs256TokenCodec.Status.VERIFIED ? "유효 기간이 아닌 토큰" : "서명 불일치"));
+            return false;
+        }
+
+        try {
+            parseClaims(token);
+            return true;
+        } catch (SignatureException e) {
+            tokenPrecheck.reject(TokenPrecheck.Stage.SIGNATURE);
+            System.err.println("JWT 토큰 검증 실패: " + e.getMessage());
+            return false;
         } catch (Exception e) {
             System.err.println("JWT 토큰 검증 실패: " + e.getMessage());
             return false;
@@ -240,16 +473,62 @@ public class JwtTokenProvider {
 
     /**
      * JWT 토큰 만료 여부 확인
+     * 유효하지 않은 토큰도 만료된 것으로 취급합니다.
      * 
      * @param token JWT 토큰
      * @return 만료 여부
      */
     public boolean isTokenExpired(String token) {
+        if (!tokenPrecheck.passes(token)) {
+            return true;
+        }
+
+        Hs256TokenCodec.Decoded decoded = decodeFast(token);
+        if (decoded != null) {
+            return decoded.status() != Hs256TokenCodec.Status.VERIFIED
+                    || decoded.expiresAt() < 0
+                    || !decoded.isValidAt(System.currentTimeMillis());
+        }
+
         try {
-            Claims claims = getAllClaimsFromToken(token);
-            return claims.getExpiration().before(new Date());
+            Date expiration = parseClaims(token).getExpiration();
+            return expiration == null || expiration.before(new Date());
         } catch (Exception e) {
             return true;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * jjwt로 토큰 파싱 (Access 키 → 서명 불일치 시에만 Refresh 키)
+     * 
+     * @param token JWT 토큰
+     * @return 클레임 정보
+     */
+    private Claims parseClaims(String token) {
+        try {
+            return accessParser.parseSignedClaims(token).getPayload();
+        } catch (SignatureException e) {
+            if (refreshParser == accessParser) {
+                throw e;
+            }
+            return refreshParser.parseSignedClaims(token).getPayload();
+        }
+    }
+
+    /**
+     * 전용 코덱으로 토큰 검증 (Access 키 → Refresh 키 순서)
+     * 
+     * @param token JWT 토큰
+     * @return 검증 결과, 코덱이 처리하지 않는 토큰이면 null (jjwt로 처리)
+     */
+    private Hs256TokenCodec.Decoded decodeFast(String token) {
+        if (!fastCodecEnabled) {
+            return null;
+        }
+        Hs256TokenCodec.Decoded decoded = accessCodec.verify(token);
+        if (decoded.status() == Hs256TokenCodec.Status.BAD_SIGNATURE && refreshCodec != accessCodec) {
+            decoded = refreshCodec.verify(token);
+        }
+        return decoded.status() == Hs256TokenCodec.Status.UNSUPPORTED ? null : decoded;
+    }
+}
@@ -0,0 +1,139 @@
+package com.labzang.api.services.oauthservice.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 토큰 사전 검증 (HMAC 전 단계)
+ * 
+ * 형식이 깨졌거나, 너무 크거나, 허용하지 않는 헤더이거나, 이미 만료된 토큰은
+ * 서명 검증(HMAC)과 jjwt 예외 생성 없이 바로 거절합니다.
+ * 단계: 크기 → 세그먼트 수 → 헤더 alg/typ → exp/nbf → (서명 검증은 JwtTokenProvider)
+ * 단계별 거절 수는 oauth.token.precheck.rejected{stage=...} 카운터로 기록합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenPrecheck {
+
+    // 헤더 세그먼트 판정 캐시 최대 항목 수 (실제 헤더 종류는 몇 개뿐)
+    private static final int MAX_CACHED_HEADERS = 64;
+
+    private final TokenPrecheckProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Boolean> headerDecisions = new ConcurrentHashMap<>();
+
+    /**
+     * 거절 단계
+     */
+    public enum Stage {
+        SIZE("size"),
+        SEGMENTS("segments"),
+        HEADER("header"),
+        EXPIRED("expired"),
+        NOT_YET_VALID("not_yet_valid"),
+        SIGNATURE("signature");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * 사전 검증 통과 여부
+     * 
+     * @param token JWT 토큰
+     * @return 서명 검증을 진행해도 되면 true
+     */
+    public boolean passes(String token) {
+        Stage rejected = check(token, System.currentTimeMillis());
+        if (rejected == null) {
+            return true;
+        }
+        reject(rejected);
+        return false;
+    }
+
+    /**
+     * 서명 검증 단계 거절 기록 (JwtTokenProvider에서 호출)
+     */
+    public void reject(Stage stage) {
+        meterRegistry.counter("oauth.token.precheck.rejected", "stage", stage.tag).increment();
+    }
+
+    private Stage check(String token, long nowMillis) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+
+        // 1. 크기
+        if (token == null || token.isEmpty() || token.length() > properties.getMaxTokenLength()) {
+            return Stage.SIZE;
+        }
+
+        // 2. 세그먼트 수 (header.payload.signature, 빈 세그먼트 불가)
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot <= 0 || lastDot == firstDot || lastDot == token.length() - 1
+                || token.indexOf('.', firstDot + 1) != lastDot || lastDot == firstDot + 1) {
+            return Stage.SEGMENTS;
+        }
+
+        // 3. 헤더 alg/typ
+        String header = token.substring(0, firstDot);
+        if (!isAllowedHeader(header)) {
+            return Stage.HEADER;
+        }
+
+        // 4. exp/nbf (서명 확인 전이므로 거절 판단에만 사용)
+        Hs256TokenCodec.Decoded peeked = Hs256TokenCodec.peek(token);
+        if (peeked.status() == Hs256TokenCodec.Status.UNVERIFIED && !peeked.isWithinValidity(nowMillis)) {
+            return peeked.expiresAt() >= 0 && nowMillis > peeked.expiresAt() * 1000
+                    ? Stage.EXPIRED
+                    : Stage.NOT_YET_VALID;
+        }
+        return null;
+    }
+
+    private boolean isAllowedHeader(String header) {
+        if (Hs256TokenCodec.HEADER.equals(header)) {
+            return properties.getAllowedAlgorithms().contains("HS256");
+        }
+        Boolean cached = headerDecisions.get(header);
+        if (cached != null) {
+            return cached;
+        }
+        boolean allowed = evaluateHeader(header);
+        if (headerDecisions.size() < MAX_CACHED_HEADERS) {
+            headerDecisions.put(header, allowed);
+        }
+        return allowed;
+    }
+
+    private boolean evaluateHeader(String header) {
+        try {
+            JsonNode node = objectMapper.readTree(Base64.getUrlDecoder().decode(header));
+            if (node == null || !node.isObject()) {
+                return false;
+            }
+            JsonNode alg = node.get("alg");
+            if (alg == null || !alg.isTextual() || !properties.getAllowedAlgorithms().contains(alg.asText())) {
+                return false;
+            }
+            JsonNode typ = node.get("typ");
+            return typ == null || (typ.isTextual() && properties.getAllowedTypes().contains(typ.asText()));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
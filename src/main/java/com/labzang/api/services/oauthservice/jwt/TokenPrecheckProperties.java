@@ -0,0 +1,30 @@
+package com.labzang.api.services.oauthservice.jwt;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 토큰 사전 검증 설정 프로퍼티
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jwt.precheck")
+public class TokenPrecheckProperties {
+
+    // false이면 사전 검증 없이 바로 서명 검증
+    private boolean enabled = true;
+
+    // 토큰 최대 길이 (문자 수)
+    private int maxTokenLength = 4096;
+
+    // 허용하는 헤더 alg 값
+    private List<String> allowedAlgorithms = new ArrayList<>(List.of("HS256"));
+
+    // 허용하는 헤더 typ 값 (typ이 없는 헤더는 항상 허용)
+    private List<String> allowedTypes = new ArrayList<>(List.of("JWT"));
+}
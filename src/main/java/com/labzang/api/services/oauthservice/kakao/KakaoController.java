@@ -1,9 +1,12 @@
 package com.labzang.api.services.oauthservice.kakao;
 
-import com.labzang.api.services.oauthservice.jwt.JwtTokenProvider;
 import com.labzang.api.services.oauthservice.jwt.JwtUtil;
-import com.labzang.api.services.oauthservice.kakao.dto.KakaoTokenResponse;
-import com.labzang.api.services.oauthservice.kakao.dto.KakaoUserInfo;
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
+import com.labzang.api.services.oauthservice.profile.ProviderProfileCache;
+import com.labzang.api.services.oauthservice.provider.OAuthLoginPipeline;
+import com.labzang.api.services.oauthservice.provider.OAuthLoginResult;
+import com.labzang.api.services.oauthservice.token.AccessTokenVerifier;
+import com.labzang.api.services.oauthservice.token.AsyncTokenService;
 import com.labzang.api.services.oauthservice.token.TokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +19,7 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -24,8 +28,10 @@ import java.util.Map;
 public class KakaoController {
 
     private final TokenService tokenService;
-    private final KakaoOAuthService kakaoOAuthService;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final AsyncTokenService asyncTokenService;
+    private final OAuthLoginPipeline loginPipeline;
+    private final AccessTokenVerifier accessTokenVerifier;
+    private final ProviderProfileCache profileCache;
 
     /**
      * 카카오 인증 URL 제공
@@ -206,6 +212,7 @@ public class KakaoController {
             }
 
             String code = request.get("code").toString();
+            String audience = request.containsKey("audience") ? request.get("audience").toString() : null;
 
             // 2. Redis에서 Authorization Code 검증
             String state = tokenService.verifyAndDeleteAuthorizationCode("kakao", code);
@@ -214,70 +221,23 @@ public class KakaoController {
                 // Redis에 없어도 카카오 API 호출은 진행 (개발 환경 고려)
             }
 
-            // 3. 카카오 Access Token 교환
-            System.out.println("카카오 API로 Access Token 요청 중...");
-            Map<String, Object> kakaoTokenResponse = kakaoOAuthService.getAccessToken(code);
-            String kakaoAccessToken = (String) kakaoTokenResponse.get("access_token");
-            String kakaoRefreshToken = (String) kakaoTokenResponse.get("refresh_token");
-            Object expiresIn = kakaoTokenResponse.get("expires_in"); // 초 단위
-
-            if (kakaoAccessToken == null) {
-                response.put("success", false);
-                response.put("message", "카카오 Access Token 발급 실패");
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
-            }
-
-            // 4. 카카오 사용자 정보 조회
-            System.out.println("카카오 사용자 정보 조회 중...");
-            Map<String, Object> kakaoUserInfo = kakaoOAuthService.getUserInfo(kakaoAccessToken);
-            Map<String, Object> userInfo = kakaoOAuthService.extractUserInfo(kakaoUserInfo);
-
-            // 5. 사용자 ID 추출
-            String userId = userInfo.get("kakao_id").toString();
-
-            // 6. 카카오 OAuth 원본 토큰을 Redis에 저장
-            long kakaoTokenExpireTime = expiresIn != null ? Long.parseLong(expiresIn.toString()) : 21600; // 기본 6시간 (카카오 기본값)
-            tokenService.saveOAuthAccessToken("kakao", userId, kakaoAccessToken, kakaoTokenExpireTime);
-            
-            if (kakaoRefreshToken != null) {
-                // Refresh Token은 60일 유효 (카카오 기본값)
-                tokenService.saveOAuthRefreshToken("kakao", userId, kakaoRefreshToken, 5184000);
-            }
-
-            // 7. JWT 토큰 생성 (자체 JWT)
-            String jwtAccessToken = jwtTokenProvider.generateAccessToken(userId, "kakao", userInfo);
-            String jwtRefreshToken = jwtTokenProvider.generateRefreshToken(userId, "kakao");
+            // 3. 토큰 교환 → 사용자 정보 조회 → 토큰 저장 → JWT 발급 (공통 파이프라인)
+            System.out.println("카카오 로그인 파이프라인 실행 중...");
+            OAuthLoginResult result = loginPipeline.login("kakao", code, state, audience);
 
             System.out.println("✅ JWT 토큰 생성 완료 - AccessToken: "
-                    + jwtAccessToken.substring(0, Math.min(50, jwtAccessToken.length())) + "...");
-
-            // 8. JWT 토큰을 Redis에 저장 (Access Token: 1시간, Refresh Token: 30일)
-            System.out.println("Redis에 토큰 저장 중...");
-            tokenService.saveAccessToken("kakao", userId, jwtAccessToken, 3600);
-            tokenService.saveRefreshToken("kakao", userId, jwtRefreshToken, 2592000);
-
-            // Redis 저장 확인
-            String savedAccessToken = tokenService.getAccessToken("kakao", userId);
-            String savedRefreshToken = tokenService.getRefreshToken("kakao", userId);
-            if (savedAccessToken != null && savedRefreshToken != null) {
-                System.out.println("✅ Redis에 토큰 저장 성공!");
-                System.out.println("  - Access Token Key: token:kakao:" + userId + ":access");
-                System.out.println("  - Refresh Token Key: token:kakao:" + userId + ":refresh");
-            } else {
-                System.out.println("⚠️ Redis 토큰 저장 확인 실패");
-            }
-
-            System.out.println("카카오 인증 완료: " + userInfo.get("nickname"));
+                    + result.accessToken().substring(0, Math.min(50, result.accessToken().length())) + "...");
+            System.out.println("카카오 인증 완료: " + result.profile().nickname());
             System.out.println("============================");
 
-            // 7. 응답 반환
+            // 4. 응답 반환
             response.put("success", true);
             response.put("message", "카카오 로그인이 성공적으로 처리되었습니다.");
-            response.put("access_token", jwtAccessToken);
-            response.put("refresh_token", jwtRefreshToken);
+            response.put("access_token", result.accessToken());
+            response.put("refresh_token", result.refreshToken());
             response.put("token_type", "Bearer");
-            response.put("expires_in", 3600);
-            response.put("user", userInfo);
+            response.put("expires_in", result.expiresIn());
+            response.put("user", result.profile().toClaims());
 
             return ResponseEntity.status(HttpStatus.OK).body(response);
 
@@ -294,9 +254,10 @@ public class KakaoController {
     /**
      * 카카오 사용자 정보 조회
      * JWT 토큰으로 사용자 정보 반환
+     * Redis 저장 토큰 확인은 비동기로 처리하여 요청 스레드를 붙잡지 않음
      */
     @GetMapping("/user")
-    public ResponseEntity<Map<String, Object>> kakaoUserInfo(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> kakaoUserInfo(
             @RequestHeader(value = "Authorization", required = false) String authHeader,
             HttpServletRequest request) {
         System.out.println("=== 카카오 사용자 정보 조회 요청 수신 ===");
@@ -309,59 +270,75 @@ public class KakaoController {
                 System.out.println("Authorization 헤더 없음 또는 형식 오류");
                 response.put("success", false);
                 response.put("message", "인증 토큰이 필요합니다.");
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response));
             }
 
             String token = authHeader.substring(7);
-            System.out.println("JWT 토큰 검증 중...");
 
-            // JWT 토큰 검증
-            if (!jwtTokenProvider.validateToken(token)) {
-                System.out.println("JWT 토큰 검증 실패");
+            // Access Token 검증 (참조 토큰/JWT, Refresh·머신 토큰과 로그아웃된 세션의 토큰은 거부)
+            Map<String, Object> claims = accessTokenVerifier.verify(token);
+            if (claims == null) {
+                System.out.println("토큰 검증 실패");
                 response.put("success", false);
                 response.put("message", "유효하지 않은 토큰입니다.");
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response));
             }
 
-            // JWT 토큰에서 사용자 정보 추출
-            String userId = jwtTokenProvider.getUserIdFromToken(token);
-            var claims = jwtTokenProvider.getAllClaimsFromToken(token);
+            // 토큰 클레임에서 사용자 정보 추출
+            String userId = String.valueOf(claims.get("sub"));
 
             System.out.println("사용자 인증 성공: " + userId);
 
-            // Redis에서 토큰 확인 (선택적)
-            String storedToken = tokenService.getAccessToken("kakao", userId);
-            if (storedToken == null) {
-                System.out.println("경고: Redis에 저장된 토큰이 없습니다.");
-            }
-
-            // 사용자 정보 구성
-            Map<String, Object> userInfo = new HashMap<>();
-            userInfo.put("kakao_id", userId);
-            userInfo.put("nickname", claims.get("nickname"));
-            userInfo.put("email", claims.get("email"));
-            userInfo.put("email_verified", claims.get("email_verified"));
-            userInfo.put("profile_image", claims.get("profile_image"));
-            userInfo.put("provider", "kakao");
-
-            System.out.println("============================");
-
-            response.put("success", true);
-            response.put("message", "카카오 사용자 정보를 성공적으로 조회했습니다.");
-            response.put("user", userInfo);
-
-            return ResponseEntity.status(HttpStatus.OK).body(response);
+            // Redis에 저장된 토큰과 비교 (선택적, 비동기, 다이제스트 고정 시간 비교)
+            return asyncTokenService.matchesToken("kakao", userId,
+                    claims.get("sid") instanceof String sid ? sid : null, "access", token)
+                    .thenApply(matches -> {
+                        if (Boolean.FALSE.equals(matches)) {
+                            System.out.println("경고: Redis에 저장된 토큰과 일치하지 않거나 저장된 토큰이 없습니다.");
+                        }
+
+                        // 사용자 정보 구성 (토큰에 없는 프로필 클레임은 프로필 캐시에서 보충)
+                        OAuthUserProfile cachedProfile = profileCache.getIfPresent("kakao", userId);
+                        Map<String, Object> userInfo = new HashMap<>();
+                        if (cachedProfile != null) {
+                            userInfo.putAll(cachedProfile.toClaims());
+                        }
+                        for (String name : new String[] { "nickname", "email", "email_verified", "profile_image" }) {
+                            if (claims.containsKey(name)) {
+                                userInfo.put(name, claims.get(name));
+                            } else {
+                                userInfo.putIfAbsent(name, null);
+                            }
+                        }
+                        userInfo.put("kakao_id", userId);
+                        userInfo.put("provider", "kakao");
+
+                        System.out.println("============================");
+
+                        response.put("success", true);
+                        response.put("message", "카카오 사용자 정보를 성공적으로 조회했습니다.");
+                        response.put("user", userInfo);
+
+                        return ResponseEntity.status(HttpStatus.OK).body(response);
+                    })
+                    .exceptionally(e -> {
+                        System.err.println("사용자 정보 조회 중 오류 발생: " + e.getMessage());
+                        return userInfoError(response);
+                    });
 
         } catch (Exception e) {
             System.err.println("사용자 정보 조회 중 오류 발생: " + e.getMessage());
             e.printStackTrace();
-
-            response.put("success", false);
-            response.put("message", "사용자 정보 조회 중 오류가 발생했습니다.");
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return CompletableFuture.completedFuture(userInfoError(response));
         }
     }
 
+    private ResponseEntity<Map<String, Object>> userInfoError(Map<String, Object> response) {
+        response.put("success", false);
+        response.put("message", "사용자 정보 조회 중 오류가 발생했습니다.");
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+    }
+
     /**
      * 모든 카카오 관련 요청에 대한 기본 핸들러
      * Next.js에서 성공으로 인식하도록 항상 성공 응답 반환
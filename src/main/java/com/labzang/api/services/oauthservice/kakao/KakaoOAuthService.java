@@ -1,5 +1,9 @@
 package com.labzang.api.services.oauthservice.kakao;
 
+import com.labzang.api.services.oauthservice.kakao.dto.KakaoTokenResponse;
+import com.labzang.api.services.oauthservice.kakao.dto.KakaoUserInfo;
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
+import com.labzang.api.services.oauthservice.provider.OAuthProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -7,14 +11,15 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Map;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 
 /**
  * 카카오 OAuth2 인증 서비스
  * 카카오 API와 통신하여 토큰 교환 및 사용자 정보 조회
  */
 @Service
-public class KakaoOAuthService {
+public class KakaoOAuthService implements OAuthProvider {
     @Value("${kakao.rest-api-key}")
     private String clientId;
 
@@ -29,9 +34,44 @@ public class KakaoOAuthService {
     // 카카오 API 엔드포인트
     private static final String KAKAO_TOKEN_URL = "https://kauth.kakao.com/oauth/token";
     private static final String KAKAO_USER_INFO_URL = "https://kapi.kakao.com/v2/user/me";
+    private static final String KAKAO_AUTH_URL = "https://kauth.kakao.com/oauth/authorize";
 
-    public KakaoOAuthService() {
-        this.restTemplate = new RestTemplate();
+    public KakaoOAuthService(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    @Override
+    public String id() {
+        return "kakao";
+    }
+
+    @Override
+    public String authorizationUrl(String redirectUri, String state) {
+        String uri = redirectUri != null && !redirectUri.isEmpty() ? redirectUri : this.redirectUri;
+        String authUrl = KAKAO_AUTH_URL + "?client_id=" + clientId
+                + "&redirect_uri=" + URLEncoder.encode(uri, StandardCharsets.UTF_8)
+                + "&response_type=code";
+        return state != null ? authUrl + "&state=" + URLEncoder.encode(state, StandardCharsets.UTF_8) : authUrl;
+    }
+
+    @Override
+    public KakaoTokenResponse exchangeCode(String code, String state) {
+        return getAccessToken(code);
+    }
+
+    @Override
+    public OAuthUserProfile fetchProfile(String accessToken) {
+        return extractUserInfo(getUserInfo(accessToken));
+    }
+
+    @Override
+    public long defaultAccessTokenTtl() {
+        return 21600; // 카카오 기본값 6시간
+    }
+
+    @Override
+    public long defaultRefreshTokenTtl() {
+        return 5184000; // 카카오 기본값 60일
     }
 
     /**
@@ -40,7 +80,7 @@ public class KakaoOAuthService {
      * @param code Authorization Code
      * @return 카카오 토큰 응답 (access_token, refresh_token, expires_in 등)
      */
-    public Map<String, Object> getAccessToken(String code) {
+    public KakaoTokenResponse getAccessToken(String code) {
         System.out.println("=== 카카오 Access Token 요청 ===");
         System.out.println("Authorization Code: " + code);
 
@@ -63,19 +103,16 @@ public class KakaoOAuthService {
         HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(params, headers);
 
         try {
-            // 카카오 토큰 API 호출
-            @SuppressWarnings("rawtypes")
-            ResponseEntity<Map> response = restTemplate.postForEntity(
+            // 카카오 토큰 API 호출 (응답 스트림을 레코드로 바로 역직렬화)
+            ResponseEntity<KakaoTokenResponse> response = restTemplate.postForEntity(
                     KAKAO_TOKEN_URL,
                     request,
-                    Map.class);
+                    KakaoTokenResponse.class);
 
             System.out.println("카카오 토큰 응답: " + response.getBody());
             System.out.println("================================");
 
-            @SuppressWarnings("unchecked")
-            Map<String, Object> body = response.getBody();
-            return body;
+            return response.getBody();
         } catch (Exception e) {
             System.err.println("카카오 토큰 요청 실패: " + e.getMessage());
             e.printStackTrace();
@@ -89,7 +126,7 @@ public class KakaoOAuthService {
      * @param accessToken 카카오 Access Token
      * @return 사용자 정보 (id, nickname, email 등)
      */
-    public Map<String, Object> getUserInfo(String accessToken) {
+    public KakaoUserInfo getUserInfo(String accessToken) {
         System.out.println("=== 카카오 사용자 정보 요청 ===");
         System.out.println("Access Token: " + accessToken.substring(0, Math.min(accessToken.length(), 20)) + "...");
 
@@ -102,19 +139,16 @@ public class KakaoOAuthService {
 
         try {
             // 카카오 사용자 정보 API 호출
-            @SuppressWarnings("rawtypes")
-            ResponseEntity<Map> response = restTemplate.exchange(
+            ResponseEntity<KakaoUserInfo> response = restTemplate.exchange(
                     KAKAO_USER_INFO_URL,
                     HttpMethod.GET,
                     request,
-                    Map.class);
+                    KakaoUserInfo.class);
 
             System.out.println("카카오 사용자 정보 응답: " + response.getBody());
             System.out.println("================================");
 
-            @SuppressWarnings("unchecked")
-            Map<String, Object> body = response.getBody();
-            return body;
+            return response.getBody();
         } catch (Exception e) {
             System.err.println("카카오 사용자 정보 요청 실패: " + e.getMessage());
             e.printStackTrace();
@@ -128,38 +162,7 @@ public class KakaoOAuthService {
      * @param userInfo 카카오 API 응답
      * @return 추출된 사용자 정보
      */
-    @SuppressWarnings("unchecked")
-    public Map<String, Object> extractUserInfo(Map<String, Object> userInfo) {
-        // 카카오 사용자 ID
-        Long kakaoId = ((Number) userInfo.get("id")).longValue();
-
-        // 카카오 계정 정보
-        Map<String, Object> kakaoAccount = (Map<String, Object>) userInfo.get("kakao_account");
-
-        // 프로필 정보
-        Map<String, Object> profile = null;
-        String nickname = null;
-        String profileImage = null;
-
-        if (kakaoAccount != null && kakaoAccount.containsKey("profile")) {
-            profile = (Map<String, Object>) kakaoAccount.get("profile");
-            nickname = (String) profile.get("nickname");
-            profileImage = (String) profile.get("profile_image_url");
-        }
-
-        // 이메일 정보
-        String email = null;
-        Boolean emailVerified = false;
-        if (kakaoAccount != null) {
-            email = (String) kakaoAccount.get("email");
-            emailVerified = (Boolean) kakaoAccount.getOrDefault("is_email_verified", false);
-        }
-
-        return Map.of(
-                "kakao_id", kakaoId,
-                "nickname", nickname != null ? nickname : "카카오 사용자",
-                "email", email != null ? email : "",
-                "email_verified", emailVerified,
-                "profile_image", profileImage != null ? profileImage : "");
+    public OAuthUserProfile extractUserInfo(KakaoUserInfo userInfo) {
+        return userInfo.toProfile();
     }
 }
@@ -64,7 +64,7 @@ public class KakaoService {
             );
 
             KakaoUserInfo userInfo = response.getBody();
-            log.info("카카오 사용자 정보 획득 성공: {}", userInfo.getId());
+            log.info("카카오 사용자 정보 획득 성공: {}", userInfo.id());
             return userInfo;
         } catch (Exception e) {
             log.error("카카오 사용자 정보 획득 실패: {}", e.getMessage(), e);
@@ -1,29 +1,19 @@
 package com.labzang.api.services.oauthservice.kakao.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.Data;
+import com.labzang.api.services.oauthservice.profile.OAuthTokenResponse;
 
 /**
  * 카카오 토큰 응답 DTO
  */
-@Data
-public class KakaoTokenResponse {
-    
-    @JsonProperty("access_token")
-    private String accessToken;
-    
-    @JsonProperty("token_type")
-    private String tokenType;
-    
-    @JsonProperty("refresh_token")
-    private String refreshToken;
-    
-    @JsonProperty("expires_in")
-    private Long expiresIn;
-    
-    @JsonProperty("scope")
-    private String scope;
-    
-    @JsonProperty("refresh_token_expires_in")
-    private Long refreshTokenExpiresIn;
-}
\ No newline at end of file
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record KakaoTokenResponse(
+        @JsonProperty("access_token") String accessToken,
+        @JsonProperty("token_type") String tokenType,
+        @JsonProperty("refresh_token") String refreshToken,
+        @JsonProperty("expires_in") Long expiresIn,
+        @JsonProperty("scope") String scope,
+        @JsonProperty("refresh_token_expires_in") Long refreshTokenExpiresIn,
+        @JsonProperty("id_token") String idToken) implements OAuthTokenResponse {
+}
@@ -1,84 +1,74 @@
 package com.labzang.api.services.oauthservice.kakao.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.Data;
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
+import com.labzang.api.services.oauthservice.profile.ProviderUserInfo;
 
 /**
  * 카카오 사용자 정보 DTO
  */
-@Data
-public class KakaoUserInfo {
-    
-    @JsonProperty("id")
-    private Long id;
-    
-    @JsonProperty("connected_at")
-    private String connectedAt;
-    
-    @JsonProperty("properties")
-    private Properties properties;
-    
-    @JsonProperty("kakao_account")
-    private KakaoAccount kakaoAccount;
-    
-    @Data
-    public static class Properties {
-        @JsonProperty("nickname")
-        private String nickname;
-        
-        @JsonProperty("profile_image")
-        private String profileImage;
-        
-        @JsonProperty("thumbnail_image")
-        private String thumbnailImage;
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record KakaoUserInfo(
+        @JsonProperty("id") Long id,
+        @JsonProperty("connected_at") String connectedAt,
+        @JsonProperty("properties") Properties properties,
+        @JsonProperty("kakao_account") KakaoAccount kakaoAccount) implements ProviderUserInfo {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Properties(
+            @JsonProperty("nickname") String nickname,
+            @JsonProperty("profile_image") String profileImage,
+            @JsonProperty("thumbnail_image") String thumbnailImage) {
     }
-    
-    @Data
-    public static class KakaoAccount {
-        @JsonProperty("profile_nickname_needs_agreement")
-        private Boolean profileNicknameNeedsAgreement;
-        
-        @JsonProperty("profile_image_needs_agreement")
-        private Boolean profileImageNeedsAgreement;
-        
-        @JsonProperty("profile")
-        private Profile profile;
-        
-        @JsonProperty("has_email")
-        private Boolean hasEmail;
-        
-        @JsonProperty("email_needs_agreement")
-        private Boolean emailNeedsAgreement;
-        
-        @JsonProperty("is_email_valid")
-        private Boolean isEmailValid;
-        
-        @JsonProperty("is_email_verified")
-        private Boolean isEmailVerified;
-        
-        @JsonProperty("email")
-        private String email;
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record KakaoAccount(
+            @JsonProperty("profile_nickname_needs_agreement") Boolean profileNicknameNeedsAgreement,
+            @JsonProperty("profile_image_needs_agreement") Boolean profileImageNeedsAgreement,
+            @JsonProperty("profile") Profile profile,
+            @JsonProperty("has_email") Boolean hasEmail,
+            @JsonProperty("email_needs_agreement") Boolean emailNeedsAgreement,
+            @JsonProperty("is_email_valid") Boolean isEmailValid,
+            @JsonProperty("is_email_verified") Boolean isEmailVerified,
+            @JsonProperty("email") String email) {
     }
-    
-    @Data
-    public static class Profile {
-        @JsonProperty("nickname")
-        private String nickname;
-        
-        @JsonProperty("thumbnail_image_url")
-        private String thumbnailImageUrl;
-        
-        @JsonProperty("profile_image_url")
-        private String profileImageUrl;
-        
-        @JsonProperty("is_default_image")
-        private Boolean isDefaultImage;
-        
-        @JsonProperty("is_default_nickname")
-        private Boolean isDefaultNickname;
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Profile(
+            @JsonProperty("nickname") String nickname,
+            @JsonProperty("thumbnail_image_url") String thumbnailImageUrl,
+            @JsonProperty("profile_image_url") String profileImageUrl,
+            @JsonProperty("is_default_image") Boolean isDefaultImage,
+            @JsonProperty("is_default_nickname") Boolean isDefaultNickname) {
     }
-    
-    public Long getId() {
-        return id;
+
+    /**
+     * 카카오 사용자 정보에서 필요한 데이터 추출
+     * 카카오 계정 프로필이 없으면 닉네임은 기본값을 사용합니다.
+     */
+    @Override
+    public OAuthUserProfile toProfile() {
+        String nickname = null;
+        String profileImage = null;
+        String email = null;
+        boolean emailVerified = false;
+
+        if (kakaoAccount != null) {
+            if (kakaoAccount.profile() != null) {
+                nickname = kakaoAccount.profile().nickname();
+                profileImage = kakaoAccount.profile().profileImageUrl();
+            }
+            email = kakaoAccount.email();
+            emailVerified = Boolean.TRUE.equals(kakaoAccount.isEmailVerified());
+        }
+
+        return new OAuthUserProfile(
+                "kakao",
+                id != null ? id.toString() : null,
+                nickname != null ? nickname : "카카오 사용자",
+                email,
+                emailVerified,
+                profileImage);
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,117 @@
 package com.labzang.api.services.oauthservice.naver;
 
+import com.labzang.api.services.oauthservice.provider.OAuthLoginPipeline;
+import com.labzang.api.services.oauthservice.provider.OAuthLoginResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/naver")
+@RequiredArgsConstructor
 public class NaverController {
 
+    private final NaverOAuthService naverOAuthService;
+    private final OAuthLoginPipeline loginPipeline;
+
+    /**
+     * 네이버 인증 URL 제공
+     * 프론트엔드에서 CLIENT ID를 노출하지 않고 인증 URL을 가져올 수 있도록 함
+     */
+    @GetMapping("/auth-url")
+    public ResponseEntity<Map<String, Object>> getNaverAuthUrl(
+            @RequestParam(required = false) String redirect_uri) {
+        String state = UUID.randomUUID().toString(); // CSRF 방지용 state
+
+        return ResponseEntity.ok(Map.of(
+                "success", true,
+                "auth_url", naverOAuthService.authorizationUrl(redirect_uri, state),
+                "state", state));
+    }
+
+    /**
+     * 네이버 인증 콜백 처리
+     * Authorization Code와 state를 프론트엔드로 전달
+     */
+    @GetMapping("/callback")
+    public ResponseEntity<?> naverCallback(
+            @RequestParam(required = false) String code,
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) String error,
+            @RequestParam(required = false) String error_description) {
+
+        String frontendUrl = System.getenv("FRONTEND_URL");
+        if (frontendUrl == null || frontendUrl.isEmpty()) {
+            frontendUrl = "http://localhost:3000";
+        }
+        String frontendCallbackUrl = frontendUrl + "/naver-callback";
+
+        String redirectUrl;
+        if (code != null) {
+            redirectUrl = frontendCallbackUrl + "?code=" + URLEncoder.encode(code, StandardCharsets.UTF_8)
+                    + "&state=" + URLEncoder.encode(state != null ? state : "", StandardCharsets.UTF_8);
+        } else if (error != null) {
+            redirectUrl = frontendCallbackUrl + "?error=" + URLEncoder.encode(error, StandardCharsets.UTF_8);
+            if (error_description != null) {
+                redirectUrl += "&error_description=" + URLEncoder.encode(error_description, StandardCharsets.UTF_8);
+            }
+        } else {
+            redirectUrl = frontendCallbackUrl + "?error=no_code&error_description="
+                    + URLEncoder.encode("인증 코드가 없습니다.", StandardCharsets.UTF_8);
+        }
+
+        System.out.println("네이버 콜백, 프론트엔드로 리다이렉트: " + redirectUrl);
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .header("Location", redirectUrl)
+                .build();
+    }
+
+    /**
+     * 네이버 토큰 발급
+     * Authorization Code를 교환하고 자체 JWT를 발급
+     */
+    @PostMapping("/token")
+    public ResponseEntity<Map<String, Object>> naverToken(@RequestBody(required = false) Map<String, Object> request) {
+        Map<String, Object> response = new HashMap<>();
+
+        if (request == null || !request.containsKey("code")) {
+            response.put("success", false);
+            response.put("message", "Authorization Code가 필요합니다.");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+
+        String code = request.get("code").toString();
+        String state = request.containsKey("state") ? request.get("state").toString() : null;
+        String audience = request.containsKey("audience") ? request.get("audience").toString() : null;
+
+        try {
+            OAuthLoginResult result = loginPipeline.login("naver", code, state, audience);
+
+            System.out.println("네이버 인증 완료: " + result.profile().nickname());
+
+            response.put("success", true);
+            response.put("message", "네이버 로그인이 성공적으로 처리되었습니다.");
+            response.put("access_token", result.accessToken());
+            response.put("refresh_token", result.refreshToken());
+            response.put("token_type", "Bearer");
+            response.put("expires_in", result.expiresIn());
+            response.put("user", result.profile().toClaims());
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            System.err.println("네이버 인증 처리 중 오류 발생: " + e.getMessage());
+            e.printStackTrace();
+
+            response.put("success", false);
+            response.put("message", "네이버 인증 처리 중 오류가 발생했습니다: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
 }
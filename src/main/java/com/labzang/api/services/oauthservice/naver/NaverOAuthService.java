@@ -0,0 +1,136 @@
+package com.labzang.api.services.oauthservice.naver;
+
+import com.labzang.api.services.oauthservice.naver.dto.NaverTokenResponse;
+import com.labzang.api.services.oauthservice.naver.dto.NaverUserInfo;
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
+import com.labzang.api.services.oauthservice.provider.OAuthProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.*;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 네이버 OAuth2 인증 서비스
+ * 네이버 API와 통신하여 토큰 교환 및 사용자 정보 조회
+ */
+@Service
+public class NaverOAuthService implements OAuthProvider {
+
+    @Value("${naver.client-id:}")
+    private String clientId;
+
+    @Value("${naver.client-secret:}")
+    private String clientSecret;
+
+    @Value("${naver.redirect-uri:}")
+    private String redirectUri;
+
+    private final RestTemplate restTemplate;
+
+    // 네이버 API 엔드포인트
+    private static final String NAVER_AUTH_URL = "https://nid.naver.com/oauth2.0/authorize";
+    private static final String NAVER_TOKEN_URL = "https://nid.naver.com/oauth2.0/token";
+    private static final String NAVER_USER_INFO_URL = "https://openapi.naver.com/v1/nid/me";
+
+    public NaverOAuthService(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    @Override
+    public String id() {
+        return "naver";
+    }
+
+    @Override
+    public String authorizationUrl(String redirectUri, String state) {
+        String uri = redirectUri != null && !redirectUri.isEmpty() ? redirectUri : this.redirectUri;
+        return NAVER_AUTH_URL + "?response_type=code&client_id=" + clientId
+                + "&redirect_uri=" + URLEncoder.encode(uri, StandardCharsets.UTF_8)
+                + "&state=" + URLEncoder.encode(state, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Authorization Code를 Access Token으로 교환
+     * 네이버는 토큰 요청에 인증 요청 시 사용한 state가 필요합니다.
+     * 
+     * @param code  Authorization Code
+     * @param state 인증 요청 시 사용한 state
+     * @return 네이버 토큰 응답
+     */
+    @Override
+    public NaverTokenResponse exchangeCode(String code, String state) {
+        System.out.println("=== 네이버 Access Token 요청 ===");
+
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("grant_type", "authorization_code");
+        params.add("client_id", clientId);
+        params.add("client_secret", clientSecret);
+        params.add("code", code);
+        params.add("state", state != null ? state : "");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+        HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(params, headers);
+
+        NaverTokenResponse body;
+        try {
+            ResponseEntity<NaverTokenResponse> response = restTemplate.postForEntity(
+                    NAVER_TOKEN_URL,
+                    request,
+                    NaverTokenResponse.class);
+            body = response.getBody();
+        } catch (Exception e) {
+            System.err.println("네이버 토큰 요청 실패: " + e.getMessage());
+            throw new RuntimeException("네이버 토큰 요청 실패", e);
+        }
+
+        // 네이버는 실패 시에도 200 응답에 error 필드를 담아 보냄
+        if (body != null && body.error() != null) {
+            throw new RuntimeException("네이버 토큰 요청 실패: " + body.error() + " - " + body.errorDescription());
+        }
+        return body;
+    }
+
+    /**
+     * Access Token으로 네이버 사용자 정보 조회
+     * 
+     * @param accessToken 네이버 Access Token
+     * @return 공통 사용자 프로필
+     */
+    @Override
+    public OAuthUserProfile fetchProfile(String accessToken) {
+        System.out.println("=== 네이버 사용자 정보 요청 ===");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(accessToken);
+
+        try {
+            ResponseEntity<NaverUserInfo> response = restTemplate.exchange(
+                    NAVER_USER_INFO_URL,
+                    HttpMethod.GET,
+                    new HttpEntity<>(headers),
+                    NaverUserInfo.class);
+
+            NaverUserInfo userInfo = response.getBody();
+            if (userInfo == null || !"00".equals(userInfo.resultCode())) {
+                throw new IllegalStateException("네이버 사용자 정보 응답 오류: "
+                        + (userInfo != null ? userInfo.message() : "응답 없음"));
+            }
+            return userInfo.toProfile();
+        } catch (Exception e) {
+            System.err.println("네이버 사용자 정보 요청 실패: " + e.getMessage());
+            throw new RuntimeException("네이버 사용자 정보 요청 실패", e);
+        }
+    }
+
+    @Override
+    public long defaultRefreshTokenTtl() {
+        return 31536000; // 네이버 Refresh Token 기본 유효기간 1년
+    }
+}
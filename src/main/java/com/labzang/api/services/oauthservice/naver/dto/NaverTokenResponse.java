@@ -0,0 +1,19 @@
+package com.labzang.api.services.oauthservice.naver.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.labzang.api.services.oauthservice.profile.OAuthTokenResponse;
+
+/**
+ * 네이버 토큰 응답 DTO
+ * 네이버는 expires_in을 문자열로 내려주지만 Jackson이 숫자로 변환합니다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record NaverTokenResponse(
+        @JsonProperty("access_token") String accessToken,
+        @JsonProperty("token_type") String tokenType,
+        @JsonProperty("refresh_token") String refreshToken,
+        @JsonProperty("expires_in") Long expiresIn,
+        @JsonProperty("error") String error,
+        @JsonProperty("error_description") String errorDescription) implements OAuthTokenResponse {
+}
@@ -0,0 +1,41 @@
+package com.labzang.api.services.oauthservice.naver.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
+import com.labzang.api.services.oauthservice.profile.ProviderUserInfo;
+
+/**
+ * 네이버 사용자 정보 DTO (v1/nid/me 응답)
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record NaverUserInfo(
+        @JsonProperty("resultcode") String resultCode,
+        @JsonProperty("message") String message,
+        @JsonProperty("response") Response response) implements ProviderUserInfo {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Response(
+            @JsonProperty("id") String id,
+            @JsonProperty("nickname") String nickname,
+            @JsonProperty("name") String name,
+            @JsonProperty("email") String email,
+            @JsonProperty("profile_image") String profileImage) {
+    }
+
+    @Override
+    public OAuthUserProfile toProfile() {
+        if (response == null) {
+            return new OAuthUserProfile("naver", null, "네이버 사용자", null, false, null);
+        }
+        String nickname = response.nickname() != null ? response.nickname() : response.name();
+        return new OAuthUserProfile(
+                "naver",
+                response.id(),
+                nickname != null ? nickname : "네이버 사용자",
+                response.email(),
+                // 네이버는 인증된 이메일만 제공합니다
+                response.email() != null && !response.email().isEmpty(),
+                response.profileImage());
+    }
+}
@@ -0,0 +1,32 @@
+package com.labzang.api.services.oauthservice.profile;
+
+/**
+ * 소셜 로그인 제공자 토큰 응답 공통 인터페이스
+ * 
+ * 제공자별 토큰 응답 레코드(KakaoTokenResponse, GoogleTokenResponse, NaverTokenResponse)가 구현합니다.
+ */
+public interface OAuthTokenResponse {
+
+    String accessToken();
+
+    String refreshToken();
+
+    /**
+     * Access Token 만료 시간 (초, 응답에 없으면 null)
+     */
+    Long expiresIn();
+
+    /**
+     * Refresh Token 만료 시간 (초, 응답에 없으면 null)
+     */
+    default Long refreshTokenExpiresIn() {
+        return null;
+    }
+
+    /**
+     * OpenID Connect ID Token (scope에 openid가 포함된 경우에만 존재)
+     */
+    default String idToken() {
+        return null;
+    }
+}
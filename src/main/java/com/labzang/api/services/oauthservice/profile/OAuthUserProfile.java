@@ -0,0 +1,71 @@
+package com.labzang.api.services.oauthservice.profile;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 소셜 로그인 제공자 공통 사용자 프로필
+ * 
+ * 카카오, 구글, 네이버의 사용자 정보 응답을 하나의 형태로 정규화합니다.
+ * JWT 클레임과 API 응답의 user 필드는 이 레코드에서 바로 만들어집니다.
+ * 
+ * @param provider      소셜 로그인 제공자 (kakao, naver, google)
+ * @param providerId    제공자에서 발급한 사용자 ID
+ * @param nickname      닉네임
+ * @param email         이메일 (없으면 빈 문자열)
+ * @param emailVerified 이메일 인증 여부
+ * @param profileImage  프로필 이미지 URL (없으면 빈 문자열)
+ */
+public record OAuthUserProfile(
+        String provider,
+        String providerId,
+        String nickname,
+        String email,
+        boolean emailVerified,
+        String profileImage) {
+
+    public OAuthUserProfile {
+        providerId = providerId != null ? providerId : "";
+        nickname = nickname != null ? nickname : "";
+        email = email != null ? email : "";
+        profileImage = profileImage != null ? profileImage : "";
+    }
+
+    /**
+     * 제공자별 사용자 ID 클레임 이름 (kakao_id, google_id, naver_id)
+     */
+    public String idClaimName() {
+        return provider + "_id";
+    }
+
+    /**
+     * 제공자별 사용자 ID 클레임 값
+     * 카카오 회원번호는 기존 extractUserInfo 응답과 같이 숫자(Long)로, 그 밖의 제공자는 문자열로 기록합니다.
+     */
+    public Object idClaimValue() {
+        if ("kakao".equals(provider) && !providerId.isEmpty()) {
+            try {
+                return Long.valueOf(providerId);
+            } catch (NumberFormatException e) {
+                return providerId;
+            }
+        }
+        return providerId;
+    }
+
+    /**
+     * 기존 extractUserInfo 응답과 동일한 키 구성의 Map으로 변환
+     * API 응답의 user 필드에 사용합니다.
+     * 
+     * @return 사용자 정보 Map
+     */
+    public Map<String, Object> toClaims() {
+        Map<String, Object> claims = new LinkedHashMap<>(8);
+        claims.put(idClaimName(), idClaimValue());
+        claims.put("nickname", nickname);
+        claims.put("email", email);
+        claims.put("email_verified", emailVerified);
+        claims.put("profile_image", profileImage);
+        return claims;
+    }
+}
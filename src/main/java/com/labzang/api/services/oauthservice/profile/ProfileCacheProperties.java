@@ -0,0 +1,31 @@
+package com.labzang.api.services.oauthservice.profile;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * 제공자 사용자 프로필 캐시 설정 프로퍼티
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "oauth.profile-cache")
+public class ProfileCacheProperties {
+
+    private boolean enabled = true;
+
+    // Redis(L2)에 프로필을 보관하는 시간
+    private Duration ttl = Duration.ofHours(6);
+
+    // 이 시간이 지난 프로필은 즉시 반환하되 백그라운드에서 제공자 API로 갱신
+    private Duration refreshAfter = Duration.ofMinutes(30);
+
+    // 로컬(L1) 캐시 보관 시간 (노드 간 불일치를 줄이기 위해 L2보다 짧게 유지)
+    private Duration localTtl = Duration.ofMinutes(5);
+
+    // 로컬(L1) 캐시 최대 항목 수
+    private int localMaxSize = 10000;
+}
@@ -0,0 +1,225 @@
+package com.labzang.api.services.oauthservice.profile;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labzang.api.services.oauthservice.token.TokenStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 제공자 사용자 프로필 캐시
+ * 
+ * 같은 사용자가 짧은 시간 안에 다시 로그인할 때 카카오 /v2/user/me, 구글 userinfo 호출을 생략합니다.
+ * - L1: 노드 로컬 메모리 (짧은 TTL, 최대 항목 수 제한)
+ * - L2: Redis, 키 profile:{provider}:{providerId}, 값은 필드 순서 고정 JSON 배열
+ *       [nickname, email, emailVerified, profileImage, fetchedAt] (필드 이름과 타입 정보를 저장하지 않음)
+ *       임베디드 토큰 저장소(oauth.token.store=embedded)에서는 같은 키와 값을 TokenStore에 저장합니다.
+ * 
+ * refresh-after가 지난 프로필은 즉시 반환하고 백그라운드에서 제공자 API로 갱신합니다.
+ * 캐시 오류는 로그인을 실패시키지 않으며 제공자 API 호출로 대체됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProviderProfileCache {
+
+    private static final String KEY_FORMAT = "profile:%s:%s";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ProfileCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final TokenStore tokenStore;
+
+    private final Map<String, LocalEntry> localCache = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * 캐시된 프로필 엔트리
+     * 
+     * @param profile   사용자 프로필
+     * @param fetchedAt 제공자 API에서 조회한 시각 (epoch ms)
+     */
+    private record CachedProfile(OAuthUserProfile profile, long fetchedAt) {
+    }
+
+    /**
+     * L1 엔트리
+     * 
+     * @param value     캐시된 프로필
+     * @param expiresAt L1에서 만료되는 시각 (epoch ms)
+     */
+    private record LocalEntry(CachedProfile value, long expiresAt) {
+    }
+
+    /**
+     * 프로필 조회 (없으면 loader로 제공자 API 호출 후 저장)
+     * 
+     * @param provider   소셜 로그인 제공자
+     * @param providerId 제공자 사용자 ID
+     * @param loader     제공자 API 호출
+     * @return 사용자 프로필
+     */
+    public OAuthUserProfile get(String provider, String providerId, Supplier<OAuthUserProfile> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+
+        String key = String.format(KEY_FORMAT, provider, providerId);
+        CachedProfile cached = lookup(key);
+        meterRegistry.counter("oauth.profile-cache", "provider", provider,
+                "result", cached != null ? "hit" : "miss").increment();
+        if (cached == null) {
+            OAuthUserProfile profile = loader.get();
+            put(profile);
+            return profile;
+        }
+
+        if (System.currentTimeMillis() - cached.fetchedAt() > properties.getRefreshAfter().toMillis()) {
+            refreshAsync(key, loader);
+        }
+        return cached.profile();
+    }
+
+    /**
+     * 캐시에 있는 프로필만 조회 (제공자 API를 호출하지 않음)
+     * 
+     * @return 사용자 프로필, 없으면 null
+     */
+    public OAuthUserProfile getIfPresent(String provider, String providerId) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        CachedProfile cached = lookup(String.format(KEY_FORMAT, provider, providerId));
+        return cached != null ? cached.profile() : null;
+    }
+
+    /**
+     * 프로필 저장 (L1 + L2)
+     */
+    public void put(OAuthUserProfile profile) {
+        if (!properties.isEnabled() || profile.providerId().isEmpty()) {
+            return;
+        }
+        String key = String.format(KEY_FORMAT, profile.provider(), profile.providerId());
+        CachedProfile entry = new CachedProfile(profile, System.currentTimeMillis());
+        putLocal(key, entry);
+        try {
+            if (tokenStore.isLocal()) {
+                tokenStore.set(key, encode(entry), properties.getTtl().toSeconds());
+            } else {
+                stringRedisTemplate.opsForValue().set(key, encode(entry),
+                        properties.getTtl().toSeconds(), TimeUnit.SECONDS);
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ 프로필 캐시 저장 실패: " + key + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * 프로필 삭제 (L1 + L2)
+     */
+    public void evict(String provider, String providerId) {
+        String key = String.format(KEY_FORMAT, provider, providerId);
+        localCache.remove(key);
+        try {
+            if (tokenStore.isLocal()) {
+                tokenStore.delete(key);
+            } else {
+                stringRedisTemplate.delete(key);
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ 프로필 캐시 삭제 실패: " + key + " - " + e.getMessage());
+        }
+    }
+
+    private CachedProfile lookup(String key) {
+        LocalEntry local = localCache.get(key);
+        if (local != null) {
+            if (System.currentTimeMillis() < local.expiresAt()) {
+                return local.value();
+            }
+            localCache.remove(key, local);
+        }
+
+        try {
+            String encoded = tokenStore.isLocal() ? tokenStore.get(key) : stringRedisTemplate.opsForValue().get(key);
+            if (encoded == null) {
+                return null;
+            }
+            CachedProfile remote = decode(key, encoded);
+            putLocal(key, remote);
+            return remote;
+        } catch (Exception e) {
+            System.err.println("⚠️ 프로필 캐시 조회 실패: " + key + " - " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void refreshAsync(String key, Supplier<OAuthUserProfile> loader) {
+        if (!refreshing.add(key)) {
+            return; // 이미 갱신 중
+        }
+        refreshExecutor.execute(() -> {
+            try {
+                put(loader.get());
+            } catch (Exception e) {
+                System.err.println("⚠️ 프로필 백그라운드 갱신 실패: " + key + " - " + e.getMessage());
+            } finally {
+                refreshing.remove(key);
+            }
+        });
+    }
+
+    private void putLocal(String key, CachedProfile entry) {
+        if (localCache.size() >= properties.getLocalMaxSize()) {
+            // 최대 크기에 도달하면 약 10%를 비워 공간 확보
+            int toEvict = Math.max(1, properties.getLocalMaxSize() / 10);
+            Iterator<String> it = localCache.keySet().iterator();
+            while (it.hasNext() && toEvict-- > 0) {
+                it.next();
+                it.remove();
+            }
+        }
+        localCache.put(key, new LocalEntry(entry, System.currentTimeMillis() + properties.getLocalTtl().toMillis()));
+    }
+
+    private String encode(CachedProfile entry) throws Exception {
+        OAuthUserProfile p = entry.profile();
+        return objectMapper.writeValueAsString(List.of(
+                p.nickname(), p.email(), p.emailVerified() ? 1 : 0, p.profileImage(), entry.fetchedAt()));
+    }
+
+    private CachedProfile decode(String key, String encoded) throws Exception {
+        // key 형식: profile:{provider}:{providerId}
+        int first = key.indexOf(':');
+        int second = key.indexOf(':', first + 1);
+        JsonNode fields = objectMapper.readTree(encoded);
+        OAuthUserProfile profile = new OAuthUserProfile(
+                key.substring(first + 1, second),
+                key.substring(second + 1),
+                fields.get(0).asText(),
+                fields.get(1).asText(),
+                fields.get(2).asInt() == 1,
+                fields.get(3).asText());
+        return new CachedProfile(profile, fields.get(4).asLong());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdown();
+    }
+}
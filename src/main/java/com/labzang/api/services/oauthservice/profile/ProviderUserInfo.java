@@ -0,0 +1,16 @@
+package com.labzang.api.services.oauthservice.profile;
+
+/**
+ * 소셜 로그인 제공자 사용자 정보 응답 공통 인터페이스
+ * 
+ * 제공자별 사용자 정보 레코드가 구현하며, 공통 프로필로 변환하는 방법을 제공합니다.
+ */
+public interface ProviderUserInfo {
+
+    /**
+     * 공통 사용자 프로필로 변환
+     * 
+     * @return 정규화된 사용자 프로필
+     */
+    OAuthUserProfile toProfile();
+}
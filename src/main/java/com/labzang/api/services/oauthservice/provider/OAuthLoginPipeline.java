@@ -0,0 +1,319 @@
+package com.labzang.api.services.oauthservice.provider;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labzang.api.services.oauthservice.jwt.JwtTokenProvider;
+import com.labzang.api.services.oauthservice.profile.OAuthTokenResponse;
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
+import com.labzang.api.services.oauthservice.profile.ProviderProfileCache;
+import com.labzang.api.services.oauthservice.token.ReferenceTokenService;
+import com.labzang.api.services.oauthservice.token.SessionIndexService;
+import com.labzang.api.services.oauthservice.token.TokenService;
+import com.labzang.api.services.oauthservice.user.OAuthUserWriteBehind;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 소셜 로그인 공통 파이프라인
+ * 
+ * 토큰 교환 → 사용자 정보 조회 → 제공자 토큰 저장 → JWT 발급 → JWT 저장을
+ * 모든 제공자에 대해 한 곳에서 처리합니다.
+ * 단계별 소요 시간은 oauth.pipeline 타이머(provider, stage, outcome 태그)로 기록됩니다.
+ * 
+ * 로그인한 사용자는 OAuthUserWriteBehind를 통해 labzang_oauth.oauth_users에 비동기로 저장됩니다.
+ * 
+ * 토큰 교환 이후 단계는 의존 관계에 따라 가상 스레드에서 병렬로 실행됩니다.
+ * - 토큰 응답에 id_token이 있으면 sub로 사용자 ID를 먼저 알 수 있으므로
+ *   제공자 토큰 저장과 Refresh Token 서명이 사용자 정보 조회와 동시에 진행됩니다.
+ * - JWT 저장은 응답 경로에서 분리되어 백그라운드로 실행되며, 재시도 후에도 실패하면
+ *   일부만 저장된 키를 삭제(보상)합니다. 종료 시 진행 중인 저장은 끝날 때까지 기다립니다.
+ * 
+ * 로그인마다 세션 ID(sid)를 발급하여 토큰에 넣고 사용자별 세션 인덱스에 등록하므로,
+ * 여러 기기에서 로그인해도 이전 기기의 세션이 폐기되지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class OAuthLoginPipeline {
+
+    private final OAuthProviderRegistry providerRegistry;
+    private final TokenService tokenService;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final OAuthPipelineProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final ProviderProfileCache profileCache;
+    private final OAuthUserWriteBehind userWriteBehind;
+    private final ReferenceTokenService referenceTokenService;
+    private final SessionIndexService sessionIndex;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<CompletableFuture<Void>> pendingJwtWrites = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Authorization Code로 로그인 처리
+     * 
+     * @param providerId 제공자 ID (kakao, naver, google)
+     * @param code       Authorization Code
+     * @param state      인증 요청 시 사용한 state
+     * @return 발급된 JWT와 사용자 프로필
+     */
+    public OAuthLoginResult login(String providerId, String code, String state) {
+        return login(providerId, code, state, null);
+    }
+
+    /**
+     * Authorization Code로 로그인 처리 (Access Token 클레임 세트 지정)
+     * 
+     * @param providerId 제공자 ID (kakao, naver, google)
+     * @param code       Authorization Code
+     * @param state      인증 요청 시 사용한 state
+     * @param audience   Access Token 클레임 세트 이름 (jwt.claims.audiences, null이면 기본값)
+     * @return 발급된 JWT와 사용자 프로필
+     */
+    public OAuthLoginResult login(String providerId, String code, String state, String audience) {
+        OAuthProvider provider = providerRegistry.get(providerId);
+
+        // 1. Authorization Code를 Access Token으로 교환 (일회용 코드이므로 재시도하지 않음)
+        OAuthTokenResponse tokenResponse = timed(providerId, "exchange",
+                () -> provider.exchangeCode(code, state));
+        if (tokenResponse == null || tokenResponse.accessToken() == null) {
+            throw new IllegalStateException(providerId + " Access Token을 받을 수 없습니다.");
+        }
+
+        // id_token이 있으면 사용자 정보 응답을 기다리지 않고 사용자 ID 확정
+        String idTokenSubject = readIdTokenSubject(tokenResponse.idToken());
+
+        // 2. 사용자 정보 조회 (GET 요청이므로 일시적 오류는 재시도)
+        // 사용자 ID를 미리 알면 프로필 캐시를 먼저 확인하여 제공자 API 호출을 생략
+        Supplier<OAuthUserProfile> fetchProfile = () -> timed(providerId, "userinfo",
+                () -> withRetry(() -> provider.fetchProfile(tokenResponse.accessToken())));
+        CompletableFuture<OAuthUserProfile> profileFuture = CompletableFuture.supplyAsync(() -> {
+            if (idTokenSubject != null) {
+                return profileCache.get(providerId, idTokenSubject, fetchProfile);
+            }
+            OAuthUserProfile fetched = fetchProfile.get();
+            if (fetched != null) {
+                profileCache.put(fetched);
+            }
+            return fetched;
+        }, executor).thenApply(profile -> {
+            if (profile == null || profile.providerId().isEmpty()) {
+                throw new IllegalStateException(providerId + " 사용자 ID를 받을 수 없습니다.");
+            }
+            return profile;
+        });
+
+        CompletableFuture<String> userIdFuture = idTokenSubject != null
+                ? CompletableFuture.completedFuture(idTokenSubject)
+                : profileFuture.thenApply(OAuthUserProfile::providerId);
+
+        // 3. 제공자 원본 토큰 저장 (사용자 정보 조회와 병렬)
+        CompletableFuture<Void> providerTokenFuture = userIdFuture.thenAcceptAsync(
+                userId -> timed(providerId, "store-provider-token", () -> {
+                    saveProviderTokens(provider, userId, tokenResponse);
+                    return null;
+                }), executor);
+
+        // 4. 자체 JWT 발급 (Refresh Token은 사용자 ID만 있으면 미리 서명 가능)
+        // 로그인마다 세션 ID(sid)를 발급하여 기기별 세션을 구분
+        String sessionId = sessionIndex.isEnabled() ? sessionIndex.newSessionId() : null;
+        CompletableFuture<String> refreshTokenFuture = userIdFuture.thenApplyAsync(
+                userId -> jwtTokenProvider.generateRefreshToken(userId, providerId, sessionId), executor);
+        // 참조 토큰 모드에서는 JWT 대신 짧은 참조 토큰을 발급하고 클레임은 Redis에 저장
+        CompletableFuture<String> accessTokenFuture = profileFuture.thenApplyAsync(
+                profile -> timed(providerId, "sign", () -> referenceTokenService.isEnabled()
+                        ? referenceTokenService.issue(profile, jwtTokenProvider.getAccessTokenExpirationSeconds(),
+                                sessionId)
+                        : jwtTokenProvider.generateAccessToken(profile, audience, sessionId)),
+                executor);
+
+        OAuthUserProfile profile = await(profileFuture);
+        String userId = await(userIdFuture);
+        if (!userId.equals(profile.providerId())) {
+            // id_token과 사용자 정보 응답의 사용자가 다르면 저장된 제공자 토큰을 되돌리고 실패 처리
+            providerTokenFuture.whenComplete((ignored, e) -> tokenService.deleteOAuthTokens(providerId, userId));
+            throw new IllegalStateException(providerId + " id_token과 사용자 정보의 사용자 ID가 일치하지 않습니다.");
+        }
+        userWriteBehind.enqueue(profile);
+        String jwtAccessToken = await(accessTokenFuture);
+        String jwtRefreshToken = await(refreshTokenFuture);
+        await(providerTokenFuture);
+
+        // 5. JWT 저장 (응답 경로 밖에서 실행)
+        long accessTtl = jwtTokenProvider.getAccessTokenExpirationSeconds();
+        long refreshTtl = jwtTokenProvider.getRefreshTokenExpirationSeconds();
+        saveJwtInBackground(providerId, userId, sessionId, jwtAccessToken, jwtRefreshToken, accessTtl, refreshTtl);
+        if (sessionId != null) {
+            sessionIndex.register(providerId, userId, sessionId, audience, refreshTtl);
+        }
+
+        return new OAuthLoginResult(profile, jwtAccessToken, jwtRefreshToken, accessTtl);
+    }
+
+    private void saveProviderTokens(OAuthProvider provider, String userId, OAuthTokenResponse tokenResponse) {
+        long accessTtl = tokenResponse.expiresIn() != null
+                ? tokenResponse.expiresIn()
+                : provider.defaultAccessTokenTtl();
+        tokenService.saveOAuthAccessToken(provider.id(), userId, tokenResponse.accessToken(), accessTtl);
+
+        if (tokenResponse.refreshToken() != null) {
+            long refreshTtl = tokenResponse.refreshTokenExpiresIn() != null
+                    ? tokenResponse.refreshTokenExpiresIn()
+                    : provider.defaultRefreshTokenTtl();
+            tokenService.saveOAuthRefreshToken(provider.id(), userId, tokenResponse.refreshToken(), refreshTtl);
+        }
+    }
+
+    /**
+     * JWT를 백그라운드에서 저장
+     * 재시도 후에도 실패하면 Access/Refresh 중 일부만 저장된 상태가 남지 않도록 둘 다 삭제합니다.
+     */
+    private void saveJwtInBackground(String providerId, String userId, String sessionId, String accessToken,
+            String refreshToken, long accessTtl, long refreshTtl) {
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() -> timed(providerId, "store-jwt", () -> {
+            withRetry(() -> {
+                tokenService.saveTokens(providerId, userId, sessionId, accessToken, accessTtl, refreshToken,
+                        refreshTtl);
+                return null;
+            });
+            return null;
+        }), executor).exceptionally(e -> {
+            System.err.println("❌ JWT 저장 실패, 보상 처리로 저장된 토큰 삭제: " + providerId + ":" + userId
+                    + " - " + e.getMessage());
+            meterRegistry.counter("oauth.pipeline.compensation", "provider", providerId).increment();
+            try {
+                tokenService.deleteTokens(providerId, userId, sessionId);
+            } catch (RuntimeException deleteError) {
+                System.err.println("❌ 보상 처리 실패: " + deleteError.getMessage());
+            }
+            return null;
+        });
+        pendingJwtWrites.add(write);
+        write.whenComplete((ignored, e) -> pendingJwtWrites.remove(write));
+    }
+
+    /**
+     * 종료 시 진행 중인 JWT 저장 완료 대기
+     */
+    @PreDestroy
+    public void shutdown() {
+        CompletableFuture<?>[] pending = pendingJwtWrites.toArray(new CompletableFuture<?>[0]);
+        if (pending.length > 0) {
+            System.out.println("진행 중인 JWT 저장 " + pending.length + "건 완료 대기 중...");
+            try {
+                CompletableFuture.allOf(pending).get(properties.getLoginTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                System.err.println("⚠️ JWT 저장 완료 대기 실패: " + e.getMessage());
+            }
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * id_token의 sub 클레임 추출
+     * 토큰 엔드포인트에서 TLS로 직접 받은 id_token이므로 서명 검증 없이 사용자 식별에만 사용합니다.
+     * (OpenID Connect Core 3.1.3.7) 사용자 정보 응답과 반드시 대조합니다.
+     */
+    private String readIdTokenSubject(String idToken) {
+        if (idToken == null) {
+            return null;
+        }
+        try {
+            String[] parts = idToken.split("\\.");
+            if (parts.length < 2) {
+                return null;
+            }
+            JsonNode sub = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1])).get("sub");
+            return sub != null && sub.isValueNode() ? sub.asText() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 로그인 제한 시간 내에 결과를 기다리고, 실패 원인 예외를 그대로 전달
+     */
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get(properties.getLoginTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new IllegalStateException("소셜 로그인 처리 시간이 초과되었습니다.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("소셜 로그인 처리가 중단되었습니다.", e);
+        }
+    }
+    /**
+     * 단계 실행 시간을 기록
+     */
+    private <T> T timed(String providerId, String stage, Supplier<T> step) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return step.get();
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("oauth.pipeline",
+                    "provider", providerId, "stage", stage, "outcome", outcome));
+        }
+    }
+
+    /**
+     * 네트워크 오류와 5xx 응답에 한해 지수 백오프로 재시도
+     */
+    private <T> T withRetry(Supplier<T> call) {
+        int attempt = 0;
+        while (true) {
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                if (attempt >= properties.getMaxRetries() || !isRetryable(e)) {
+                    throw e;
+                }
+                attempt++;
+                System.out.println("⚠️ 제공자 API 호출 재시도 (" + attempt + "/" + properties.getMaxRetries() + "): "
+                        + e.getMessage());
+                try {
+                    Thread.sleep(properties.getRetryBackoff().toMillis() * (1L << (attempt - 1)));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private boolean isRetryable(Throwable e) {
+        // 제공자 서비스는 원인 예외를 RuntimeException으로 감싸서 던지므로 원인 체인을 확인
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ResourceAccessException || t instanceof HttpServerErrorException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,22 @@
+package com.labzang.api.services.oauthservice.provider;
+
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
+
+/**
+ * 소셜 로그인 파이프라인 처리 결과
+ * 
+ * @param profile      사용자 프로필
+ * @param accessToken  자체 JWT Access Token
+ * @param refreshToken 자체 JWT Refresh Token
+ * @param expiresIn    Access Token 만료 시간 (초)
+ */
+public record OAuthLoginResult(
+        OAuthUserProfile profile,
+        String accessToken,
+        String refreshToken,
+        long expiresIn) {
+
+    public String userId() {
+        return profile.providerId();
+    }
+}
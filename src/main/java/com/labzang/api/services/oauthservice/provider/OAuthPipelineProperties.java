@@ -0,0 +1,33 @@
+package com.labzang.api.services.oauthservice.provider;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * 소셜 로그인 파이프라인 설정 프로퍼티
+ * 모든 제공자가 같은 HTTP 클라이언트 풀, 타임아웃, 재시도 정책을 사용합니다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "oauth.pipeline")
+public class OAuthPipelineProperties {
+
+    // 제공자 API 연결 타임아웃
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    // 제공자 API 응답 타임아웃
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    // 사용자 정보 조회 재시도 횟수 (토큰 교환은 Authorization Code가 일회용이므로 재시도하지 않음)
+    private int maxRetries = 2;
+
+    // 재시도 간격 (시도마다 배수로 증가)
+    private Duration retryBackoff = Duration.ofMillis(100);
+
+    // 토큰 교환 이후 병렬 단계 전체 제한 시간 (종료 시 JWT 저장 대기 시간으로도 사용)
+    private Duration loginTimeout = Duration.ofSeconds(10);
+}
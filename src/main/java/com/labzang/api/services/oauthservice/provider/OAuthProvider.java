@@ -0,0 +1,59 @@
+package com.labzang.api.services.oauthservice.provider;
+
+import com.labzang.api.services.oauthservice.profile.OAuthTokenResponse;
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
+
+/**
+ * 소셜 로그인 제공자 SPI
+ * 
+ * 제공자별 서비스(카카오, 구글, 네이버)가 구현하며 OAuthProviderRegistry에 id로 등록됩니다.
+ * 토큰 교환 → 사용자 정보 조회 → 토큰 저장 → JWT 발급 흐름은 OAuthLoginPipeline이 공통으로 처리하므로
+ * 구현체는 제공자 API 호출만 담당합니다.
+ */
+public interface OAuthProvider {
+
+    /**
+     * 제공자 ID (kakao, naver, google)
+     */
+    String id();
+
+    /**
+     * 제공자 인증 URL 생성
+     * 
+     * @param redirectUri 콜백 URL (null이면 설정값 사용)
+     * @param state       CSRF 방지용 state
+     * @return 인증 URL
+     */
+    String authorizationUrl(String redirectUri, String state);
+
+    /**
+     * Authorization Code를 Access Token으로 교환
+     * 
+     * @param code  Authorization Code
+     * @param state 인증 요청 시 사용한 state (필요한 제공자만 사용)
+     * @return 토큰 응답
+     */
+    OAuthTokenResponse exchangeCode(String code, String state);
+
+    /**
+     * Access Token으로 사용자 프로필 조회
+     * 
+     * @param accessToken 제공자 Access Token
+     * @return 공통 사용자 프로필
+     */
+    OAuthUserProfile fetchProfile(String accessToken);
+
+    /**
+     * 토큰 응답에 expires_in이 없을 때 사용할 Access Token 만료 시간 (초)
+     */
+    default long defaultAccessTokenTtl() {
+        return 3600;
+    }
+
+    /**
+     * 토큰 응답에 refresh_token_expires_in이 없을 때 사용할 Refresh Token 만료 시간 (초)
+     */
+    default long defaultRefreshTokenTtl() {
+        return 2592000;
+    }
+}
@@ -0,0 +1,48 @@
+package com.labzang.api.services.oauthservice.provider;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 소셜 로그인 제공자 레지스트리
+ * 스프링 빈으로 등록된 OAuthProvider 구현체를 제공자 ID로 조회합니다.
+ */
+@Component
+public class OAuthProviderRegistry {
+
+    private final Map<String, OAuthProvider> providers;
+
+    public OAuthProviderRegistry(List<OAuthProvider> providers) {
+        this.providers = Map.copyOf(providers.stream()
+                .collect(Collectors.toMap(OAuthProvider::id, Function.identity())));
+        System.out.println("✅ 소셜 로그인 제공자 등록: " + this.providers.keySet());
+    }
+
+    /**
+     * 제공자 조회
+     * 
+     * @param providerId 제공자 ID (kakao, naver, google)
+     * @return 제공자 구현체
+     * @throws IllegalArgumentException 등록되지 않은 제공자인 경우
+     */
+    public OAuthProvider get(String providerId) {
+        OAuthProvider provider = providers.get(providerId);
+        if (provider == null) {
+            throw new IllegalArgumentException("지원하지 않는 소셜 로그인 제공자입니다: " + providerId);
+        }
+        return provider;
+    }
+
+    public boolean supports(String providerId) {
+        return providers.containsKey(providerId);
+    }
+
+    public Set<String> ids() {
+        return providers.keySet();
+    }
+}
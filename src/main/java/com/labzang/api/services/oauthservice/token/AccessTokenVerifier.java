@@ -0,0 +1,78 @@
+package com.labzang.api.services.oauthservice.token;
+
+import com.labzang.api.services.oauthservice.jwt.ClaimProjection;
+import com.labzang.api.services.oauthservice.jwt.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자 Access Token 검증 (사용자 요청을 인증하는 모든 경로의 공통 검증)
+ *
+ * - 참조 토큰: Redis(ref:{토큰 다이제스트})에서 클레임 조회
+ * - JWT: 서명/유효 기간 검증 후 type=access인 토큰만 허용 (Refresh/머신 토큰 거부)
+ * - sid 클레임이 있으면 세션 인덱스에서 세션이 살아 있는지 확인 (로그아웃/전체 로그아웃/세션 초과로
+ *   제거된 세션의 토큰은 exp 전이라도 거부)
+ * Redis 장애로 세션 상태를 알 수 없으면 서명/유효 기간 검증 결과만 사용합니다.
+ */
+@Component
+public class AccessTokenVerifier {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ClaimProjection claimProjection;
+    private final ReferenceTokenService referenceTokenService;
+    private final SessionIndexService sessionIndex;
+
+    public AccessTokenVerifier(JwtTokenProvider jwtTokenProvider, ClaimProjection claimProjection,
+            ReferenceTokenService referenceTokenService, SessionIndexService sessionIndex) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.claimProjection = claimProjection;
+        this.referenceTokenService = referenceTokenService;
+        this.sessionIndex = sessionIndex;
+    }
+
+    /**
+     * Access Token 검증 (세션 확인 포함)
+     *
+     * @param token Access Token (JWT 또는 참조 토큰)
+     * @return 클레임, 유효하지 않거나 로그아웃된 세션이면 null
+     */
+    public Map<String, Object> verify(String token) {
+        Map<String, Object> claims = parse(token);
+        return claims != null && isSessionActive(claims) ? claims : null;
+    }
+
+    /**
+     * Access Token 클레임 조회 (세션 확인 없음)
+     *
+     * @param token Access Token (JWT 또는 참조 토큰)
+     * @return 클레임, 이 게이트웨이가 발급한 유효한 Access Token이 아니면 null
+     */
+    public Map<String, Object> parse(String token) {
+        if (token == null) {
+            return null;
+        }
+        if (referenceTokenService.isReferenceToken(token)) {
+            return referenceTokenService.resolve(token);
+        }
+        Claims claims = jwtTokenProvider.getValidAccessClaims(token);
+        return claims != null ? claimProjection.expand(claims) : null;
+    }
+
+    /**
+     * 토큰의 세션이 살아 있는지 확인
+     *
+     * @param claims 토큰 클레임
+     * @return sid가 없거나 세션이 활성이거나 Redis 장애로 알 수 없으면 true
+     */
+    public boolean isSessionActive(Map<String, Object> claims) {
+        if (!(claims.get("sid") instanceof String sessionId) || !sessionIndex.isEnabled()) {
+            return true;
+        }
+        List<Boolean> active = sessionIndex.areActive(List.of(new SessionIndexService.SessionKey(
+                String.valueOf(claims.get("provider")), String.valueOf(claims.get("sub")), sessionId)));
+        return active == null || active.get(0);
+    }
+}
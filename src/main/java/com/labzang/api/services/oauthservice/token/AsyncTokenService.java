@@ -0,0 +1,405 @@
+package com.labzang.api.services.oauthservice.token;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 비동기 토큰 저장소 (Redis)
+ *
+ * TokenService와 같은 키/값 형식을 사용하는 non-blocking 버전입니다.
+ * Lettuce 공유 연결 위에서 동작하므로 요청 스레드를 왕복 시간 동안 붙잡지 않고,
+ * 동시에 들어온 여러 요청의 명령이 하나의 연결로 함께 전송됩니다.
+ * 모든 메서드는 CompletableFuture를 반환하므로 컨트롤러에서 그대로 반환하거나 조합할 수 있습니다.
+ *
+ * 서킷 브레이커와 로컬 대체 저장소도 TokenService와 공유합니다.
+ * 게이트웨이 토큰은 TokenService와 같이 TokenDigest 형식으로 저장합니다.
+ * 임베디드 저장소(oauth.token.store=embedded)를 쓰면 Redis 대신 그 저장소에서 바로 처리합니다.
+ */
+@Service
+public class AsyncTokenService {
+
+    private final ReactiveRedisTemplate<String, Object> redisTemplate;
+    private final ReactiveRedisTemplate<String, Object> readTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final LocalTokenStore localStore;
+    private final TokenDigest tokenDigest;
+    private final TokenStore tokenStore;
+
+    // 해시 태그 도입 전 키 형식도 조회
+    @Value("${oauth.token.legacy-key-fallback:true}")
+    private boolean legacyKeyFallback = true;
+
+    public AsyncTokenService(
+            @Qualifier("reactiveTokenRedisTemplate") ReactiveRedisTemplate<String, Object> redisTemplate,
+            @Qualifier("replicaReadReactiveRedisTemplate") ReactiveRedisTemplate<String, Object> readTemplate,
+            RedisCircuitBreaker circuitBreaker,
+            LocalTokenStore localStore,
+            TokenDigest tokenDigest,
+            TokenStore tokenStore) {
+        this.redisTemplate = redisTemplate;
+        this.readTemplate = readTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.localStore = localStore;
+        this.tokenDigest = tokenDigest;
+        this.tokenStore = tokenStore;
+    }
+
+    /**
+     * Redis 장애로 대체 모드로 동작 중인지 확인
+     */
+    public boolean isDegraded() {
+        return tokenStore.isDegraded();
+    }
+
+    /**
+     * Access Token 저장
+     *
+     * @param provider    소셜 로그인 제공자 (kakao, naver, google)
+     * @param userId      사용자 ID
+     * @param accessToken Access Token
+     * @param expireTime  만료 시간 (초)
+     */
+    public CompletableFuture<Void> saveAccessToken(String provider, String userId, String accessToken,
+            long expireTime) {
+        return write(TokenService.tokenKey(provider, userId, "access"), tokenDigest.storedForm(accessToken),
+                expireTime);
+    }
+
+    /**
+     * Refresh Token 저장
+     *
+     * @param provider     소셜 로그인 제공자 (kakao, naver, google)
+     * @param userId       사용자 ID
+     * @param refreshToken Refresh Token
+     * @param expireTime   만료 시간 (초)
+     */
+    public CompletableFuture<Void> saveRefreshToken(String provider, String userId, String refreshToken,
+            long expireTime) {
+        return write(TokenService.tokenKey(provider, userId, "refresh"), tokenDigest.storedForm(refreshToken),
+                expireTime);
+    }
+
+    /**
+     * Access/Refresh Token 함께 저장 (두 명령을 동시에 전송)
+     */
+    public CompletableFuture<Void> saveTokens(String provider, String userId, String accessToken, long accessTtl,
+            String refreshToken, long refreshTtl) {
+        return saveTokens(provider, userId, null, accessToken, accessTtl, refreshToken, refreshTtl);
+    }
+
+    /**
+     * 세션의 Access/Refresh Token 함께 저장 (sid가 없으면 사용자 단위 키, 두 명령을 동시에 전송)
+     *
+     * @param provider     소셜 로그인 제공자
+     * @param userId       사용자 ID
+     * @param sessionId    세션 ID (토큰의 sid 클레임, 없으면 null)
+     * @param accessToken  Access Token
+     * @param accessTtl    Access Token 만료 시간 (초)
+     * @param refreshToken Refresh Token
+     * @param refreshTtl   Refresh Token 만료 시간 (초)
+     */
+    public CompletableFuture<Void> saveTokens(String provider, String userId, String sessionId, String accessToken,
+            long accessTtl, String refreshToken, long refreshTtl) {
+        return CompletableFuture.allOf(
+                write(TokenService.tokenKey(provider, userId, sessionId, "access"),
+                        tokenDigest.storedForm(accessToken), accessTtl),
+                write(TokenService.tokenKey(provider, userId, sessionId, "refresh"),
+                        tokenDigest.storedForm(refreshToken), refreshTtl));
+    }
+
+    /**
+     * Access Token 조회
+     *
+     * @param provider 소셜 로그인 제공자
+     * @param userId   사용자 ID
+     * @return 저장된 Access Token (다이제스트 또는 원본, 없거나 Redis 장애 시 null)
+     */
+    public CompletableFuture<String> getAccessToken(String provider, String userId) {
+        return read(TokenService.tokenKey(provider, userId, "access"),
+                String.format("token:%s:%s:access", provider, userId));
+    }
+
+    /**
+     * Refresh Token 조회
+     *
+     * @param provider 소셜 로그인 제공자
+     * @param userId   사용자 ID
+     * @return 저장된 Refresh Token (다이제스트 또는 원본, 없거나 Redis 장애 시 null)
+     */
+    public CompletableFuture<String> getRefreshToken(String provider, String userId) {
+        return read(TokenService.tokenKey(provider, userId, "refresh"),
+                String.format("token:%s:%s:refresh", provider, userId));
+    }
+
+    /**
+     * 제시된 토큰이 저장된 게이트웨이 토큰과 같은지 확인 (고정 시간 비교)
+     * 원본 형식으로 저장된 값이 일치하면 남은 TTL로 다이제스트로 바꿔 저장합니다.
+     *
+     * @param provider  소셜 로그인 제공자
+     * @param userId    사용자 ID
+     * @param type      access 또는 refresh
+     * @param presented 요청에 포함된 토큰
+     * @return 일치 여부, 저장된 토큰이 없으면 false, Redis 장애로 알 수 없으면 null
+     */
+    public CompletableFuture<Boolean> matchesToken(String provider, String userId, String type, String presented) {
+        return matchesToken(provider, userId, null, type, presented);
+    }
+
+    /**
+     * 제시된 토큰이 세션에 저장된 게이트웨이 토큰과 같은지 확인 (고정 시간 비교)
+     * 세션 단위 키가 없으면 사용자 단위 키를 확인합니다 (세션 단위 저장 도입 전에 발급된 토큰).
+     *
+     * @param provider  소셜 로그인 제공자
+     * @param userId    사용자 ID
+     * @param sessionId 세션 ID (토큰의 sid 클레임, 없으면 null)
+     * @param type      access 또는 refresh
+     * @param presented 요청에 포함된 토큰
+     * @return 일치 여부, 저장된 토큰이 없으면 false, Redis 장애로 알 수 없으면 null
+     */
+    public CompletableFuture<Boolean> matchesToken(String provider, String userId, String sessionId, String type,
+            String presented) {
+        if (sessionId != null) {
+            String sessionKey = TokenService.tokenKey(provider, userId, sessionId, type);
+            LocalTokenStore.Entry local = localStore.lookup(sessionKey);
+            CompletableFuture<String> stored = local != null
+                    ? CompletableFuture.completedFuture(local.isDeleted() ? null : local.value().toString())
+                    : get(sessionKey);
+            return stored.thenCompose(value -> value != null
+                    ? CompletableFuture.completedFuture(TokenDigest.matches(value, presented))
+                    : matchesToken(provider, userId, null, type, presented));
+        }
+        String key = TokenService.tokenKey(provider, userId, type);
+        return read(key, String.format("token:%s:%s:%s", provider, userId, type)).thenCompose(stored -> {
+            if (stored == null) {
+                return CompletableFuture.completedFuture(isDegraded() ? null : false);
+            }
+            boolean matches = TokenDigest.matches(stored, presented);
+            if (!matches || !tokenDigest.isEnabled() || TokenDigest.isDigest(stored)) {
+                return CompletableFuture.completedFuture(matches);
+            }
+            return migrateToDigest(key, presented).thenApply(ignored -> true);
+        });
+    }
+
+    /**
+     * 저장된 게이트웨이 토큰 일괄 조회
+     *
+     * @param keys 조회할 토큰 키 목록
+     * @return keys와 같은 순서의 토큰 (없으면 null)
+     */
+    public CompletableFuture<List<String>> getTokens(List<TokenService.TokenKey> keys) {
+        List<CompletableFuture<String>> lookups = new ArrayList<>(keys.size());
+        for (TokenService.TokenKey key : keys) {
+            lookups.add(read(TokenService.tokenKey(key.provider(), key.userId(), key.type()),
+                    String.format("token:%s:%s:%s", key.provider(), key.userId(), key.type())));
+        }
+        return CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            List<String> tokens = new ArrayList<>(lookups.size());
+            lookups.forEach(lookup -> tokens.add(lookup.join()));
+            return tokens;
+        });
+    }
+
+    /**
+     * 토큰 삭제
+     *
+     * @param provider 소셜 로그인 제공자
+     * @param userId   사용자 ID
+     */
+    public CompletableFuture<Void> deleteTokens(String provider, String userId) {
+        return deleteTokens(provider, userId, null);
+    }
+
+    /**
+     * 세션의 토큰 삭제 (sid가 없으면 사용자 단위 키)
+     *
+     * @param provider  소셜 로그인 제공자
+     * @param userId    사용자 ID
+     * @param sessionId 세션 ID (없으면 null)
+     */
+    public CompletableFuture<Void> deleteTokens(String provider, String userId, String sessionId) {
+        if (sessionId != null) {
+            return remove(TokenService.tokenKey(provider, userId, sessionId, "access"),
+                    TokenService.tokenKey(provider, userId, sessionId, "refresh"));
+        }
+        CompletableFuture<Void> delete = remove(TokenService.tokenKey(provider, userId, "access"),
+                TokenService.tokenKey(provider, userId, "refresh"));
+        if (!legacyKeyFallback) {
+            return delete;
+        }
+        return CompletableFuture.allOf(delete,
+                remove(String.format("token:%s:%s:access", provider, userId)),
+                remove(String.format("token:%s:%s:refresh", provider, userId)));
+    }
+
+    /**
+     * Authorization Code 저장 (임시 저장용)
+     *
+     * @param provider   소셜 로그인 제공자
+     * @param code       Authorization Code
+     * @param state      state 값
+     * @param expireTime 만료 시간 (초)
+     */
+    public CompletableFuture<Void> saveAuthorizationCode(String provider, String code, String state,
+            long expireTime) {
+        return write(String.format("code:%s:%s", provider, code), state != null ? state : "", expireTime);
+    }
+
+    /**
+     * Authorization Code 검증 및 삭제 (GETDEL 한 번으로 원자적으로 처리)
+     *
+     * @param provider 소셜 로그인 제공자
+     * @param code     Authorization Code
+     * @return state 값 (있으면 반환, 없으면 null)
+     */
+    public CompletableFuture<String> verifyAndDeleteAuthorizationCode(String provider, String code) {
+        String key = String.format("code:%s:%s", provider, code);
+        if (tokenStore.isLocal()) {
+            return CompletableFuture.completedFuture(tokenStore.getAndDelete(key));
+        }
+        LocalTokenStore.Entry local = localStore.lookup(key);
+        if (local != null) {
+            if (local.isDeleted()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            localStore.delete(key);
+            return CompletableFuture.completedFuture(local.value().toString());
+        }
+        return circuitBreaker.callAsync(
+                () -> redisTemplate.opsForValue().getAndDelete(key).toFuture(),
+                () -> null)
+                .thenApply(state -> state != null ? state.toString() : null);
+    }
+
+    /**
+     * OAuth 제공자 원본 Access Token 저장
+     */
+    public CompletableFuture<Void> saveOAuthAccessToken(String provider, String userId, String accessToken,
+            long expireTime) {
+        return write(TokenService.oauthKey(provider, userId, "access"), accessToken, expireTime);
+    }
+
+    /**
+     * OAuth 제공자 원본 Refresh Token 저장
+     */
+    public CompletableFuture<Void> saveOAuthRefreshToken(String provider, String userId, String refreshToken,
+            long expireTime) {
+        return write(TokenService.oauthKey(provider, userId, "refresh"), refreshToken, expireTime);
+    }
+
+    /**
+     * OAuth 제공자 원본 Access Token 조회
+     */
+    public CompletableFuture<String> getOAuthAccessToken(String provider, String userId) {
+        return read(TokenService.oauthKey(provider, userId, "access"),
+                String.format("oauth:%s:%s:access", provider, userId));
+    }
+
+    /**
+     * OAuth 제공자 원본 Refresh Token 조회
+     */
+    public CompletableFuture<String> getOAuthRefreshToken(String provider, String userId) {
+        return read(TokenService.oauthKey(provider, userId, "refresh"),
+                String.format("oauth:%s:%s:refresh", provider, userId));
+    }
+
+    /**
+     * OAuth 제공자 원본 토큰 삭제
+     */
+    public CompletableFuture<Void> deleteOAuthTokens(String provider, String userId) {
+        CompletableFuture<Void> delete = remove(TokenService.oauthKey(provider, userId, "access"),
+                TokenService.oauthKey(provider, userId, "refresh"));
+        if (!legacyKeyFallback) {
+            return delete;
+        }
+        return CompletableFuture.allOf(delete,
+                remove(String.format("oauth:%s:%s:access", provider, userId)),
+                remove(String.format("oauth:%s:%s:refresh", provider, userId)));
+    }
+
+    /**
+     * 원본으로 저장된 토큰을 남은 TTL 그대로 다이제스트로 교체 (실패해도 다음 비교 때 다시 시도)
+     */
+    private CompletableFuture<Void> migrateToDigest(String key, String token) {
+        if (tokenStore.isLocal()) {
+            long ttl = tokenStore.getExpire(key);
+            if (ttl > 0) {
+                tokenStore.set(key, TokenDigest.of(token), ttl);
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+        return circuitBreaker.callAsync(() -> redisTemplate.getExpire(key).toFuture().thenCompose(ttl -> {
+            if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+                return CompletableFuture.completedFuture((Void) null);
+            }
+            return redisTemplate.opsForValue().set(key, TokenDigest.of(token), ttl).toFuture()
+                    .thenApply(ok -> (Void) null);
+        }), () -> null);
+    }
+
+    /**
+     * 로컬 기록 우선 조회, 없으면 replica 우선 Redis 조회 (이전 형식 키 포함)
+     */
+    private CompletableFuture<String> read(String key, String legacyKey) {
+        LocalTokenStore.Entry local = localStore.lookup(key);
+        if (local != null) {
+            return CompletableFuture.completedFuture(local.isDeleted() ? null : local.value().toString());
+        }
+        return get(key).thenCompose(value -> value != null || !legacyKeyFallback
+                ? CompletableFuture.completedFuture(value)
+                : get(legacyKey));
+    }
+
+    private CompletableFuture<String> get(String key) {
+        if (tokenStore.isLocal()) {
+            return CompletableFuture.completedFuture(tokenStore.get(key));
+        }
+        return circuitBreaker.callAsync(() -> readTemplate.opsForValue().get(key).toFuture(), () -> null)
+                .thenApply(value -> value != null ? value.toString() : null);
+    }
+
+    private CompletableFuture<Void> write(String key, String value, long ttlSeconds) {
+        if (tokenStore.isLocal()) {
+            tokenStore.set(key, value, ttlSeconds);
+            return CompletableFuture.completedFuture(null);
+        }
+        return circuitBreaker.callAsync(
+                () -> redisTemplate.opsForValue().set(key, value, Duration.ofSeconds(ttlSeconds)).toFuture()
+                        .thenApply(ok -> {
+                            localStore.discard(key);
+                            return (Void) null;
+                        }),
+                () -> {
+                    localStore.put(key, value, ttlSeconds);
+                    return null;
+                });
+    }
+
+    private CompletableFuture<Void> remove(String... keys) {
+        if (tokenStore.isLocal()) {
+            tokenStore.delete(keys);
+            return CompletableFuture.completedFuture(null);
+        }
+        return circuitBreaker.callAsync(
+                () -> redisTemplate.delete(keys).toFuture()
+                        .thenApply(count -> {
+                            for (String key : keys) {
+                                localStore.discard(key);
+                            }
+                            return (Void) null;
+                        }),
+                () -> {
+                    for (String key : keys) {
+                        localStore.delete(key);
+                    }
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,188 @@
+package com.labzang.api.services.oauthservice.token;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 임베디드 저장소용 세션 인덱스 (oauth.token.store=embedded)
+ *
+ * Redis sorted set/hash 대신 TokenStore에 두 종류의 키를 둡니다.
+ * - sessions:{provider:userId}:{sid} → "만료 시각|생성 시각|클라이언트" (세션 만료까지 TTL)
+ * - sessions:{provider:userId} → 콤마로 구분한 sid 목록 (가장 늦게 만료되는 세션까지 TTL)
+ * 세션 확인은 세션 키 조회 한 번이고, 등록/로그아웃은 사용자 단위 잠금 안에서 목록을 읽고 고쳐 씁니다.
+ * 단일 노드 전용이므로 프로세스 안의 잠금으로 Redis 스크립트의 원자성을 대신합니다.
+ * sid 목록 값이 슬롯에 들어가야 하므로 max-sessions-per-user × 23바이트가 slot-bytes보다 충분히 작아야 합니다.
+ */
+final class EmbeddedSessionIndex {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final TokenStore tokenStore;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    EmbeddedSessionIndex(TokenStore tokenStore) {
+        this.tokenStore = tokenStore;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * 세션 등록 (만료된 세션 정리, 최대 세션 수 초과분 제거)
+     *
+     * @return 제거된 세션 수
+     */
+    int register(String provider, String userId, String sessionId, String client, long createdAt, long expiresAt,
+            int maxSessions) {
+        String indexKey = SessionIndexService.indexKey(provider, userId);
+        synchronized (lock(indexKey)) {
+            long now = System.currentTimeMillis();
+            List<SessionIndexService.SessionInfo> sessions = load(indexKey, now);
+            sessions.removeIf(session -> session.sessionId().equals(sessionId));
+            sessions.add(new SessionIndexService.SessionInfo(sessionId, createdAt, expiresAt, client));
+            sessions.sort(Comparator.comparingLong(SessionIndexService.SessionInfo::expiresAt));
+
+            int evicted = 0;
+            while (sessions.size() > maxSessions) {
+                tokenStore.delete(sessionKey(indexKey, sessions.remove(0).sessionId()));
+                evicted++;
+            }
+            tokenStore.set(sessionKey(indexKey, sessionId),
+                    expiresAt + "|" + createdAt + "|" + (client != null ? client : ""), ttlSeconds(expiresAt, now));
+            save(indexKey, sessions, now);
+            return evicted;
+        }
+    }
+
+    /**
+     * 활성 세션 목록 (만료 시각 순)
+     */
+    List<SessionIndexService.SessionInfo> list(String provider, String userId) {
+        String indexKey = SessionIndexService.indexKey(provider, userId);
+        List<SessionIndexService.SessionInfo> sessions = load(indexKey, System.currentTimeMillis());
+        sessions.sort(Comparator.comparingLong(SessionIndexService.SessionInfo::expiresAt));
+        return sessions;
+    }
+
+    /**
+     * 여러 세션의 활성 여부 (세션 키 조회)
+     */
+    List<Boolean> areActive(List<SessionIndexService.SessionKey> keys) {
+        List<String> sessionKeys = new ArrayList<>(keys.size());
+        for (SessionIndexService.SessionKey key : keys) {
+            sessionKeys.add(sessionKey(SessionIndexService.indexKey(key.provider(), key.userId()), key.sessionId()));
+        }
+        List<String> values = tokenStore.multiGet(sessionKeys);
+        long now = System.currentTimeMillis();
+        List<Boolean> active = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            active.add(values.get(i) != null && decode(keys.get(i).sessionId(), values.get(i)).expiresAt() > now);
+        }
+        return active;
+    }
+
+    /**
+     * 세션 하나 제거
+     *
+     * @return 세션이 있었으면 true
+     */
+    boolean revoke(String provider, String userId, String sessionId) {
+        String indexKey = SessionIndexService.indexKey(provider, userId);
+        synchronized (lock(indexKey)) {
+            long now = System.currentTimeMillis();
+            List<SessionIndexService.SessionInfo> sessions = load(indexKey, now);
+            boolean removed = sessions.removeIf(session -> session.sessionId().equals(sessionId));
+            tokenStore.delete(sessionKey(indexKey, sessionId));
+            save(indexKey, sessions, now);
+            return removed;
+        }
+    }
+
+    /**
+     * 사용자의 모든 세션 제거
+     *
+     * @return 제거된 세션 ID (만료되지 않은 세션)
+     */
+    List<String> removeAll(String provider, String userId) {
+        String indexKey = SessionIndexService.indexKey(provider, userId);
+        synchronized (lock(indexKey)) {
+            String ids = tokenStore.get(indexKey);
+            List<String> sessionIds = load(indexKey, System.currentTimeMillis()).stream()
+                    .map(SessionIndexService.SessionInfo::sessionId)
+                    .toList();
+            List<String> keys = new ArrayList<>();
+            keys.add(indexKey);
+            if (ids != null && !ids.isEmpty()) {
+                for (String sessionId : ids.split(",")) {
+                    keys.add(sessionKey(indexKey, sessionId));
+                }
+            }
+            tokenStore.delete(keys.toArray(String[]::new));
+            return sessionIds;
+        }
+    }
+
+    /**
+     * sid 목록과 세션 키를 읽어 만료되지 않은 세션만 반환
+     */
+    private List<SessionIndexService.SessionInfo> load(String indexKey, long now) {
+        List<SessionIndexService.SessionInfo> sessions = new ArrayList<>();
+        String ids = tokenStore.get(indexKey);
+        if (ids == null || ids.isEmpty()) {
+            return sessions;
+        }
+        String[] sessionIds = ids.split(",");
+        List<String> sessionKeys = new ArrayList<>(sessionIds.length);
+        for (String sessionId : sessionIds) {
+            sessionKeys.add(sessionKey(indexKey, sessionId));
+        }
+        List<String> values = tokenStore.multiGet(sessionKeys);
+        for (int i = 0; i < sessionIds.length; i++) {
+            if (values.get(i) == null) {
+                continue;
+            }
+            SessionIndexService.SessionInfo session = decode(sessionIds[i], values.get(i));
+            if (session.expiresAt() > now) {
+                sessions.add(session);
+            }
+        }
+        return sessions;
+    }
+
+    private void save(String indexKey, List<SessionIndexService.SessionInfo> sessions, long now) {
+        if (sessions.isEmpty()) {
+            tokenStore.delete(indexKey);
+            return;
+        }
+        StringBuilder ids = new StringBuilder();
+        long lastExpiry = 0;
+        for (SessionIndexService.SessionInfo session : sessions) {
+            if (!ids.isEmpty()) {
+                ids.append(',');
+            }
+            ids.append(session.sessionId());
+            lastExpiry = Math.max(lastExpiry, session.expiresAt());
+        }
+        tokenStore.set(indexKey, ids.toString(), ttlSeconds(lastExpiry, now));
+    }
+
+    private static SessionIndexService.SessionInfo decode(String sessionId, String value) {
+        String[] parts = value.split("\\|", 3);
+        String client = parts.length > 2 && !parts[2].isEmpty() ? parts[2] : null;
+        return new SessionIndexService.SessionInfo(sessionId, Long.parseLong(parts[1]), Long.parseLong(parts[0]),
+                client);
+    }
+
+    private static long ttlSeconds(long expiresAt, long now) {
+        return Math.max(1, (expiresAt - now + 999) / 1000);
+    }
+
+    private static String sessionKey(String indexKey, String sessionId) {
+        return indexKey + ":" + sessionId;
+    }
+
+    private Object lock(String indexKey) {
+        return locks[Math.floorMod(indexKey.hashCode(), LOCK_STRIPES)];
+    }
+}
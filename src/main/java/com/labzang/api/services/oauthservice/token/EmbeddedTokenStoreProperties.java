@@ -0,0 +1,32 @@
+package com.labzang.api.services.oauthservice.token;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * 단일 노드용 임베디드 토큰 저장소 설정 프로퍼티 (oauth.token.store=embedded일 때 사용)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "oauth.token.embedded")
+public class EmbeddedTokenStoreProperties {
+
+    // 저장 파일 경로 (재시작 후에도 유지)
+    private String path = "data/token-store.dat";
+
+    // 전체 슬롯 수 (예상 항목 수의 2배 이상 권장, segments의 배수로 올림)
+    private int capacity = 1 << 20;
+
+    // 슬롯 크기 (바이트, 헤더 24바이트 + 키 + 값, digest-storage=false이면 jwt.claims.max-token-bytes + 200 이상)
+    private int slotBytes = 512;
+
+    // 잠금 단위 세그먼트 수
+    private int segments = 64;
+
+    // 변경된 페이지를 디스크에 기록(msync)하는 주기
+    private Duration flushInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,29 @@
+package com.labzang.api.services.oauthservice.token;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * 토큰 introspection (RFC 7662) 설정 프로퍼티
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "oauth.introspection")
+public class IntrospectionProperties {
+
+    // 호출 서비스의 머신 토큰(client_credentials)에 필요한 scope
+    private String requiredScope = "token:introspect";
+
+    // 배치 요청 한 번에 받을 최대 토큰 수
+    private int maxBatchSize = 100;
+
+    // 응답 캐시 최대 시간 (exp까지 캐시하되, 폐기 반영 지연을 이 시간으로 제한)
+    private Duration maxCacheAge = Duration.ofMinutes(5);
+
+    // 발급 직후 Redis 저장(백그라운드)이 끝나기 전에는 저장된 토큰이 없어도 활성으로 판단
+    private Duration pendingWriteGrace = Duration.ofSeconds(5);
+}
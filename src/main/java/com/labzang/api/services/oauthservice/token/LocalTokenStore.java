@@ -0,0 +1,191 @@
+package com.labzang.api.services.oauthservice.token;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 장애 시 사용하는 로컬 대체 토큰 저장소
+ * 
+ * Redis 쓰기가 실패하거나 서킷이 열려 있는 동안의 저장/삭제를 키별 최신 작업 하나로 합쳐 기록하고(replay 저널),
+ * Redis가 복구되면 백그라운드에서 순서대로 Redis에 다시 반영합니다.
+ * - 저장: 남은 TTL로 SET (이미 만료된 항목은 버림)
+ * - 삭제: tombstone으로 기록했다가 DEL
+ * 반영 전까지는 조회 시 이 저장소가 Redis보다 우선합니다(더 최신 상태).
+ */
+@Component
+public class LocalTokenStore {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final TokenResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 기록된 작업
+     * 
+     * @param value     저장한 값 (null이면 삭제)
+     * @param expiresAt 만료 시각 (epoch ms)
+     */
+    public record Entry(Object value, long expiresAt) {
+
+        public boolean isDeleted() {
+            return value == null;
+        }
+    }
+
+    public LocalTokenStore(RedisTemplate<String, Object> redisTemplate, RedisCircuitBreaker circuitBreaker,
+            TokenResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "token-store-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getReplayInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::replayQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        meterRegistry.gaugeMapSize("oauth.token.local-store.pending", Tags.empty(), entries);
+    }
+
+    /**
+     * 저장 기록
+     * 
+     * @param key        Redis 키
+     * @param value      값
+     * @param ttlSeconds 만료 시간 (초)
+     */
+    public void put(String key, Object value, long ttlSeconds) {
+        record(key, new Entry(value, System.currentTimeMillis() + ttlSeconds * 1000));
+    }
+
+    /**
+     * 삭제 기록 (복구 후 DEL)
+     * 
+     * @param key Redis 키
+     */
+    public void delete(String key) {
+        record(key, new Entry(null, Long.MAX_VALUE));
+    }
+
+    /**
+     * 기록된 작업 조회
+     * 
+     * @param key Redis 키
+     * @return 기록된 작업, 없으면 null (Redis 상태를 알 수 없음)
+     */
+    public Entry lookup(String key) {
+        if (entries.isEmpty()) {
+            return null;
+        }
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.isDeleted() && entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Redis에 직접 반영된 키의 기록 제거 (이후 replay가 더 최신 값을 덮어쓰지 않도록)
+     */
+    public void discard(String key) {
+        if (!entries.isEmpty()) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * 종료 시 남은 기록 반영 시도
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        replayQuietly();
+        if (!entries.isEmpty()) {
+            System.err.println("❌ 종료 시 Redis에 반영하지 못한 토큰 작업: " + entries.size() + "건");
+        }
+    }
+
+    private void record(String key, Entry entry) {
+        if (entries.size() >= properties.getMaxLocalEntries() && !entries.containsKey(key)) {
+            long now = System.currentTimeMillis();
+            entries.entrySet().removeIf(e -> !e.getValue().isDeleted() && e.getValue().expiresAt() <= now);
+            if (entries.size() >= properties.getMaxLocalEntries()) {
+                // 가득 찬 경우 기록하지 않음 (토큰 자체는 JWT 검증으로 계속 사용 가능)
+                meterRegistry.counter("oauth.token.local-store.dropped").increment();
+                return;
+            }
+        }
+        entries.put(key, entry);
+    }
+
+    private void replayQuietly() {
+        try {
+            replay();
+        } catch (RuntimeException e) {
+            System.err.println("❌ 토큰 작업 재반영 중 오류: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 기록된 작업을 Redis에 재반영
+     * 서킷이 열려 있으면 바로 중단하고, 시험 호출 시점이 되면 첫 작업이 시험 호출이 됩니다.
+     */
+    void replay() {
+        if (entries.isEmpty()) {
+            return;
+        }
+        int replayed = 0;
+        for (Map.Entry<String, Entry> item : entries.entrySet()) {
+            String key = item.getKey();
+            Entry entry = item.getValue();
+            long remaining = entry.expiresAt() - System.currentTimeMillis();
+            if (!entry.isDeleted() && remaining <= 0) {
+                entries.remove(key, entry);
+                continue;
+            }
+            boolean applied = circuitBreaker.call(() -> {
+                if (entry.isDeleted()) {
+                    redisTemplate.delete(key);
+                } else {
+                    redisTemplate.opsForValue().set(key, entry.value(), remaining, TimeUnit.MILLISECONDS);
+                }
+                return true;
+            }, () -> false);
+            if (!applied) {
+                break;
+            }
+            entries.remove(key, entry);
+            replayed++;
+        }
+        if (replayed > 0) {
+            meterRegistry.counter("oauth.token.local-store.replayed").increment(replayed);
+            System.out.println("✅ Redis 복구 후 토큰 작업 " + replayed + "건 재반영 (남은 작업: " + entries.size() + "건)");
+        }
+    }
+}
@@ -0,0 +1,592 @@
+package com.labzang.api.services.oauthservice.token;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * 단일 노드용 임베디드 토큰 저장소 (oauth.token.store=embedded)
+ *
+ * 게이트웨이가 한 대뿐인 엣지/사내 배포에서 네트워크 Redis 왕복 없이 토큰을 조회합니다.
+ * 메모리 매핑 파일 위의 고정 크기 슬롯 해시 테이블(선형 탐색)로, 항목이 Java 힙 밖에 있으므로
+ * 수백만 개의 세션을 저장해도 GC 부담이 없습니다.
+ *
+ * 파일 구조: 4KB 헤더 + 세그먼트별 슬롯 배열 (세그먼트 단위로 잠금)
+ * 슬롯 구조: 상태(1) + 해시(4) + 만료 시각(8) + 키 길이(2) + 값 길이(2) + CRC32C(4) + 키 + 값
+ *
+ * - 만료: 조회 시 만료 시각을 확인하고, 1초 단위 타이밍 휠이 만료된 슬롯을 회수합니다.
+ * - 재시작: 파일을 다시 매핑하여 CRC가 맞고 만료되지 않은 항목을 그대로 사용합니다.
+ *   슬롯 내용을 먼저 쓰고 상태 바이트를 마지막에 쓰므로, 쓰는 도중 중단된 슬롯은 CRC 검사에서 버려집니다.
+ * - 프로세스가 비정상 종료되어도 매핑된 페이지는 OS가 파일에 기록하며,
+ *   전원 장애에 대비해 flush-interval마다 변경된 세그먼트를 디스크에 동기화합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "oauth.token.store", havingValue = "embedded")
+public class MappedTokenStore implements TokenStore {
+
+    private static final int MAGIC = 0x4C5A5453; // "LZTS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4096;
+
+    private static final byte EMPTY = 0;
+    private static final byte USED = 1;
+    private static final byte DELETED = 2;
+
+    // 슬롯 내 위치
+    private static final int STATE = 0;
+    private static final int HASH = 4;
+    private static final int EXPIRES_AT = 8;
+    private static final int KEY_LENGTH = 16;
+    private static final int VALUE_LENGTH = 18;
+    private static final int CRC = 20;
+    private static final int DATA = 24;
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 4096;
+
+    private final EmbeddedTokenStoreProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private FileChannel channel;
+    private Segment[] segments;
+    private int slotBytes;
+    private final ExpiryWheel wheel = new ExpiryWheel();
+    private ScheduledExecutorService scheduler;
+
+    public MappedTokenStore(EmbeddedTokenStoreProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 세그먼트 (슬롯 배열 + 잠금 단위)
+     */
+    private static final class Segment {
+        final MappedByteBuffer buffer;
+        final int slots;
+        int used;
+        boolean dirty;
+
+        Segment(MappedByteBuffer buffer, int slots) {
+            this.buffer = buffer;
+            this.slots = slots;
+        }
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        int segmentCount = Math.max(1, properties.getSegments());
+        int slotsPerSegment = Math.max(16, (properties.getCapacity() + segmentCount - 1) / segmentCount);
+        slotBytes = properties.getSlotBytes();
+        if ((long) slotsPerSegment * slotBytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("세그먼트 크기가 2GB를 넘습니다. oauth.token.embedded.segments를 늘리세요.");
+        }
+
+        Path path = Path.of(properties.getPath()).toAbsolutePath();
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        if (Files.exists(path) && !headerMatches(path, segmentCount, slotsPerSegment)) {
+            // 설정이 바뀌어 기존 파일을 그대로 쓸 수 없으면 보관 후 새로 생성
+            Path old = path.resolveSibling(path.getFileName() + ".old");
+            Files.move(path, old, StandardCopyOption.REPLACE_EXISTING);
+            System.err.println("⚠️ 임베디드 토큰 저장소 설정이 변경되어 기존 파일을 보관했습니다: " + old);
+        }
+
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(8, segmentCount);
+        header.putInt(12, slotsPerSegment);
+        header.putInt(16, slotBytes);
+        header.force();
+
+        long segmentBytes = (long) slotsPerSegment * slotBytes;
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(channel.map(FileChannel.MapMode.READ_WRITE,
+                    HEADER_BYTES + i * segmentBytes, segmentBytes), slotsPerSegment);
+        }
+
+        int restored = recover();
+        System.out.println("✅ 임베디드 토큰 저장소 열림: " + path + " (슬롯 " + segmentCount * slotsPerSegment
+                + "개, 복구된 항목 " + restored + "개)");
+
+        meterRegistry.gauge("oauth.token.embedded.entries", this, MappedTokenStore::size);
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "embedded-token-store");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::expireQuietly, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        long flushMillis = Math.max(1, properties.getFlushInterval().toMillis());
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        if (segments != null) {
+            flushQuietly();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    @Override
+    public String get(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int slot = find(segment, hash, keyBytes);
+            return slot >= 0 ? readValue(segment, slot) : null;
+        }
+    }
+
+    @Override
+    public List<String> multiGet(List<String> keys) {
+        List<String> values = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            values.add(get(key));
+        }
+        return values;
+    }
+
+    @Override
+    public void set(String key, String value, long ttlSeconds) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+        if (DATA + keyBytes.length + valueBytes.length > slotBytes) {
+            throw new IllegalArgumentException("토큰 값이 슬롯 크기(" + slotBytes + " bytes)를 초과합니다: " + key
+                    + ". oauth.token.embedded.slot-bytes를 늘리세요.");
+        }
+        long expiresAt = System.currentTimeMillis() + ttlSeconds * 1000;
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        int slot;
+        synchronized (segment) {
+            slot = findForWrite(segment, hash, keyBytes);
+            if (slot < 0) {
+                throw new IllegalStateException("임베디드 토큰 저장소가 가득 찼습니다. oauth.token.embedded.capacity를 늘리세요.");
+            }
+            writeSlot(segment, slot, hash, keyBytes, valueBytes, expiresAt);
+        }
+        wheel.schedule(segmentIndex(hash), slot, expiresAt);
+    }
+
+    @Override
+    public void setAll(List<Write> writes) {
+        for (Write write : writes) {
+            set(write.key(), write.value(), write.ttlSeconds());
+        }
+    }
+
+    @Override
+    public void delete(String... keys) {
+        for (String key : keys) {
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            int hash = hash(key);
+            Segment segment = segmentFor(hash);
+            synchronized (segment) {
+                int slot = find(segment, hash, keyBytes);
+                if (slot >= 0) {
+                    remove(segment, slot);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String getAndDelete(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int slot = find(segment, hash, keyBytes);
+            if (slot < 0) {
+                return null;
+            }
+            String value = readValue(segment, slot);
+            remove(segment, slot);
+            return value;
+        }
+    }
+
+    @Override
+    public long getExpire(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int slot = find(segment, hash, keyBytes);
+            if (slot < 0) {
+                return -2;
+            }
+            long remaining = segment.buffer.getLong(offset(slot) + EXPIRES_AT) - System.currentTimeMillis();
+            return (remaining + 999) / 1000;
+        }
+    }
+
+    @Override
+    public boolean isDegraded() {
+        return false;
+    }
+
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+
+    /**
+     * 저장된 항목 수 (만료되었지만 아직 회수되지 않은 항목 포함)
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.used;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 만료되지 않은 항목의 슬롯 번호, 없으면 -1 (빈 슬롯을 만나면 탐색 종료)
+     */
+    private int find(Segment segment, int hash, byte[] key) {
+        MappedByteBuffer buffer = segment.buffer;
+        int start = startSlot(segment, hash);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < segment.slots; i++) {
+            int slot = (start + i) % segment.slots;
+            int offset = offset(slot);
+            byte state = buffer.get(offset + STATE);
+            if (state == EMPTY) {
+                return -1;
+            }
+            if (state == USED && buffer.getInt(offset + HASH) == hash && keyEquals(buffer, offset, key)) {
+                if (buffer.getLong(offset + EXPIRES_AT) <= now) {
+                    remove(segment, slot);
+                    return -1;
+                }
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 같은 키가 있으면 그 슬롯, 없으면 처음 만난 빈/삭제 슬롯, 가득 찼으면 -1
+     */
+    private int findForWrite(Segment segment, int hash, byte[] key) {
+        MappedByteBuffer buffer = segment.buffer;
+        int start = startSlot(segment, hash);
+        int free = -1;
+        for (int i = 0; i < segment.slots; i++) {
+            int slot = (start + i) % segment.slots;
+            int offset = offset(slot);
+            byte state = buffer.get(offset + STATE);
+            if (state == EMPTY) {
+                return free >= 0 ? free : slot;
+            }
+            if (state == DELETED) {
+                if (free < 0) {
+                    free = slot;
+                }
+            } else if (buffer.getInt(offset + HASH) == hash && keyEquals(buffer, offset, key)) {
+                return slot;
+            }
+        }
+        return free;
+    }
+
+    /**
+     * 슬롯 기록 (내용 → CRC → 상태 순서로 써서 중단된 기록은 복구 시 버려지도록 함)
+     */
+    private void writeSlot(Segment segment, int slot, int hash, byte[] key, byte[] value, long expiresAt) {
+        MappedByteBuffer buffer = segment.buffer;
+        int offset = offset(slot);
+        boolean wasUsed = buffer.get(offset + STATE) == USED;
+        buffer.putInt(offset + HASH, hash);
+        buffer.putLong(offset + EXPIRES_AT, expiresAt);
+        buffer.putShort(offset + KEY_LENGTH, (short) key.length);
+        buffer.putShort(offset + VALUE_LENGTH, (short) value.length);
+        buffer.put(offset + DATA, key);
+        buffer.put(offset + DATA + key.length, value);
+        buffer.putInt(offset + CRC, checksum(buffer, offset));
+        buffer.put(offset + STATE, USED);
+        if (!wasUsed) {
+            segment.used++;
+        }
+        segment.dirty = true;
+    }
+
+    /**
+     * 슬롯 삭제
+     * 다음 슬롯이 비어 있으면 탐색 경로가 끊겨도 되므로 뒤에서부터 삭제 표시를 빈 슬롯으로 되돌립니다.
+     */
+    private void remove(Segment segment, int slot) {
+        MappedByteBuffer buffer = segment.buffer;
+        buffer.put(offset(slot) + STATE, DELETED);
+        segment.used--;
+        segment.dirty = true;
+
+        int current = slot;
+        while (buffer.get(offset((current + 1) % segment.slots) + STATE) == EMPTY
+                && buffer.get(offset(current) + STATE) == DELETED) {
+            buffer.put(offset(current) + STATE, EMPTY);
+            current = (current - 1 + segment.slots) % segment.slots;
+            if (current == slot) {
+                break;
+            }
+        }
+    }
+
+    private String readValue(Segment segment, int slot) {
+        MappedByteBuffer buffer = segment.buffer;
+        int offset = offset(slot);
+        int keyLength = Short.toUnsignedInt(buffer.getShort(offset + KEY_LENGTH));
+        byte[] value = new byte[Short.toUnsignedInt(buffer.getShort(offset + VALUE_LENGTH))];
+        buffer.get(offset + DATA + keyLength, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private boolean keyEquals(MappedByteBuffer buffer, int offset, byte[] key) {
+        if (Short.toUnsignedInt(buffer.getShort(offset + KEY_LENGTH)) != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(offset + DATA + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int checksum(MappedByteBuffer buffer, int offset) {
+        int length = Short.toUnsignedInt(buffer.getShort(offset + KEY_LENGTH))
+                + Short.toUnsignedInt(buffer.getShort(offset + VALUE_LENGTH));
+        if (DATA + length > slotBytes) {
+            return ~buffer.getInt(offset + CRC);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset + HASH, CRC - HASH));
+        crc.update(buffer.slice(offset + DATA, length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * 재시작 시 슬롯 검사 (CRC 불일치/만료 항목 제거, 유효 항목은 타이밍 휠에 등록)
+     */
+    private int recover() {
+        long now = System.currentTimeMillis();
+        int restored = 0;
+        int discarded = 0;
+        for (int s = 0; s < segments.length; s++) {
+            Segment segment = segments[s];
+            synchronized (segment) {
+                MappedByteBuffer buffer = segment.buffer;
+                for (int slot = 0; slot < segment.slots; slot++) {
+                    if (buffer.get(offset(slot) + STATE) == USED) {
+                        segment.used++;
+                    }
+                }
+                for (int slot = 0; slot < segment.slots; slot++) {
+                    int offset = offset(slot);
+                    if (buffer.get(offset + STATE) != USED) {
+                        continue;
+                    }
+                    long expiresAt = buffer.getLong(offset + EXPIRES_AT);
+                    if (checksum(buffer, offset) != buffer.getInt(offset + CRC)) {
+                        remove(segment, slot);
+                        discarded++;
+                    } else if (expiresAt <= now) {
+                        remove(segment, slot);
+                    } else {
+                        wheel.schedule(s, slot, expiresAt);
+                        restored++;
+                    }
+                }
+            }
+        }
+        if (discarded > 0) {
+            System.err.println("⚠️ 임베디드 토큰 저장소: 손상된 항목 " + discarded + "개를 버렸습니다.");
+        }
+        return restored;
+    }
+
+    private void expireQuietly() {
+        try {
+            long now = System.currentTimeMillis();
+            for (ExpiryWheel.Due due : wheel.advance(now)) {
+                for (long locator : due.locators()) {
+                    int segmentIndex = (int) (locator >>> 32);
+                    int slot = (int) locator;
+                    Segment segment = segments[segmentIndex];
+                    long expiresAt;
+                    synchronized (segment) {
+                        int offset = offset(slot);
+                        if (segment.buffer.get(offset + STATE) != USED) {
+                            continue;
+                        }
+                        expiresAt = segment.buffer.getLong(offset + EXPIRES_AT);
+                        if (expiresAt <= now) {
+                            remove(segment, slot);
+                            continue;
+                        }
+                    }
+                    // 휠 한 바퀴보다 긴 항목은 다음 바퀴에 다시 확인
+                    // (다른 버킷에 속한 항목은 덮어쓴 슬롯의 이전 기록이므로 버림, 새 기록은 자기 버킷에 있음)
+                    if (ExpiryWheel.bucketOf(expiresAt / TICK_MILLIS) == ExpiryWheel.bucketOf(due.tick())) {
+                        wheel.schedule(segmentIndex, slot, expiresAt);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("❌ 임베디드 토큰 만료 처리 실패: " + e.getMessage());
+        }
+    }
+
+    private void flushQuietly() {
+        for (Segment segment : segments) {
+            boolean dirty;
+            synchronized (segment) {
+                dirty = segment.dirty;
+                segment.dirty = false;
+            }
+            if (dirty) {
+                try {
+                    segment.buffer.force();
+                } catch (UncheckedIOException e) {
+                    System.err.println("❌ 임베디드 토큰 저장소 동기화 실패: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private boolean headerMatches(Path path, int segmentCount, int slotsPerSegment) throws IOException {
+        try (FileChannel existing = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (existing.size() < HEADER_BYTES) {
+                return false;
+            }
+            MappedByteBuffer header = existing.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            return header.getInt(0) == MAGIC && header.getInt(4) == VERSION && header.getInt(8) == segmentCount
+                    && header.getInt(12) == slotsPerSegment && header.getInt(16) == properties.getSlotBytes();
+        }
+    }
+
+    private int offset(int slot) {
+        return slot * slotBytes;
+    }
+
+    private int startSlot(Segment segment, int hash) {
+        return Math.floorMod(Integer.rotateLeft(hash, 16), segment.slots);
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[segmentIndex(hash)];
+    }
+
+    private int segmentIndex(int hash) {
+        return Math.floorMod(hash, segments.length);
+    }
+
+    /**
+     * 키 해시 (String.hashCode는 JVM 간 동일하므로 재시작 후에도 같은 슬롯을 가리킴)
+     * 테스트에서 같은 시작 슬롯을 갖는 키를 고를 수 있도록 패키지 범위로 공개합니다.
+     */
+    static int hash(String key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 1초 단위 해시 타이밍 휠 (약 68분 한 바퀴)
+     * 슬롯 위치만 long(세그먼트 << 32 | 슬롯)으로 보관하며, 실제 만료 여부는 회수 시 슬롯에서 다시 확인합니다.
+     */
+    private static final class ExpiryWheel {
+        private final long[][] buckets = new long[WHEEL_SIZE][];
+        private final int[] sizes = new int[WHEEL_SIZE];
+        private long currentTick = System.currentTimeMillis() / TICK_MILLIS;
+
+        /**
+         * 만료 확인 시각이 된 항목
+         *
+         * @param tick     버킷 시각 (초)
+         * @param locators 슬롯 위치
+         */
+        record Due(long tick, long[] locators) {
+        }
+
+        static int bucketOf(long tick) {
+            return (int) (tick % WHEEL_SIZE);
+        }
+
+        synchronized void schedule(int segment, int slot, long expiresAt) {
+            long tick = expiresAt / TICK_MILLIS;
+            if (tick <= currentTick) {
+                // 이미 지난 버킷이면 다음 바퀴의 같은 버킷 대신 바로 다음 버킷에서 확인
+                tick = currentTick + 1;
+            }
+            int bucket = bucketOf(tick);
+            long[] items = buckets[bucket];
+            if (items == null) {
+                items = buckets[bucket] = new long[8];
+            } else if (sizes[bucket] == items.length) {
+                items = buckets[bucket] = Arrays.copyOf(items, items.length * 2);
+            }
+            items[sizes[bucket]++] = ((long) segment << 32) | (slot & 0xFFFFFFFFL);
+        }
+
+        /**
+         * 현재 시각까지 지난 버킷의 항목을 꺼냄 (한 번에 최대 한 바퀴)
+         */
+        synchronized List<Due> advance(long now) {
+            long target = now / TICK_MILLIS;
+            List<Due> due = new ArrayList<>();
+            for (int steps = 0; currentTick < target && steps < WHEEL_SIZE; steps++) {
+                currentTick++;
+                int bucket = bucketOf(currentTick);
+                if (sizes[bucket] == 0) {
+                    continue;
+                }
+                due.add(new Due(currentTick, Arrays.copyOf(buckets[bucket], sizes[bucket])));
+                sizes[bucket] = 0;
+                if (buckets[bucket].length > 1024) {
+                    buckets[bucket] = null;
+                }
+            }
+            currentTick = Math.max(currentTick, target);
+            return due;
+        }
+    }
+}
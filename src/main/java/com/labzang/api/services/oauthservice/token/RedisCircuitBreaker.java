@@ -0,0 +1,182 @@
+package com.labzang.api.services.oauthservice.token;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Redis 서킷 브레이커
+ * 
+ * 연속 실패가 failure-threshold에 도달하면 open 상태가 되어 open-duration 동안 Redis를 호출하지 않고
+ * 바로 대체 동작(fallback)을 실행합니다. 이후 한 번의 시험 호출(half-open)이 성공하면 다시 닫힙니다.
+ * 시험 호출이 Redis 오류가 아닌 예외(직렬화 오류 등)로 끝나도 다시 open하므로 half-open에 머무르지 않습니다.
+ * Redis가 느리거나 내려갔을 때 요청마다 명령 타임아웃(2초)만큼 스레드가 묶이는 것을 막습니다.
+ */
+@Component
+public class RedisCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final TokenResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openUntil;
+
+    public RedisCircuitBreaker(TokenResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("oauth.token.redis.circuit", state, s -> s.get().ordinal())
+                .description("0=closed, 1=open, 2=half-open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Redis 호출 (서킷 상태에 따라 대체 동작 실행)
+     * 
+     * @param redisCall Redis 호출
+     * @param fallback  서킷이 열려 있거나 Redis 오류 시 실행할 대체 동작
+     * @return 호출 결과
+     */
+    public <T> T call(Supplier<T> redisCall, Supplier<T> fallback) {
+        if (!properties.isEnabled()) {
+            return redisCall.get();
+        }
+        if (!allowRequest()) {
+            meterRegistry.counter("oauth.token.redis.fallback", "reason", "open").increment();
+            return fallback.get();
+        }
+        try {
+            T result = redisCall.get();
+            onSuccess();
+            return result;
+        } catch (DataAccessException e) {
+            onFailure(e);
+            meterRegistry.counter("oauth.token.redis.fallback", "reason", "error").increment();
+            return fallback.get();
+        } catch (RuntimeException e) {
+            reopenIfTrial(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 비동기 Redis 호출 (완료 시점에 성공/실패 기록)
+     * 
+     * @param redisCall 비동기 Redis 호출
+     * @param fallback  서킷이 열려 있거나 Redis 오류 시 실행할 대체 동작
+     * @return 호출 결과
+     */
+    public <T> CompletableFuture<T> callAsync(Supplier<? extends CompletionStage<T>> redisCall, Supplier<T> fallback) {
+        if (!properties.isEnabled()) {
+            return redisCall.get().toCompletableFuture();
+        }
+        if (!allowRequest()) {
+            meterRegistry.counter("oauth.token.redis.fallback", "reason", "open").increment();
+            return CompletableFuture.completedFuture(fallback.get());
+        }
+        CompletionStage<T> stage;
+        try {
+            stage = redisCall.get();
+        } catch (DataAccessException e) {
+            onFailure(e);
+            meterRegistry.counter("oauth.token.redis.fallback", "reason", "error").increment();
+            return CompletableFuture.completedFuture(fallback.get());
+        } catch (RuntimeException e) {
+            reopenIfTrial(e);
+            throw e;
+        }
+        return stage.toCompletableFuture().handle((result, error) -> {
+            if (error == null) {
+                onSuccess();
+                return CompletableFuture.completedFuture(result);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            if (cause instanceof DataAccessException e) {
+                onFailure(e);
+                meterRegistry.counter("oauth.token.redis.fallback", "reason", "error").increment();
+                return CompletableFuture.completedFuture(fallback.get());
+            }
+            reopenIfTrial(cause);
+            return CompletableFuture.<T>failedFuture(cause);
+        }).thenCompose(future -> future);
+    }
+
+    /**
+     * 값을 반환하지 않는 Redis 호출
+     */
+    public void run(Runnable redisCall, Runnable fallback) {
+        call(() -> {
+            redisCall.run();
+            return null;
+        }, () -> {
+            fallback.run();
+            return null;
+        });
+    }
+
+    /**
+     * Redis 정상 여부 (서킷이 닫혀 있는지)
+     */
+    public boolean isClosed() {
+        return state.get() == State.CLOSED;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    private boolean allowRequest() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && System.currentTimeMillis() >= openUntil) {
+            // 시험 호출은 한 요청만 허용
+            return state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        return false;
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+            System.out.println("✅ Redis 복구 확인, 서킷 닫힘");
+        }
+    }
+
+    /**
+     * 시험 호출이 Redis 오류 외의 예외로 끝난 경우 다시 open (성공으로 볼 수 없으므로)
+     */
+    private void reopenIfTrial(Throwable e) {
+        if (state.get() == State.HALF_OPEN) {
+            onFailure(e);
+        }
+    }
+
+    private void onFailure(Throwable e) {
+        int failures = consecutiveFailures.incrementAndGet();
+        State current = state.get();
+        if (current == State.HALF_OPEN || (current == State.CLOSED && failures >= properties.getFailureThreshold())) {
+            openUntil = System.currentTimeMillis() + properties.getOpenDuration().toMillis();
+            if (state.compareAndSet(current, State.OPEN)) {
+                meterRegistry.counter("oauth.token.redis.circuit.opened").increment();
+                System.err.println("❌ Redis 연속 실패 " + failures + "회, 서킷 open ("
+                        + properties.getOpenDuration().toSeconds() + "초): " + e.getMessage());
+            }
+        }
+    }
+}
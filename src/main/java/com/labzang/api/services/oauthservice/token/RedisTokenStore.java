@@ -0,0 +1,161 @@
+package com.labzang.api.services.oauthservice.token;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 토큰 저장소 (기본값)
+ *
+ * 읽기 전용 조회는 replica 우선 템플릿을 사용하고, 쓰기와 조회 후 삭제는 primary를 사용합니다.
+ * Redis 호출은 서킷 브레이커를 거칩니다. Redis가 느리거나 내려가면 쓰기/삭제는 로컬 저장소에 기록했다가
+ * 복구 후 재반영하고, 조회는 로컬 기록이 없으면 null(저장 상태를 알 수 없음)을 반환합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "oauth.token.store", havingValue = "redis", matchIfMissing = true)
+public class RedisTokenStore implements TokenStore {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, Object> readTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final LocalTokenStore localStore;
+
+    public RedisTokenStore(RedisTemplate<String, Object> redisTemplate,
+            @Qualifier("replicaReadRedisTemplate") RedisTemplate<String, Object> readTemplate,
+            RedisCircuitBreaker circuitBreaker,
+            LocalTokenStore localStore) {
+        this.redisTemplate = redisTemplate;
+        this.readTemplate = readTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.localStore = localStore;
+    }
+
+    /**
+     * 로컬 기록 우선 조회, 없으면 replica 우선 Redis (장애 시 null)
+     */
+    @Override
+    public String get(String key) {
+        LocalTokenStore.Entry local = localStore.lookup(key);
+        if (local != null) {
+            return local.isDeleted() ? null : local.value().toString();
+        }
+        Object value = circuitBreaker.call(() -> readTemplate.opsForValue().get(key), () -> null);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * MGET 한 번으로 조회 (아직 Redis에 반영되지 않은 로컬 기록이 더 최신)
+     */
+    @Override
+    public List<String> multiGet(List<String> keys) {
+        List<String> values = new ArrayList<>(keys.size());
+        List<Integer> remoteIndexes = new ArrayList<>();
+        List<String> remoteKeys = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            LocalTokenStore.Entry local = localStore.lookup(keys.get(i));
+            values.add(local != null && !local.isDeleted() ? local.value().toString() : null);
+            if (local == null) {
+                remoteIndexes.add(i);
+                remoteKeys.add(keys.get(i));
+            }
+        }
+        if (remoteKeys.isEmpty()) {
+            return values;
+        }
+
+        List<Object> remote = circuitBreaker.call(() -> readTemplate.opsForValue().multiGet(remoteKeys), () -> null);
+        if (remote != null) {
+            for (int i = 0; i < remoteIndexes.size(); i++) {
+                Object value = remote.get(i);
+                if (value != null) {
+                    values.set(remoteIndexes.get(i), value.toString());
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Redis 저장 (장애 시 로컬 기록 후 복구 시 재반영)
+     */
+    @Override
+    public void set(String key, String value, long ttlSeconds) {
+        circuitBreaker.run(() -> {
+            redisTemplate.opsForValue().set(key, value, ttlSeconds, TimeUnit.SECONDS);
+            localStore.discard(key);
+        }, () -> localStore.put(key, value, ttlSeconds));
+    }
+
+    /**
+     * 파이프라인 한 번으로 저장
+     */
+    @Override
+    public void setAll(List<Write> writes) {
+        circuitBreaker.run(() -> {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    for (Write write : writes) {
+                        ops.opsForValue().set(write.key(), write.value(), write.ttlSeconds(), TimeUnit.SECONDS);
+                    }
+                    return null;
+                }
+            });
+            writes.forEach(write -> localStore.discard(write.key()));
+        }, () -> writes.forEach(write -> localStore.put(write.key(), write.value(), write.ttlSeconds())));
+    }
+
+    /**
+     * Redis 삭제 (장애 시 로컬 기록 후 복구 시 재반영)
+     */
+    @Override
+    public void delete(String... keys) {
+        List<String> keyList = List.of(keys);
+        circuitBreaker.run(() -> {
+            redisTemplate.delete(keyList);
+            keyList.forEach(localStore::discard);
+        }, () -> keyList.forEach(localStore::delete));
+    }
+
+    /**
+     * primary에서 GETDEL 한 번으로 조회 후 삭제
+     */
+    @Override
+    public String getAndDelete(String key) {
+        LocalTokenStore.Entry local = localStore.lookup(key);
+        if (local != null) {
+            if (local.isDeleted()) {
+                return null;
+            }
+            localStore.delete(key);
+            return local.value().toString();
+        }
+        Object value = circuitBreaker.call(() -> redisTemplate.opsForValue().getAndDelete(key), () -> null);
+        return value != null ? value.toString() : null;
+    }
+
+    @Override
+    public long getExpire(String key) {
+        Long ttl = circuitBreaker.call(() -> redisTemplate.getExpire(key, TimeUnit.SECONDS), () -> null);
+        return ttl != null ? ttl : -2;
+    }
+
+    @Override
+    public boolean isDegraded() {
+        return !circuitBreaker.isClosed();
+    }
+
+    @Override
+    public boolean isLocal() {
+        return false;
+    }
+}
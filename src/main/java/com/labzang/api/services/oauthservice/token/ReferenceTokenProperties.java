@@ -0,0 +1,29 @@
+package com.labzang.api.services.oauthservice.token;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * 참조(opaque) Access Token 설정 프로퍼티
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jwt.reference")
+public class ReferenceTokenProperties {
+
+    // true이면 클라이언트에 JWT 대신 짧은 참조 토큰을 Access Token으로 발급
+    private boolean enabled = false;
+
+    // 참조 토큰 → 클레임 로컬 캐시 보관 시간
+    private Duration localCacheTtl = Duration.ofSeconds(30);
+
+    // 로컬 캐시 최대 항목 수
+    private int localMaxSize = 50000;
+
+    // 업스트림 서비스로 전달하는 내부 JWT 만료 시간
+    private Duration internalTokenTtl = Duration.ofSeconds(60);
+}
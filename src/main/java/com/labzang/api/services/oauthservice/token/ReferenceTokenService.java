@@ -0,0 +1,263 @@
+package com.labzang.api.services.oauthservice.token;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labzang.api.services.oauthservice.jwt.JwtTokenProvider;
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 참조(opaque) Access Token 서비스
+ * 
+ * 클라이언트에는 32바이트 난수로 만든 짧은 토큰(rt_ + 43자)만 전달하고,
+ * 클레임은 Redis(ref:{토큰 다이제스트})에 저장합니다. 게이트웨이는 로컬 캐시 → Redis 순으로 클레임을 조회하고,
+ * 업스트림 서비스로 전달할 때만 짧은 수명의 내부 JWT로 변환합니다.
+ * 키 이름에도 원본 토큰을 쓰지 않으므로 KEYS/SCAN이나 백업으로 키 목록이 유출되어도 bearer 토큰으로 쓸 수 없습니다.
+ * 임베디드 토큰 저장소(oauth.token.store=embedded)에서는 ref: 키를 Redis 대신 TokenStore에 저장합니다.
+ *
+ * Redis 호출은 RedisCircuitBreaker를 거치며, 장애 중에는 다음과 같이 동작합니다.
+ * - 발급: 저장할 곳이 없으므로 같은 클레임의 Access JWT를 대신 발급 (검증에 Redis가 필요 없음)
+ * - 조회: 로컬 캐시에 있는 토큰만 유효, 그 밖에는 null (예외를 던지지 않음)
+ * - 폐기: LocalTokenStore에 삭제를 기록했다가 복구 후 반영 (반영 전까지 이 노드에서는 폐기된 것으로 취급)
+ */
+@Service
+@RequiredArgsConstructor
+public class ReferenceTokenService {
+
+    public static final String TOKEN_PREFIX = "rt_";
+    private static final String KEY_PREFIX = "ref:";
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final TypeReference<LinkedHashMap<String, Object>> CLAIMS_TYPE = new TypeReference<>() {
+    };
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ReferenceTokenProperties properties;
+    private final TokenStore tokenStore;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final LocalTokenStore localStore;
+
+    // 토큰 다이제스트 → 클레임
+    private final Map<String, LocalEntry> localCache = new ConcurrentHashMap<>();
+
+    /**
+     * 로컬 캐시 엔트리
+     * 
+     * @param claims    토큰 클레임
+     * @param expiresAt 로컬 캐시에서 만료되는 시각 (epoch ms)
+     */
+    private record LocalEntry(Map<String, Object> claims, long expiresAt) {
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 참조 토큰 형식인지 확인 (JWT는 '.'을 포함)
+     */
+    public boolean isReferenceToken(String token) {
+        return token != null && token.startsWith(TOKEN_PREFIX) && token.indexOf('.') < 0;
+    }
+
+    /**
+     * 참조 Access Token 발급
+     * 
+     * @param profile    사용자 프로필
+     * @param ttlSeconds 만료 시간 (초)
+     * @return 참조 토큰
+     */
+    public String issue(OAuthUserProfile profile, long ttlSeconds) {
+        return issue(profile, ttlSeconds, null);
+    }
+
+    /**
+     * 참조 Access Token 발급 (세션 ID 포함)
+     * 
+     * @param profile    사용자 프로필
+     * @param ttlSeconds 만료 시간 (초)
+     * @param sessionId  세션 ID (sid 클레임, null이면 생략)
+     * @return 참조 토큰, Redis 장애 중에는 Access JWT
+     */
+    public String issue(OAuthUserProfile profile, long ttlSeconds, String sessionId) {
+        byte[] random = new byte[32];
+        RANDOM.nextBytes(random);
+        String token = TOKEN_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+
+        long now = System.currentTimeMillis() / 1000;
+        Map<String, Object> claims = new LinkedHashMap<>(profile.toClaims());
+        claims.put("sub", profile.providerId());
+        claims.put("provider", profile.provider());
+        claims.put("type", "access");
+        claims.put("iat", now);
+        claims.put("exp", now + ttlSeconds);
+        if (sessionId != null) {
+            claims.put("sid", sessionId);
+        }
+
+        String encoded;
+        try {
+            encoded = objectMapper.writeValueAsString(claims);
+        } catch (Exception e) {
+            throw new IllegalStateException("참조 토큰 저장에 실패했습니다.", e);
+        }
+        String key = key(TokenDigest.of(token));
+        if (tokenStore.isLocal()) {
+            tokenStore.set(key, encoded, ttlSeconds);
+            return token;
+        }
+        return circuitBreaker.call(() -> {
+            stringRedisTemplate.opsForValue().set(key, encoded, ttlSeconds, TimeUnit.SECONDS);
+            return token;
+        }, () -> jwtTokenProvider.generateAccessToken(profile, null, sessionId));
+    }
+
+    /**
+     * 참조 토큰의 클레임 조회
+     * 
+     * @param token 참조 토큰
+     * @return 클레임, 없거나 만료되었거나 Redis 장애 중 로컬 캐시에 없으면 null
+     */
+    public Map<String, Object> resolve(String token) {
+        if (!isReferenceToken(token)) {
+            return null;
+        }
+        String digest = TokenDigest.of(token);
+        long nowMillis = System.currentTimeMillis();
+        LocalEntry local = localCache.get(digest);
+        if (local != null) {
+            if (nowMillis < local.expiresAt()) {
+                return local.claims();
+            }
+            localCache.remove(digest, local);
+        }
+
+        String encoded = load(key(digest));
+        if (encoded == null) {
+            // 다이제스트 키 도입 전에 발급된 토큰 (만료되면 사라짐)
+            encoded = load(KEY_PREFIX + token);
+            if (encoded == null) {
+                return null;
+            }
+        }
+        Map<String, Object> claims;
+        try {
+            claims = objectMapper.readValue(encoded, CLAIMS_TYPE);
+        } catch (Exception e) {
+            System.err.println("참조 토큰 클레임 파싱 실패: " + e.getMessage());
+            return null;
+        }
+
+        // 토큰 만료 시각보다 오래 캐시하지 않음
+        long expMillis = ((Number) claims.get("exp")).longValue() * 1000;
+        if (expMillis <= nowMillis) {
+            return null;
+        }
+        evictIfFull();
+        localCache.put(digest, new LocalEntry(claims,
+                Math.min(expMillis, nowMillis + properties.getLocalCacheTtl().toMillis())));
+        return claims;
+    }
+
+    /**
+     * 참조 토큰을 업스트림 전달용 내부 JWT로 변환
+     * 
+     * @param token 참조 토큰
+     * @return 내부 JWT, 유효하지 않은 토큰이면 null
+     */
+    public String toInternalJwt(String token) {
+        Map<String, Object> claims = resolve(token);
+        if (claims == null) {
+            return null;
+        }
+        return toInternalJwt(claims);
+    }
+
+    /**
+     * 이미 조회한 참조 토큰 클레임을 업스트림 전달용 내부 JWT로 변환
+     * 
+     * @param claims resolve로 조회한 클레임
+     * @return 내부 JWT (internal-token-ttl 동안 유효)
+     */
+    public String toInternalJwt(Map<String, Object> claims) {
+        return jwtTokenProvider.generateInternalToken(claims, properties.getInternalTokenTtl().toSeconds());
+    }
+
+    /**
+     * 참조 토큰 폐기
+     * 로컬 캐시는 현재 노드만 비우므로 다른 노드는 local-cache-ttl 이내에 반영됩니다.
+     */
+    public void revoke(String token) {
+        String digest = TokenDigest.of(token);
+        localCache.remove(digest);
+        remove(key(digest), KEY_PREFIX + token);
+    }
+
+    /**
+     * 세션에 저장된 Access Token 값으로 참조 토큰 폐기 (원본 토큰 없이 다른 기기의 세션을 로그아웃할 때)
+     * 저장된 값이 참조 토큰의 것이 아니면(JWT 다이제스트 등) 지울 키가 없으므로 아무 영향이 없습니다.
+     * 
+     * @param stored token:{provider:userId}:{sid}:access에 저장된 값 (다이제스트 또는 원본)
+     */
+    public void revokeStored(String stored) {
+        if (isReferenceToken(stored)) {
+            revoke(stored);
+        } else if (TokenDigest.isDigest(stored)) {
+            localCache.remove(stored);
+            remove(key(stored));
+        }
+    }
+
+    private String load(String key) {
+        if (tokenStore.isLocal()) {
+            return tokenStore.get(key);
+        }
+        LocalTokenStore.Entry pending = localStore.lookup(key);
+        if (pending != null && pending.isDeleted()) {
+            return null; // 장애 중 폐기되어 Redis 반영을 기다리는 토큰
+        }
+        return circuitBreaker.call(() -> stringRedisTemplate.opsForValue().get(key), () -> null);
+    }
+
+    private void remove(String... keys) {
+        if (tokenStore.isLocal()) {
+            tokenStore.delete(keys);
+            return;
+        }
+        circuitBreaker.run(() -> stringRedisTemplate.delete(List.of(keys)), () -> {
+            for (String key : keys) {
+                localStore.delete(key);
+            }
+        });
+    }
+
+    private static String key(String digest) {
+        return KEY_PREFIX + digest;
+    }
+
+    private void evictIfFull() {
+        if (localCache.size() < properties.getLocalMaxSize()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        localCache.entrySet().removeIf(e -> e.getValue().expiresAt() <= now);
+        int toEvict = localCache.size() - properties.getLocalMaxSize() + properties.getLocalMaxSize() / 10;
+        Iterator<String> it = localCache.keySet().iterator();
+        while (it.hasNext() && toEvict-- > 0) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.labzang.api.services.oauthservice.token;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 사용자별 세션(기기) 인덱스 설정 프로퍼티
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "oauth.session")
+public class SessionIndexProperties {
+
+    // false이면 sid 클레임 없이 사용자당 하나의 토큰만 관리 (기존 방식)
+    private boolean enabled = true;
+
+    // 사용자당 최대 세션 수 (초과 시 가장 오래된 세션부터 제거)
+    private int maxSessionsPerUser = 10;
+}
@@ -0,0 +1,440 @@
+package com.labzang.api.services.oauthservice.token;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자별 세션(기기) 인덱스
+ *
+ * 로그인마다 세션 ID(sid)를 발급하여 Access/Refresh Token의 sid 클레임에 넣고,
+ * 사용자별 sorted set(sessions:{provider:userId})에 sid를 만료 시각(epoch ms) 점수로 저장합니다.
+ * 세션 부가 정보(생성 시각, 클라이언트)는 같은 해시 태그의 hash(sessions:{provider:userId}:meta)에 둡니다.
+ * - 두 번째 기기에서 로그인해도 첫 번째 기기의 세션은 그대로 유지됩니다.
+ * - 세션 목록 조회는 ZRANGEBYSCORE 한 번(O(log n + m)), 세션 확인은 ZSCORE 한 번입니다.
+ * - 만료된 세션은 로그인 시 함께 정리(lazy pruning)하고, 사용자당 최대 세션 수를 넘으면
+ *   가장 먼저 만료되는(= 가장 오래된) 세션부터 제거합니다.
+ * - 세션 로그아웃은 인덱스 항목과 그 세션의 토큰 키(token:{provider:userId}:{sid}:*)를 함께 삭제하고,
+ *   전체 로그아웃은 인덱스와 사용자의 모든 토큰 키를 Lua 스크립트 한 번으로 원자적으로 삭제합니다.
+ *   세션의 Access Token이 참조 토큰이면 저장된 다이제스트로 ref: 키도 폐기합니다 (슬롯이 달라 스크립트 밖에서 삭제).
+ *
+ * 모든 키가 같은 해시 태그를 쓰므로 Redis Cluster에서도 스크립트가 한 슬롯 안에서 실행됩니다.
+ * Redis 장애 중 등록하지 못한 세션은 메모리에 보관했다가 복구 후 다시 등록합니다.
+ * 임베디드 토큰 저장소(oauth.token.store=embedded)에서는 Redis 대신 EmbeddedSessionIndex가 같은 역할을 합니다.
+ */
+@Service
+public class SessionIndexService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // KEYS: index, meta / ARGV: sid, now, expiresAt, maxSessions, meta
+    private static final RedisScript<Long> REGISTER_SCRIPT = RedisScript.of("""
+            local expired = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[2])
+            if #expired > 0 then
+              redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[2])
+              redis.call('HDEL', KEYS[2], unpack(expired))
+            end
+            redis.call('ZADD', KEYS[1], ARGV[3], ARGV[1])
+            redis.call('HSET', KEYS[2], ARGV[1], ARGV[5])
+            local evicted = 0
+            local overflow = redis.call('ZCARD', KEYS[1]) - tonumber(ARGV[4])
+            if overflow > 0 then
+              local oldest = redis.call('ZPOPMIN', KEYS[1], overflow)
+              for i = 1, #oldest, 2 do
+                redis.call('HDEL', KEYS[2], oldest[i])
+                evicted = evicted + 1
+              end
+            end
+            local last = redis.call('ZRANGE', KEYS[1], -1, -1, 'WITHSCORES')
+            local ttl = math.ceil((tonumber(last[2]) - tonumber(ARGV[2])) / 1000)
+            redis.call('EXPIRE', KEYS[1], ttl)
+            redis.call('EXPIRE', KEYS[2], ttl)
+            return evicted
+            """, Long.class);
+
+    // KEYS: index, meta, 세션 토큰 키들 / ARGV: sid
+    private static final RedisScript<Long> REVOKE_SCRIPT = RedisScript.of("""
+            redis.call('HDEL', KEYS[2], ARGV[1])
+            redis.call('DEL', KEYS[3], KEYS[4])
+            return redis.call('ZREM', KEYS[1], ARGV[1])
+            """, Long.class);
+
+    // KEYS: index, meta, 사용자 토큰 키들
+    private static final RedisScript<Long> LOGOUT_ALL_SCRIPT = RedisScript.of("""
+            local count = redis.call('ZCARD', KEYS[1])
+            redis.call('DEL', unpack(KEYS))
+            return count
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final LocalTokenStore localStore;
+    private final TokenStore tokenStore;
+    private final ReferenceTokenService referenceTokenService;
+    private final SessionIndexProperties properties;
+    private final TokenResilienceProperties resilienceProperties;
+    private final MeterRegistry meterRegistry;
+    // 임베디드 토큰 저장소일 때의 세션 인덱스 (Redis 사용 시 null)
+    private final EmbeddedSessionIndex embedded;
+
+    // 해시 태그 도입 전 형식의 토큰 키도 전체 로그아웃 시 삭제
+    @Value("${oauth.token.legacy-key-fallback:true}")
+    private boolean legacyKeyFallback = true;
+
+    // Redis 장애로 등록하지 못한 세션 (sid → 등록 정보)
+    private final Map<String, Registration> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 세션 정보
+     *
+     * @param sessionId 세션 ID (토큰의 sid 클레임)
+     * @param createdAt 로그인 시각 (epoch ms, 알 수 없으면 0)
+     * @param expiresAt 세션 만료 시각 (epoch ms, Refresh Token 만료 시각)
+     * @param client    로그인 시 요청한 audience (web, mobile 등, 없으면 null)
+     */
+    public record SessionInfo(String sessionId, long createdAt, long expiresAt, String client) {
+    }
+
+    /**
+     * 세션 확인 키
+     *
+     * @param provider  소셜 로그인 제공자
+     * @param userId    사용자 ID
+     * @param sessionId 세션 ID
+     */
+    public record SessionKey(String provider, String userId, String sessionId) {
+    }
+
+    private record Registration(String provider, String userId, String sessionId, String client, long createdAt,
+            long expiresAt) {
+    }
+
+    public SessionIndexService(StringRedisTemplate stringRedisTemplate, RedisCircuitBreaker circuitBreaker,
+            LocalTokenStore localStore, TokenStore tokenStore, ReferenceTokenService referenceTokenService,
+            SessionIndexProperties properties, TokenResilienceProperties resilienceProperties,
+            MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.localStore = localStore;
+        this.tokenStore = tokenStore;
+        this.referenceTokenService = referenceTokenService;
+        this.properties = properties;
+        this.resilienceProperties = resilienceProperties;
+        this.meterRegistry = meterRegistry;
+        this.embedded = tokenStore.isLocal() ? new EmbeddedSessionIndex(tokenStore) : null;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled() || !resilienceProperties.isEnabled() || embedded != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-index-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = resilienceProperties.getReplayInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::replayQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        replayQuietly();
+        if (!pending.isEmpty()) {
+            System.err.println("❌ 종료 시 Redis에 등록하지 못한 세션: " + pending.size() + "건");
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 새 세션 ID 생성 (16바이트 난수, URL-safe Base64 22자)
+     */
+    public String newSessionId() {
+        byte[] random = new byte[16];
+        RANDOM.nextBytes(random);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+    }
+
+    /**
+     * 세션 등록
+     * 만료된 세션 정리와 최대 세션 수 초과분 제거를 같은 스크립트에서 처리합니다.
+     *
+     * @param provider   소셜 로그인 제공자
+     * @param userId     사용자 ID
+     * @param sessionId  세션 ID
+     * @param client     로그인 시 요청한 audience (없으면 null)
+     * @param ttlSeconds 세션 유지 시간 (초, Refresh Token 만료 시간)
+     */
+    public void register(String provider, String userId, String sessionId, String client, long ttlSeconds) {
+        long now = System.currentTimeMillis();
+        Registration registration = new Registration(provider, userId, sessionId, client, now,
+                now + ttlSeconds * 1000);
+        if (embedded != null) {
+            int evicted = embedded.register(provider, userId, sessionId, client, registration.createdAt(),
+                    registration.expiresAt(), Math.max(1, properties.getMaxSessionsPerUser()));
+            if (evicted > 0) {
+                meterRegistry.counter("oauth.session.evicted").increment(evicted);
+            }
+            return;
+        }
+        circuitBreaker.run(() -> {
+            pending.remove(sessionId);
+            execute(registration);
+        }, () -> {
+            if (pending.size() < resilienceProperties.getMaxLocalEntries()) {
+                pending.put(sessionId, registration);
+            } else {
+                meterRegistry.counter("oauth.session.registration.dropped").increment();
+            }
+        });
+    }
+
+    /**
+     * 사용자의 활성 세션 목록 (만료 시각 순)
+     *
+     * @param provider 소셜 로그인 제공자
+     * @param userId   사용자 ID
+     * @return 활성 세션, Redis 장애 시 빈 목록
+     */
+    public List<SessionInfo> listSessions(String provider, String userId) {
+        if (embedded != null) {
+            return embedded.list(provider, userId);
+        }
+        String indexKey = indexKey(provider, userId);
+        long now = System.currentTimeMillis();
+        return circuitBreaker.call(() -> {
+            Set<ZSetOperations.TypedTuple<String>> members = stringRedisTemplate.opsForZSet()
+                    .rangeByScoreWithScores(indexKey, now + 1, Double.POSITIVE_INFINITY);
+            if (members == null || members.isEmpty()) {
+                return List.<SessionInfo>of();
+            }
+            List<Object> sessionIds = new ArrayList<>(members.size());
+            members.forEach(member -> sessionIds.add(member.getValue()));
+            List<Object> metas = stringRedisTemplate.opsForHash().multiGet(indexKey + ":meta", sessionIds);
+
+            List<SessionInfo> sessions = new ArrayList<>(members.size());
+            int i = 0;
+            for (ZSetOperations.TypedTuple<String> member : members) {
+                Object meta = metas.get(i++);
+                long createdAt = 0;
+                String client = null;
+                if (meta != null) {
+                    String[] parts = meta.toString().split("\\|", 2);
+                    createdAt = Long.parseLong(parts[0]);
+                    client = parts.length > 1 && !parts[1].isEmpty() ? parts[1] : null;
+                }
+                sessions.add(new SessionInfo(member.getValue(), createdAt, member.getScore().longValue(), client));
+            }
+            return sessions;
+        }, List::of);
+    }
+
+    /**
+     * 여러 세션의 활성 여부를 한 번에 확인 (ZSCORE 파이프라인)
+     *
+     * @param keys 확인할 세션
+     * @return keys와 같은 순서의 활성 여부, Redis 장애 시 null (상태를 알 수 없음)
+     */
+    public List<Boolean> areActive(List<SessionKey> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        if (embedded != null) {
+            return embedded.areActive(keys);
+        }
+        List<Object> scores = circuitBreaker.call(() -> stringRedisTemplate.executePipelined(
+                (RedisCallback<Object>) connection -> {
+                    StringRedisConnection redis = (StringRedisConnection) connection;
+                    for (SessionKey key : keys) {
+                        redis.zScore(indexKey(key.provider(), key.userId()), key.sessionId());
+                    }
+                    return null;
+                }), () -> null);
+        if (scores == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        List<Boolean> active = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            boolean registered = scores.get(i) instanceof Number score && score.longValue() > now;
+            active.add(registered || pending.containsKey(keys.get(i).sessionId()));
+        }
+        return active;
+    }
+
+    /**
+     * 세션 하나 로그아웃
+     *
+     * @return 세션이 있었으면 true
+     */
+    public boolean revoke(String provider, String userId, String sessionId) {
+        pending.remove(sessionId);
+        String indexKey = indexKey(provider, userId);
+        List<String> tokenKeys = List.of(TokenService.tokenKey(provider, userId, sessionId, "access"),
+                TokenService.tokenKey(provider, userId, sessionId, "refresh"));
+        if (embedded != null) {
+            String storedAccess = tokenStore.get(tokenKeys.get(0));
+            boolean existed = embedded.revoke(provider, userId, sessionId);
+            tokenStore.delete(tokenKeys.toArray(String[]::new));
+            if (storedAccess != null) {
+                referenceTokenService.revokeStored(storedAccess);
+            }
+            return existed;
+        }
+        Long removed = circuitBreaker.call(() -> {
+            String storedAccess = tokenStore.get(tokenKeys.get(0));
+            Long count = stringRedisTemplate.execute(REVOKE_SCRIPT,
+                    List.of(indexKey, indexKey + ":meta", tokenKeys.get(0), tokenKeys.get(1)), sessionId);
+            tokenKeys.forEach(localStore::discard);
+            if (storedAccess != null) {
+                referenceTokenService.revokeStored(storedAccess);
+            }
+            return count;
+        }, () -> null);
+        if (removed == null) {
+            throw new IllegalStateException("세션 저장소에 연결할 수 없습니다.");
+        }
+        return removed > 0;
+    }
+
+    /**
+     * 모든 기기에서 로그아웃
+     * 세션 인덱스와 사용자의 게이트웨이(사용자/세션 단위)/제공자 토큰 키를 스크립트 한 번으로 삭제합니다.
+     * 세션 목록을 읽은 뒤 그 사이에 새로 로그인한 세션은 인덱스에서 지워지므로 토큰이 남아도 사용할 수 없습니다.
+     *
+     * @return 삭제된 세션 수
+     */
+    public long logoutAll(String provider, String userId) {
+        pending.values().removeIf(r -> r.provider().equals(provider) && r.userId().equals(userId));
+        if (embedded != null) {
+            return logoutAllEmbedded(provider, userId);
+        }
+        String indexKey = indexKey(provider, userId);
+        Long count = circuitBreaker.call(() -> {
+            List<String> keys = new ArrayList<>(List.of(indexKey, indexKey + ":meta",
+                    TokenService.tokenKey(provider, userId, "access"),
+                    TokenService.tokenKey(provider, userId, "refresh"),
+                    TokenService.oauthKey(provider, userId, "access"),
+                    TokenService.oauthKey(provider, userId, "refresh")));
+            List<String> accessKeys = new ArrayList<>(List.of(keys.get(2)));
+            Set<String> sessionIds = stringRedisTemplate.opsForZSet().range(indexKey, 0, -1);
+            if (sessionIds != null) {
+                for (String sessionId : sessionIds) {
+                    accessKeys.add(TokenService.tokenKey(provider, userId, sessionId, "access"));
+                    keys.add(accessKeys.get(accessKeys.size() - 1));
+                    keys.add(TokenService.tokenKey(provider, userId, sessionId, "refresh"));
+                }
+            }
+            List<String> storedAccess = tokenStore.multiGet(accessKeys);
+            Long removed = stringRedisTemplate.execute(LOGOUT_ALL_SCRIPT, keys);
+            storedAccess.stream().filter(stored -> stored != null).forEach(referenceTokenService::revokeStored);
+            if (legacyKeyFallback) {
+                // 이전 형식 키는 슬롯이 달라 스크립트에 포함할 수 없으므로 따로 삭제
+                stringRedisTemplate.delete(List.of(
+                        String.format("token:%s:%s:access", provider, userId),
+                        String.format("token:%s:%s:refresh", provider, userId),
+                        String.format("oauth:%s:%s:access", provider, userId),
+                        String.format("oauth:%s:%s:refresh", provider, userId)));
+            }
+            // 장애 중 기록된 토큰 저장이 나중에 다시 반영되지 않도록 제거
+            keys.subList(2, keys.size()).forEach(localStore::discard);
+            return removed;
+        }, () -> null);
+        if (count == null) {
+            throw new IllegalStateException("세션 저장소에 연결할 수 없습니다.");
+        }
+        meterRegistry.counter("oauth.session.logout-all").increment();
+        return count;
+    }
+
+    /**
+     * 임베디드 저장소에서 모든 기기 로그아웃 (세션 인덱스와 사용자/세션/제공자 토큰 키 삭제)
+     */
+    private long logoutAllEmbedded(String provider, String userId) {
+        List<String> sessionIds = embedded.removeAll(provider, userId);
+        List<String> accessKeys = new ArrayList<>(List.of(TokenService.tokenKey(provider, userId, "access")));
+        List<String> keys = new ArrayList<>(List.of(accessKeys.get(0),
+                TokenService.tokenKey(provider, userId, "refresh"),
+                TokenService.oauthKey(provider, userId, "access"),
+                TokenService.oauthKey(provider, userId, "refresh")));
+        for (String sessionId : sessionIds) {
+            accessKeys.add(TokenService.tokenKey(provider, userId, sessionId, "access"));
+            keys.add(accessKeys.get(accessKeys.size() - 1));
+            keys.add(TokenService.tokenKey(provider, userId, sessionId, "refresh"));
+        }
+        List<String> storedAccess = tokenStore.multiGet(accessKeys);
+        tokenStore.delete(keys.toArray(String[]::new));
+        storedAccess.stream().filter(stored -> stored != null).forEach(referenceTokenService::revokeStored);
+        meterRegistry.counter("oauth.session.logout-all").increment();
+        return sessionIds.size();
+    }
+
+    private void execute(Registration registration) {
+        String indexKey = indexKey(registration.provider(), registration.userId());
+        Long evicted = stringRedisTemplate.execute(REGISTER_SCRIPT, List.of(indexKey, indexKey + ":meta"),
+                registration.sessionId(),
+                Long.toString(System.currentTimeMillis()),
+                Long.toString(registration.expiresAt()),
+                Integer.toString(Math.max(1, properties.getMaxSessionsPerUser())),
+                registration.createdAt() + "|" + (registration.client() != null ? registration.client() : ""));
+        if (evicted != null && evicted > 0) {
+            meterRegistry.counter("oauth.session.evicted").increment(evicted);
+        }
+    }
+
+    private void replayQuietly() {
+        try {
+            long now = System.currentTimeMillis();
+            for (Registration registration : pending.values()) {
+                if (registration.expiresAt() <= now) {
+                    pending.remove(registration.sessionId(), registration);
+                    continue;
+                }
+                circuitBreaker.run(() -> {
+                    execute(registration);
+                    pending.remove(registration.sessionId(), registration);
+                }, () -> {
+                });
+                if (!circuitBreaker.isClosed()) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("❌ 세션 재등록 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 세션 인덱스 키 (토큰 키와 같은 사용자 단위 해시 태그)
+     */
+    static String indexKey(String provider, String userId) {
+        return "sessions:{" + provider + ":" + userId + "}";
+    }
+}
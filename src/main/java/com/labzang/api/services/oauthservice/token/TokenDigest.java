@@ -0,0 +1,100 @@
+package com.labzang.api.services.oauthservice.token;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * 게이트웨이 토큰 저장 형식
+ *
+ * Redis에는 JWT 원본 대신 "d1:" + SHA-256 앞 16바이트(URL-safe Base64 22자)만 저장합니다.
+ * 저장된 값은 제시된 토큰과 비교하는 용도로만 쓰이므로 원본이 필요 없고,
+ * 키당 값 크기가 수백 바이트에서 25바이트로 줄어 메모리와 복제/백업 트래픽이 함께 줄어듭니다.
+ * 원본 토큰이 Redis에 남지 않으므로 캐시가 유출되어도 bearer 토큰으로 쓸 수 없습니다.
+ *
+ * 비교는 항상 고정 시간으로 수행하며, 다이제스트 도입 전에 저장된 원본 토큰 값도 그대로 비교할 수 있습니다.
+ * 제공자 원본 토큰(oauth:*)은 제공자 API 호출에 원본이 필요하므로 대상이 아닙니다.
+ */
+@Component
+public class TokenDigest {
+
+    static final String PREFIX = "d1:";
+    private static final int DIGEST_BYTES = 16;
+
+    // false이면 기존처럼 토큰 원본 저장
+    @Value("${oauth.token.digest-storage:true}")
+    private boolean enabled = true;
+
+    /**
+     * Redis에 저장할 형식으로 변환
+     *
+     * @param token 게이트웨이 토큰
+     * @return 다이제스트 (비활성화 시 원본)
+     */
+    public String storedForm(String token) {
+        return enabled ? of(token) : token;
+    }
+
+    /**
+     * 다이제스트 저장 모드인지 확인
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 토큰 다이제스트 계산
+     *
+     * @param token 게이트웨이 토큰
+     * @return "d1:" + SHA-256 앞 16바이트 (URL-safe Base64)
+     */
+    public static String of(String token) {
+        return PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(hash(token));
+    }
+
+    /**
+     * 저장된 값과 제시된 토큰 비교 (고정 시간)
+     *
+     * @param stored    Redis에 저장된 값 (다이제스트 또는 이전 형식의 원본 토큰)
+     * @param presented 요청에 포함된 토큰
+     * @return 같은 토큰이면 true
+     */
+    public static boolean matches(String stored, String presented) {
+        if (stored == null || presented == null) {
+            return false;
+        }
+        if (isDigest(stored)) {
+            byte[] expected;
+            try {
+                expected = Base64.getUrlDecoder().decode(stored.substring(PREFIX.length()));
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+            return MessageDigest.isEqual(expected, hash(presented));
+        }
+        // 이전 형식 (원본 토큰 저장)
+        return MessageDigest.isEqual(stored.getBytes(StandardCharsets.UTF_8),
+                presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 다이제스트 형식으로 저장된 값인지 확인 (JWT와 참조 토큰은 "d1:"로 시작하지 않음)
+     */
+    public static boolean isDigest(String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+
+    private static byte[] hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(digest, DIGEST_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.labzang.api.services.oauthservice.token;
+
+import com.labzang.api.services.oauthservice.jwt.ClaimProjection;
+import com.labzang.api.services.oauthservice.jwt.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 토큰 introspection 서비스 (RFC 7662)
+ * 
+ * 게이트웨이 뒤의 서비스가 JWT 검증 로직 없이 토큰 활성 여부와 클레임을 확인할 수 있도록 합니다.
+ * - JWT: 서명/유효 기간 검증 후, Redis에 저장된 토큰(token:{provider}:{userId}:{type})이
+ *   없거나 제시된 토큰과 다르면(재발급/로그아웃) 폐기된 것으로 판단
+ * - 참조 토큰: Redis(ref:{토큰 다이제스트})에 있으면 활성
+ * - sid 클레임이 있는 토큰: 세션 인덱스에 세션이 없으면 로그아웃된 것으로 판단
+ *   (같은 사용자가 다른 기기에서 로그인해도 이전 기기의 토큰은 활성 상태 유지)
+ * 배치 요청은 폐기 확인을 MGET 한 번과 ZSCORE 파이프라인 한 번으로 처리합니다.
+ * Redis 장애(서킷 open) 중에는 폐기 확인을 생략합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenIntrospectionService {
+
+    private static final Map<String, Object> INACTIVE = Map.of("active", false);
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ClaimProjection claimProjection;
+    private final ReferenceTokenService referenceTokenService;
+    private final TokenService tokenService;
+    private final SessionIndexService sessionIndex;
+    private final IntrospectionProperties properties;
+
+    /**
+     * 단일 토큰 introspection
+     * 
+     * @param token 토큰 (JWT 또는 참조 토큰)
+     * @return RFC 7662 응답 (active, sub, exp 등)
+     */
+    public Map<String, Object> introspect(String token) {
+        return introspectAll(List.of(token == null ? "" : token)).get(0);
+    }
+
+    /**
+     * 여러 토큰 일괄 introspection
+     * 
+     * @param tokens 토큰 목록
+     * @return tokens와 같은 순서의 RFC 7662 응답
+     */
+    public List<Map<String, Object>> introspectAll(List<String> tokens) {
+        List<Map<String, Object>> results = new ArrayList<>(tokens.size());
+        List<Integer> pendingIndexes = new ArrayList<>();
+        List<TokenService.TokenKey> pendingKeys = new ArrayList<>();
+        List<String> pendingTokens = new ArrayList<>();
+        List<Integer> sessionIndexes = new ArrayList<>();
+        List<SessionIndexService.SessionKey> sessionKeys = new ArrayList<>();
+
+        for (String token : tokens) {
+            Map<String, Object> claims = verify(token);
+            if (claims == null) {
+                results.add(INACTIVE);
+                continue;
+            }
+            Object type = claims.get("type");
+            if (claims.get("sid") instanceof String sessionId) {
+                // 세션 로그아웃 여부는 아래에서 한 번에 확인
+                sessionIndexes.add(results.size());
+                sessionKeys.add(new SessionIndexService.SessionKey(String.valueOf(claims.get("provider")),
+                        String.valueOf(claims.get("sub")), sessionId));
+            } else if (!referenceTokenService.isReferenceToken(token)
+                    && ("access".equals(type) || "refresh".equals(type))) {
+                // 폐기 여부는 아래에서 한 번에 확인
+                pendingIndexes.add(results.size());
+                pendingKeys.add(new TokenService.TokenKey(String.valueOf(claims.get("provider")),
+                        String.valueOf(claims.get("sub")), type.toString()));
+                pendingTokens.add(token);
+            }
+            results.add(claims);
+        }
+
+        // Redis 장애 중에는 저장 상태를 알 수 없으므로 서명/유효 기간 검증 결과만 사용
+        if (tokenService.isDegraded()) {
+            return results;
+        }
+        long graceEdge = System.currentTimeMillis() / 1000 - properties.getPendingWriteGrace().toSeconds();
+        if (!pendingKeys.isEmpty()) {
+            List<String> stored = tokenService.getTokens(pendingKeys);
+            for (int i = 0; i < pendingKeys.size(); i++) {
+                int index = pendingIndexes.get(i);
+                // 키만 있는지가 아니라 저장된 다이제스트가 이 토큰의 것인지 확인 (고정 시간 비교)
+                if (!TokenDigest.matches(stored.get(i), pendingTokens.get(i))
+                        && issuedAt(results.get(index)) < graceEdge) {
+                    results.set(index, INACTIVE);
+                }
+            }
+        }
+        if (!sessionKeys.isEmpty()) {
+            List<Boolean> active = sessionIndex.areActive(sessionKeys);
+            for (int i = 0; active != null && i < sessionKeys.size(); i++) {
+                int index = sessionIndexes.get(i);
+                if (!active.get(i) && issuedAt(results.get(index)) < graceEdge) {
+                    results.set(index, INACTIVE);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 응답을 캐시해도 되는 시간 (초)
+     * 활성 토큰 중 가장 빠른 exp까지, max-cache-age 이하로 제한합니다.
+     * 
+     * @param results introspection 응답
+     * @return 캐시 가능 시간, 캐시하면 안 되면 0
+     */
+    public long cacheSeconds(List<Map<String, Object>> results) {
+        long now = System.currentTimeMillis() / 1000;
+        long seconds = properties.getMaxCacheAge().toSeconds();
+        boolean anyActive = false;
+        for (Map<String, Object> result : results) {
+            if (!Boolean.TRUE.equals(result.get("active"))) {
+                continue;
+            }
+            anyActive = true;
+            if (result.get("exp") instanceof Number exp) {
+                seconds = Math.min(seconds, exp.longValue() - now);
+            }
+        }
+        return anyActive ? Math.max(seconds, 0) : 0;
+    }
+
+    /**
+     * 서명/유효 기간 검증 및 응답용 클레임 구성
+     * 
+     * @return active=true와 클레임, 유효하지 않으면 null
+     */
+    private Map<String, Object> verify(String token) {
+        Map<String, Object> claims;
+        if (referenceTokenService.isReferenceToken(token)) {
+            claims = referenceTokenService.resolve(token);
+        } else {
+            Claims jwtClaims = jwtTokenProvider.getValidClaims(token);
+            claims = jwtClaims != null ? claimProjection.expand(jwtClaims) : null;
+        }
+        if (claims == null) {
+            return null;
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("active", true);
+        claims.forEach((name, value) -> response.put(name,
+                value instanceof Date date ? date.getTime() / 1000 : value));
+        return response;
+    }
+
+    private long issuedAt(Map<String, Object> response) {
+        return response.get("iat") instanceof Number iat ? iat.longValue() : 0;
+    }
+}
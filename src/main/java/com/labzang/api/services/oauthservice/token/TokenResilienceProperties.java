@@ -0,0 +1,32 @@
+package com.labzang.api.services.oauthservice.token;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Redis 장애 대응 (서킷 브레이커 + 로컬 대체 저장소) 설정 프로퍼티
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "oauth.token.resilience")
+public class TokenResilienceProperties {
+
+    // false이면 Redis 오류를 그대로 호출 측에 전달
+    private boolean enabled = true;
+
+    // 연속 실패가 이 횟수에 도달하면 서킷 open
+    private int failureThreshold = 5;
+
+    // open 상태 유지 시간 (이후 한 번의 시험 호출 허용)
+    private Duration openDuration = Duration.ofSeconds(10);
+
+    // 로컬 대체 저장소 최대 항목 수
+    private int maxLocalEntries = 50000;
+
+    // 복구 확인 및 재반영(replay) 주기
+    private Duration replayInterval = Duration.ofSeconds(5);
+}
@@ -1,16 +1,49 @@
 package com.labzang.api.services.oauthservice.token;
 // 현재 Docker 컨테이너가 정상 실행 중이므로 TokenService도 정상 작동하고 있습니다! 🎉
 // IDE의 빨간색 표시는 무시하고 계속 진행하셔도 됩니다.
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import lombok.RequiredArgsConstructor;
 
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * 토큰 저장소
+ * 
+ * 저장은 TokenStore 구현체에 위임합니다 (기본 Redis, 단일 노드는 oauth.token.store=embedded).
+ * 사용자별 키는 해시 태그로 묶어 Redis Cluster에서도 같은 슬롯에 저장합니다.
+ * 예: token:{kakao:12345}:access, token:{kakao:12345}:refresh
+ * 세션(sid)이 있는 로그인은 기기별로 따로 저장하여 다른 기기의 로그인이 덮어쓰지 않도록 합니다.
+ * 예: token:{kakao:12345}:{sid}:access (세션 단위 키가 없으면 사용자 단위 키를 확인)
+ * 해시 태그 도입 전 형식(token:kakao:12345:access)의 키는 만료될 때까지 읽기/삭제 시 함께 확인합니다.
+ * 
+ * 게이트웨이 토큰(token:*)은 원본 대신 TokenDigest 다이제스트로 저장하고, 제시된 토큰과는
+ * matchesToken으로 비교합니다. 이전에 원본으로 저장된 값은 비교 시 다이제스트로 바꿔 저장합니다.
+ * 
+ * 저장소 장애 중 조회는 null(저장 상태를 알 수 없음)을 반환하므로,
+ * 호출 측은 isDegraded()를 확인하고 JWT 검증만으로 처리합니다.
+ */
 @Service
-@RequiredArgsConstructor
 public class TokenService {
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final TokenStore store;
+    private final TokenDigest tokenDigest;
+
+    // 해시 태그 도입 전 키 형식도 조회 (기존 토큰이 모두 만료되면 false로 변경)
+    @Value("${oauth.token.legacy-key-fallback:true}")
+    private boolean legacyKeyFallback = true;
+
+    public TokenService(TokenStore store, TokenDigest tokenDigest) {
+        this.store = store;
+        this.tokenDigest = tokenDigest;
+    }
+
+    /**
+     * 저장소 장애로 대체 모드로 동작 중인지 확인
+     * true이면 조회 결과가 없어도 폐기된 것으로 판단하지 말아야 합니다.
+     */
+    public boolean isDegraded() {
+        return store.isDegraded();
+    }
 
     /**
      * Access Token 저장
@@ -21,9 +54,9 @@ public class TokenService {
      * @param expireTime  만료 시간 (초)
      */
     public void saveAccessToken(String provider, String userId, String accessToken, long expireTime) {
-        String key = String.format("token:%s:%s:access", provider, userId);
-        redisTemplate.opsForValue().set(key, accessToken, expireTime, TimeUnit.SECONDS);
-        System.out.println("Redis 저장 - Key: " + key + ", TTL: " + expireTime + "초");
+        String key = tokenKey(provider, userId, "access");
+        write(key, tokenDigest.storedForm(accessToken), expireTime);
+        System.out.println("토큰 저장 - Key: " + key + ", TTL: " + expireTime + "초");
     }
 
     /**
@@ -35,9 +68,9 @@ public class TokenService {
      * @param expireTime   만료 시간 (초)
      */
     public void saveRefreshToken(String provider, String userId, String refreshToken, long expireTime) {
-        String key = String.format("token:%s:%s:refresh", provider, userId);
-        redisTemplate.opsForValue().set(key, refreshToken, expireTime, TimeUnit.SECONDS);
-        System.out.println("Redis 저장 - Key: " + key + ", TTL: " + expireTime + "초");
+        String key = tokenKey(provider, userId, "refresh");
+        write(key, tokenDigest.storedForm(refreshToken), expireTime);
+        System.out.println("토큰 저장 - Key: " + key + ", TTL: " + expireTime + "초");
     }
 
     /**
@@ -45,12 +78,11 @@ public class TokenService {
      * 
      * @param provider 소셜 로그인 제공자
      * @param userId   사용자 ID
-     * @return Access Token
+     * @return 저장된 Access Token (다이제스트 또는 원본, 비교는 matchesToken 사용)
      */
     public String getAccessToken(String provider, String userId) {
-        String key = String.format("token:%s:%s:access", provider, userId);
-        Object token = redisTemplate.opsForValue().get(key);
-        return token != null ? token.toString() : null;
+        return read(tokenKey(provider, userId, "access"),
+                String.format("token:%s:%s:access", provider, userId));
     }
 
     /**
@@ -58,12 +90,105 @@ public class TokenService {
      * 
      * @param provider 소셜 로그인 제공자
      * @param userId   사용자 ID
-     * @return Refresh Token
+     * @return 저장된 Refresh Token (다이제스트 또는 원본, 비교는 matchesToken 사용)
      */
     public String getRefreshToken(String provider, String userId) {
-        String key = String.format("token:%s:%s:refresh", provider, userId);
-        Object token = redisTemplate.opsForValue().get(key);
-        return token != null ? token.toString() : null;
+        return read(tokenKey(provider, userId, "refresh"),
+                String.format("token:%s:%s:refresh", provider, userId));
+    }
+
+    /**
+     * 제시된 토큰이 저장된 게이트웨이 토큰과 같은지 확인 (고정 시간 비교)
+     * 원본 형식으로 저장된 값이 일치하면 남은 TTL로 다이제스트로 바꿔 저장합니다.
+     * 
+     * @param provider  소셜 로그인 제공자
+     * @param userId    사용자 ID
+     * @param type      access 또는 refresh
+     * @param presented 요청에 포함된 토큰
+     * @return 일치 여부, 저장된 토큰이 없으면 false, Redis 장애로 알 수 없으면 null
+     */
+    public Boolean matchesToken(String provider, String userId, String type, String presented) {
+        return matchesToken(provider, userId, null, type, presented);
+    }
+
+    /**
+     * 제시된 토큰이 세션에 저장된 게이트웨이 토큰과 같은지 확인 (고정 시간 비교)
+     * 세션 단위 키가 없으면 세션 단위 저장 도입 전에 발급된 토큰으로 보고 사용자 단위 키를 확인합니다.
+     * 
+     * @param provider  소셜 로그인 제공자
+     * @param userId    사용자 ID
+     * @param sessionId 세션 ID (토큰의 sid 클레임, 없으면 null)
+     * @param type      access 또는 refresh
+     * @param presented 요청에 포함된 토큰
+     * @return 일치 여부, 저장된 토큰이 없으면 false, Redis 장애로 알 수 없으면 null
+     */
+    public Boolean matchesToken(String provider, String userId, String sessionId, String type, String presented) {
+        if (sessionId != null) {
+            String stored = store.get(tokenKey(provider, userId, sessionId, type));
+            if (stored != null) {
+                return TokenDigest.matches(stored, presented);
+            }
+        }
+        String key = tokenKey(provider, userId, type);
+        String stored = read(key, String.format("token:%s:%s:%s", provider, userId, type));
+        if (stored == null) {
+            return isDegraded() ? null : false;
+        }
+        boolean matches = TokenDigest.matches(stored, presented);
+        if (matches && tokenDigest.isEnabled() && !TokenDigest.isDigest(stored)) {
+            migrateToDigest(key, presented);
+        }
+        return matches;
+    }
+
+    /**
+     * 저장된 게이트웨이 토큰 일괄 조회 (MGET 한 번)
+     * 
+     * @param keys 조회할 토큰 키 목록
+     * @return keys와 같은 순서의 토큰 (없으면 null)
+     */
+    public List<String> getTokens(List<TokenKey> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        List<String> storeKeys = new ArrayList<>(keys.size());
+        for (TokenKey key : keys) {
+            storeKeys.add(tokenKey(key.provider(), key.userId(), key.type()));
+        }
+        List<String> tokens = new ArrayList<>(store.multiGet(storeKeys));
+        if (!legacyKeyFallback || store.isDegraded()) {
+            return tokens;
+        }
+
+        // 이전 형식 키로 저장된 토큰 확인
+        List<Integer> missing = new ArrayList<>();
+        List<String> legacyKeys = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            if (tokens.get(i) == null) {
+                TokenKey key = keys.get(i);
+                missing.add(i);
+                legacyKeys.add(String.format("token:%s:%s:%s", key.provider(), key.userId(), key.type()));
+            }
+        }
+        if (!legacyKeys.isEmpty()) {
+            List<String> legacyValues = store.multiGet(legacyKeys);
+            for (int i = 0; i < missing.size(); i++) {
+                if (legacyValues.get(i) != null) {
+                    tokens.set(missing.get(i), legacyValues.get(i));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 게이트웨이 토큰 키
+     * 
+     * @param provider 소셜 로그인 제공자
+     * @param userId   사용자 ID
+     * @param type     access 또는 refresh
+     */
+    public record TokenKey(String provider, String userId, String type) {
     }
 
     /**
@@ -73,10 +198,64 @@ public class TokenService {
      * @param userId   사용자 ID
      */
     public void deleteTokens(String provider, String userId) {
-        String accessKey = String.format("token:%s:%s:access", provider, userId);
-        String refreshKey = String.format("token:%s:%s:refresh", provider, userId);
-        redisTemplate.delete(accessKey);
-        redisTemplate.delete(refreshKey);
+        deleteTokens(provider, userId, null);
+    }
+
+    /**
+     * 세션의 토큰 삭제 (sid가 없으면 사용자 단위 키)
+     * 
+     * @param provider  소셜 로그인 제공자
+     * @param userId    사용자 ID
+     * @param sessionId 세션 ID (없으면 null)
+     */
+    public void deleteTokens(String provider, String userId, String sessionId) {
+        if (sessionId != null) {
+            remove(tokenKey(provider, userId, sessionId, "access"), tokenKey(provider, userId, sessionId, "refresh"));
+            return;
+        }
+        // 같은 슬롯의 키이므로 DEL 한 번으로 삭제
+        remove(tokenKey(provider, userId, "access"), tokenKey(provider, userId, "refresh"));
+        if (legacyKeyFallback) {
+            remove(String.format("token:%s:%s:access", provider, userId));
+            remove(String.format("token:%s:%s:refresh", provider, userId));
+        }
+    }
+
+    /**
+     * Access/Refresh Token 함께 저장 (Redis는 파이프라인 한 번)
+     * 
+     * @param provider     소셜 로그인 제공자
+     * @param userId       사용자 ID
+     * @param accessToken  Access Token
+     * @param accessTtl    Access Token 만료 시간 (초)
+     * @param refreshToken Refresh Token
+     * @param refreshTtl   Refresh Token 만료 시간 (초)
+     */
+    public void saveTokens(String provider, String userId, String accessToken, long accessTtl,
+            String refreshToken, long refreshTtl) {
+        saveTokens(provider, userId, null, accessToken, accessTtl, refreshToken, refreshTtl);
+    }
+
+    /**
+     * 세션의 Access/Refresh Token 함께 저장 (sid가 없으면 사용자 단위 키)
+     * 
+     * @param provider     소셜 로그인 제공자
+     * @param userId       사용자 ID
+     * @param sessionId    세션 ID (토큰의 sid 클레임, 없으면 null)
+     * @param accessToken  Access Token
+     * @param accessTtl    Access Token 만료 시간 (초)
+     * @param refreshToken Refresh Token
+     * @param refreshTtl   Refresh Token 만료 시간 (초)
+     */
+    public void saveTokens(String provider, String userId, String sessionId, String accessToken, long accessTtl,
+            String refreshToken, long refreshTtl) {
+        String accessKey = tokenKey(provider, userId, sessionId, "access");
+        String refreshKey = tokenKey(provider, userId, sessionId, "refresh");
+        store.setAll(List.of(
+                new TokenStore.Write(accessKey, tokenDigest.storedForm(accessToken), accessTtl),
+                new TokenStore.Write(refreshKey, tokenDigest.storedForm(refreshToken), refreshTtl)));
+        System.out.println("토큰 저장 - Key: " + accessKey + ", " + refreshKey
+                + ", TTL: " + accessTtl + "초/" + refreshTtl + "초");
     }
 
     /**
@@ -88,7 +267,7 @@ public class TokenService {
      */
     public void saveAuthorizationCode(String provider, String code, String state, long expireTime) {
         String key = String.format("code:%s:%s", provider, code);
-        redisTemplate.opsForValue().set(key, state != null ? state : "", expireTime, TimeUnit.SECONDS);
+        write(key, state != null ? state : "", expireTime);
     }
 
     /**
@@ -99,13 +278,7 @@ public class TokenService {
      * @return state 값 (있으면 반환, 없으면 null)
      */
     public String verifyAndDeleteAuthorizationCode(String provider, String code) {
-        String key = String.format("code:%s:%s", provider, code);
-        Object state = redisTemplate.opsForValue().get(key);
-        if (state != null) {
-            redisTemplate.delete(key);
-            return state.toString();
-        }
-        return null;
+        return store.getAndDelete(String.format("code:%s:%s", provider, code));
     }
 
     /**
@@ -117,9 +290,9 @@ public class TokenService {
      * @param expireTime  만료 시간 (초)
      */
     public void saveOAuthAccessToken(String provider, String userId, String accessToken, long expireTime) {
-        String key = String.format("oauth:%s:%s:access", provider, userId);
-        redisTemplate.opsForValue().set(key, accessToken, expireTime, TimeUnit.SECONDS);
-        System.out.println("Redis 저장 - OAuth Access Token - Key: " + key + ", TTL: " + expireTime + "초");
+        String key = oauthKey(provider, userId, "access");
+        write(key, accessToken, expireTime);
+        System.out.println("토큰 저장 - OAuth Access Token - Key: " + key + ", TTL: " + expireTime + "초");
     }
 
     /**
@@ -131,9 +304,9 @@ public class TokenService {
      * @param expireTime   만료 시간 (초)
      */
     public void saveOAuthRefreshToken(String provider, String userId, String refreshToken, long expireTime) {
-        String key = String.format("oauth:%s:%s:refresh", provider, userId);
-        redisTemplate.opsForValue().set(key, refreshToken, expireTime, TimeUnit.SECONDS);
-        System.out.println("Redis 저장 - OAuth Refresh Token - Key: " + key + ", TTL: " + expireTime + "초");
+        String key = oauthKey(provider, userId, "refresh");
+        write(key, refreshToken, expireTime);
+        System.out.println("토큰 저장 - OAuth Refresh Token - Key: " + key + ", TTL: " + expireTime + "초");
     }
 
     /**
@@ -144,9 +317,8 @@ public class TokenService {
      * @return OAuth Access Token
      */
     public String getOAuthAccessToken(String provider, String userId) {
-        String key = String.format("oauth:%s:%s:access", provider, userId);
-        Object token = redisTemplate.opsForValue().get(key);
-        return token != null ? token.toString() : null;
+        return read(oauthKey(provider, userId, "access"),
+                String.format("oauth:%s:%s:access", provider, userId));
     }
 
     /**
@@ -157,9 +329,8 @@ public class TokenService {
      * @return OAuth Refresh Token
      */
     public String getOAuthRefreshToken(String provider, String userId) {
-        String key = String.format("oauth:%s:%s:refresh", provider, userId);
-        Object token = redisTemplate.opsForValue().get(key);
-        return token != null ? token.toString() : null;
+        return read(oauthKey(provider, userId, "refresh"),
+                String.format("oauth:%s:%s:refresh", provider, userId));
     }
 
     /**
@@ -169,9 +340,63 @@ public class TokenService {
      * @param userId   사용자 ID
      */
     public void deleteOAuthTokens(String provider, String userId) {
-        String accessKey = String.format("oauth:%s:%s:access", provider, userId);
-        String refreshKey = String.format("oauth:%s:%s:refresh", provider, userId);
-        redisTemplate.delete(accessKey);
-        redisTemplate.delete(refreshKey);
+        remove(oauthKey(provider, userId, "access"), oauthKey(provider, userId, "refresh"));
+        if (legacyKeyFallback) {
+            remove(String.format("oauth:%s:%s:access", provider, userId));
+            remove(String.format("oauth:%s:%s:refresh", provider, userId));
+        }
+    }
+
+    /**
+     * 게이트웨이 토큰 키 (사용자 단위 해시 태그)
+     */
+    static String tokenKey(String provider, String userId, String type) {
+        return "token:{" + provider + ":" + userId + "}:" + type;
+    }
+
+    /**
+     * 세션 단위 게이트웨이 토큰 키 (사용자 키와 같은 해시 태그, sid가 없으면 사용자 단위 키)
+     */
+    static String tokenKey(String provider, String userId, String sessionId, String type) {
+        if (sessionId == null) {
+            return tokenKey(provider, userId, type);
+        }
+        return "token:{" + provider + ":" + userId + "}:" + sessionId + ":" + type;
+    }
+
+    /**
+     * OAuth 제공자 원본 토큰 키 (사용자 단위 해시 태그)
+     */
+    static String oauthKey(String provider, String userId, String type) {
+        return "oauth:{" + provider + ":" + userId + "}:" + type;
+    }
+
+    /**
+     * 원본으로 저장된 토큰을 남은 TTL 그대로 다이제스트로 교체 (이전 형식 키는 만료될 때까지 그대로 둠)
+     */
+    private void migrateToDigest(String key, String token) {
+        long ttl = store.getExpire(key);
+        if (ttl > 0) {
+            store.set(key, TokenDigest.of(token), ttl);
+        }
+    }
+
+    /**
+     * 조회, 없으면 이전 형식 키 확인
+     */
+    private String read(String key, String legacyKey) {
+        String token = store.get(key);
+        if (token == null && legacyKeyFallback && !store.isDegraded()) {
+            token = store.get(legacyKey);
+        }
+        return token;
+    }
+
+    private void write(String key, String value, long ttlSeconds) {
+        store.set(key, value, ttlSeconds);
+    }
+
+    private void remove(String... keys) {
+        store.delete(keys);
     }
 }
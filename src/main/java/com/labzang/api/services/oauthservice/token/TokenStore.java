@@ -0,0 +1,77 @@
+package com.labzang.api.services.oauthservice.token;
+
+import java.util.List;
+
+/**
+ * 토큰 키-값 저장소
+ *
+ * TokenService가 사용하는 저장 연산만 정의합니다. 키 형식, 이전 형식 키 확인, 다이제스트 변환은
+ * TokenService가 담당하고, 구현체는 값을 TTL과 함께 보관하는 일만 합니다.
+ * - RedisTokenStore: 기본값, 여러 게이트웨이 노드가 Redis를 공유 (oauth.token.store=redis)
+ * - MappedTokenStore: 단일 노드용, 메모리 매핑 파일에 저장 (oauth.token.store=embedded)
+ */
+public interface TokenStore {
+
+    /**
+     * 함께 저장할 값
+     *
+     * @param key        키
+     * @param value      값
+     * @param ttlSeconds 만료 시간 (초)
+     */
+    record Write(String key, String value, long ttlSeconds) {
+    }
+
+    /**
+     * 값 조회
+     *
+     * @return 값, 없거나 만료되었거나 저장소 장애 시 null
+     */
+    String get(String key);
+
+    /**
+     * 여러 값 조회
+     *
+     * @return keys와 같은 순서의 값 (없으면 null)
+     */
+    List<String> multiGet(List<String> keys);
+
+    /**
+     * 값 저장 (같은 키가 있으면 덮어씀)
+     */
+    void set(String key, String value, long ttlSeconds);
+
+    /**
+     * 여러 값 함께 저장
+     */
+    void setAll(List<Write> writes);
+
+    /**
+     * 삭제 (Redis Cluster에서는 같은 슬롯의 키만 함께 전달)
+     */
+    void delete(String... keys);
+
+    /**
+     * 조회 후 삭제 (일회용 값)
+     *
+     * @return 삭제 전 값, 없으면 null
+     */
+    String getAndDelete(String key);
+
+    /**
+     * 남은 만료 시간
+     *
+     * @return 초, 키가 없으면 0 이하
+     */
+    long getExpire(String key);
+
+    /**
+     * 장애로 대체 모드로 동작 중인지 확인 (true이면 조회 결과가 없어도 없는 것으로 판단하지 말아야 함)
+     */
+    boolean isDegraded();
+
+    /**
+     * 같은 프로세스 안의 저장소인지 확인 (true이면 비동기 API도 호출 스레드에서 바로 처리)
+     */
+    boolean isLocal();
+}
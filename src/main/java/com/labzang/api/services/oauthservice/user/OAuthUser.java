@@ -0,0 +1,46 @@
+package com.labzang.api.services.oauthservice.user;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 소셜 로그인 사용자 엔티티 (labzang_oauth.oauth_users)
+ * 
+ * 쓰기는 OAuthUserWriteBehind가 JDBC 배치 upsert로 처리하며, 이 엔티티는 조회용으로 사용합니다.
+ */
+@Entity
+@Table(schema = "labzang_oauth", name = "oauth_users",
+        uniqueConstraints = @UniqueConstraint(columnNames = { "provider", "provider_id" }))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OAuthUser {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "provider", nullable = false, length = 50)
+    private String provider;
+
+    @Column(name = "provider_id", nullable = false)
+    private String providerId;
+
+    @Column(name = "email", nullable = false, unique = true)
+    private String email;
+
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "profile_image_url", columnDefinition = "TEXT")
+    private String profileImageUrl;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+}
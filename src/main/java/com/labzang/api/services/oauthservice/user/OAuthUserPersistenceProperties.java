@@ -0,0 +1,28 @@
+package com.labzang.api.services.oauthservice.user;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * 소셜 로그인 사용자 저장(write-behind) 설정 프로퍼티
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "oauth.user-persistence")
+public class OAuthUserPersistenceProperties {
+
+    private boolean enabled = true;
+
+    // 한 번에 upsert할 최대 사용자 수
+    private int batchSize = 200;
+
+    // 대기열을 비우는 주기
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    // 대기열 최대 크기 (가득 차면 새 사용자는 저장하지 않고 버림, 다음 로그인 때 다시 저장)
+    private int maxPending = 10000;
+}
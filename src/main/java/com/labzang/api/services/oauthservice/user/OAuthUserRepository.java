@@ -0,0 +1,10 @@
+package com.labzang.api.services.oauthservice.user;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface OAuthUserRepository extends JpaRepository<OAuthUser, Long> {
+
+    Optional<OAuthUser> findByProviderAndProviderId(String provider, String providerId);
+}
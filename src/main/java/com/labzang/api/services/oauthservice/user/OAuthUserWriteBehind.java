@@ -0,0 +1,227 @@
+package com.labzang.api.services.oauthservice.user;
+
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 소셜 로그인 사용자 write-behind 저장소
+ * 
+ * 로그인 시 labzang_oauth.oauth_users upsert를 대기열에 넣고, 백그라운드에서 JDBC 배치로 저장합니다.
+ * - 같은 사용자의 반복 로그인은 대기열에서 최신 프로필 하나로 합쳐집니다.
+ * - INSERT ... ON CONFLICT (provider, provider_id) DO UPDATE 로 한 번의 왕복에 여러 사용자를 저장합니다.
+ * - 대기열은 max-pending으로 제한하고, 가득 차면 새 사용자는 버리고(dropped 카운터) 백그라운드 flush만 요청합니다.
+ *   로그인 요청 스레드는 DB를 기다리지 않으며, 버려진 사용자는 다음 로그인 때 다시 저장됩니다.
+ * - DB 연결 오류 시 대기열 한도 안에서 되돌려 다음 주기에 재시도하고, 종료 시 남은 대기열을 모두 저장합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OAuthUserWriteBehind {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO labzang_oauth.oauth_users
+                (provider, provider_id, email, name, profile_image_url, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (provider, provider_id) DO UPDATE SET
+                email = EXCLUDED.email,
+                name = EXCLUDED.name,
+                profile_image_url = EXCLUDED.profile_image_url,
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OAuthUserPersistenceProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, OAuthUserProfile> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "oauth-user-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getFlushInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        meterRegistry.gaugeMapSize("oauth.user-persistence.pending", Tags.empty(), pending);
+    }
+
+    /**
+     * 로그인한 사용자 저장 요청
+     * 
+     * @param profile 사용자 프로필
+     */
+    public void enqueue(OAuthUserProfile profile) {
+        if (!properties.isEnabled() || profile.providerId().isEmpty()) {
+            return;
+        }
+        String key = profile.provider() + ":" + profile.providerId();
+        if (pending.size() >= properties.getMaxPending() && !pending.containsKey(key)) {
+            // 대기열이 가득 차면 버림 (DB 장애 중에도 메모리와 로그인 지연이 늘지 않도록)
+            meterRegistry.counter("oauth.user-persistence.dropped").increment();
+            requestFlush();
+            return;
+        }
+        pending.put(key, profile);
+        if (pending.size() >= properties.getBatchSize()) {
+            requestFlush();
+        }
+    }
+
+    /**
+     * 백그라운드 flush 요청 (호출한 스레드에서는 저장하지 않음)
+     */
+    private void requestFlush() {
+        if (scheduler != null && !scheduler.isShutdown() && !flushLock.isLocked()) {
+            scheduler.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * 종료 시 남은 대기열 저장
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int before = pending.size();
+        while (!pending.isEmpty()) {
+            if (flush() == 0) {
+                break; // DB를 사용할 수 없어 더 이상 진행되지 않음
+            }
+        }
+        if (!pending.isEmpty()) {
+            System.err.println("❌ 종료 시 저장하지 못한 OAuth 사용자: " + pending.size() + "명");
+        } else if (before > 0) {
+            System.out.println("✅ 종료 전 OAuth 사용자 " + before + "명 저장 완료");
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            System.err.println("⚠️ OAuth 사용자 저장 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 대기열에서 한 배치를 꺼내 저장
+     * 
+     * @return 저장한 사용자 수
+     */
+    int flush() {
+        flushLock.lock();
+        try {
+            List<OAuthUserProfile> batch = drain(properties.getBatchSize());
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            try {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, batch, batch.size(), (ps, profile) -> {
+                    ps.setString(1, profile.provider());
+                    ps.setString(2, profile.providerId());
+                    ps.setString(3, emailOf(profile));
+                    ps.setString(4, profile.nickname());
+                    ps.setString(5, profile.profileImage());
+                });
+                meterRegistry.counter("oauth.user-persistence.saved").increment(batch.size());
+                return batch.size();
+            } catch (DataAccessResourceFailureException | TransientDataAccessException e) {
+                // DB 연결 문제: 대기열 한도 안에서 되돌려 다음 주기에 재시도 (그 사이 들어온 최신 프로필 우선)
+                requeue(batch);
+                throw e;
+            } catch (RuntimeException e) {
+                // 데이터 문제(예: 다른 제공자 계정과 이메일 중복): 행 단위로 재시도하여 나머지는 저장
+                return saveIndividually(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void requeue(List<OAuthUserProfile> batch) {
+        int dropped = 0;
+        for (OAuthUserProfile profile : batch) {
+            String key = profile.provider() + ":" + profile.providerId();
+            if (pending.size() < properties.getMaxPending() || pending.containsKey(key)) {
+                pending.putIfAbsent(key, profile);
+            } else {
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            meterRegistry.counter("oauth.user-persistence.dropped").increment(dropped);
+        }
+    }
+
+    private int saveIndividually(List<OAuthUserProfile> batch) {
+        int saved = 0;
+        for (OAuthUserProfile profile : batch) {
+            try {
+                jdbcTemplate.update(UPSERT_SQL, profile.provider(), profile.providerId(), emailOf(profile),
+                        profile.nickname(), profile.profileImage());
+                saved++;
+            } catch (RuntimeException e) {
+                meterRegistry.counter("oauth.user-persistence.rejected").increment();
+                System.err.println("⚠️ OAuth 사용자 저장 거부: " + profile.provider() + ":" + profile.providerId()
+                        + " - " + e.getMessage());
+            }
+        }
+        meterRegistry.counter("oauth.user-persistence.saved").increment(saved);
+        return saved;
+    }
+
+    private List<OAuthUserProfile> drain(int max) {
+        List<OAuthUserProfile> batch = new ArrayList<>(Math.min(max, pending.size()));
+        Iterator<Map.Entry<String, OAuthUserProfile>> it = pending.entrySet().iterator();
+        while (it.hasNext() && batch.size() < max) {
+            Map.Entry<String, OAuthUserProfile> entry = it.next();
+            // 꺼내는 사이 더 최신 프로필로 바뀌었으면 그 값은 남겨 다음 배치에서 저장
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry.getValue());
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * oauth_users.email은 NOT NULL + UNIQUE이므로 이메일 제공에 동의하지 않은 사용자는
+     * 제공자 ID 기반의 고유한 대체 주소로 저장합니다.
+     */
+    private String emailOf(OAuthUserProfile profile) {
+        return profile.email().isEmpty()
+                ? profile.provider() + "_" + profile.providerId() + "@oauth.labzang.local"
+                : profile.email();
+    }
+}
@@ -0,0 +1,46 @@
+package com.labzang.api.services.oauthservice.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 시작 시 워밍업 설정 프로퍼티
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "oauth.warmup")
+public class WarmupProperties {
+
+    // false이면 워밍업 없이 바로 readiness UP
+    private boolean enabled = true;
+
+    // 미리 연결할 제공자 API URL (HEAD 요청, 응답 상태는 무시)
+    private List<String> providerUrls = new ArrayList<>(List.of(
+            "https://kauth.kakao.com/oauth/token",
+            "https://kapi.kakao.com/v2/user/me",
+            "https://oauth2.googleapis.com/token",
+            "https://www.googleapis.com/oauth2/v2/userinfo",
+            "https://nid.naver.com/oauth2.0/token",
+            "https://openapi.naver.com/v1/nid/me"));
+
+    // JWT 발급/검증 반복 횟수 (JIT 컴파일 유도)
+    private int jwtIterations = 2000;
+
+    // 제공자 DTO 역직렬화/응답 직렬화 반복 횟수
+    private int jacksonIterations = 500;
+
+    // 워밍업 전체 제한 시간 (초과해도 readiness는 UP으로 전환)
+    private Duration timeout = Duration.ofSeconds(15);
+
+    // 시작 후에도 제공자/Redis 유휴 연결을 계속 유지할지 여부 (제공자 API에 주기적으로 요청하므로 기본 비활성화)
+    private boolean keepAliveEnabled = false;
+
+    // 유휴 연결 유지 주기 (JDK HttpClient 유휴 연결 타임아웃 30초보다 짧게, 0이면 비활성화)
+    private Duration keepAliveInterval = Duration.ofSeconds(25);
+}
@@ -0,0 +1,312 @@
+package com.labzang.api.services.oauthservice.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labzang.api.services.oauthservice.google.dto.GoogleTokenResponse;
+import com.labzang.api.services.oauthservice.google.dto.GoogleUserInfo;
+import com.labzang.api.services.oauthservice.jwt.JwtTokenProvider;
+import com.labzang.api.services.oauthservice.kakao.dto.KakaoTokenResponse;
+import com.labzang.api.services.oauthservice.kakao.dto.KakaoUserInfo;
+import com.labzang.api.services.oauthservice.naver.dto.NaverTokenResponse;
+import com.labzang.api.services.oauthservice.naver.dto.NaverUserInfo;
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
+import com.labzang.api.services.oauthservice.profile.ProviderUserInfo;
+import com.labzang.api.services.oauthservice.provider.OAuthPipelineProperties;
+import com.labzang.api.services.oauthservice.token.TokenDigest;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * 시작 시 워밍업
+ *
+ * 재시작 직후 첫 로그인들이 제공자/Redis TLS 핸드셰이크와 인터프리터 모드의 JWT 서명, Jackson 직렬화기 생성
+ * 비용을 그대로 치르지 않도록, 트래픽을 받기 전에 같은 경로를 미리 실행합니다.
+ * ApplicationRunner는 readiness가 ACCEPTING_TRAFFIC으로 바뀌기 전에 실행되므로
+ * /actuator/health/readiness는 워밍업이 끝난 뒤에 UP이 됩니다.
+ * - 제공자 API: 공유 HttpClient로 HEAD 요청을 보내 keep-alive 연결을 미리 열어 둠
+ * - Redis: primary/replica/reactive 연결에 PING
+ * - JWT: Access/Refresh 발급과 검증(전용 코덱, jjwt) 반복
+ * - Jackson: RestTemplate이 쓰는 ObjectMapper로 제공자 DTO 역직렬화, 응답용 ObjectMapper로 프로필 직렬화
+ * 실패하거나 timeout을 넘겨도 시작은 막지 않습니다.
+ * keep-alive-enabled=true이면 이후 keep-alive-interval마다 제공자/Redis 연결에 다시 요청을 보내
+ * 유휴 연결이 닫히지 않게 합니다. 트래픽과 무관하게 제공자 API를 계속 호출하므로 기본은 시작 시에만 연결합니다.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final OAuthUserProfile WARMUP_PROFILE = new OAuthUserProfile(
+            "kakao", "warmup", "warmup", "warmup@labzang.com", true, "");
+
+    // 제공자 응답 예시 (필드 구성만 실제 응답과 같음)
+    private static final Map<Class<?>, String> PROVIDER_SAMPLES = Map.of(
+            KakaoTokenResponse.class,
+            "{\"access_token\":\"warmup\",\"token_type\":\"bearer\",\"refresh_token\":\"warmup\",\"expires_in\":21599,"
+                    + "\"scope\":\"profile_nickname account_email\",\"refresh_token_expires_in\":5183999}",
+            KakaoUserInfo.class,
+            "{\"id\":1,\"connected_at\":\"2024-01-01T00:00:00Z\",\"properties\":{\"nickname\":\"warmup\","
+                    + "\"profile_image\":\"\",\"thumbnail_image\":\"\"},\"kakao_account\":{"
+                    + "\"profile_nickname_needs_agreement\":false,\"profile\":{\"nickname\":\"warmup\","
+                    + "\"is_default_nickname\":false},\"has_email\":true,\"is_email_valid\":true,"
+                    + "\"is_email_verified\":true,\"email\":\"warmup@labzang.com\"}}",
+            GoogleTokenResponse.class,
+            "{\"access_token\":\"warmup\",\"expires_in\":3599,\"scope\":\"openid\",\"token_type\":\"Bearer\","
+                    + "\"id_token\":\"warmup\"}",
+            GoogleUserInfo.class,
+            "{\"id\":\"1\",\"email\":\"warmup@labzang.com\",\"verified_email\":true,\"name\":\"warmup\","
+                    + "\"picture\":\"\"}",
+            NaverTokenResponse.class,
+            "{\"access_token\":\"warmup\",\"refresh_token\":\"warmup\",\"token_type\":\"bearer\",\"expires_in\":\"3600\"}",
+            NaverUserInfo.class,
+            "{\"resultcode\":\"00\",\"message\":\"success\",\"response\":{\"id\":\"1\",\"nickname\":\"warmup\","
+                    + "\"name\":\"warmup\",\"email\":\"warmup@labzang.com\",\"profile_image\":\"\"}}");
+
+    private final WarmupProperties properties;
+    private final OAuthPipelineProperties pipelineProperties;
+    private final HttpClient oauthHttpClient;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final RedisConnectionFactory replicaReadConnectionFactory;
+    private final ReactiveRedisTemplate<String, Object> reactiveTemplate;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private ScheduledExecutorService scheduler;
+
+    public WarmupRunner(WarmupProperties properties, OAuthPipelineProperties pipelineProperties,
+            @Qualifier("oauthHttpClient") HttpClient oauthHttpClient,
+            RedisConnectionFactory redisConnectionFactory,
+            @Qualifier("replicaReadConnectionFactory") RedisConnectionFactory replicaReadConnectionFactory,
+            @Qualifier("reactiveTokenRedisTemplate") ReactiveRedisTemplate<String, Object> reactiveTemplate,
+            JwtTokenProvider jwtTokenProvider, RestTemplate restTemplate, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.pipelineProperties = pipelineProperties;
+        this.oauthHttpClient = oauthHttpClient;
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.replicaReadConnectionFactory = replicaReadConnectionFactory;
+        this.reactiveTemplate = reactiveTemplate;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + properties.getTimeout().toNanos();
+
+        // 네트워크 연결은 백그라운드로 시작하고 그동안 CPU 경로를 워밍업
+        CompletableFuture<Integer> providers = timedAsync("provider", connectProviders());
+        CompletableFuture<Integer> redis = timedAsync("redis", CompletableFuture.supplyAsync(this::pingRedis));
+
+        int jwtRounds = timed("jwt", () -> warmJwt(deadline));
+        int jacksonRounds = timed("jackson", () -> warmJackson(deadline));
+
+        int providerConnected = await(providers, deadline);
+        int redisConnected = await(redis, deadline);
+
+        long elapsed = System.nanoTime() - start;
+        meterRegistry.timer("oauth.warmup", "step", "total").record(elapsed, TimeUnit.NANOSECONDS);
+        String summary = " (" + TimeUnit.NANOSECONDS.toMillis(elapsed) + "ms): 제공자 연결 " + providerConnected + "/"
+                + properties.getProviderUrls().size() + ", Redis " + redisConnected + "/3, JWT " + jwtRounds
+                + "회, Jackson " + jacksonRounds + "회";
+        if (providerConnected < properties.getProviderUrls().size() || redisConnected < 3
+                || System.nanoTime() > deadline) {
+            System.out.println("⚠️ 워밍업 일부 실패 또는 시간 초과" + summary);
+        } else {
+            System.out.println("✅ 워밍업 완료" + summary);
+        }
+
+        startKeepAlive();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 제공자 API 연결 열기
+     *
+     * @return 응답을 받은 URL 수 (상태 코드는 무관)
+     */
+    private CompletableFuture<Integer> connectProviders() {
+        Duration timeout = pipelineProperties.getReadTimeout();
+        List<CompletableFuture<Boolean>> requests = new ArrayList<>();
+        for (String url : properties.getProviderUrls()) {
+            HttpRequest request;
+            try {
+                request = HttpRequest.newBuilder(URI.create(url))
+                        .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                        .timeout(timeout)
+                        .build();
+            } catch (IllegalArgumentException e) {
+                System.err.println("⚠️ 워밍업 URL 형식 오류: " + url);
+                requests.add(CompletableFuture.completedFuture(false));
+                continue;
+            }
+            requests.add(oauthHttpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, e) -> e == null));
+        }
+        return CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> (int) requests.stream().filter(CompletableFuture::join).count());
+    }
+
+    /**
+     * Redis 연결 열기 (primary, replica, reactive 공유 연결)
+     *
+     * @return PING에 응답한 연결 수
+     */
+    private int pingRedis() {
+        int connected = 0;
+        for (RedisConnectionFactory factory : List.of(redisConnectionFactory, replicaReadConnectionFactory)) {
+            try (RedisConnection connection = factory.getConnection()) {
+                connection.ping();
+                connected++;
+            } catch (Exception e) {
+                System.err.println("⚠️ 워밍업 Redis PING 실패: " + e.getMessage());
+            }
+        }
+        try {
+            reactiveTemplate.execute(connection -> connection.ping())
+                    .blockFirst(pipelineProperties.getReadTimeout());
+            connected++;
+        } catch (Exception e) {
+            System.err.println("⚠️ 워밍업 Redis(reactive) PING 실패: " + e.getMessage());
+        }
+        return connected;
+    }
+
+    /**
+     * JWT 발급/검증 반복
+     *
+     * @return 실행한 반복 횟수
+     */
+    private int warmJwt(long deadline) {
+        int rounds = 0;
+        for (; rounds < properties.getJwtIterations() && System.nanoTime() < deadline; rounds++) {
+            String accessToken = jwtTokenProvider.generateAccessToken(WARMUP_PROFILE, null, "warmup");
+            String refreshToken = jwtTokenProvider.generateRefreshToken(
+                    WARMUP_PROFILE.providerId(), WARMUP_PROFILE.provider(), "warmup");
+            jwtTokenProvider.validateToken(accessToken);
+            jwtTokenProvider.validateToken(refreshToken);
+            Map<String, Object> claims = jwtTokenProvider.getValidClaims(accessToken);
+            if (claims != null) {
+                jwtTokenProvider.getValidClaims(jwtTokenProvider.generateInternalToken(claims, 60));
+            }
+            TokenDigest.of(accessToken);
+        }
+        return rounds;
+    }
+
+    /**
+     * 제공자 DTO 역직렬화 → 공통 프로필 변환 → 응답 직렬화 반복
+     *
+     * @return 실행한 반복 횟수
+     */
+    private int warmJackson(long deadline) {
+        ObjectMapper providerMapper = restTemplate.getMessageConverters().stream()
+                .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+                .map(converter -> ((MappingJackson2HttpMessageConverter) converter).getObjectMapper())
+                .findFirst()
+                .orElse(objectMapper);
+        int rounds = 0;
+        try {
+            for (; rounds < properties.getJacksonIterations() && System.nanoTime() < deadline; rounds++) {
+                for (Map.Entry<Class<?>, String> sample : PROVIDER_SAMPLES.entrySet()) {
+                    Object dto = providerMapper.readValue(sample.getValue(), sample.getKey());
+                    if (dto instanceof ProviderUserInfo userInfo) {
+                        OAuthUserProfile profile = userInfo.toProfile();
+                        Map<String, Object> body = new LinkedHashMap<>();
+                        body.put("success", true);
+                        body.put("user", profile.toClaims());
+                        objectMapper.writeValueAsString(body);
+                        objectMapper.writeValueAsString(profile);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ 워밍업 Jackson 실패: " + e.getMessage());
+        }
+        return rounds;
+    }
+
+    /**
+     * 유휴 연결 유지 (제공자 HEAD, Redis PING)
+     */
+    private void startKeepAlive() {
+        long interval = properties.getKeepAliveInterval().toMillis();
+        if (!properties.isKeepAliveEnabled() || interval <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "warmup-keepalive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                connectProviders();
+                pingRedis();
+            } catch (Exception e) {
+                System.err.println("⚠️ 연결 유지 요청 실패: " + e.getMessage());
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private int timed(String step, IntSupplier task) {
+        long start = System.nanoTime();
+        try {
+            return task.getAsInt();
+        } finally {
+            meterRegistry.timer("oauth.warmup", "step", step).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private CompletableFuture<Integer> timedAsync(String step, CompletableFuture<Integer> task) {
+        long start = System.nanoTime();
+        return task.whenComplete((result, e) -> meterRegistry.timer("oauth.warmup", "step", step)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    private int await(CompletableFuture<Integer> task, long deadline) {
+        try {
+            return task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+}
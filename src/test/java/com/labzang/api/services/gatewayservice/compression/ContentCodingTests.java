@@ -0,0 +1,76 @@
+package com.labzang.api.services.gatewayservice.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Accept-Encoding 협상 (q 값, 거부, 와일드카드, 서버 선호 순서) 및 gzip 압축 확인
+ * zstd 네이티브 라이브러리를 로드할 수 없는 플랫폼에서는 zstd가 협상에서 빠지는 결과를 기대합니다.
+ */
+class ContentCodingTests {
+
+    private static final List<ContentCoding> PREFERENCE = List.of(ContentCoding.ZSTD, ContentCoding.GZIP);
+    private static final ContentCoding ZSTD_OR_GZIP = ContentCoding.ZSTD.isAvailable()
+            ? ContentCoding.ZSTD : ContentCoding.GZIP;
+
+    @Test
+    void missingHeaderMeansNoCompression() {
+        assertThat(ContentCoding.negotiate(null, PREFERENCE)).isNull();
+        assertThat(ContentCoding.negotiate("  ", PREFERENCE)).isNull();
+        assertThat(ContentCoding.negotiate("identity", PREFERENCE)).isNull();
+    }
+
+    @Test
+    void picksOnlySupportedCoding() {
+        assertThat(ContentCoding.negotiate("gzip, deflate, br", PREFERENCE)).isEqualTo(ContentCoding.GZIP);
+        assertThat(ContentCoding.negotiate("GZIP", PREFERENCE)).isEqualTo(ContentCoding.GZIP);
+    }
+
+    @Test
+    void equalQualityFollowsServerPreference() {
+        assertThat(ContentCoding.negotiate("gzip, zstd", PREFERENCE)).isEqualTo(ZSTD_OR_GZIP);
+        assertThat(ContentCoding.negotiate("gzip, zstd", List.of(ContentCoding.GZIP, ContentCoding.ZSTD)))
+                .isEqualTo(ContentCoding.GZIP);
+    }
+
+    @Test
+    void higherQualityWinsOverServerPreference() {
+        assertThat(ContentCoding.negotiate("zstd;q=0.5, gzip;q=0.8", PREFERENCE)).isEqualTo(ContentCoding.GZIP);
+        assertThat(ContentCoding.negotiate("zstd ; q=1.0, gzip;q=0.1", List.of(ContentCoding.GZIP,
+                ContentCoding.ZSTD))).isEqualTo(ZSTD_OR_GZIP);
+    }
+
+    @Test
+    void zeroOrInvalidQualityRejectsCoding() {
+        assertThat(ContentCoding.negotiate("gzip;q=0", PREFERENCE)).isNull();
+        assertThat(ContentCoding.negotiate("gzip;q=abc", PREFERENCE)).isNull();
+        assertThat(ContentCoding.negotiate("zstd;q=0, gzip", PREFERENCE)).isEqualTo(ContentCoding.GZIP);
+    }
+
+    @Test
+    void wildcardAppliesToCodingsNotListedExplicitly() {
+        assertThat(ContentCoding.negotiate("*", List.of(ContentCoding.GZIP))).isEqualTo(ContentCoding.GZIP);
+        assertThat(ContentCoding.negotiate("*;q=0.5, gzip;q=0", List.of(ContentCoding.GZIP))).isNull();
+        assertThat(ContentCoding.negotiate("*;q=0", PREFERENCE)).isNull();
+        assertThat(ContentCoding.negotiate("*;q=0, gzip", PREFERENCE)).isEqualTo(ContentCoding.GZIP);
+    }
+
+    @Test
+    void gzipCompressRoundTrips() throws IOException {
+        byte[] body = "{\"success\":true,\"routes\":[]}".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        byte[] compressed = ContentCoding.GZIP.compress(body, 6);
+
+        assertThat(compressed.length).isLessThan(body.length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(in.readAllBytes()).isEqualTo(body);
+        }
+    }
+}
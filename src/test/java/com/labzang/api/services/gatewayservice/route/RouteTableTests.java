@@ -0,0 +1,97 @@
+package com.labzang.api.services.gatewayservice.route;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 라우트 표 생성 (경로 충돌/예약 경로 거절, Redis 라우트 우선) 및 가장 긴 접두사 조회 확인
+ */
+class RouteTableTests {
+
+    private static final List<String> RESERVED = List.of("/api/gateway");
+
+    @Test
+    void strictCompileRejectsOverlappingPaths() {
+        List<GatewayRouteProperties.RouteDefinition> config = List.of(
+                route("chatbot", "/api/ai/chatbot/**"),
+                route("chatbot-v2", "/api/ai/chatbot/**"));
+
+        assertThatThrownBy(() -> RouteTable.compile(0, config, Map.of(), RESERVED, true))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("chatbot-v2")
+                .hasMessageContaining("chatbot와 겹칩니다");
+    }
+
+    @Test
+    void strictCompileRejectsReservedPrefixAndReportsEveryError() {
+        Map<String, GatewayRouteProperties.RouteDefinition> dynamic = Map.of(
+                "admin", route("admin", "/api/gateway/routes/**"));
+        List<GatewayRouteProperties.RouteDefinition> config = List.of(
+                route("crawler", "/api/crawler/**"),
+                route("crawler", "/api/crawler2/**"));
+
+        assertThatThrownBy(() -> RouteTable.compile(0, config, dynamic, RESERVED, true))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("라우트 id가 중복되었습니다: crawler")
+                .hasMessageContaining("라우트 admin의 경로가 게이트웨이 엔드포인트와 겹칩니다: /api/gateway/routes");
+    }
+
+    @Test
+    void reservedPrefixMatchesWholeSegmentsOnly() {
+        RouteTable table = RouteTable.compile(0, List.of(route("gateway-docs", "/api/gatewaydocs/**")), Map.of(),
+                RESERVED, true);
+
+        assertThat(table.find("/api/gatewaydocs/index").id()).isEqualTo("gateway-docs");
+    }
+
+    @Test
+    void lenientCompileSkipsInvalidRoutes() {
+        List<GatewayRouteProperties.RouteDefinition> config = List.of(
+                route("chatbot", "/api/ai/chatbot/**"),
+                route("shadow", "/api/ai/chatbot/**"),
+                route("admin", "/api/gateway/**"));
+
+        RouteTable table = RouteTable.compile(3, config, Map.of(), RESERVED, false);
+
+        assertThat(table.getVersion()).isEqualTo(3);
+        assertThat(table.getRoutes()).extracting(GatewayRoute::id).containsExactly("chatbot");
+    }
+
+    @Test
+    void dynamicRouteOverridesConfigRouteWithSameId() {
+        List<GatewayRouteProperties.RouteDefinition> config = List.of(route("chatbot", "/api/ai/chatbot/**"));
+        Map<String, GatewayRouteProperties.RouteDefinition> dynamic = Map.of(
+                "chatbot", route("chatbot", "/api/ai/chat/**"));
+
+        RouteTable table = RouteTable.compile(1, config, dynamic, RESERVED, true);
+
+        assertThat(table.getSource("chatbot")).isEqualTo(RouteTable.SOURCE_REDIS);
+        assertThat(table.find("/api/ai/chatbot/messages")).isNull();
+        assertThat(table.find("/api/ai/chat/messages").id()).isEqualTo("chatbot");
+    }
+
+    @Test
+    void findUsesLongestMatchingPrefix() {
+        RouteTable table = RouteTable.compile(0, List.of(
+                route("ai", "/api/ai/**"),
+                route("chatbot", "/api/ai/chatbot/**")), Map.of(), RESERVED, true);
+
+        assertThat(table.find("/api/ai/chatbot/messages/1").id()).isEqualTo("chatbot");
+        assertThat(table.find("/api/ai/vision").id()).isEqualTo("ai");
+        assertThat(table.find("/api/ai").id()).isEqualTo("ai");
+        assertThat(table.find("/api/crawler")).isNull();
+    }
+
+    private static GatewayRouteProperties.RouteDefinition route(String id, String path) {
+        GatewayRouteProperties.RouteDefinition definition = new GatewayRouteProperties.RouteDefinition();
+        definition.setId(id);
+        definition.setUri("http://" + id + ":8080");
+        definition.setPredicates(List.of("Path=" + path));
+        return definition;
+    }
+}
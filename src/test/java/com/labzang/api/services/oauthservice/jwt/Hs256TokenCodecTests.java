@@ -0,0 +1,79 @@
+package com.labzang.api.services.oauthservice.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hs256TokenCodec이 jjwt와 같은 표준 JWT를 만들고 읽는지 확인
+ */
+class Hs256TokenCodecTests {
+
+    private final SecretKey key = Keys.hmacShaKeyFor(new byte[32]);
+    private final Hs256TokenCodec codec = new Hs256TokenCodec(key);
+
+    @Test
+    void codecTokenIsReadableByJjwt() {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("nickname", "홍길동 \"테스트\"");
+        claims.put("email_verified", true);
+        long now = System.currentTimeMillis() / 1000;
+
+        String token = codec.sign("12345", "kakao", "access", claims, now, now + 3600);
+
+        Claims parsed = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        assertThat(parsed.getSubject()).isEqualTo("12345");
+        assertThat(parsed.get("provider", String.class)).isEqualTo("kakao");
+        assertThat(parsed.get("type", String.class)).isEqualTo("access");
+        assertThat(parsed.get("nickname", String.class)).isEqualTo("홍길동 \"테스트\"");
+        assertThat(parsed.get("email_verified", Boolean.class)).isTrue();
+        assertThat(parsed.getExpiration().getTime()).isEqualTo((now + 3600) * 1000);
+    }
+
+    @Test
+    void jjwtTokenIsReadableByCodec() {
+        long now = System.currentTimeMillis();
+        String token = Jwts.builder()
+                .subject("67890")
+                .claim("provider", "naver")
+                .claim("type", "refresh")
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + 60_000))
+                .signWith(key, Jwts.SIG.HS256)
+                .compact();
+
+        Hs256TokenCodec.Decoded decoded = codec.verify(token);
+        assertThat(decoded.status()).isEqualTo(Hs256TokenCodec.Status.VERIFIED);
+        assertThat(decoded.subject()).isEqualTo("67890");
+        assertThat(decoded.provider()).isEqualTo("naver");
+        assertThat(decoded.type()).isEqualTo("refresh");
+        assertThat(decoded.isValidAt(now)).isTrue();
+        assertThat(decoded.isValidAt(now + 120_000)).isFalse();
+    }
+
+    @Test
+    void rejectsTamperedOrForeignTokens() {
+        long now = System.currentTimeMillis() / 1000;
+        String token = codec.sign("12345", "google", "access", null, now, now + 3600);
+        String otherKeyToken = new Hs256TokenCodec(Keys.hmacShaKeyFor(new byte[] {
+                1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16,
+                17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32 }))
+                .sign("12345", "google", "access", null, now, now + 3600);
+        String hs512Token = Jwts.builder()
+                .subject("12345")
+                .signWith(Keys.hmacShaKeyFor(new byte[64]), Jwts.SIG.HS512)
+                .compact();
+
+        assertThat(codec.verify(otherKeyToken).status()).isEqualTo(Hs256TokenCodec.Status.BAD_SIGNATURE);
+        assertThat(codec.verify(token.replace(".ey", ".eX")).status()).isNotEqualTo(Hs256TokenCodec.Status.VERIFIED);
+        assertThat(codec.verify(hs512Token).status()).isEqualTo(Hs256TokenCodec.Status.UNSUPPORTED);
+    }
+}
@@ -0,0 +1,108 @@
+package com.labzang.api.services.oauthservice.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 요청 인증 경로(getValidAccessClaims)가 전용 코덱으로 검증하고, 결과가 jjwt 파싱과 같은지 확인
+ */
+class JwtTokenProviderTests {
+
+    private static final byte[] SECRET = new byte[32];
+    private static final OAuthUserProfile PROFILE = new OAuthUserProfile(
+            "kakao", "12345", "홍길동", "hong@labzang.com", true, "");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JwtTokenProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new JwtTokenProvider(Base64.getEncoder().encodeToString(SECRET),
+                Base64.getEncoder().encodeToString(SECRET),
+                new ClaimProjection(new ClaimProjectionProperties()),
+                new TokenPrecheck(new TokenPrecheckProperties(), new ObjectMapper(), meterRegistry));
+        ReflectionTestUtils.setField(provider, "accessTokenExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "refreshTokenExpiration", 86_400_000L);
+    }
+
+    @Test
+    void fastPathClaimsMatchJjwtClaims() {
+        String token = provider.generateAccessToken(PROFILE, null, "sid-1");
+
+        Claims fast = provider.getValidAccessClaims(token);
+        ReflectionTestUtils.setField(provider, "fastCodecEnabled", false);
+        Claims jjwt = provider.getValidAccessClaims(token);
+
+        assertThat(fast).isNotNull();
+        assertThat(fast.getSubject()).isEqualTo("12345");
+        assertThat(fast.get("sid")).isEqualTo("sid-1");
+        // 카카오 회원번호는 기존 응답과 같이 숫자 클레임 (JSON 파싱 시 int 범위면 Integer)
+        assertThat(fast.get("kakao_id")).isEqualTo(12345);
+        assertThat(fast.get("email_verified")).isEqualTo(true);
+        assertThat(new HashMap<>(fast)).isEqualTo(new HashMap<>(jjwt));
+        assertThat(fast.getExpiration()).isEqualTo(jjwt.getExpiration());
+    }
+
+    @Test
+    void rejectsRefreshTokenAndTamperedToken() {
+        String refreshToken = provider.generateRefreshToken("12345", "kakao", "sid-1");
+        String accessToken = provider.generateAccessToken(PROFILE, null, "sid-1");
+        String tampered = accessToken.substring(0, accessToken.length() - 2)
+                + (accessToken.endsWith("AA") ? "BA" : "AA");
+
+        assertThat(provider.getValidClaims(refreshToken)).isNotNull();
+        assertThat(provider.getValidAccessClaims(refreshToken)).isNull();
+        assertThat(provider.getValidAccessClaims(tampered)).isNull();
+        assertThat(meterRegistry.counter("oauth.token.precheck.rejected", "stage", "signature").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void tokenWithNestedClaimFallsBackToJjwt() {
+        long now = System.currentTimeMillis();
+        String token = Jwts.builder()
+                .subject("12345")
+                .claim("provider", "kakao")
+                .claim("type", "access")
+                .claim("roles", List.of("admin"))
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET), Jwts.SIG.HS256)
+                .compact();
+
+        Claims claims = provider.getValidAccessClaims(token);
+
+        assertThat(claims).isNotNull();
+        assertThat(claims.get("roles")).isEqualTo(List.of("admin"));
+    }
+
+    @Test
+    void expiredTokenIsRejectedOnFastPath() {
+        long now = System.currentTimeMillis() / 1000;
+        String token = new Hs256TokenCodec(Keys.hmacShaKeyFor(SECRET))
+                .sign("12345", "kakao", "access", null, now - 120, now - 60);
+
+        // 사전 검증을 끄면 만료 판단은 코덱 검증 결과에서 이루어짐
+        TokenPrecheckProperties precheck = new TokenPrecheckProperties();
+        precheck.setEnabled(false);
+        JwtTokenProvider withoutPrecheck = new JwtTokenProvider(Base64.getEncoder().encodeToString(SECRET), null,
+                new ClaimProjection(new ClaimProjectionProperties()),
+                new TokenPrecheck(precheck, new ObjectMapper(), meterRegistry));
+
+        assertThat(withoutPrecheck.getValidAccessClaims(token)).isNull();
+    }
+}
@@ -0,0 +1,118 @@
+package com.labzang.api.services.oauthservice.token;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * 임베디드 토큰 저장소에서 세션 인덱스 (최대 세션 수 초과 제거, 세션/전체 로그아웃)가 Redis 없이 동작하는지 확인
+ */
+class EmbeddedSessionIndexTests {
+
+    private static final String PROVIDER = "kakao";
+    private static final String USER_ID = "12345";
+
+    @TempDir
+    Path directory;
+
+    private final SessionIndexProperties properties = new SessionIndexProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    private final ReferenceTokenService referenceTokenService = mock(ReferenceTokenService.class);
+    private MappedTokenStore store;
+    private SessionIndexService sessionIndex;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        EmbeddedTokenStoreProperties storeProperties = new EmbeddedTokenStoreProperties();
+        storeProperties.setPath(directory.resolve("token-store.dat").toString());
+        storeProperties.setSegments(1);
+        storeProperties.setCapacity(64);
+        store = new MappedTokenStore(storeProperties, meterRegistry);
+        store.open();
+
+        TokenResilienceProperties resilience = new TokenResilienceProperties();
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(resilience, meterRegistry);
+        LocalTokenStore localStore = new LocalTokenStore(mock(RedisTemplate.class), circuitBreaker, resilience,
+                meterRegistry);
+        sessionIndex = new SessionIndexService(redis, circuitBreaker, localStore, store, referenceTokenService,
+                properties, resilience, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void registerEvictsEarliestExpiringSessionsBeyondLimit() {
+        properties.setMaxSessionsPerUser(2);
+
+        sessionIndex.register(PROVIDER, USER_ID, "first", "web", 100);
+        sessionIndex.register(PROVIDER, USER_ID, "second", "mobile", 300);
+        sessionIndex.register(PROVIDER, USER_ID, "third", null, 200);
+
+        assertThat(sessionIndex.listSessions(PROVIDER, USER_ID))
+                .extracting(SessionIndexService.SessionInfo::sessionId, SessionIndexService.SessionInfo::client)
+                .containsExactly(tuple("third", null), tuple("second", "mobile"));
+        assertThat(sessionIndex.areActive(List.of(
+                new SessionIndexService.SessionKey(PROVIDER, USER_ID, "first"),
+                new SessionIndexService.SessionKey(PROVIDER, USER_ID, "second"))))
+                .containsExactly(false, true);
+        assertThat(meterRegistry.counter("oauth.session.evicted").count()).isEqualTo(1);
+        verifyNoInteractions(redis);
+    }
+
+    @Test
+    void revokeRemovesOnlyThatSessionAndItsTokens() {
+        sessionIndex.register(PROVIDER, USER_ID, "phone", "mobile", 600);
+        sessionIndex.register(PROVIDER, USER_ID, "laptop", "web", 600);
+        String phoneAccess = TokenService.tokenKey(PROVIDER, USER_ID, "phone", "access");
+        String laptopAccess = TokenService.tokenKey(PROVIDER, USER_ID, "laptop", "access");
+        store.set(phoneAccess, "d1:phone", 600);
+        store.set(laptopAccess, "d1:laptop", 600);
+
+        assertThat(sessionIndex.revoke(PROVIDER, USER_ID, "phone")).isTrue();
+        assertThat(sessionIndex.revoke(PROVIDER, USER_ID, "phone")).isFalse();
+
+        assertThat(sessionIndex.listSessions(PROVIDER, USER_ID))
+                .extracting(SessionIndexService.SessionInfo::sessionId)
+                .containsExactly("laptop");
+        assertThat(store.get(phoneAccess)).isNull();
+        assertThat(store.get(laptopAccess)).isEqualTo("d1:laptop");
+        verify(referenceTokenService).revokeStored("d1:phone");
+    }
+
+    @Test
+    void logoutAllRemovesIndexAndEveryTokenKey() {
+        sessionIndex.register(PROVIDER, USER_ID, "phone", "mobile", 600);
+        sessionIndex.register(PROVIDER, USER_ID, "laptop", "web", 600);
+        List<String> tokenKeys = List.of(
+                TokenService.tokenKey(PROVIDER, USER_ID, "access"),
+                TokenService.oauthKey(PROVIDER, USER_ID, "refresh"),
+                TokenService.tokenKey(PROVIDER, USER_ID, "phone", "access"),
+                TokenService.tokenKey(PROVIDER, USER_ID, "laptop", "refresh"));
+        tokenKeys.forEach(key -> store.set(key, "value", 600));
+
+        assertThat(sessionIndex.logoutAll(PROVIDER, USER_ID)).isEqualTo(2);
+
+        assertThat(sessionIndex.listSessions(PROVIDER, USER_ID)).isEmpty();
+        assertThat(store.multiGet(tokenKeys)).containsOnlyNulls();
+        assertThat(store.size()).isZero();
+    }
+}
@@ -0,0 +1,132 @@
+package com.labzang.api.services.oauthservice.token;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis 장애 중 기록한 토큰 작업이 복구 후 키별 최신 작업으로 한 번씩 재반영되는지 확인
+ */
+class LocalTokenStoreTests {
+
+    private static final String ACCESS_KEY = "token:{kakao:1}:access";
+    private static final String REFRESH_KEY = "token:{kakao:1}:refresh";
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+    private final TokenResilienceProperties properties = new TokenResilienceProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LocalTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        properties.setFailureThreshold(1);
+        properties.setOpenDuration(Duration.ZERO);
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(properties, meterRegistry);
+        store = new LocalTokenStore(redisTemplate, circuitBreaker, properties, meterRegistry);
+    }
+
+    @Test
+    void recordedOperationsTakePrecedenceUntilReplayed() {
+        store.put(ACCESS_KEY, "d1:first", 60);
+        store.put(ACCESS_KEY, "d1:second", 60);
+        store.delete(REFRESH_KEY);
+
+        assertThat(store.lookup(ACCESS_KEY).value()).isEqualTo("d1:second");
+        assertThat(store.lookup(REFRESH_KEY).isDeleted()).isTrue();
+        assertThat(store.lookup("token:{kakao:2}:access")).isNull();
+    }
+
+    @Test
+    void replayAppliesLatestOperationPerKeyWithRemainingTtl() {
+        store.put(ACCESS_KEY, "d1:first", 60);
+        store.put(ACCESS_KEY, "d1:second", 60);
+        store.delete(REFRESH_KEY);
+
+        store.replay();
+
+        verify(valueOperations).set(eq(ACCESS_KEY), eq("d1:second"),
+                longThat(ms -> ms > 55_000 && ms <= 60_000), eq(TimeUnit.MILLISECONDS));
+        verify(valueOperations, never()).set(eq(ACCESS_KEY), eq("d1:first"), anyLong(), any(TimeUnit.class));
+        verify(redisTemplate).delete(REFRESH_KEY);
+        assertThat(store.lookup(ACCESS_KEY)).isNull();
+        assertThat(store.lookup(REFRESH_KEY)).isNull();
+        assertThat(meterRegistry.counter("oauth.token.local-store.replayed").count()).isEqualTo(2);
+    }
+
+    @Test
+    void expiredEntriesAreDroppedInsteadOfReplayed() {
+        store.put(ACCESS_KEY, "d1:expired", 0);
+
+        store.replay();
+
+        verify(valueOperations, never()).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+        assertThat(store.lookup(ACCESS_KEY)).isNull();
+    }
+
+    @Test
+    void entriesSurviveFailedReplayAndApplyAfterRecovery() {
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(valueOperations).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+        store.put(ACCESS_KEY, "d1:access", 60);
+        store.put(REFRESH_KEY, "d1:refresh", 600);
+
+        store.replay();
+
+        assertThat(store.lookup(ACCESS_KEY).value()).isEqualTo("d1:access");
+        assertThat(store.lookup(REFRESH_KEY).value()).isEqualTo("d1:refresh");
+
+        doNothing().when(valueOperations).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+        store.replay();
+
+        verify(valueOperations, atLeastOnce()).set(eq(REFRESH_KEY), eq("d1:refresh"), anyLong(), eq(TimeUnit.MILLISECONDS));
+        assertThat(store.lookup(ACCESS_KEY)).isNull();
+        assertThat(store.lookup(REFRESH_KEY)).isNull();
+    }
+
+    @Test
+    void discardedKeyIsNotReplayedOverNewerRedisValue() {
+        store.put(ACCESS_KEY, "d1:stale", 60);
+
+        store.discard(ACCESS_KEY);
+        store.replay();
+
+        verify(valueOperations, never()).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    void newKeysAreDroppedWhenStoreIsFull() {
+        properties.setMaxLocalEntries(1);
+        store.put(ACCESS_KEY, "d1:access", 60);
+
+        store.put(REFRESH_KEY, "d1:refresh", 60);
+        store.put(ACCESS_KEY, "d1:updated", 60);
+
+        assertThat(store.lookup(REFRESH_KEY)).isNull();
+        assertThat(store.lookup(ACCESS_KEY).value()).isEqualTo("d1:updated");
+        assertThat(meterRegistry.counter("oauth.token.local-store.dropped").count()).isEqualTo(1);
+    }
+}
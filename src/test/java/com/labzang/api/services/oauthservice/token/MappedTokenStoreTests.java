@@ -0,0 +1,219 @@
+package com.labzang.api.services.oauthservice.token;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 임베디드 토큰 저장소 (조회/만료/삭제, 선형 탐색 순환, 삭제 후 빈 슬롯 복원, 재시작 복구) 확인
+ */
+class MappedTokenStoreTests {
+
+    // MappedTokenStore 파일 구조 (헤더 4KB, 슬롯 내 상태/키 길이/데이터 위치)
+    private static final int HEADER_BYTES = 4096;
+    private static final int KEY_LENGTH = 16;
+    private static final int DATA = 24;
+    private static final int SLOTS = 16;
+
+    @TempDir
+    Path directory;
+
+    private final EmbeddedTokenStoreProperties properties = new EmbeddedTokenStoreProperties();
+    private MappedTokenStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // 세그먼트 1개, 슬롯 16개 (최소 크기)로 시작 슬롯을 테스트에서 계산할 수 있게 함
+        properties.setPath(directory.resolve("token-store.dat").toString());
+        properties.setSegments(1);
+        properties.setCapacity(SLOTS);
+        properties.setSlotBytes(128);
+        store = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void setGetOverwriteAndDelete() {
+        store.set("token:{kakao:1}:access", "first", 60);
+        store.set("token:{kakao:1}:access", "second", 60);
+        store.set("token:{kakao:1}:refresh", "refresh", 60);
+
+        assertThat(store.get("token:{kakao:1}:access")).isEqualTo("second");
+        assertThat(store.multiGet(List.of("token:{kakao:1}:access", "token:{kakao:1}:refresh", "missing")))
+                .containsExactly("second", "refresh", null);
+        assertThat(store.getExpire("token:{kakao:1}:access")).isEqualTo(60);
+        assertThat(store.size()).isEqualTo(2);
+
+        assertThat(store.getAndDelete("token:{kakao:1}:refresh")).isEqualTo("refresh");
+        store.delete("token:{kakao:1}:access");
+
+        assertThat(store.get("token:{kakao:1}:access")).isNull();
+        assertThat(store.getAndDelete("token:{kakao:1}:refresh")).isNull();
+        assertThat(store.getExpire("token:{kakao:1}:access")).isEqualTo(-2);
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void expiredEntryIsNotReturned() {
+        store.set("expired", "value", 0);
+
+        assertThat(store.get("expired")).isNull();
+        assertThat(store.getExpire("expired")).isEqualTo(-2);
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void rejectsValueLargerThanSlotAndWritesBeyondCapacity() {
+        assertThatThrownBy(() -> store.set("large", "x".repeat(200), 60))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        for (int i = 0; i < SLOTS; i++) {
+            store.set("key-" + i, "value-" + i, 60);
+        }
+        assertThatThrownBy(() -> store.set("overflow", "value", 60))
+                .isInstanceOf(IllegalStateException.class);
+        for (int i = 0; i < SLOTS; i++) {
+            assertThat(store.get("key-" + i)).isEqualTo("value-" + i);
+        }
+    }
+
+    @Test
+    void probingWrapsAroundFromLastSlot() throws IOException {
+        List<String> keys = keysStartingAt(SLOTS - 1, 3);
+        for (String key : keys) {
+            store.set(key, key + "-value", 60);
+        }
+
+        // 마지막 슬롯에서 시작한 탐색이 0, 1번 슬롯으로 이어짐
+        assertThat(slotOf(keys.get(0))).isEqualTo(SLOTS - 1);
+        assertThat(slotOf(keys.get(1))).isZero();
+        assertThat(slotOf(keys.get(2))).isEqualTo(1);
+
+        // 체인 중간을 지워도 뒤의 항목은 계속 찾을 수 있음
+        store.delete(keys.get(0));
+        assertThat(store.get(keys.get(0))).isNull();
+        assertThat(store.get(keys.get(1))).isEqualTo(keys.get(1) + "-value");
+        assertThat(store.get(keys.get(2))).isEqualTo(keys.get(2) + "-value");
+    }
+
+    @Test
+    void deleteTurnsTrailingTombstonesBackIntoEmptySlots() throws IOException {
+        List<String> keys = keysStartingAt(SLOTS - 1, 3);
+        for (String key : keys) {
+            store.set(key, "value", 60);
+        }
+
+        // 체인 앞쪽부터 지우면 뒤에 항목이 남아 있어 삭제 표시로 남음
+        store.delete(keys.get(0));
+        store.delete(keys.get(1));
+        assertThat(states()).containsOnly(0, 2).contains(2);
+
+        // 체인 끝을 지우면 순환 경계를 넘어 앞쪽 삭제 표시까지 빈 슬롯으로 되돌림
+        store.delete(keys.get(2));
+        assertThat(states()).containsOnly(0);
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void reopenKeepsValidEntriesAndDropsCorruptedSlot() throws IOException {
+        store.set("kept", "kept-value", 600);
+        store.set("corrupted", "corrupted-value", 600);
+        int corruptedSlot = slotOf("corrupted");
+        store.close();
+
+        // 값 영역의 한 바이트를 바꿔 CRC가 맞지 않게 함
+        try (FileChannel channel = FileChannel.open(Path.of(properties.getPath()), StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long position = slotOffset(corruptedSlot) + DATA + "corrupted".length();
+            ByteBuffer value = ByteBuffer.allocate(1);
+            channel.read(value, position);
+            value.put(0, (byte) ~value.get(0)).rewind();
+            channel.write(value, position);
+        }
+        store = open();
+
+        assertThat(store.get("kept")).isEqualTo("kept-value");
+        assertThat(store.getExpire("kept")).isBetween(599L, 600L);
+        assertThat(store.get("corrupted")).isNull();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void reopenWithDifferentLayoutArchivesOldFile() throws IOException {
+        store.set("key", "value", 600);
+        store.close();
+
+        properties.setSlotBytes(256);
+        store = open();
+
+        assertThat(store.get("key")).isNull();
+        assertThat(Files.exists(directory.resolve("token-store.dat.old"))).isTrue();
+    }
+
+    private MappedTokenStore open() throws IOException {
+        MappedTokenStore opened = new MappedTokenStore(properties, new SimpleMeterRegistry());
+        opened.open();
+        return opened;
+    }
+
+    /**
+     * 시작 슬롯이 같은 키 (선형 탐색으로 연속된 슬롯에 놓임)
+     */
+    private static List<String> keysStartingAt(int slot, int count) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; keys.size() < count; i++) {
+            String key = "token:{kakao:" + i + "}:access";
+            if (Math.floorMod(Integer.rotateLeft(MappedTokenStore.hash(key), 16), SLOTS) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private int slotOf(String key) throws IOException {
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(Path.of(properties.getPath())));
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int offset = slotOffset(slot);
+            if (file.get(offset) == 1 && file.getShort(offset + KEY_LENGTH) == keyBytes.length
+                    && Arrays.equals(Arrays.copyOfRange(file.array(), offset + DATA, offset + DATA + keyBytes.length),
+                            keyBytes)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private List<Integer> states() throws IOException {
+        byte[] file = Files.readAllBytes(Path.of(properties.getPath()));
+        List<Integer> states = new ArrayList<>();
+        for (int slot = 0; slot < SLOTS; slot++) {
+            states.add((int) file[slotOffset(slot)]);
+        }
+        return states;
+    }
+
+    private int slotOffset(int slot) {
+        return HEADER_BYTES + slot * properties.getSlotBytes();
+    }
+}
@@ -0,0 +1,86 @@
+package com.labzang.api.services.oauthservice.token;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 시험 호출(half-open)이 어떤 예외로 끝나도 서킷이 half-open에 머무르지 않는지 확인
+ */
+class RedisCircuitBreakerTests {
+
+    private final TokenResilienceProperties properties = new TokenResilienceProperties();
+    private RedisCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        properties.setFailureThreshold(1);
+        properties.setOpenDuration(Duration.ZERO);
+        circuitBreaker = new RedisCircuitBreaker(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void redisErrorOpensCircuitAndUsesFallback() {
+        String result = circuitBreaker.call(() -> {
+            throw new RedisConnectionFailureException("down");
+        }, () -> "fallback");
+
+        assertThat(result).isEqualTo("fallback");
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void trialCallFailingWithNonRedisExceptionReopensCircuit() {
+        open();
+
+        assertThatThrownBy(() -> circuitBreaker.call(() -> {
+            throw new SerializationException("broken payload");
+        }, () -> "fallback")).isInstanceOf(SerializationException.class);
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+
+        assertThat(circuitBreaker.call(() -> "redis", () -> "fallback")).isEqualTo("redis");
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void asyncTrialCallFailingWithNonRedisExceptionReopensCircuit() {
+        open();
+
+        CompletableFuture<String> failed = circuitBreaker.callAsync(
+                () -> CompletableFuture.failedFuture(new IllegalStateException("unexpected")), () -> "fallback");
+        assertThatThrownBy(failed::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+
+        CompletableFuture<String> recovered = circuitBreaker.callAsync(
+                () -> CompletableFuture.completedFuture("redis"), () -> "fallback");
+        assertThat(recovered.join()).isEqualTo("redis");
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void asyncTrialCallThrowingBeforeStageReopensCircuit() {
+        open();
+
+        assertThatThrownBy(() -> circuitBreaker.callAsync(() -> {
+            throw new NullPointerException("no connection");
+        }, () -> "fallback")).isInstanceOf(NullPointerException.class);
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    }
+
+    private void open() {
+        circuitBreaker.call(() -> {
+            throw new RedisConnectionFailureException("down");
+        }, () -> null);
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    }
+}
@@ -0,0 +1,119 @@
+package com.labzang.api.services.oauthservice.token;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labzang.api.services.oauthservice.jwt.JwtTokenProvider;
+import com.labzang.api.services.oauthservice.profile.OAuthUserProfile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis 장애 중 참조 토큰 발급(JWT 대체), 조회(로컬 캐시만), 폐기(로컬 기록 후 반영)가 서킷 브레이커를 거치는지 확인
+ */
+class ReferenceTokenServiceTests {
+
+    private static final OAuthUserProfile PROFILE = new OAuthUserProfile(
+            "kakao", "12345", "홍길동", "hong@labzang.com", true, "");
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, String> redisValues = new ConcurrentHashMap<>();
+    private volatile boolean redisDown;
+    private LocalTokenStore localStore;
+    private ReferenceTokenService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(redis.opsForValue()).thenReturn(valueOperations);
+        doAnswer(invocation -> {
+            checkRedis();
+            redisValues.put(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(valueOperations).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+        when(valueOperations.get(anyString())).thenAnswer(invocation -> {
+            checkRedis();
+            return redisValues.get(invocation.<String>getArgument(0));
+        });
+        when(redis.delete(anyCollection())).thenAnswer(invocation -> {
+            checkRedis();
+            invocation.<Collection<String>>getArgument(0).forEach(redisValues::remove);
+            return 1L;
+        });
+        when(jwtTokenProvider.generateAccessToken(PROFILE, null, "sid-1")).thenReturn("header.payload.signature");
+
+        TokenResilienceProperties resilience = new TokenResilienceProperties();
+        resilience.setFailureThreshold(1);
+        resilience.setOpenDuration(Duration.ZERO);
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(resilience, meterRegistry);
+        localStore = new LocalTokenStore(mock(RedisTemplate.class), circuitBreaker, resilience, meterRegistry);
+        service = new ReferenceTokenService(redis, new ObjectMapper(), jwtTokenProvider,
+                new ReferenceTokenProperties(), mock(TokenStore.class), circuitBreaker, localStore);
+    }
+
+    @Test
+    void issueFallsBackToJwtWhileRedisIsDown() {
+        redisDown = true;
+
+        assertThat(service.issue(PROFILE, 600, "sid-1")).isEqualTo("header.payload.signature");
+
+        redisDown = false;
+        String token = service.issue(PROFILE, 600, "sid-1");
+        assertThat(service.isReferenceToken(token)).isTrue();
+        assertThat(service.resolve(token)).containsEntry("sub", "12345").containsEntry("sid", "sid-1");
+    }
+
+    @Test
+    void resolveUsesOnlyLocalCacheWhileRedisIsDown() {
+        String cached = service.issue(PROFILE, 600, "sid-1");
+        String uncached = service.issue(PROFILE, 600, "sid-1");
+        service.resolve(cached);
+        redisDown = true;
+
+        assertThat(service.resolve(cached)).containsEntry("sub", "12345");
+        assertThat(service.resolve(uncached)).isNull();
+    }
+
+    @Test
+    void revokeIsRecordedLocallyWhileRedisIsDown() {
+        String token = service.issue(PROFILE, 600, "sid-1");
+        String key = "ref:" + TokenDigest.of(token);
+        redisDown = true;
+
+        service.revoke(token);
+
+        assertThat(localStore.lookup(key).isDeleted()).isTrue();
+        // Redis에 아직 남아 있어도 복구 후 반영 전까지 폐기된 토큰으로 취급
+        redisDown = false;
+        assertThat(redisValues).containsKey(key);
+        assertThat(service.resolve(token)).isNull();
+    }
+
+    private void checkRedis() {
+        if (redisDown) {
+            throw new RedisConnectionFailureException("Redis down");
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.labzang.api.services.oauthservice.token;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 세션 인덱스 Lua 스크립트 (만료 정리, 최대 세션 수 초과 제거, 세션/전체 로그아웃) 확인
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SessionIndexServiceTests {
+
+    private static final String PROVIDER = "kakao";
+    private static final String USER_ID = "12345";
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redis;
+
+    private final SessionIndexProperties properties = new SessionIndexProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SessionIndexService sessionIndex;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redis = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redis.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+        TokenResilienceProperties resilience = new TokenResilienceProperties();
+        resilience.setOpenDuration(Duration.ofSeconds(10));
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(resilience, meterRegistry);
+        LocalTokenStore localStore = new LocalTokenStore(mock(RedisTemplate.class), circuitBreaker, resilience,
+                meterRegistry);
+        sessionIndex = new SessionIndexService(redis, circuitBreaker, localStore, mock(TokenStore.class),
+                mock(ReferenceTokenService.class), properties, resilience, meterRegistry);
+    }
+
+    @Test
+    void registerEvictsEarliestExpiringSessionsBeyondLimit() {
+        properties.setMaxSessionsPerUser(2);
+
+        sessionIndex.register(PROVIDER, USER_ID, "first", "web", 100);
+        sessionIndex.register(PROVIDER, USER_ID, "second", "mobile", 300);
+        sessionIndex.register(PROVIDER, USER_ID, "third", "web", 200);
+
+        assertThat(sessionIndex.listSessions(PROVIDER, USER_ID))
+                .extracting(SessionIndexService.SessionInfo::sessionId)
+                .containsExactly("third", "second");
+        assertThat(redis.opsForHash().keys(metaKey())).containsExactlyInAnyOrder("second", "third");
+        assertThat(meterRegistry.counter("oauth.session.evicted").count()).isEqualTo(1);
+    }
+
+    @Test
+    void registerPrunesExpiredSessionsAndKeepsIndexTtlAtLatestExpiry() {
+        long now = System.currentTimeMillis();
+        redis.opsForZSet().add(indexKey(), "expired", now - 1_000);
+        redis.opsForHash().put(metaKey(), "expired", (now - 10_000) + "|web");
+
+        sessionIndex.register(PROVIDER, USER_ID, "current", "web", 600);
+
+        assertThat(redis.opsForZSet().range(indexKey(), 0, -1)).containsExactly("current");
+        assertThat(redis.opsForHash().keys(metaKey())).containsExactly("current");
+        assertThat(redis.getExpire(indexKey(), TimeUnit.SECONDS)).isBetween(590L, 600L);
+        assertThat(meterRegistry.counter("oauth.session.evicted").count()).isZero();
+    }
+
+    @Test
+    void revokeRemovesOnlyThatSessionAndItsTokens() {
+        sessionIndex.register(PROVIDER, USER_ID, "phone", "mobile", 600);
+        sessionIndex.register(PROVIDER, USER_ID, "laptop", "web", 600);
+        String phoneAccess = TokenService.tokenKey(PROVIDER, USER_ID, "phone", "access");
+        String laptopAccess = TokenService.tokenKey(PROVIDER, USER_ID, "laptop", "access");
+        redis.opsForValue().set(phoneAccess, "d1:phone");
+        redis.opsForValue().set(laptopAccess, "d1:laptop");
+
+        assertThat(sessionIndex.revoke(PROVIDER, USER_ID, "phone")).isTrue();
+
+        assertThat(redis.hasKey(phoneAccess)).isFalse();
+        assertThat(redis.hasKey(laptopAccess)).isTrue();
+        assertThat(sessionIndex.areActive(List.of(
+                new SessionIndexService.SessionKey(PROVIDER, USER_ID, "phone"),
+                new SessionIndexService.SessionKey(PROVIDER, USER_ID, "laptop"))))
+                .containsExactly(false, true);
+        assertThat(sessionIndex.revoke(PROVIDER, USER_ID, "phone")).isFalse();
+    }
+
+    @Test
+    void logoutAllRemovesIndexAndEverySessionsTokens() {
+        sessionIndex.register(PROVIDER, USER_ID, "phone", "mobile", 600);
+        sessionIndex.register(PROVIDER, USER_ID, "laptop", "web", 600);
+        List<String> tokenKeys = List.of(
+                TokenService.tokenKey(PROVIDER, USER_ID, "phone", "access"),
+                TokenService.tokenKey(PROVIDER, USER_ID, "laptop", "refresh"),
+                TokenService.tokenKey(PROVIDER, USER_ID, "access"),
+                TokenService.oauthKey(PROVIDER, USER_ID, "access"));
+        tokenKeys.forEach(key -> redis.opsForValue().set(key, "value"));
+
+        assertThat(sessionIndex.logoutAll(PROVIDER, USER_ID)).isEqualTo(2);
+
+        assertThat(redis.countExistingKeys(tokenKeys)).isZero();
+        assertThat(redis.hasKey(indexKey())).isFalse();
+        assertThat(redis.hasKey(metaKey())).isFalse();
+    }
+
+    private static String indexKey() {
+        return SessionIndexService.indexKey(PROVIDER, USER_ID);
+    }
+
+    private static String metaKey() {
+        return indexKey() + ":meta";
+    }
+}
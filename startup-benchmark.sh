@@ -0,0 +1,113 @@
+#!/bin/bash
+
+# =============================================================================
+# Labzang API Service 시작 시간 벤치마크 (Linux/Mac)
+# 프로세스 시작부터 첫 요청(/api/gateway/status) 성공까지 걸린 시간을 측정합니다.
+#
+# 사용법:
+#   ./gradlew bootJar                        # plain
+#   ./gradlew cdsArchive -PfastStart         # aot-cds
+#   ./gradlew nativeCompile -Pnative         # native (GraalVM JDK 21 필요)
+#   ./startup-benchmark.sh [반복 횟수] [plain|aot-cds|native ...]
+#
+# DB/Redis/OAuth 설정은 .env 또는 현재 셸의 환경 변수를 그대로 사용합니다.
+# =============================================================================
+
+RUNS=${1:-5}
+shift
+MODES=${@:-plain aot-cds native}
+PORT=${SERVER_PORT:-8080}
+URL="http://localhost:${PORT}/api/gateway/status"
+TIMEOUT_SECONDS=${STARTUP_TIMEOUT_SECONDS:-120}
+
+# 현재 디렉토리 확인
+if [ ! -f "gradlew" ]; then
+    echo "❌ 오류: api.labzang.com 디렉토리에서 실행해주세요."
+    exit 1
+fi
+
+if [ -f ".env" ]; then
+    set -a
+    . ./.env
+    set +a
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+command_for() {
+    case "$1" in
+        plain)
+            local jar
+            jar=$(ls build/libs/*.jar 2>/dev/null | grep -v plain | head -1)
+            [ -n "$jar" ] && echo "java -jar $jar"
+            ;;
+        aot-cds)
+            [ -f build/fast-start/application.jsa ] && \
+                echo "java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar api-0.0.1-SNAPSHOT.jar"
+            ;;
+        native)
+            [ -x build/native/nativeCompile/labzang-api ] && echo "build/native/nativeCompile/labzang-api"
+            ;;
+    esac
+}
+
+# 한 번 실행: 첫 요청 성공까지의 ms 출력, 실패 시 빈 값
+measure() {
+    local mode=$1
+    local cmd=$2
+    local dir=.
+    [ "$mode" = "aot-cds" ] && dir=build/fast-start
+
+    local start
+    start=$(now_ms)
+    (cd "$dir" && exec $cmd --server.port="$PORT") > "build/startup-benchmark-${mode}.log" 2>&1 &
+    local pid=$!
+
+    local elapsed=""
+    local deadline=$((start + TIMEOUT_SECONDS * 1000))
+    while [ "$(now_ms)" -lt "$deadline" ] && kill -0 "$pid" 2>/dev/null; do
+        if curl -sf -o /dev/null "$URL"; then
+            elapsed=$(($(now_ms) - start))
+            break
+        fi
+        sleep 0.05
+    done
+
+    kill "$pid" 2>/dev/null
+    wait "$pid" 2>/dev/null
+    echo "$elapsed"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { if (NR == 0) exit; if (NR % 2) print v[(NR + 1) / 2]; else print int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+mkdir -p build
+echo "⏱️  시작 시간 벤치마크 (반복 ${RUNS}회, ${URL})"
+echo ""
+
+for mode in $MODES; do
+    cmd=$(command_for "$mode")
+    if [ -z "$cmd" ]; then
+        echo "⚠️  ${mode}: 빌드 결과물이 없어 건너뜁니다."
+        continue
+    fi
+
+    results=""
+    for i in $(seq 1 "$RUNS"); do
+        ms=$(measure "$mode" "$cmd")
+        if [ -z "$ms" ]; then
+            echo "❌ ${mode} #${i}: ${TIMEOUT_SECONDS}초 안에 응답 없음 (build/startup-benchmark-${mode}.log 확인)"
+            continue
+        fi
+        echo "   ${mode} #${i}: ${ms} ms"
+        results="${results}${ms}"$'\n'
+    done
+
+    if [ -n "$results" ]; then
+        echo "✅ ${mode}: 중앙값 $(printf '%s' "$results" | median) ms"
+    fi
+    echo ""
+done